@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.apiusescan.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IComponentDescriptor;
+import org.eclipse.pde.api.tools.internal.search.IReferenceDescriptor;
+import org.eclipse.pde.api.tools.internal.search.UseScanIndex;
+import org.eclipse.pde.api.tools.internal.search.UseScanReferences;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the {@link UseScanIndex}
+ *
+ * @since 1.3.700
+ */
+public class UseScanIndexTests {
+
+	private static final IComponentDescriptor PRODUCER = Factory.componentDescriptor("a.producer", "1.0.0"); //$NON-NLS-1$ //$NON-NLS-2$
+	private static final IComponentDescriptor OTHER = Factory.componentDescriptor("b.producer", "2.0.0"); //$NON-NLS-1$ //$NON-NLS-2$
+	private static final IComponentDescriptor CONSUMER = Factory.componentDescriptor("c.consumer", null); //$NON-NLS-1$
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private static IReferenceDescriptor[] createReferences() {
+		return new IReferenceDescriptor[] {
+				Factory.referenceDescriptor(CONSUMER, Factory.typeDescriptor("c.Consumer"), 10, PRODUCER, Factory.typeDescriptor("a.Foo"), IReference.REF_EXTENDS, 0, VisibilityModifiers.API, null), //$NON-NLS-1$ //$NON-NLS-2$
+				Factory.referenceDescriptor(CONSUMER, Factory.methodDescriptor("c.Consumer", "run", "()V"), 12, PRODUCER, Factory.methodDescriptor("a.Foo$Inner", "get", "(I)Ljava/lang/String;"), IReference.REF_VIRTUALMETHOD, IReference.F_ILLEGAL, VisibilityModifiers.PRIVATE, null), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+				Factory.referenceDescriptor(CONSUMER, Factory.fieldDescriptor("c.Consumer", "fFoo"), 3, PRODUCER, Factory.fieldDescriptor("a.Bar", "CONSTANT"), IReference.REF_GETSTATIC, 0, VisibilityModifiers.API, null), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				Factory.referenceDescriptor(CONSUMER, Factory.typeDescriptor("c.Consumer"), 20, OTHER, Factory.typeDescriptor("b.Baz"), IReference.REF_IMPLEMENTS, 0, VisibilityModifiers.API, null), //$NON-NLS-1$ //$NON-NLS-2$
+		};
+	}
+
+	private UseScanIndex createIndex() throws Exception {
+		Path file = fFolder.newFolder("xml").toPath().resolve(UseScanIndex.INDEX_FILE_NAME); //$NON-NLS-1$
+		UseScanIndex.write(createReferences(), file);
+		assertTrue("The index should have been written", Files.isRegularFile(file)); //$NON-NLS-1$
+		UseScanIndex index = UseScanIndex.open(file);
+		assertTrue("The index should be current", index.isCurrent(file)); //$NON-NLS-1$
+		return index;
+	}
+
+	/**
+	 * Tests that all references are read back identically
+	 */
+	@Test
+	public void testRoundTrip() throws Exception {
+		UseScanReferences references = new UseScanReferences();
+		UseScanIndex index = createIndex();
+		assertEquals("wrong number of referenced types", 3, index.getTypeCount()); //$NON-NLS-1$
+		index.collect(null, null, references);
+		IReferenceDescriptor[] read = references.getAllExternalDependencies();
+		assertEquals("wrong number of references", 4, read.length); //$NON-NLS-1$
+		assertEquals(new HashSet<>(Arrays.asList(createReferences())), new HashSet<>(Arrays.asList(read)));
+		IReferenceDescriptor[] method = references.getExternalDependenciesTo(new String[] { "a.Foo" }); //$NON-NLS-1$
+		assertEquals("wrong number of references to a.Foo", 2, method.length); //$NON-NLS-1$
+		for (IReferenceDescriptor reference : method) {
+			if (reference.getReferenceType() == IReference.T_METHOD_REFERENCE) {
+				assertEquals(IReference.F_ILLEGAL, reference.getReferenceFlags());
+				assertEquals(12, reference.getLineNumber());
+			}
+		}
+	}
+
+	/**
+	 * Tests that only the references to the requested component and types are
+	 * read
+	 */
+	@Test
+	public void testLookup() throws Exception {
+		UseScanIndex index = createIndex();
+		UseScanReferences references = new UseScanReferences();
+		index.collect("a.producer", new String[] { "a.Bar", "b.Baz", "a.Missing" }, references); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertEquals("wrong number of references", 1, references.getAllExternalDependencies().length); //$NON-NLS-1$
+		assertTrue(references.hasReferencesTo("a.Bar")); //$NON-NLS-1$
+		assertFalse(references.hasReferencesTo("b.Baz")); //$NON-NLS-1$
+
+		references = new UseScanReferences();
+		index.collect("b.producer", null, references); //$NON-NLS-1$
+		assertEquals("wrong number of references", 1, references.getAllExternalDependencies().length); //$NON-NLS-1$
+		assertTrue(references.hasReferencesTo("b.Baz")); //$NON-NLS-1$
+
+		references = new UseScanReferences();
+		index.collect("x.unknown", null, references); //$NON-NLS-1$
+		assertEquals("wrong number of references", 0, references.getAllExternalDependencies().length); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.applications;
+
+import static org.eclipse.pde.api.tools.applications.ApiAnalysisDaemonTests.newMarker;
+import static org.eclipse.pde.api.tools.applications.ApiAnalysisDaemonTests.proxy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.pde.api.tools.internal.ApiAnalysisApplication;
+import org.eclipse.pde.api.tools.internal.ApiAnalysisApplication.ProjectResult;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the analysis of several projects by the {@link ApiAnalysisApplication}
+ *
+ * @since 1.3.700
+ */
+public class ApiAnalysisApplicationTests {
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private final List<IProject> fProjects = new ArrayList<>();
+
+	@After
+	public void tearDown() throws CoreException {
+		for (IProject project : fProjects) {
+			project.delete(true, true, null);
+		}
+	}
+
+	private IProject createProject(String name, IProject... referenced) throws CoreException {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+		project.create(null);
+		project.open(null);
+		fProjects.add(project);
+		if (referenced.length > 0) {
+			IProjectDescription description = project.getDescription();
+			description.setReferencedProjects(referenced);
+			project.setDescription(description, null);
+		}
+		return project;
+	}
+
+	private static ProjectResult newResult(String name, int blocking, int errors, int warnings) {
+		IProject project = proxy(IProject.class, (object, method, args) -> name);
+		return new ProjectResult(project, newMarkers(name, "Blocking.java", blocking), newMarkers(name, "Error.java", errors), newMarkers(name, "Warning.java", warnings)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	private static IMarker[] newMarkers(String project, String file, int count) {
+		IMarker[] markers = new IMarker[count];
+		for (int i = 0; i < count; i++) {
+			markers[i] = newMarker(file, i + 1, project + " problem " + i); //$NON-NLS-1$
+		}
+		return markers;
+	}
+
+	/**
+	 * Tests that the projects are ordered after the projects they reference
+	 */
+	@Test
+	public void testComputeProjectOrder() throws CoreException {
+		IProject a = createProject("order.a"); //$NON-NLS-1$
+		IProject b = createProject("order.b", a); //$NON-NLS-1$
+		IProject c = createProject("order.c", b); //$NON-NLS-1$
+		IProject d = createProject("order.d"); //$NON-NLS-1$
+		IProject[] ordered = ApiAnalysisApplication.computeProjectOrder(List.of(c, d, b, a));
+		assertEquals(4, ordered.length);
+		List<IProject> order = List.of(ordered);
+		assertTrue("a should be ordered before b", order.indexOf(a) < order.indexOf(b)); //$NON-NLS-1$
+		assertTrue("b should be ordered before c", order.indexOf(b) < order.indexOf(c)); //$NON-NLS-1$
+		assertArrayEquals(new IProject[] { a }, ApiAnalysisApplication.computeProjectOrder(List.of(a)));
+	}
+
+	/**
+	 * Tests the exit code of the analysis of several projects
+	 */
+	@Test
+	public void testPrintResults() {
+		ProjectResult clean = newResult("clean", 0, 0, 2); //$NON-NLS-1$
+		ProjectResult api = newResult("api", 0, 1, 0); //$NON-NLS-1$
+		ProjectResult blocking = newResult("blocking", 1, 0, 0); //$NON-NLS-1$
+		assertEquals(IStatus.OK, ApiAnalysisApplication.printResults(List.of(clean), true));
+		assertEquals(IStatus.OK, ApiAnalysisApplication.printResults(List.of(clean, api), false));
+		assertEquals(IStatus.ERROR, ApiAnalysisApplication.printResults(List.of(clean, api), true));
+		assertEquals("blocking errors should win over API errors", 10, ApiAnalysisApplication.printResults(List.of(api, blocking), true)); //$NON-NLS-1$
+		assertEquals("blocking errors should win over API errors", 10, ApiAnalysisApplication.printResults(List.of(blocking, api), true)); //$NON-NLS-1$
+		assertEquals(10, ApiAnalysisApplication.printResults(List.of(blocking), false));
+		assertEquals(IStatus.OK, ApiAnalysisApplication.printResults(List.of(), true));
+	}
+
+	/**
+	 * Tests that one report holds the markers of all the projects in order
+	 */
+	@Test
+	public void testWriteReport() throws Exception {
+		File report = new File(fFolder.getRoot(), "reports/api.txt"); //$NON-NLS-1$
+		ApiAnalysisApplication.writeReport(report, List.of(newResult("p1", 1, 1, 0), newResult("p2", 0, 0, 2))); //$NON-NLS-1$ //$NON-NLS-2$
+		String location = new File("/w/p").getAbsolutePath() + File.separator; //$NON-NLS-1$
+		assertEquals(List.of(
+				"p1: 1 blocking errors, 1 API errors, 0 API warnings", //$NON-NLS-1$
+				"[FATAL] File Blocking.java at line 1: p1 problem 0 (location: " + location + "Blocking.java)", //$NON-NLS-1$ //$NON-NLS-2$
+				"[API ERROR] File Error.java at line 1: p1 problem 0 (location: " + location + "Error.java)", //$NON-NLS-1$ //$NON-NLS-2$
+				"p2: 0 blocking errors, 0 API errors, 2 API warnings", //$NON-NLS-1$
+				"[API WARNING] File Warning.java at line 1: p2 problem 0 (location: " + location + "Warning.java)", //$NON-NLS-1$ //$NON-NLS-2$
+				"[API WARNING] File Warning.java at line 2: p2 problem 1 (location: " + location + "Warning.java)"), //$NON-NLS-1$ //$NON-NLS-2$
+				Files.readAllLines(report.toPath(), StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.applications;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.pde.api.tools.internal.ApiAnalysisApplication.ProjectResult;
+import org.eclipse.pde.api.tools.internal.ApiAnalysisDaemon;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the protocol of the {@link ApiAnalysisDaemon} and the JSON it answers
+ * with
+ *
+ * @since 1.3.700
+ */
+public class ApiAnalysisDaemonTests {
+
+	private Path fDirectory;
+	private final List<List<File>> fRequests = new ArrayList<>();
+
+	@Before
+	public void setUp() throws IOException {
+		fDirectory = Files.createTempDirectory("daemon"); //$NON-NLS-1$
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		try (var files = Files.list(fDirectory)) {
+			for (Path file : files.toList()) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(fDirectory);
+	}
+
+	private ApiAnalysisDaemon open(int port, File socket) throws IOException {
+		return ApiAnalysisDaemon.open(port, socket, fDirectory.resolve("daemon.token").toFile(), projects -> { //$NON-NLS-1$
+			fRequests.add(projects);
+			return List.of();
+		});
+	}
+
+	private static Thread serve(ApiAnalysisDaemon daemon) {
+		Thread thread = new Thread(() -> {
+			try {
+				daemon.serve();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		});
+		thread.start();
+		return thread;
+	}
+
+	/**
+	 * A connection to a daemon sending one request per line
+	 */
+	private static final class Client implements AutoCloseable {
+		private final SocketChannel fChannel;
+		private final BufferedReader fReader;
+		private final PrintWriter fWriter;
+
+		Client(SocketChannel channel) {
+			fChannel = channel;
+			fReader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+			fWriter = new PrintWriter(Channels.newOutputStream(channel), true, StandardCharsets.UTF_8);
+		}
+
+		String request(String line) throws IOException {
+			fWriter.println(line);
+			return fReader.readLine();
+		}
+
+		@Override
+		public void close() throws IOException {
+			fChannel.close();
+		}
+	}
+
+	private static Client connect(SocketAddress address) throws IOException {
+		return new Client(SocketChannel.open(address));
+	}
+
+	/**
+	 * Tests the requests and responses on a Unix domain socket
+	 */
+	@Test(timeout = 30000)
+	public void testProtocol() throws Exception {
+		File socket = fDirectory.resolve("daemon.socket").toFile(); //$NON-NLS-1$
+		try (ApiAnalysisDaemon daemon = open(-1, socket)) {
+			assertNull("no token on a Unix domain socket", daemon.getTokenFile()); //$NON-NLS-1$
+			Thread thread = serve(daemon);
+			try (Client client = connect(UnixDomainSocketAddress.of(socket.toPath()))) {
+				assertEquals("{\"projects\":[]}", client.request("analyze a" + File.pathSeparator + " b ")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				assertEquals(List.of(List.of(new File("a"), new File("b"))), fRequests); //$NON-NLS-1$ //$NON-NLS-2$
+				assertEquals("{\"error\":\"No project specified\"}", client.request("analyze")); //$NON-NLS-1$ //$NON-NLS-2$
+				assertEquals("{\"error\":\"Unknown command: build\"}", client.request("build a")); //$NON-NLS-1$ //$NON-NLS-2$
+				assertEquals("{\"stopped\":true}", client.request("stop")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			thread.join();
+		}
+		assertFalse("the socket should be deleted", socket.exists()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a file that is not a socket is not replaced by the daemon
+	 */
+	@Test
+	public void testNoSocket() throws Exception {
+		File file = fDirectory.resolve("file").toFile(); //$NON-NLS-1$
+		Files.writeString(file.toPath(), "content"); //$NON-NLS-1$
+		try (ApiAnalysisDaemon daemon = open(-1, file)) {
+			fail("a file should not be replaced"); //$NON-NLS-1$
+		} catch (FileAlreadyExistsException e) {
+			// expected
+		}
+		assertEquals("content", Files.readString(file.toPath())); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that clients of the loopback port must send the token first
+	 */
+	@Test(timeout = 30000)
+	public void testToken() throws Exception {
+		File tokenFile;
+		try (ApiAnalysisDaemon daemon = open(0, null)) {
+			tokenFile = daemon.getTokenFile();
+			String token = Files.readString(tokenFile.toPath());
+			if (Files.getFileStore(tokenFile.toPath()).supportsFileAttributeView("posix")) { //$NON-NLS-1$
+				assertEquals(Set.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE), Files.getPosixFilePermissions(tokenFile.toPath()));
+			}
+			Thread thread = serve(daemon);
+			SocketAddress address = parse(daemon.getAddress());
+			try (Client client = connect(address)) {
+				assertEquals("{\"error\":\"Not authenticated\"}", client.request("analyze a")); //$NON-NLS-1$ //$NON-NLS-2$
+				assertNull("the connection should be closed", client.fReader.readLine()); //$NON-NLS-1$
+			}
+			try (Client client = connect(address)) {
+				assertEquals("{\"error\":\"Not authenticated\"}", client.request("token " + token + "0")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			assertTrue("no request should be analyzed", fRequests.isEmpty()); //$NON-NLS-1$
+			try (Client client = connect(address)) {
+				assertEquals("{\"authenticated\":true}", client.request("token " + token)); //$NON-NLS-1$ //$NON-NLS-2$
+				assertEquals("{\"projects\":[]}", client.request("analyze a")); //$NON-NLS-1$ //$NON-NLS-2$
+				assertEquals("{\"stopped\":true}", client.request("stop")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			thread.join();
+		}
+		assertFalse("the token file should be deleted", tokenFile.exists()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a client that does not send anything does not hold up the
+	 * requests of another client, and that its connection is closed with the
+	 * daemon
+	 */
+	@Test(timeout = 30000)
+	public void testIdleClient() throws Exception {
+		try (ApiAnalysisDaemon daemon = open(0, null)) {
+			String token = Files.readString(daemon.getTokenFile().toPath());
+			Thread thread = serve(daemon);
+			SocketAddress address = parse(daemon.getAddress());
+			try (Client idle = connect(address)) {
+				try (Client client = connect(address)) {
+					assertEquals("{\"authenticated\":true}", client.request("token " + token)); //$NON-NLS-1$ //$NON-NLS-2$
+					assertEquals("{\"projects\":[]}", client.request("analyze a")); //$NON-NLS-1$ //$NON-NLS-2$
+					assertEquals(List.of(List.of(new File("a"))), fRequests); //$NON-NLS-1$
+					assertEquals("{\"stopped\":true}", client.request("stop")); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				thread.join();
+				assertNull("the idle connection should be closed", idle.fReader.readLine()); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private static SocketAddress parse(String address) {
+		int index = address.lastIndexOf(':');
+		return new InetSocketAddress(address.substring(address.indexOf('/') + 1, index), Integer.parseInt(address.substring(index + 1)));
+	}
+
+	static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(ApiAnalysisDaemonTests.class.getClassLoader(), new Class<?>[] { type }, handler));
+	}
+
+	static IMarker newMarker(String name, int line, String message) {
+		IFile file = proxy(IFile.class, (object, method, args) -> switch (method.getName()) {
+			case "getName" -> name; //$NON-NLS-1$
+			case "getLocation" -> IPath.fromOSString("/w/p/" + name); //$NON-NLS-1$
+			default -> throw new UnsupportedOperationException(method.getName());
+		});
+		return proxy(IMarker.class, (object, method, args) -> switch (method.getName()) {
+			case "getResource" -> file; //$NON-NLS-1$
+			case "getAttribute" -> switch ((String) args[0]) { //$NON-NLS-1$
+				case IMarker.LINE_NUMBER -> Integer.valueOf(line);
+				case IMarker.MESSAGE -> message;
+				default -> args[1];
+			};
+			default -> throw new UnsupportedOperationException(method.getName());
+		});
+	}
+
+	/**
+	 * Tests the JSON written for the results of the analyzed projects
+	 */
+	@Test
+	public void testToJson() {
+		IProject project = proxy(IProject.class, (object, method, args) -> "p\"1"); //$NON-NLS-1$
+		IMarker fatal = newMarker("A.java", 3, "cannot\tcompile\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		IMarker error = newMarker("B.java", 7, "B is \"API\""); //$NON-NLS-1$ //$NON-NLS-2$
+		IMarker warning = newMarker("C.java", -1, "C\\D"); //$NON-NLS-1$ //$NON-NLS-2$
+		ProjectResult result = new ProjectResult(project, new IMarker[] { fatal }, new IMarker[] { error }, new IMarker[] { warning });
+		ProjectResult empty = new ProjectResult(project, new IMarker[0], new IMarker[0], new IMarker[0]);
+		String location = new File("/w/p").getAbsolutePath().replace("\\", "\\\\"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		String separator = File.separator.replace("\\", "\\\\"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("{\"projects\":[{\"name\":\"p\\\"1\",\"errors\":1,\"warnings\":1,\"blocking\":1,\"problems\":[" //$NON-NLS-1$
+				+ "{\"severity\":\"fatal\",\"file\":\"A.java\",\"location\":\"" + location + separator + "A.java\",\"line\":3,\"message\":\"cannot\\tcompile\"}," //$NON-NLS-1$ //$NON-NLS-2$
+				+ "{\"severity\":\"error\",\"file\":\"B.java\",\"location\":\"" + location + separator + "B.java\",\"line\":7,\"message\":\"B is \\\"API\\\"\"}," //$NON-NLS-1$ //$NON-NLS-2$
+				+ "{\"severity\":\"warning\",\"file\":\"C.java\",\"location\":\"" + location + separator + "C.java\",\"line\":-1,\"message\":\"C\\\\D\"}]}," //$NON-NLS-1$ //$NON-NLS-2$
+				+ "{\"name\":\"p\\\"1\",\"errors\":0,\"warnings\":0,\"blocking\":0,\"problems\":[]}]}", //$NON-NLS-1$
+				ApiAnalysisDaemon.toJson(List.of(result, empty)));
+		assertEquals("{\"projects\":[]}", ApiAnalysisDaemon.toJson(List.of())); //$NON-NLS-1$
+	}
+}
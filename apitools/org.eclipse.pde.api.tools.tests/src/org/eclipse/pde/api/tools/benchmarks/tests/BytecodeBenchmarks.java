@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.benchmarks.tests;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.pde.api.tools.internal.ApiDescription;
+import org.eclipse.pde.api.tools.internal.builder.Reference;
+import org.eclipse.pde.api.tools.internal.builder.ReferenceExtractor;
+import org.eclipse.pde.api.tools.internal.comparator.ClassFileComparator;
+import org.eclipse.pde.api.tools.internal.model.TypeStructureBuilder;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.RestrictionModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMethodDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IPackageDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.model.tests.TestSuiteHelper;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.objectweb.asm.ClassReader;
+
+/**
+ * Micro benchmarks for the bytecode hot paths of API tools: building type
+ * structures, extracting references, resolving API description annotations
+ * and comparing class files, which includes decoding their generic
+ * signatures.
+ * <p>
+ * The corpus is made of the class files of the test bundles checked in with
+ * this plug-in and of the classes of the API tools bundle itself. Each
+ * operation is one pass over the whole corpus. The benchmarks do not need a
+ * workbench and are not part of the test suites, run them with
+ * {@link #main(String[])} or as a JUnit test and compare the printed
+ * throughput and allocation rate with the ones of the base revision.
+ * </p>
+ *
+ * @since 1.3.700
+ */
+public class BytecodeBenchmarks {
+
+	/**
+	 * Jars of the test bundles used as corpus, relative to this plug-in
+	 */
+	private static final String[] CORPUS_JARS = {
+			"test-plugins/component.a_1.0.0.jar", //$NON-NLS-1$
+			"test-plugins/component.b_1.0.0.jar", //$NON-NLS-1$
+			"test-plugins/component_c_1.0.0.jar", //$NON-NLS-1$
+			"test-analyzer-2/test.bundle.a_1.0.1.jar", //$NON-NLS-1$
+			"test-jars/sample.jar" }; //$NON-NLS-1$
+
+	private static final List<byte[]> fgCorpus = new ArrayList<>();
+	private static final List<Microbenchmark.Result> fgResults = new ArrayList<>();
+
+	public static void main(String[] args) {
+		System.exit(JUnitCore.runClasses(BytecodeBenchmarks.class).wasSuccessful() ? 0 : 1);
+	}
+
+	@BeforeClass
+	public static void loadCorpus() throws Exception {
+		IPath root = TestSuiteHelper.getPluginDirectoryPath();
+		for (String jar : CORPUS_JARS) {
+			readArchive(root.append(jar).toFile());
+		}
+		CodeSource source = ApiPlugin.class.getProtectionDomain().getCodeSource();
+		if (source != null) {
+			try {
+				File bundle = new File(source.getLocation().toURI());
+				if (bundle.isDirectory()) {
+					readDirectory(bundle.toPath());
+				} else if (bundle.isFile()) {
+					readArchive(bundle);
+				}
+			} catch (URISyntaxException | IllegalArgumentException e) {
+				// not a local file, use the test bundles only
+			}
+		}
+		assertFalse("the corpus should not be empty", fgCorpus.isEmpty()); //$NON-NLS-1$
+	}
+
+	private static void readArchive(File file) throws IOException {
+		try (ZipFile zip = new ZipFile(file)) {
+			for (ZipEntry entry : Collections.list(zip.entries())) {
+				if (entry.getName().endsWith(".class")) { //$NON-NLS-1$
+					try (InputStream in = zip.getInputStream(entry)) {
+						fgCorpus.add(in.readAllBytes());
+					}
+				}
+			}
+		}
+	}
+
+	private static void readDirectory(Path directory) throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".class")).sorted()::iterator) { //$NON-NLS-1$
+				fgCorpus.add(Files.readAllBytes(file));
+			}
+		}
+	}
+
+	@AfterClass
+	public static void report() {
+		System.out.println(String.format("API tools bytecode benchmarks, %d class files per operation", Integer.valueOf(fgCorpus.size()))); //$NON-NLS-1$
+		for (Microbenchmark.Result result : fgResults) {
+			System.out.println(result);
+		}
+		fgCorpus.clear();
+		fgResults.clear();
+	}
+
+	private static void run(String name, Microbenchmark.Operation operation) throws Exception {
+		Microbenchmark.Result result = Microbenchmark.run(name, operation);
+		assertTrue("the benchmark should have run", result.operations() > 0); //$NON-NLS-1$
+		fgResults.add(result);
+	}
+
+	private static List<IApiType> buildStructures() {
+		List<IApiType> types = new ArrayList<>(fgCorpus.size());
+		for (byte[] bytes : fgCorpus) {
+			IApiType type = TypeStructureBuilder.buildTypeStructure(bytes, null, null);
+			if (type != null) {
+				types.add(type);
+			}
+		}
+		return types;
+	}
+
+	/**
+	 * Measures building the type structures of the corpus
+	 */
+	@Test
+	public void testTypeStructureBuilder() throws Exception {
+		run("TypeStructureBuilder.buildTypeStructure", BytecodeBenchmarks::buildStructures); //$NON-NLS-1$
+	}
+
+	/**
+	 * Measures extracting all kinds of references from the corpus
+	 */
+	@Test
+	public void testReferenceExtractor() throws Exception {
+		List<IApiType> types = new ArrayList<>();
+		List<byte[]> contents = new ArrayList<>();
+		for (byte[] bytes : fgCorpus) {
+			IApiType type = TypeStructureBuilder.buildTypeStructure(bytes, null, null);
+			if (type != null) {
+				types.add(type);
+				contents.add(bytes);
+			}
+		}
+		run("ReferenceExtractor", () -> { //$NON-NLS-1$
+			int count = 0;
+			for (int i = 0; i < types.size(); i++) {
+				Set<Reference> references = new HashSet<>();
+				ReferenceExtractor extractor = new ReferenceExtractor(types.get(i), references, IReference.MASK_REF_ALL);
+				new ClassReader(contents.get(i)).accept(extractor, ClassReader.SKIP_FRAMES);
+				count += references.size();
+			}
+			return Integer.valueOf(count);
+		});
+	}
+
+	/**
+	 * Measures resolving the annotations of every type and method of the
+	 * corpus in an API description that has annotations for half of them
+	 */
+	@Test
+	public void testApiDescriptionLookup() throws Exception {
+		ApiDescription description = new ApiDescription("benchmark"); //$NON-NLS-1$
+		List<IElementDescriptor> elements = new ArrayList<>();
+		for (IApiType type : buildStructures()) {
+			IReferenceTypeDescriptor descriptor = Factory.typeDescriptor(type.getName());
+			IPackageDescriptor pkg = descriptor.getPackage();
+			description.setVisibility(pkg, VisibilityModifiers.API);
+			elements.add(descriptor);
+			if (elements.size() % 2 == 0) {
+				description.setRestrictions(descriptor, RestrictionModifiers.NO_EXTEND);
+			}
+			for (IApiMethod method : type.getMethods()) {
+				IMethodDescriptor methodDescriptor = Factory.methodDescriptor(type.getName(), method.getName(), method.getSignature());
+				elements.add(methodDescriptor);
+				if (elements.size() % 2 == 0) {
+					description.setRestrictions(methodDescriptor, RestrictionModifiers.NO_REFERENCE);
+				}
+			}
+		}
+		run("ApiDescription.resolveAnnotations", () -> { //$NON-NLS-1$
+			int restrictions = 0;
+			for (IElementDescriptor element : elements) {
+				restrictions += description.resolveAnnotations(element).getRestrictions();
+			}
+			return Integer.valueOf(restrictions);
+		});
+	}
+
+	/**
+	 * Measures comparing the types of two versions of a bundle
+	 */
+	@Test
+	public void testClassFileComparator() throws Exception {
+		IApiBaseline reference = TestSuiteHelper.createTestingBaseline("reference", IPath.fromOSString("test-analyzer-1")); //$NON-NLS-1$ //$NON-NLS-2$
+		IApiBaseline current = TestSuiteHelper.createTestingBaseline("current", IPath.fromOSString("test-analyzer-2")); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			IApiComponent component = reference.getApiComponent("test.bundle.a"); //$NON-NLS-1$
+			IApiComponent component2 = current.getApiComponent("test.bundle.a"); //$NON-NLS-1$
+			assertNotNull("missing reference component", component); //$NON-NLS-1$
+			assertNotNull("missing current component", component2); //$NON-NLS-1$
+			List<IApiTypeRoot[]> pairs = new ArrayList<>();
+			for (String typeName : new String[] {
+					"test.bundle.a.APublicClass", //$NON-NLS-1$
+					"test.bundle.a.APublicInterface", //$NON-NLS-1$
+					"test.bundle.a.Activator" }) { //$NON-NLS-1$
+				IApiTypeRoot root = component.findTypeRoot(typeName);
+				IApiTypeRoot root2 = component2.findTypeRoot(typeName);
+				if (root != null && root2 != null) {
+					pairs.add(new IApiTypeRoot[] { root, root2 });
+				}
+			}
+			assertFalse("no type to compare", pairs.isEmpty()); //$NON-NLS-1$
+			run("ClassFileComparator", () -> { //$NON-NLS-1$
+				int deltas = 0;
+				for (IApiTypeRoot[] pair : pairs) {
+					ClassFileComparator comparator = new ClassFileComparator(pair[0], pair[1], component, component2, reference, current, VisibilityModifiers.ALL_VISIBILITIES);
+					deltas += comparator.getDelta().getChildren().length;
+				}
+				return Integer.valueOf(deltas);
+			});
+		} finally {
+			reference.dispose();
+			current.dispose();
+		}
+	}
+}
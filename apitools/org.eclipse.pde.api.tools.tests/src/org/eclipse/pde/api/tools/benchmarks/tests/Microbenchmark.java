@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.benchmarks.tests;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Minimal micro benchmark runner. An operation is first run repeatedly for a
+ * warm up period so that it is compiled, then for a measurement period during
+ * which the number of operations and the bytes allocated by the running thread
+ * are counted.
+ * <p>
+ * The periods default to {@value #DEFAULT_WARMUP_MILLIS} and
+ * {@value #DEFAULT_MEASURE_MILLIS} milliseconds and can be changed with the
+ * <code>org.eclipse.pde.api.tools.benchmarks.warmup</code> and
+ * <code>org.eclipse.pde.api.tools.benchmarks.measure</code> system
+ * properties.
+ * </p>
+ *
+ * @since 1.3.700
+ */
+public final class Microbenchmark {
+
+	/**
+	 * Default warm up period in milliseconds
+	 */
+	public static final long DEFAULT_WARMUP_MILLIS = 2000;
+
+	/**
+	 * Default measurement period in milliseconds
+	 */
+	public static final long DEFAULT_MEASURE_MILLIS = 5000;
+
+	/**
+	 * An operation to measure
+	 */
+	@FunctionalInterface
+	public interface Operation {
+
+		/**
+		 * Runs the operation once
+		 *
+		 * @return a value computed by the operation, consumed so that the
+		 *         operation cannot be optimized away
+		 */
+		Object run() throws Exception;
+	}
+
+	/**
+	 * The result of a benchmark
+	 *
+	 * @param name the name of the benchmark
+	 * @param operations the number of operations run while measuring
+	 * @param opsPerSecond the throughput in operations per second
+	 * @param bytesPerOperation the bytes allocated per operation or
+	 *            <code>-1</code> if allocations cannot be measured
+	 */
+	public record Result(String name, long operations, double opsPerSecond, double bytesPerOperation) {
+
+		@Override
+		public String toString() {
+			return String.format("%-40s %12.2f ops/s %14.1f B/op", name, Double.valueOf(opsPerSecond), Double.valueOf(bytesPerOperation)); //$NON-NLS-1$
+		}
+	}
+
+	private static volatile int fgSink;
+
+	private Microbenchmark() {
+	}
+
+	/**
+	 * Runs the given operation
+	 *
+	 * @param name the name of the benchmark
+	 * @param operation the operation to measure
+	 * @return the result
+	 */
+	public static Result run(String name, Operation operation) throws Exception {
+		long warmup = Long.getLong("org.eclipse.pde.api.tools.benchmarks.warmup", DEFAULT_WARMUP_MILLIS).longValue(); //$NON-NLS-1$
+		long measure = Long.getLong("org.eclipse.pde.api.tools.benchmarks.measure", DEFAULT_MEASURE_MILLIS).longValue(); //$NON-NLS-1$
+		loop(operation, warmup);
+		com.sun.management.ThreadMXBean threads = getThreadBean();
+		long allocated = threads == null ? 0 : threads.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		long operations = loop(operation, measure);
+		long elapsed = System.nanoTime() - start;
+		double bytes = -1;
+		if (threads != null) {
+			bytes = (double) (threads.getCurrentThreadAllocatedBytes() - allocated) / operations;
+		}
+		return new Result(name, operations, operations * 1e9 / elapsed, bytes);
+	}
+
+	private static long loop(Operation operation, long millis) throws Exception {
+		long end = System.nanoTime() + millis * 1000000;
+		long operations = 0;
+		int sink = 0;
+		do {
+			sink += System.identityHashCode(operation.run());
+			operations++;
+		} while (System.nanoTime() < end);
+		fgSink = sink;
+		return operations;
+	}
+
+	/**
+	 * @return the bean measuring the bytes allocated by the current thread or
+	 *         <code>null</code> if the JVM does not provide one
+	 */
+	private static com.sun.management.ThreadMXBean getThreadBean() {
+		try {
+			ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemorySupported()) {
+				threads.setThreadAllocatedMemoryEnabled(true);
+				return threads;
+			}
+		} catch (LinkageError e) {
+			// com.sun.management is optional, allocations are not measured
+		}
+		return null;
+	}
+}
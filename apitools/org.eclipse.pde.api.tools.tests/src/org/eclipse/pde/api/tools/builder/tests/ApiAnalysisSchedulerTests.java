@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.pde.api.tools.internal.builder.ApiAnalysisScheduler;
+import org.junit.Test;
+
+/**
+ * Tests the order in which the {@link ApiAnalysisScheduler} selects the
+ * projects to analyze
+ *
+ * @since 1.3.700
+ */
+public class ApiAnalysisSchedulerTests {
+
+	/**
+	 * c requires b which requires a, d requires nothing
+	 */
+	private static final Map<String, List<String>> REQUIRED = Map.of("a", List.of(), "b", List.of("a"), "c", List.of("b", "a"), "d", List.of()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$
+
+	private static String selectNext(Collection<String> pending, Set<String> running, String preferred) {
+		return ApiAnalysisScheduler.selectNext(new LinkedHashSet<>(pending), running, REQUIRED::get, preferred);
+	}
+
+	/**
+	 * Tests that projects are selected after the projects they require
+	 */
+	@Test
+	public void testDependencyOrder() {
+		assertEquals("a", selectNext(List.of("c", "b", "a"), Set.of(), null)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertEquals("b", selectNext(List.of("c", "b"), Set.of(), null)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals("c", selectNext(List.of("c"), Set.of(), null)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that projects wait for the analysis of the projects they require
+	 * and of their own earlier request
+	 */
+	@Test
+	public void testRunning() {
+		assertNull(selectNext(List.of("c", "b"), Set.of("a"), null)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals("d", selectNext(List.of("c", "b", "d"), Set.of("a"), null)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		assertNull(selectNext(List.of("d"), Set.of("d"), null)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that the preferred project and the projects it requires are
+	 * selected first
+	 */
+	@Test
+	public void testPreferred() {
+		assertEquals("d", selectNext(List.of("a", "b", "d"), Set.of(), "d")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		assertEquals("b", selectNext(List.of("d", "c", "b"), Set.of(), "c")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		assertEquals("d", selectNext(List.of("d", "b"), Set.of(), "x")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	/**
+	 * Tests that projects requiring each other are still selected
+	 */
+	@Test
+	public void testCycle() {
+		Map<String, List<String>> required = Map.of("x", List.of("y"), "y", List.of("x")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertEquals("x", ApiAnalysisScheduler.selectNext(new LinkedHashSet<>(List.of("x", "y")), Set.of(), required::get, null)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertNull(ApiAnalysisScheduler.selectNext(new LinkedHashSet<>(List.of("y")), Set.of("x"), required::get, null)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.pde.api.tools.internal.builder.ApiMarkerUpdate;
+import org.eclipse.pde.api.tools.internal.builder.ApiMarkerUpdate.Difference;
+import org.junit.Test;
+
+/**
+ * Tests the difference computed by the {@link ApiMarkerUpdate} between the
+ * existing markers and the markers of the problems found by a build
+ *
+ * @since 1.3.700
+ */
+public class ApiMarkerUpdateTests {
+
+	private static Map<Integer, String> existing(String... keys) {
+		Map<Integer, String> existing = new LinkedHashMap<>();
+		for (int i = 0; i < keys.length; i++) {
+			existing.put(Integer.valueOf(i), keys[i]);
+		}
+		return existing;
+	}
+
+	/**
+	 * Tests that equal markers are kept and only the others are deleted or
+	 * created
+	 */
+	@Test
+	public void testDifference() {
+		Difference<Integer, String> difference = ApiMarkerUpdate.difference(existing("a", "b", "c"), List.of("c", "d", "a")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+		assertEquals(List.of(Integer.valueOf(1)), difference.stale());
+		assertEquals(List.of("d"), difference.missing()); //$NON-NLS-1$
+		assertEquals(2, difference.kept());
+	}
+
+	/**
+	 * Tests that an existing marker only stands for one equal marker
+	 */
+	@Test
+	public void testDuplicates() {
+		Difference<Integer, String> difference = ApiMarkerUpdate.difference(existing("a", "a", "b", "b"), List.of("a", "b", "b", "b")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+		assertEquals(List.of(Integer.valueOf(1)), difference.stale());
+		assertEquals(List.of("b"), difference.missing()); //$NON-NLS-1$
+		assertEquals(3, difference.kept());
+	}
+
+	/**
+	 * Tests that all the markers are deleted if no problem is found and all are
+	 * created if there were no markers
+	 */
+	@Test
+	public void testEmpty() {
+		Difference<Integer, String> difference = ApiMarkerUpdate.difference(existing("a", "b"), List.of()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of(Integer.valueOf(0), Integer.valueOf(1)), difference.stale());
+		assertEquals(List.of(), difference.missing());
+		assertEquals(0, difference.kept());
+		difference = ApiMarkerUpdate.difference(existing(), List.of("a", "b")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of(), difference.stale());
+		assertEquals(List.of("a", "b"), difference.missing()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(0, difference.kept());
+	}
+}
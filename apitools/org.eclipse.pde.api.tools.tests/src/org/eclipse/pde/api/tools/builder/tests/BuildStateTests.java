@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Arrays;
+import java.util.Set;
+
+import org.eclipse.pde.api.tools.internal.builder.BuildState;
+import org.eclipse.pde.api.tools.internal.comparator.Delta;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
+import org.junit.Test;
+
+/**
+ * Tests the record format the {@link BuildState} is saved in
+ *
+ * @since 1.3.700
+ */
+public class BuildStateTests {
+
+	private static IDelta newDelta(String typeName, String key, int kind) {
+		return new Delta(null, IDelta.CLASS_ELEMENT_TYPE, kind, IDelta.METHOD, 0, 0, 0, 0, typeName, key, new String[] { typeName, key });
+	}
+
+	private static BuildState newState() {
+		BuildState state = new BuildState();
+		state.addCompatibleChange(newDelta("a.A", "m()V", IDelta.ADDED)); //$NON-NLS-1$ //$NON-NLS-2$
+		state.addCompatibleChange(newDelta("a.A", "n()V", IDelta.ADDED)); //$NON-NLS-1$ //$NON-NLS-2$
+		state.addBreakingChange(newDelta("a.B", "m()V", IDelta.REMOVED)); //$NON-NLS-1$ //$NON-NLS-2$
+		state.addApiToolingDependentProject("p"); //$NON-NLS-1$
+		state.setBuildPathCRC(42);
+		return state;
+	}
+
+	private static byte[] write(BuildState state) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			BuildState.write(state, out);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static byte[] append(BuildState state, byte[] saved) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		bytes.write(saved);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			BuildState.append(state, out);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static BuildState read(byte[] bytes) throws Exception {
+		return BuildState.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+	}
+
+	private static Set<IDelta> set(IDelta[] deltas) {
+		return Set.copyOf(Arrays.asList(deltas));
+	}
+
+	/**
+	 * Tests that a written state reads back the same
+	 */
+	@Test
+	public void testRoundTrip() throws Exception {
+		BuildState state = newState();
+		BuildState read = read(write(state));
+		assertNotNull("the state should be read", read); //$NON-NLS-1$
+		assertEquals(set(state.getCompatibleChanges()), set(read.getCompatibleChanges()));
+		assertEquals(set(state.getBreakingChanges()), set(read.getBreakingChanges()));
+		assertEquals(Set.of("p"), read.getApiToolingDependentProjects()); //$NON-NLS-1$
+		assertEquals(42, read.getBuildPathCRC());
+	}
+
+	/**
+	 * Tests that appended records replace the deltas of the changed types
+	 */
+	@Test
+	public void testAppend() throws Exception {
+		byte[] saved = write(newState());
+		BuildState state = read(saved);
+		state.cleanup("a.A"); //$NON-NLS-1$
+		state.addCompatibleChange(newDelta("a.A", "o()V", IDelta.ADDED)); //$NON-NLS-1$ //$NON-NLS-2$
+		state.cleanup("a.B"); //$NON-NLS-1$
+		state.addApiToolingDependentProject("q"); //$NON-NLS-1$
+		byte[] appended = append(state, saved);
+		BuildState read = read(appended);
+		assertNotNull("the appended state should be read", read); //$NON-NLS-1$
+		assertEquals(Set.of(newDelta("a.A", "o()V", IDelta.ADDED)), set(read.getCompatibleChanges())); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(0, read.getBreakingChanges().length);
+		assertEquals(Set.of("p", "q"), read.getApiToolingDependentProjects()); //$NON-NLS-1$ //$NON-NLS-2$
+		// a state read back from appended records can be appended to again
+		read.addBreakingChange(newDelta("a.C", "m()V", IDelta.REMOVED)); //$NON-NLS-1$ //$NON-NLS-2$
+		BuildState again = read(append(read, appended));
+		assertEquals(Set.of(newDelta("a.C", "m()V", IDelta.REMOVED)), set(again.getBreakingChanges())); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that a state cut by an incomplete save is not read, even when it
+	 * is cut at a record boundary after the project record of an earlier save
+	 */
+	@Test
+	public void testTruncated() throws Exception {
+		byte[] saved = write(newState());
+		BuildState state = read(saved);
+		state.cleanup("a.A"); //$NON-NLS-1$
+		state.addCompatibleChange(newDelta("a.A", "o()V", IDelta.ADDED)); //$NON-NLS-1$ //$NON-NLS-2$
+		state.addBreakingChange(newDelta("a.C", "m()V", IDelta.REMOVED)); //$NON-NLS-1$ //$NON-NLS-2$
+		byte[] appended = append(state, saved);
+		int header = ApiPlugin.PLUGIN_ID.length() + 2 + "STATE".length() + 2 + 4; //$NON-NLS-1$
+		for (int length = header; length < appended.length; length++) {
+			BuildState read = read(Arrays.copyOf(appended, length));
+			if (length == saved.length) {
+				assertNotNull("the first save should be read", read); //$NON-NLS-1$
+				assertEquals(set(newState().getCompatibleChanges()), set(read.getCompatibleChanges()));
+			} else {
+				assertNull("a state cut at " + length + " should not be read", read); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+
+	/**
+	 * Tests that a state marked as being built is not read until the state of
+	 * the build is appended after the mark
+	 */
+	@Test
+	public void testBuilding() throws Exception {
+		byte[] saved = write(newState());
+		BuildState state = read(saved);
+		byte[] building = Arrays.copyOf(saved, saved.length + 1);
+		// the building record
+		building[saved.length] = 4;
+		assertNull("a state being built should not be read", read(building)); //$NON-NLS-1$
+		state.cleanup("a.B"); //$NON-NLS-1$
+		BuildState read = read(append(state, building));
+		assertNotNull("the state appended after the build should be read", read); //$NON-NLS-1$
+		assertEquals(0, read.getBreakingChanges().length);
+		assertEquals(set(newState().getCompatibleChanges()), set(read.getCompatibleChanges()));
+	}
+
+	/**
+	 * Tests that a state of another version is not read
+	 */
+	@Test
+	public void testOtherVersion() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeUTF(ApiPlugin.PLUGIN_ID);
+			out.writeUTF("STATE"); //$NON-NLS-1$
+			out.writeInt(34);
+			// a project record of version 34
+			out.writeByte(3);
+		}
+		assertNull("an old state should not be read", read(bytes.toByteArray())); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.pde.api.tools.internal.builder.ReferenceIndex;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ReferenceIndex} saved with the API tools build state
+ *
+ * @since 1.3.700
+ */
+public class ReferenceIndexTests {
+
+	private static final int KINDS = 0x0F;
+	private static final String A_CLASS = "/p/bin/a/A.class"; //$NON-NLS-1$
+	private static final String D_CLASS = "/p/bin/a/D.class"; //$NON-NLS-1$
+
+	private static ReferenceIndex writeAndRead(ReferenceIndex index) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		index.write(new DataOutputStream(bytes));
+		return ReferenceIndex.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+	}
+
+	private static ReferenceIndex newIndex() {
+		ReferenceIndex index = new ReferenceIndex();
+		index.reset();
+		index.beginIndexing(KINDS);
+		index.setReferences("a.A", A_CLASS, 1, Set.of("b.B", "c.C")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		index.setReferences("a.D", D_CLASS, 2, Set.of("b.B")); //$NON-NLS-1$ //$NON-NLS-2$
+		index.endIndexing(true);
+		return index;
+	}
+
+	private static Map<String, Long> stamps() {
+		Map<String, Long> stamps = new HashMap<>();
+		stamps.put(A_CLASS, Long.valueOf(1));
+		stamps.put(D_CLASS, Long.valueOf(2));
+		return stamps;
+	}
+
+	private static Set<String> getStaleTypes(ReferenceIndex index, Map<String, Long> stamps) {
+		return index.getStaleTypes(path -> stamps.getOrDefault(path, Long.valueOf(IResource.NULL_STAMP)).longValue());
+	}
+
+	/**
+	 * Tests looking up the types that reference a type
+	 */
+	@Test
+	public void testReferencingTypes() {
+		ReferenceIndex index = newIndex();
+		assertTrue("the index should be complete", index.isComplete()); //$NON-NLS-1$
+		assertEquals(Set.of("a.A", "a.D"), index.getReferencingTypes("b.B")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(Set.of("a.A"), index.getReferencingTypes("c.C")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(index.getReferencingTypes("a.A").isEmpty()); //$NON-NLS-1$
+		index.setReferences("a.A", A_CLASS, 3, Set.of("c.C")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(Set.of("a.D"), index.getReferencingTypes("b.B")); //$NON-NLS-1$ //$NON-NLS-2$
+		index.remove("a.D"); //$NON-NLS-1$
+		assertTrue(index.getReferencingTypes("b.B").isEmpty()); //$NON-NLS-1$
+		assertEquals(1, index.size());
+	}
+
+	/**
+	 * Tests that the index is not used once some types may be missing from it
+	 */
+	@Test
+	public void testInvalidate() {
+		ReferenceIndex index = new ReferenceIndex();
+		assertFalse("a new index should not be complete", index.isComplete()); //$NON-NLS-1$
+		index.setReferences("a.A", A_CLASS, 1, Set.of("b.B")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("an incomplete index should not be filled", 0, index.size()); //$NON-NLS-1$
+		index = newIndex();
+		index.beginIndexing(KINDS);
+		assertTrue("indexing the same kinds should keep the index", index.isComplete()); //$NON-NLS-1$
+		index.beginIndexing(KINDS | 0x10);
+		assertFalse("indexing other kinds should invalidate the index", index.isComplete()); //$NON-NLS-1$
+		assertEquals(0, index.size());
+	}
+
+	/**
+	 * Tests that a full scan that does not finish leaves the index incomplete
+	 */
+	@Test
+	public void testUnfinishedScan() {
+		ReferenceIndex index = new ReferenceIndex();
+		index.reset();
+		index.beginIndexing(KINDS);
+		index.setReferences("a.A", A_CLASS, 1, Set.of("b.B")); //$NON-NLS-1$ //$NON-NLS-2$
+		index.endIndexing(false);
+		assertFalse("the index should not be complete", index.isComplete()); //$NON-NLS-1$
+		index.beginIndexing(KINDS);
+		index.endIndexing(true);
+		assertFalse("an incremental scan should not complete the index", index.isComplete()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that entries of changed or missing class files are detected
+	 */
+	@Test
+	public void testStaleTypes() {
+		ReferenceIndex index = newIndex();
+		Map<String, Long> stamps = stamps();
+		assertTrue("no type should be stale", getStaleTypes(index, stamps).isEmpty()); //$NON-NLS-1$
+		stamps.put(A_CLASS, Long.valueOf(5));
+		assertEquals(Set.of("a.A"), getStaleTypes(index, stamps)); //$NON-NLS-1$
+		assertEquals("stale entries should be kept until indexed again", Set.of("a.A", "a.D"), index.getReferencingTypes("b.B")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		index.setReferences("a.A", A_CLASS, 5, Set.of("b.B")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("no type should be stale", getStaleTypes(index, stamps).isEmpty()); //$NON-NLS-1$
+		stamps.remove(D_CLASS);
+		assertTrue("a missing class file should not be stale", getStaleTypes(index, stamps).isEmpty()); //$NON-NLS-1$
+		assertEquals("the entry of a missing class file should be removed", 1, index.size()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that types skipped by a cancelled scan are analyzed again
+	 */
+	@Test
+	public void testSetStale() {
+		ReferenceIndex index = newIndex();
+		index.setStale("a.A", A_CLASS); //$NON-NLS-1$
+		index.setStale("a.E", "/p/bin/a/E.class"); //$NON-NLS-1$ //$NON-NLS-2$
+		Map<String, Long> stamps = stamps();
+		stamps.put("/p/bin/a/E.class", Long.valueOf(1)); //$NON-NLS-1$
+		assertEquals(Set.of("a.A", "a.E"), getStaleTypes(index, stamps)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(Set.of("a.A"), index.getReferencingTypes("c.C")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that the index and the class file stamps are saved
+	 */
+	@Test
+	public void testSaveAndRead() throws Exception {
+		ReferenceIndex read = writeAndRead(newIndex());
+		assertNotNull("the index should be read", read); //$NON-NLS-1$
+		assertTrue("the index should be complete", read.isComplete()); //$NON-NLS-1$
+		assertEquals(KINDS, read.getReferenceKinds());
+		assertEquals(2, read.size());
+		assertEquals(Set.of("a.A", "a.D"), read.getReferencingTypes("b.B")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(Set.of("a.A"), read.getReferencingTypes("c.C")); //$NON-NLS-1$ //$NON-NLS-2$
+		Map<String, Long> stamps = stamps();
+		assertTrue("no type should be stale", getStaleTypes(read, stamps).isEmpty()); //$NON-NLS-1$
+		stamps.put(D_CLASS, Long.valueOf(3));
+		assertEquals(Set.of("a.D"), getStaleTypes(read, stamps)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that an invalidated index is read back as incomplete
+	 */
+	@Test
+	public void testSaveInvalidated() throws Exception {
+		ReferenceIndex index = newIndex();
+		index.invalidate();
+		ReferenceIndex read = writeAndRead(index);
+		assertFalse("the index should not be complete", read.isComplete()); //$NON-NLS-1$
+		assertEquals(0, read.size());
+	}
+
+	/**
+	 * Tests that a partially saved index is not read
+	 */
+	@Test
+	public void testReadTruncated() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		newIndex().write(new DataOutputStream(bytes));
+		byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 3);
+		assertNull("a truncated index should not be read", ReferenceIndex.read(new DataInputStream(new ByteArrayInputStream(truncated)))); //$NON-NLS-1$
+	}
+}
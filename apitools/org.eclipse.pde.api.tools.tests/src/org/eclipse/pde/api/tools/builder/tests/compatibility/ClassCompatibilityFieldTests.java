@@ -13,7 +13,12 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.builder.tests.compatibility;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.problems.ApiProblemFactory;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
@@ -91,6 +96,23 @@ public class ClassCompatibilityFieldTests extends ClassCompatibilityTests {
 		xRemovePublicField(false);
 	}
 
+	/**
+	 * Tests that an incremental build appends to the build state saved by the
+	 * previous incremental build rather than writing it again
+	 */
+	public void testBuildStateAppended() throws Exception {
+		xRemovePublicField(true);
+		File state = getEnv().getWorkspace().getRoot().getProject(WORKSPACE_CLASSES_PACKAGE_A.segment(0)).getWorkingLocation(ApiPlugin.PLUGIN_ID).append("state.dat").toFile(); //$NON-NLS-1$
+		assertTrue("the build state should be saved", state.isFile()); //$NON-NLS-1$
+		byte[] saved = Files.readAllBytes(state.toPath());
+		IPath filePath = WORKSPACE_CLASSES_PACKAGE_A.append("RemoveTwoPublicFields.java"); //$NON-NLS-1$
+		updateWorkspaceFile(filePath, getUpdateFilePath(filePath.lastSegment()));
+		incrementalBuild();
+		byte[] appended = Files.readAllBytes(state.toPath());
+		assertTrue("the build state should grow", appended.length > saved.length); //$NON-NLS-1$
+		assertTrue("the build state should be appended to", Arrays.equals(saved, Arrays.copyOf(appended, saved.length))); //$NON-NLS-1$
+	}
+
 	/**
 	 * Tests the removal of 2 public fields from an API class - incremental.
 	 */
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.comparator.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.eclipse.pde.api.tools.internal.comparator.Delta;
+import org.eclipse.pde.api.tools.internal.comparator.DeltaXmlVisitor;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.ApiComparator;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
+import org.eclipse.pde.api.tools.internal.util.Util;
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+/**
+ * Tests that the {@link DeltaXmlVisitor} streams the same XML as the document
+ * it builds
+ *
+ * @since 1.3.700
+ */
+public class DeltaXmlVisitorTests {
+
+	private static IDelta newDelta() {
+		Delta delta = new Delta();
+		delta.add(new Delta("component_1.0.0", IDelta.CLASS_ELEMENT_TYPE, IDelta.ADDED, IDelta.METHOD, 0, 0, 1, 1, "a.B", "foo()V", new String[] { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				"a.B", "foo(\"a&b\" <c>\n\td)" })); //$NON-NLS-1$ //$NON-NLS-2$
+		delta.add(new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.REMOVED, IDelta.API_COMPONENT, null, "component", "component")); //$NON-NLS-1$ //$NON-NLS-2$
+		return delta;
+	}
+
+	private static void assertStreamedLikeDocument(IDelta delta, Consumer<DeltaXmlVisitor> end) throws Exception {
+		DeltaXmlVisitor visitor = new DeltaXmlVisitor();
+		delta.accept(visitor);
+		end.accept(visitor);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DeltaXmlVisitor streamingVisitor = new DeltaXmlVisitor(out);
+		delta.accept(streamingVisitor);
+		end.accept(streamingVisitor);
+		streamingVisitor.endDocument();
+		assertEquals(Util.serializeDocument(visitor.getDocument()), out.toString(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Tests that the streamed deltas are the same as the serialized document
+	 */
+	@Test
+	public void testStreamedDeltas() throws Exception {
+		assertStreamedLikeDocument(newDelta(), visitor -> {
+			// nothing to add
+		});
+	}
+
+	/**
+	 * Tests that no delta is streamed as an empty deltas element
+	 */
+	@Test
+	public void testStreamedNoDelta() throws Exception {
+		assertStreamedLikeDocument(ApiComparator.NO_DELTA, visitor -> {
+			// nothing to add
+		});
+	}
+
+	/**
+	 * Tests that added elements are streamed after the deltas
+	 */
+	@Test
+	public void testStreamedElement() throws Exception {
+		assertStreamedLikeDocument(newDelta(), visitor -> {
+			Element errors = visitor.getDocument().createElement("resolver_errors"); //$NON-NLS-1$
+			Element report = visitor.getDocument().createElement("report"); //$NON-NLS-1$
+			report.setAttribute("componentID", "component"); //$NON-NLS-1$ //$NON-NLS-2$
+			errors.appendChild(report);
+			visitor.addElement(errors);
+		});
+	}
+}
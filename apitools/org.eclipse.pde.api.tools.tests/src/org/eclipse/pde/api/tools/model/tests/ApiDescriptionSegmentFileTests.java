@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.pde.api.tools.internal.ApiDescriptionSegmentFile;
+import org.eclipse.pde.api.tools.internal.ApiDescriptionSegmentFile.PackageData;
+import org.eclipse.pde.api.tools.internal.ApiDescriptionSegmentFile.Segment;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the {@link ApiDescriptionSegmentFile} project API descriptions are
+ * saved to
+ *
+ * @since 1.3.700
+ */
+public class ApiDescriptionSegmentFileTests {
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private File fFile;
+
+	@Before
+	public void setUp() throws Exception {
+		fFile = new File(fFolder.getRoot(), "api_description.dat"); //$NON-NLS-1$
+	}
+
+	private static PackageData newPackage(String name, int length, int fill) {
+		byte[] children = new byte[length];
+		Arrays.fill(children, (byte) fill);
+		return new PackageData(name, VisibilityModifiers.API, new String[] { "=p/src<" + name }, children); //$NON-NLS-1$
+	}
+
+	private static Set<String> names(ApiDescriptionSegmentFile segments) {
+		return Set.copyOf(segments.getSegments().stream().map(Segment::name).toList());
+	}
+
+	private static void assertPackage(ApiDescriptionSegmentFile segments, PackageData expected) throws Exception {
+		Segment segment = segments.getSegment(expected.name());
+		assertNotNull("the package " + expected.name() + " should be saved", segment); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(expected.visibility(), segment.visibility());
+		assertArrayEquals(expected.handles(), segment.handles());
+		assertArrayEquals("the children of " + expected.name() + " should be read back", expected.children(), segments.readChildren(segment)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that written packages are read back by a new file
+	 */
+	@Test
+	public void testRoundTrip() throws Exception {
+		PackageData a = newPackage("a", 10, 1); //$NON-NLS-1$
+		PackageData b = newPackage("b.\u00e9", 20, 2); //$NON-NLS-1$
+		ApiDescriptionSegmentFile.create(fFile, List.of(a, b), 42);
+		ApiDescriptionSegmentFile read = ApiDescriptionSegmentFile.open(fFile);
+		assertNotNull("the file should be read", read); //$NON-NLS-1$
+		assertEquals(42, read.getPackageTimeStamp());
+		assertEquals(Set.of("a", "b.\u00e9"), names(read)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertPackage(read, a);
+		assertPackage(read, b);
+	}
+
+	/**
+	 * Tests that appended records replace and remove the earlier packages
+	 */
+	@Test
+	public void testAppend() throws Exception {
+		PackageData a = newPackage("a", 10, 1); //$NON-NLS-1$
+		PackageData c = newPackage("c", 30, 3); //$NON-NLS-1$
+		ApiDescriptionSegmentFile segments = ApiDescriptionSegmentFile.create(fFile, List.of(a, newPackage("b", 20, 2), c), 1); //$NON-NLS-1$
+		PackageData changed = newPackage("a", 15, 4); //$NON-NLS-1$
+		assertTrue("the change should be appended", segments.canAppend(List.of(changed))); //$NON-NLS-1$
+		long length = fFile.length();
+		segments.append(List.of(changed), List.of("b"), 2); //$NON-NLS-1$
+		assertTrue("the file should grow", fFile.length() > length); //$NON-NLS-1$
+		assertPackage(segments, changed);
+		assertPackage(segments, c);
+		assertNull(segments.getSegment("b")); //$NON-NLS-1$
+		ApiDescriptionSegmentFile read = ApiDescriptionSegmentFile.open(fFile);
+		assertEquals(2, read.getPackageTimeStamp());
+		assertEquals(Set.of("a", "c"), names(read)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertPackage(read, changed);
+		assertPackage(read, c);
+		// a file read back can be appended to again
+		PackageData d = newPackage("d", 5, 5); //$NON-NLS-1$
+		assertTrue("the change should be appended", read.canAppend(List.of(d))); //$NON-NLS-1$
+		read.append(List.of(d), List.of(), 3);
+		assertEquals(Set.of("a", "c", "d"), names(ApiDescriptionSegmentFile.open(fFile))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * Tests that the file is not appended to once replaced records outweigh
+	 * the live ones or once it changed behind it, and that writing it again
+	 * drops the replaced records
+	 */
+	@Test
+	public void testCompaction() throws Exception {
+		ApiDescriptionSegmentFile segments = ApiDescriptionSegmentFile.create(fFile, List.of(newPackage("a", 32 * 1024, 1)), 1); //$NON-NLS-1$
+		long length = fFile.length();
+		int appends = 0;
+		PackageData changed = newPackage("a", 32 * 1024, 2); //$NON-NLS-1$
+		while (segments.canAppend(List.of(changed))) {
+			segments.append(List.of(changed), List.of(), 1);
+			appends++;
+			assertTrue("replaced records should not be appended to forever", appends < 10); //$NON-NLS-1$
+		}
+		assertTrue("some changes should be appended", appends > 0); //$NON-NLS-1$
+		segments.write(List.of(changed), 2);
+		assertEquals("the replaced records should be dropped", length, fFile.length()); //$NON-NLS-1$
+		assertTrue("the written file should be appended to", segments.canAppend(List.of(changed))); //$NON-NLS-1$
+		ApiDescriptionSegmentFile read = ApiDescriptionSegmentFile.open(fFile);
+		assertEquals(2, read.getPackageTimeStamp());
+		assertPackage(read, changed);
+		// another save of the same file
+		try (FileOutputStream out = new FileOutputStream(fFile, true)) {
+			out.write(0);
+		}
+		assertFalse("a file changed behind it should not be appended to", segments.canAppend(List.of())); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the records of a save cut at any point are ignored, the
+	 * packages of the earlier saves are still read
+	 */
+	@Test
+	public void testTruncated() throws Exception {
+		PackageData a = newPackage("a", 10, 1); //$NON-NLS-1$
+		PackageData b = newPackage("b", 20, 2); //$NON-NLS-1$
+		ApiDescriptionSegmentFile segments = ApiDescriptionSegmentFile.create(fFile, List.of(a, b), 1);
+		long saved = fFile.length();
+		PackageData changed = newPackage("a", 15, 3); //$NON-NLS-1$
+		segments.append(List.of(changed), List.of("b"), 2); //$NON-NLS-1$
+		byte[] bytes = Files.readAllBytes(fFile.toPath());
+		int header = ApiPlugin.PLUGIN_ID.length() + 2 + "DESCRIPTION".length() + 2 + 4; //$NON-NLS-1$
+		for (int length = 0; length <= bytes.length; length++) {
+			Files.write(fFile.toPath(), Arrays.copyOf(bytes, length));
+			ApiDescriptionSegmentFile read = ApiDescriptionSegmentFile.open(fFile);
+			if (length < header) {
+				assertNull("a file cut in its header at " + length + " should not be read", read); //$NON-NLS-1$ //$NON-NLS-2$
+			} else if (length < saved) {
+				assertEquals("a file cut at " + length + " should have no package", Set.of(), names(read)); //$NON-NLS-1$ //$NON-NLS-2$
+			} else if (length < bytes.length) {
+				assertEquals("a file cut at " + length + " should have the first save", 1, read.getPackageTimeStamp()); //$NON-NLS-1$ //$NON-NLS-2$
+				assertEquals(Set.of("a", "b"), names(read)); //$NON-NLS-1$ //$NON-NLS-2$
+				assertPackage(read, a);
+				assertPackage(read, b);
+				// the next save writes over the ignored records
+				assertEquals("a file with ignored records should not be appended to", length == saved, read.canAppend(List.of())); //$NON-NLS-1$
+			} else {
+				assertEquals(2, read.getPackageTimeStamp());
+				assertEquals(Set.of("a"), names(read)); //$NON-NLS-1$
+				assertPackage(read, changed);
+			}
+		}
+	}
+
+	/**
+	 * Tests that a file of another version is not read
+	 */
+	@Test
+	public void testOtherVersion() throws Exception {
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(fFile))) {
+			out.writeUTF(ApiPlugin.PLUGIN_ID);
+			out.writeUTF("DESCRIPTION"); //$NON-NLS-1$
+			out.writeInt(0);
+		}
+		assertNull("a file of another version should not be read", ApiDescriptionSegmentFile.open(fFile)); //$NON-NLS-1$
+		assertNull("a missing file should not be read", ApiDescriptionSegmentFile.open(new File(fFolder.getRoot(), "missing"))); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
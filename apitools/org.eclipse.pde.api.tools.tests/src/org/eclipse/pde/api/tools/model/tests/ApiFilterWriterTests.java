@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import org.eclipse.pde.api.tools.internal.ApiFilterWriter;
+import org.eclipse.pde.api.tools.internal.problems.ApiProblemFactory;
+import org.eclipse.pde.api.tools.internal.problems.ApiProblemFilter;
+import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblemFilter;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ApiFilterWriter}
+ *
+ * @since 1.3.700
+ */
+public class ApiFilterWriterTests {
+
+	private static IApiProblemFilter newFilter(int id, String[] arguments, String comment) {
+		IApiProblem problem = ApiProblemFactory.newApiProblem("src/a/B.java", "a.B", arguments, null, null, -1, -1, -1, id); //$NON-NLS-1$ //$NON-NLS-2$
+		return new ApiProblemFilter("component", problem, comment); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the file is written the way the serialized DOM used to be
+	 */
+	@Test
+	public void testWrite() throws Exception {
+		StringWriter out = new StringWriter();
+		ApiFilterWriter writer = new ApiFilterWriter(out, "\n"); //$NON-NLS-1$
+		writer.startComponent("component"); //$NON-NLS-1$
+		writer.writeResource("src/a/B.java", "a.B", List.of( //$NON-NLS-1$ //$NON-NLS-2$
+				newFilter(1, new String[0], "a&b<c>d\"e'f\ng\th"), //$NON-NLS-1$
+				newFilter(2, new String[] { "Team", "B" }, null))); //$NON-NLS-1$ //$NON-NLS-2$
+		writer.writeResource("META-INF/MANIFEST.MF", null, List.of(newFilter(3, new String[] { "1.0.0" }, null))); //$NON-NLS-1$ //$NON-NLS-2$
+		writer.endComponent();
+		String expected = """
+				<?xml version="1.0" encoding="UTF-8" standalone="no"?>
+				<component id="component" version="2">
+				    <resource path="src/a/B.java" type="a.B">
+				        <filter comment="a&amp;b&lt;c&gt;d&quot;e'f&#10;g&#9;h" id="1"/>
+				        <filter id="2">
+				            <message_arguments>
+				                <message_argument value="Team"/>
+				                <message_argument value="B"/>
+				            </message_arguments>
+				        </filter>
+				    </resource>
+				    <resource path="META-INF/MANIFEST.MF">
+				        <filter id="3">
+				            <message_arguments>
+				                <message_argument value="1.0.0"/>
+				            </message_arguments>
+				        </filter>
+				    </resource>
+				</component>
+				"""; //$NON-NLS-1$
+		assertEquals(expected, out.toString());
+	}
+
+	/**
+	 * Tests that the given line delimiter is used
+	 */
+	@Test
+	public void testLineDelimiter() throws Exception {
+		StringWriter out = new StringWriter();
+		ApiFilterWriter writer = new ApiFilterWriter(out, "\r\n"); //$NON-NLS-1$
+		writer.startComponent("component"); //$NON-NLS-1$
+		writer.writeResource("src/a/B.java", "a.B", List.of(newFilter(1, new String[0], null))); //$NON-NLS-1$ //$NON-NLS-2$
+		writer.endComponent();
+		String content = out.toString();
+		assertTrue("the file should end with a line delimiter", content.endsWith("\r\n")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("only the given line delimiter should be used", content.replace("\r\n", "").contains("\n")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+
+import org.eclipse.pde.api.tools.internal.model.ApiBaseline;
+import org.eclipse.pde.api.tools.internal.model.ApiBaseline.ComponentStatistics;
+import org.eclipse.pde.api.tools.internal.model.ApiModelFactory;
+import org.eclipse.pde.api.tools.internal.model.BaselineSnapshot;
+import org.eclipse.pde.api.tools.internal.model.BundleComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the {@link BaselineSnapshot}
+ *
+ * @since 1.3.700
+ */
+public class BaselineSnapshotTests {
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private ApiBaseline fBaseline;
+	private ApiBaseline fRestored;
+
+	@After
+	public void tearDown() {
+		if (fBaseline != null) {
+			fBaseline.dispose();
+		}
+		if (fRestored != null) {
+			fRestored.dispose();
+		}
+	}
+
+	private File createBundle(String name, String exports, String imports) throws Exception {
+		Manifest manifest = new Manifest();
+		Attributes attributes = manifest.getMainAttributes();
+		attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0"); //$NON-NLS-1$
+		attributes.putValue("Bundle-ManifestVersion", "2"); //$NON-NLS-1$ //$NON-NLS-2$
+		attributes.putValue("Bundle-Name", name); //$NON-NLS-1$
+		attributes.putValue("Bundle-SymbolicName", name); //$NON-NLS-1$
+		attributes.putValue("Bundle-Version", "1.0.0"); //$NON-NLS-1$ //$NON-NLS-2$
+		attributes.putValue("Export-Package", exports); //$NON-NLS-1$
+		if (imports != null) {
+			attributes.putValue("Import-Package", imports); //$NON-NLS-1$
+		}
+		File file = fFolder.newFile(name + ".jar"); //$NON-NLS-1$
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file), manifest)) {
+			out.putNextEntry(new ZipEntry(exports.replace('.', '/') + "/A.class")); //$NON-NLS-1$
+			out.closeEntry();
+		}
+		return file;
+	}
+
+	private Path createSnapshot() throws Exception {
+		File provider = createBundle("a.provider", "a.api", null); //$NON-NLS-1$ //$NON-NLS-2$
+		File consumer = createBundle("a.consumer", "a.impl", "a.api"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		fBaseline = new ApiBaseline("snapshot"); //$NON-NLS-1$
+		fBaseline.addApiComponents(new IApiComponent[] {
+				ApiModelFactory.newApiComponent(fBaseline, provider.getAbsolutePath()),
+				ApiModelFactory.newApiComponent(fBaseline, consumer.getAbsolutePath()) });
+		assertTrue("a baseline of binary bundles should be supported", BaselineSnapshot.isSupported(fBaseline)); //$NON-NLS-1$
+		Path file = fFolder.getRoot().toPath().resolve("snapshot" + BaselineSnapshot.SNAPSHOT_FILE_EXTENSION); //$NON-NLS-1$
+		BaselineSnapshot.write(fBaseline, file);
+		return file;
+	}
+
+	/**
+	 * Tests that a baseline restored from a snapshot resolves packages without
+	 * resolving its state again
+	 */
+	@Test
+	public void testRestore() throws Exception {
+		Path file = createSnapshot();
+		BaselineSnapshot snapshot = BaselineSnapshot.read(file);
+		assertNotNull("the snapshot should be valid", snapshot); //$NON-NLS-1$
+		fRestored = new ApiBaseline("snapshot"); //$NON-NLS-1$
+		snapshot.restore(fRestored);
+		assertEquals("wrong number of components", 2, fRestored.getApiComponents().length); //$NON-NLS-1$
+		assertTrue("the state should be resolved", fRestored.getState().isResolved()); //$NON-NLS-1$
+		IApiComponent consumer = fRestored.getApiComponent("a.consumer"); //$NON-NLS-1$
+		assertNotNull("missing component", consumer); //$NON-NLS-1$
+		assertTrue("the bundle should be resolved", ((BundleComponent) consumer).getBundleDescription().isResolved()); //$NON-NLS-1$
+		IApiComponent[] providers = fRestored.resolvePackage(consumer, "a.api"); //$NON-NLS-1$
+		assertEquals("wrong number of providers", 1, providers.length); //$NON-NLS-1$
+		assertEquals("wrong provider", "a.provider", providers[0].getSymbolicName()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that components restored from a snapshot do not read their bundle
+	 * until needed
+	 */
+	@Test
+	public void testLazyComponents() throws Exception {
+		Path file = createSnapshot();
+		fRestored = new ApiBaseline("snapshot"); //$NON-NLS-1$
+		BaselineSnapshot.read(file).restore(fRestored);
+		ComponentStatistics statistics = fRestored.getComponentStatistics();
+		assertEquals("wrong number of components", 2, statistics.components()); //$NON-NLS-1$
+		assertEquals("no manifest should have been read", 0, statistics.manifests()); //$NON-NLS-1$
+		assertEquals("no type container should have been created", 0, statistics.typeContainers()); //$NON-NLS-1$
+		IApiComponent provider = fRestored.getApiComponent("a.provider"); //$NON-NLS-1$
+		assertEquals("wrong name", "a.provider", provider.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong number of type containers", 1, provider.getApiTypeContainers().length); //$NON-NLS-1$
+		statistics = fRestored.getComponentStatistics();
+		assertEquals("one component should have created its type containers", 1, statistics.typeContainers()); //$NON-NLS-1$
+		assertEquals("no API description should have been created", 0, statistics.apiDescriptions()); //$NON-NLS-1$
+		assertEquals("no manifest should have been read", 0, statistics.manifests()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a snapshot is not used once one of its components changed
+	 */
+	@Test
+	public void testChangedComponent() throws Exception {
+		Path file = createSnapshot();
+		File provider = new File(fFolder.getRoot(), "a.provider.jar"); //$NON-NLS-1$
+		assertTrue(provider.setLastModified(provider.lastModified() - 10000));
+		assertNull("the snapshot should be outdated", BaselineSnapshot.read(file)); //$NON-NLS-1$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,9 +15,13 @@ package org.eclipse.pde.api.tools.model.tests;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import org.eclipse.jdt.core.Signature;
+import org.eclipse.pde.api.tools.internal.descriptors.DescriptorInterner;
 import org.eclipse.pde.api.tools.internal.provisional.Factory;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IComponentDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
@@ -333,4 +337,52 @@ public class ElementDescriptorTests {
 		assertFalse(descriptor.equals(descriptor2));
 	}
 
+	/**
+	 * Tests that equal descriptors and their names are shared
+	 */
+	@Test
+	public void testInterning() {
+		boolean enabled = DescriptorInterner.isEnabled();
+		try {
+			DescriptorInterner.setEnabled(true);
+			long hits = DescriptorInterner.getHits();
+			IMethodDescriptor method1 = Factory.methodDescriptor("a.b.c.Outer$Inner", "m", new String("(I)V")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			IMethodDescriptor method2 = Factory.methodDescriptor("a.b.c.Outer$Inner", "m", new String("(I)V")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			assertSame("equal methods should be shared", method1, method2); //$NON-NLS-1$
+			assertSame("equal types should be shared", method1.getEnclosingType(), Factory.typeDescriptor("a.b.c.Outer$Inner")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertSame("equal packages should be shared", method1.getPackage(), Factory.packageDescriptor("a.b.c")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertSame("equal signatures should be shared", method1.getSignature(), Factory.methodDescriptor("x.Y", "n", new String("(I)V")).getSignature()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			assertTrue("shared descriptors should be counted", DescriptorInterner.getHits() > hits); //$NON-NLS-1$
+			assertTrue("shared descriptors should be live", DescriptorInterner.getLiveCount() > 0); //$NON-NLS-1$
+			IReferenceTypeDescriptor generic = method1.getPackage().getType("G", "<T:Ljava/lang/Object;>Ljava/lang/Object;"); //$NON-NLS-1$ //$NON-NLS-2$
+			assertNotSame("types with a generic signature should not be shared", generic, method1.getPackage().getType("G")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals("<T:Ljava/lang/Object;>Ljava/lang/Object;", generic.getGenericSignature()); //$NON-NLS-1$
+			assertNull(method1.getPackage().getType("G").getGenericSignature()); //$NON-NLS-1$
+			IMethodDescriptor genericMethod = generic.getMethod("m", "()V"); //$NON-NLS-1$ //$NON-NLS-2$
+			assertNotSame("members of a type with a generic signature should not be shared", genericMethod, method1.getPackage().getType("G").getMethod("m", "()V")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			assertSame(generic, genericMethod.getEnclosingType());
+			assertSame(generic, generic.getField("f").getEnclosingType()); //$NON-NLS-1$
+			assertSame(generic, generic.getType("Inner").getEnclosingType()); //$NON-NLS-1$
+			assertNull(method1.getPackage().getType("G").getMethod("m", "()V").getEnclosingType().getGenericSignature()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		} finally {
+			DescriptorInterner.setEnabled(enabled);
+		}
+	}
+
+	/**
+	 * Tests that descriptors are not shared when interning is turned off
+	 */
+	@Test
+	public void testInterningDisabled() {
+		boolean enabled = DescriptorInterner.isEnabled();
+		try {
+			DescriptorInterner.setEnabled(false);
+			IReferenceTypeDescriptor type1 = Factory.typeDescriptor("a.b.c.D"); //$NON-NLS-1$
+			IReferenceTypeDescriptor type2 = Factory.typeDescriptor("a.b.c.D"); //$NON-NLS-1$
+			assertNotSame(type1, type2);
+			assertEquals(type1, type2);
+		} finally {
+			DescriptorInterner.setEnabled(enabled);
+		}
+	}
 }
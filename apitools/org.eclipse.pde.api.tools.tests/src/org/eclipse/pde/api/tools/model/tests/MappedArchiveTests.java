@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.pde.api.tools.internal.model.MappedArchive;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the {@link MappedArchive}
+ *
+ * @since 1.3.700
+ */
+public class MappedArchiveTests {
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private static byte[] contents(String name) {
+		StringBuilder buffer = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			buffer.append(name).append(i);
+		}
+		return buffer.toString().getBytes();
+	}
+
+	private static void addEntry(ZipOutputStream out, String name, boolean stored) throws Exception {
+		byte[] data = contents(name);
+		ZipEntry entry = new ZipEntry(name);
+		if (stored) {
+			CRC32 crc = new CRC32();
+			crc.update(data);
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(data.length);
+			entry.setCompressedSize(data.length);
+			entry.setCrc(crc.getValue());
+		}
+		out.putNextEntry(entry);
+		out.write(data);
+		out.closeEntry();
+	}
+
+	private MappedArchive createArchive() throws Exception {
+		File file = fFolder.newFile("test.jar"); //$NON-NLS-1$
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+			addEntry(out, "META-INF/MANIFEST.MF", false); //$NON-NLS-1$
+			addEntry(out, "a/b/z.class", false); //$NON-NLS-1$
+			addEntry(out, "a/b/c/D.class", true); //$NON-NLS-1$
+			addEntry(out, "a/b/C.class", false); //$NON-NLS-1$
+			addEntry(out, "a/b/C$Inner.class", true); //$NON-NLS-1$
+			addEntry(out, "Default.class", false); //$NON-NLS-1$
+		}
+		MappedArchive archive = MappedArchive.open(file.toPath());
+		assertNotNull("The archive should have been mapped", archive); //$NON-NLS-1$
+		return archive;
+	}
+
+	/**
+	 * Tests that the class files are indexed by package and type name
+	 */
+	@Test
+	public void testIndex() throws Exception {
+		MappedArchive archive = createArchive();
+		assertArrayEquals(new String[] { "", "a.b", "a.b.c" }, archive.getPackageNames()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(0, archive.getPackageStart(0));
+		assertEquals(1, archive.getPackageStart(1));
+		assertEquals(4, archive.getPackageStart(2));
+		assertEquals(5, archive.getPackageStart(3));
+		assertEquals("a.b.C", archive.getTypeName(1)); //$NON-NLS-1$
+		assertEquals("a.b.C$Inner", archive.getTypeName(2)); //$NON-NLS-1$
+		assertEquals("a.b.z", archive.getTypeName(3)); //$NON-NLS-1$
+		assertEquals(4, archive.indexOf("a.b.c.D")); //$NON-NLS-1$
+		assertEquals(0, archive.indexOf("Default")); //$NON-NLS-1$
+		assertEquals(-1, archive.indexOf("a.b.Missing")); //$NON-NLS-1$
+		assertEquals(-1, archive.indexOf("x.y.Z")); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests reading stored and deflated class files
+	 */
+	@Test
+	public void testRead() throws Exception {
+		MappedArchive archive = createArchive();
+		String[] entries = { "Default.class", "a/b/C.class", "a/b/C$Inner.class", "a/b/z.class", "a/b/c/D.class" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		for (int i = 0; i < entries.length; i++) {
+			byte[] expected = contents(entries[i]);
+			assertArrayEquals("wrong contents for " + entries[i], expected, archive.read(i)); //$NON-NLS-1$
+			CRC32 crc = new CRC32();
+			crc.update(expected);
+			assertEquals("wrong CRC for " + entries[i], crc.getValue(), archive.getCRC(i)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Tests that an archive without class files can be mapped
+	 */
+	@Test
+	public void testNoClassFiles() throws Exception {
+		File file = fFolder.newFile("empty.jar"); //$NON-NLS-1$
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+			addEntry(out, "plugin.xml", false); //$NON-NLS-1$
+		}
+		MappedArchive archive = MappedArchive.open(file.toPath());
+		assertNotNull("The archive should have been mapped", archive); //$NON-NLS-1$
+		assertTrue("There should be no packages", archive.getPackageNames().length == 0); //$NON-NLS-1$
+		assertEquals(-1, archive.indexOf("a.B")); //$NON-NLS-1$
+	}
+}
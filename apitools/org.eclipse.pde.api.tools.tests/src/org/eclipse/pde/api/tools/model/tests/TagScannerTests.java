@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2021 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,7 +19,10 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
@@ -30,11 +33,13 @@ import org.eclipse.pde.api.tools.internal.CompilationUnit;
 import org.eclipse.pde.api.tools.internal.IApiCoreConstants;
 import org.eclipse.pde.api.tools.internal.model.ArchiveApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.model.DirectoryApiTypeContainer;
+import org.eclipse.pde.api.tools.internal.provisional.ApiDescriptionVisitor;
 import org.eclipse.pde.api.tools.internal.provisional.Factory;
 import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
 import org.eclipse.pde.api.tools.internal.provisional.IApiDescription;
 import org.eclipse.pde.api.tools.internal.provisional.RestrictionModifiers;
 import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
@@ -1051,6 +1056,22 @@ public class TagScannerTests {
 		assertTrue("There should be a no reference and no override restriction on method 'void run()'", description.getRestrictions() == (RestrictionModifiers.NO_REFERENCE | RestrictionModifiers.NO_OVERRIDE)); //$NON-NLS-1$
 	}
 
+	/**
+	 * Tests that scanning a list of sources, serially or in parallel, collects
+	 * the tags of methods in an anonymous class like scanning a single source.
+	 * Scans the files <code>TestMethod6</code> and <code>TestMethod5</code>
+	 */
+	@Test
+	public void testMethodAnonymousClassList() throws CoreException {
+		for (int parallelism : new int[] { 1, 2 }) {
+			IApiDescription manifest = newDescription();
+			TagScanner.newScanner().scan(List.of(getCompilationUnit("a/b/c/TestMethod6.java"), getCompilationUnit("a/b/c/TestMethod5.java")), manifest, null, null, parallelism, null); //$NON-NLS-1$ //$NON-NLS-2$
+			IApiAnnotations description = manifest.resolveAnnotations(Factory.methodDescriptor("a.b.c.TestMethod6", "run", "()V")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			assertNotNull("There should exist a description for method 'void run()' with parallelism " + parallelism, description); //$NON-NLS-1$
+			assertEquals("There should be a no reference and no override restriction on method 'void run()'", RestrictionModifiers.NO_REFERENCE | RestrictionModifiers.NO_OVERRIDE, description.getRestrictions()); //$NON-NLS-1$
+		}
+	}
+
 	/**
 	 * Tests that a method properly inherits restrictions. Restrictions are not
 	 * inherited. Scans the file <code>TestMethod18</code>
@@ -1318,4 +1339,41 @@ public class TagScannerTests {
 		assertNotNull("There should be API annotations for the non-default method", description); //$NON-NLS-1$
 	}
 
+	/**
+	 * Returns the annotated elements of the given description with their
+	 * annotations
+	 */
+	private List<String> getAnnotations(IApiDescription manifest) {
+		List<String> annotations = new ArrayList<>();
+		manifest.accept(new ApiDescriptionVisitor() {
+			@Override
+			public boolean visitElement(IElementDescriptor element, IApiAnnotations description) {
+				annotations.add(element + " " + description); //$NON-NLS-1$
+				return true;
+			}
+		}, null);
+		return annotations;
+	}
+
+	/**
+	 * Tests that scanning sources concurrently annotates the description the
+	 * same way as scanning them one after the other
+	 */
+	@Test
+	public void testParallelScan() throws Exception {
+		File[] files = SRC_LOC.append("a/b/c").toFile().listFiles((dir, name) -> name.startsWith("Test")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotNull("the test sources should exist", files); //$NON-NLS-1$
+		List<CompilationUnit> units = new ArrayList<>();
+		IApiDescription expected = newDescription();
+		for (File file : files) {
+			CompilationUnit unit = new CompilationUnit(file.getAbsolutePath(), IApiCoreConstants.UTF_8);
+			units.add(unit);
+			TagScanner.newScanner().scan(unit, expected, null, null, null);
+		}
+		IApiDescription manifest = newDescription();
+		TagScanner.newScanner().scan(units, manifest, null, null, 4, null);
+		List<String> annotations = getAnnotations(manifest);
+		assertTrue("the sources should have API tags", annotations.size() > 20); //$NON-NLS-1$
+		assertEquals(getAnnotations(expected), annotations);
+	}
 }
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.eclipse.pde.api.tools.internal.model.ApiType;
+import org.eclipse.pde.api.tools.internal.model.TypeStructureCache;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiField;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the {@link TypeStructureCache}
+ *
+ * @since 1.3.700
+ */
+public class TypeStructureCacheTests {
+
+	private static final String TYPE_NAME = "a.b.c.Foo"; //$NON-NLS-1$
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private Path fCacheRoot;
+	private String fArchive;
+
+	@Before
+	public void setUp() throws Exception {
+		fCacheRoot = fFolder.newFolder("cache").toPath(); //$NON-NLS-1$
+		File archive = fFolder.newFile("test.jar"); //$NON-NLS-1$
+		Files.write(archive.toPath(), new byte[] { 1, 2, 3 });
+		fArchive = archive.getAbsolutePath();
+	}
+
+	private ApiType createType() {
+		ApiType type = new ApiType(null, TYPE_NAME, "La/b/c/Foo;", "<T:Ljava/lang/Object;>Ljava/lang/Object;", 0x21, null, null); //$NON-NLS-1$ //$NON-NLS-2$
+		type.setSuperclassName("java.lang.Object"); //$NON-NLS-1$
+		type.setSuperInterfaceNames(new String[] { "java.io.Serializable" }); //$NON-NLS-1$
+		type.addMemberType("a.b.c.Foo$Inner"); //$NON-NLS-1$
+		type.addField("CONSTANT", "I", null, 0x19, Integer.valueOf(42)); //$NON-NLS-1$ //$NON-NLS-2$
+		type.addField("NAME", "Ljava/lang/String;", null, 0x19, "foo"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		type.addField("fValue", "J", null, 0x2, null); //$NON-NLS-1$ //$NON-NLS-2$
+		type.addMethod("<init>", "()V", null, 0x1, null); //$NON-NLS-1$ //$NON-NLS-2$
+		type.addMethod("get", "()Ljava/lang/Object;", "()TT;", 0x1, new String[] { "java.io.IOException" }).setDefaultValue("x"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		return type;
+	}
+
+	/**
+	 * Tests that a stored structure is read back identically by a new cache
+	 */
+	@Test
+	public void testRoundTrip() throws Exception {
+		ApiType type = createType();
+		TypeStructureCache cache = new TypeStructureCache(fCacheRoot);
+		assertTrue("The cache should be enabled", cache.isEnabled()); //$NON-NLS-1$
+		cache.putStructure(fArchive, type, 7);
+		cache.save();
+
+		ApiType read = new TypeStructureCache(fCacheRoot).getStructure(fArchive, TYPE_NAME, 7, null, null);
+		assertNotNull("The structure should have been read from disk", read); //$NON-NLS-1$
+		assertEquals(type.getName(), read.getName());
+		assertEquals(type.getSignature(), read.getSignature());
+		assertEquals(type.getGenericSignature(), read.getGenericSignature());
+		assertEquals(type.getModifiers(), read.getModifiers());
+		assertEquals(type.getSuperclassName(), read.getSuperclassName());
+		assertArrayEquals(type.getSuperInterfaceNames(), read.getSuperInterfaceNames());
+		assertFalse(read.isMemberType());
+		IApiField[] fields = read.getFields();
+		assertEquals("wrong number of fields", 3, fields.length); //$NON-NLS-1$
+		assertEquals(Integer.valueOf(42), read.getField("CONSTANT").getConstantValue()); //$NON-NLS-1$
+		assertEquals("foo", read.getField("NAME").getConstantValue()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull(read.getField("fValue").getConstantValue()); //$NON-NLS-1$
+		IApiMethod[] methods = read.getMethods();
+		assertEquals("wrong number of methods", 2, methods.length); //$NON-NLS-1$
+		IApiMethod method = read.getMethod("get", "()Ljava/lang/Object;"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotNull("the method should have been read", method); //$NON-NLS-1$
+		assertEquals("()TT;", method.getGenericSignature()); //$NON-NLS-1$
+		assertArrayEquals(new String[] { "java.io.IOException" }, method.getExceptionNames()); //$NON-NLS-1$
+		assertEquals("x", method.getDefaultValue()); //$NON-NLS-1$
+		assertNull(read.getMethod("<init>", "()V").getExceptionNames()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that a structure is not used for a class file with another CRC
+	 */
+	@Test
+	public void testCRCMismatch() throws Exception {
+		TypeStructureCache cache = new TypeStructureCache(fCacheRoot);
+		cache.putStructure(fArchive, createType(), 7);
+		cache.save();
+		assertNull("a changed class file should not use the cached structure", new TypeStructureCache(fCacheRoot).getStructure(fArchive, TYPE_NAME, 8, null, null)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the cached structures are dropped when the archive changes
+	 */
+	@Test
+	public void testArchiveChanged() throws Exception {
+		TypeStructureCache cache = new TypeStructureCache(fCacheRoot);
+		cache.putStructure(fArchive, createType(), 7);
+		cache.save();
+		Path archive = Path.of(fArchive);
+		Files.write(archive, new byte[] { 1, 2, 3, 4 });
+		Files.setLastModifiedTime(archive, FileTime.fromMillis(Files.getLastModifiedTime(archive).toMillis() + 10000));
+		assertNull("a changed archive should not use the cached structures", cache.getStructure(fArchive, TYPE_NAME, 7, null, null)); //$NON-NLS-1$
+		assertNull("a changed archive should not use the cached structures", new TypeStructureCache(fCacheRoot).getStructure(fArchive, TYPE_NAME, 7, null, null)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that structures dropped from memory by a save are read back from
+	 * disk
+	 */
+	@Test
+	public void testReadAfterSave() throws Exception {
+		TypeStructureCache cache = new TypeStructureCache(fCacheRoot);
+		cache.putStructure(fArchive, createType(), 7);
+		cache.save();
+		assertNotNull("the saved structure should be read back", cache.getStructure(fArchive, TYPE_NAME, 7, null, null)); //$NON-NLS-1$
+		cache.putStructure(fArchive, createType(), 8);
+		cache.save();
+		assertNotNull("the structure saved again should be read back", new TypeStructureCache(fCacheRoot).getStructure(fArchive, TYPE_NAME, 8, null, null)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the cache files of archives that no longer exist are deleted
+	 */
+	@Test
+	public void testPrune() throws Exception {
+		File other = fFolder.newFile("other.jar"); //$NON-NLS-1$
+		Files.write(other.toPath(), new byte[] { 1 });
+		TypeStructureCache cache = new TypeStructureCache(fCacheRoot);
+		cache.putStructure(fArchive, createType(), 7);
+		cache.putStructure(other.getAbsolutePath(), createType(), 7);
+		cache.save();
+		assertEquals("wrong number of cache files", 2, countFiles()); //$NON-NLS-1$
+		Files.delete(other.toPath());
+		new TypeStructureCache(fCacheRoot).save();
+		assertEquals("the file of the deleted archive should be deleted", 1, countFiles()); //$NON-NLS-1$
+		assertNotNull("the other file should be kept", new TypeStructureCache(fCacheRoot).getStructure(fArchive, TYPE_NAME, 7, null, null)); //$NON-NLS-1$
+	}
+
+	private long countFiles() throws Exception {
+		try (var files = Files.list(fCacheRoot)) {
+			return files.count();
+		}
+	}
+
+	/**
+	 * Tests that a disabled cache never stores anything
+	 */
+	@Test
+	public void testDisabled() {
+		TypeStructureCache cache = new TypeStructureCache(null);
+		assertFalse("The cache should be disabled", cache.isEnabled()); //$NON-NLS-1$
+		cache.putStructure(fArchive, createType(), 7);
+		assertNull("A disabled cache should not return structures", cache.getStructure(fArchive, TYPE_NAME, 7, null, null)); //$NON-NLS-1$
+	}
+}
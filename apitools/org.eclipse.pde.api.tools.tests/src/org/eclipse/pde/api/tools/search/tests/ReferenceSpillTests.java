@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.search.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.search.ReferenceSpill;
+import org.eclipse.pde.api.tools.internal.search.ReferenceSpill.Cursor;
+import org.eclipse.pde.api.tools.internal.search.ReferenceSpill.Entry;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ReferenceSpill} used by the use report conversion
+ *
+ * @since 1.3.700
+ */
+public class ReferenceSpillTests {
+
+	private static List<Entry> createEntries() {
+		List<Entry> entries = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			String message = i % 7 == 0 ? "message " + i : null; //$NON-NLS-1$
+			entries.add(new Entry("a.Type" + (i % 4), "a.Type" + (i % 4) + ".m" + (i % 5) + "()", "INVOKED", "c.Consumer.run()", i, VisibilityModifiers.API, message)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		}
+		Collections.shuffle(entries, new Random(42));
+		return entries;
+	}
+
+	private static List<Entry> read(ReferenceSpill spill) throws Exception {
+		List<Entry> read = new ArrayList<>();
+		try (Cursor cursor = spill.open()) {
+			for (Entry entry = cursor.peek(); entry != null; entry = cursor.peek()) {
+				assertEquals(entry, cursor.next());
+				read.add(entry);
+			}
+			assertNull(cursor.next());
+		}
+		return read;
+	}
+
+	/**
+	 * Tests that references kept in memory are handed back sorted
+	 */
+	@Test
+	public void testInMemory() throws Exception {
+		List<Entry> entries = createEntries();
+		try (ReferenceSpill spill = new ReferenceSpill(1000)) {
+			for (Entry entry : entries) {
+				spill.add(entry);
+			}
+			assertFalse("nothing should have been spilled", spill.hasSpilled()); //$NON-NLS-1$
+			entries.sort(ReferenceSpill.ORDER);
+			assertEquals(entries, read(spill));
+		}
+	}
+
+	/**
+	 * Tests that references spilled to disk are merged back in order
+	 */
+	@Test
+	public void testSpilled() throws Exception {
+		List<Entry> entries = createEntries();
+		try (ReferenceSpill spill = new ReferenceSpill(8)) {
+			for (Entry entry : entries) {
+				spill.add(entry);
+			}
+			assertTrue("references should have been spilled", spill.hasSpilled()); //$NON-NLS-1$
+			entries.sort(ReferenceSpill.ORDER);
+			assertEquals(entries, read(spill));
+		}
+	}
+}
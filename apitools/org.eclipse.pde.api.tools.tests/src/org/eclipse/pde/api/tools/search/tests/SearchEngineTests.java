@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,25 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.search.tests;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.builder.ReferenceResolutionCache;
+import org.eclipse.pde.api.tools.internal.builder.ReferenceResolver;
 import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMember;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.provisional.search.ApiSearchEngine;
 import org.eclipse.pde.api.tools.internal.provisional.search.IApiSearchRequestor;
 import org.junit.Test;
@@ -74,6 +91,40 @@ public class SearchEngineTests extends SearchTest {
 		engine.search(getTestBaseline(), TEST_REQUESTOR, TEST_REPORTER, null);
 	}
 
+	/**
+	 * Tests that a parallel search reports the same matches as a sequential
+	 * search, in scope order
+	 */
+	@Test
+	public void testSearchParallelOrdered() throws CoreException {
+		ApiSearchEngine engine = new ApiSearchEngine();
+		this.scope = getTestScope(DEFAULT_SCOPE_PROJECTS);
+		TEST_REQUESTOR.setScopeBaseline(this.scope);
+		TEST_REQUESTOR.setSearchMask(IApiSearchRequestor.INCLUDE_API | IApiSearchRequestor.INCLUDE_INTERNAL);
+		TEST_REPORTER.setExpectedReferences(new String[] { P2_NAME, P3_NAME },
+				new int[][] { { IReference.REF_FIELDDECL, IReference.REF_FIELDDECL },
+						{ IReference.REF_FIELDDECL, IReference.REF_FIELDDECL, IReference.REF_FIELDDECL } });
+		TEST_REPORTER.setExpectedNotSearched(null);
+		engine.search(getTestBaseline(), TEST_REQUESTOR, TEST_REPORTER, 4, true, null);
+	}
+
+	/**
+	 * Tests that a parallel search reports the same matches as a sequential
+	 * search when results are reported as soon as they are collected
+	 */
+	@Test
+	public void testSearchParallelUnordered() throws CoreException {
+		ApiSearchEngine engine = new ApiSearchEngine();
+		this.scope = getTestScope(DEFAULT_SCOPE_PROJECTS);
+		TEST_REQUESTOR.setScopeBaseline(this.scope);
+		TEST_REQUESTOR.setSearchMask(IApiSearchRequestor.INCLUDE_API | IApiSearchRequestor.INCLUDE_INTERNAL);
+		TEST_REPORTER.setExpectedReferences(new String[] { P2_NAME, P3_NAME },
+				new int[][] { { IReference.REF_FIELDDECL, IReference.REF_FIELDDECL },
+						{ IReference.REF_FIELDDECL, IReference.REF_FIELDDECL, IReference.REF_FIELDDECL } });
+		TEST_REPORTER.setExpectedNotSearched(null);
+		engine.search(getTestBaseline(), TEST_REQUESTOR, TEST_REPORTER, 4, false, null);
+	}
+
 	/**
 	 * Tests that an entry in the exclude file is honored
 	 */
@@ -201,4 +252,49 @@ public class SearchEngineTests extends SearchTest {
 		TEST_REPORTER.setExpectedNotSearched(null);
 		engine.search(getTestBaseline(), TEST_REQUESTOR, TEST_REPORTER, null);
 	}
+
+	/**
+	 * Tests that references resolved with a shared resolution cache resolve to
+	 * the same members as without it and that the second resolution of the
+	 * same targets is answered from the cache
+	 */
+	@Test
+	public void testResolutionCache() throws CoreException {
+		IApiComponent component = getTestBaseline().getApiComponent(P2_NAME);
+		assertNotNull("missing component", component); //$NON-NLS-1$
+		Set<String> uncached = new HashSet<>();
+		Set<String> cached = new HashSet<>();
+		ReferenceResolutionCache cache = new ReferenceResolutionCache();
+		component.accept(new ApiTypeContainerVisitor() {
+			@Override
+			public void visit(String packageName, IApiTypeRoot typeroot) {
+				try {
+					IApiType type = typeroot.getStructure();
+					List<IReference> refs = type.extractReferences(IReference.MASK_REF_ALL, null);
+					ReferenceResolver.resolveReferences(refs);
+					collectResolutions(refs, uncached);
+					refs = type.extractReferences(IReference.MASK_REF_ALL, null);
+					ReferenceResolver.resolveReferences(refs, cache);
+					refs = type.extractReferences(IReference.MASK_REF_ALL, null);
+					ReferenceResolver.resolveReferences(refs, cache);
+					collectResolutions(refs, cached);
+				} catch (CoreException e) {
+					fail(e.getMessage());
+				}
+			}
+		});
+		assertFalse("references should have been resolved", uncached.isEmpty()); //$NON-NLS-1$
+		assertEquals("the cache should not change resolutions", uncached, cached); //$NON-NLS-1$
+		assertTrue("resolutions should have been cached", cache.size() > 0); //$NON-NLS-1$
+		assertTrue("the second resolution should use the cache", cache.getHits() >= cache.size()); //$NON-NLS-1$
+	}
+
+	static void collectResolutions(List<IReference> refs, Set<String> resolutions) {
+		for (IReference ref : refs) {
+			IApiMember resolved = ref.getResolvedReference();
+			if (resolved != null) {
+				resolutions.add(ref.getReferenceKind() + " " + ref.getMember().getHandle() + " " + ref.getLineNumber() + " -> " + resolved.getHandle()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		}
+	}
 }
@@ -178,6 +178,12 @@ public class TestRequestor implements IApiSearchRequestor {
 	public boolean includesIllegalUse() {
 		return (this.searchmask & INCLUDE_ILLEGAL_USE) > 0;
 	}
+	@Override
+	public IApiSearchRequestor createWorkerRequestor() {
+		// no per component state
+		return this;
+	}
+
 	/**
 	 * Sets the {@link IApiBaseline} to derive the scope from
 	 */
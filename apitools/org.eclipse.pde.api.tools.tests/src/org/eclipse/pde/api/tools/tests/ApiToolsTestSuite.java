@@ -14,23 +14,35 @@
 package org.eclipse.pde.api.tools.tests;
 
 
+import org.eclipse.pde.api.tools.apiusescan.tests.UseScanIndexTests;
+import org.eclipse.pde.api.tools.builder.tests.ApiAnalysisSchedulerTests;
+import org.eclipse.pde.api.tools.builder.tests.ApiMarkerUpdateTests;
+import org.eclipse.pde.api.tools.builder.tests.BuildStateTests;
 import org.eclipse.pde.api.tools.builder.tests.OSGiLessAnalysisTests;
+import org.eclipse.pde.api.tools.builder.tests.ReferenceIndexTests;
 import org.eclipse.pde.api.tools.comparator.tests.AllDeltaTests;
+import org.eclipse.pde.api.tools.comparator.tests.DeltaXmlVisitorTests;
 import org.eclipse.pde.api.tools.model.tests.ApiBaselineTests;
+import org.eclipse.pde.api.tools.model.tests.ApiDescriptionSegmentFileTests;
 import org.eclipse.pde.api.tools.model.tests.ApiDescriptionTests;
+import org.eclipse.pde.api.tools.model.tests.ApiFilterWriterTests;
 import org.eclipse.pde.api.tools.model.tests.ApiModelCacheTests;
 import org.eclipse.pde.api.tools.model.tests.ApiTypeContainerTests;
 import org.eclipse.pde.api.tools.model.tests.BadClassfileTests;
+import org.eclipse.pde.api.tools.model.tests.BaselineSnapshotTests;
 import org.eclipse.pde.api.tools.model.tests.CRCTests;
 import org.eclipse.pde.api.tools.model.tests.ClassFileScannerTests;
 import org.eclipse.pde.api.tools.model.tests.ComponentManifestTests;
 import org.eclipse.pde.api.tools.model.tests.ElementDescriptorTests;
 import org.eclipse.pde.api.tools.model.tests.Java8ClassfileScannerTests;
+import org.eclipse.pde.api.tools.model.tests.MappedArchiveTests;
 import org.eclipse.pde.api.tools.model.tests.TagScannerTests;
+import org.eclipse.pde.api.tools.model.tests.TypeStructureCacheTests;
 import org.eclipse.pde.api.tools.problems.tests.ApiFilterTests;
 import org.eclipse.pde.api.tools.problems.tests.ApiProblemFactoryTests;
 import org.eclipse.pde.api.tools.problems.tests.ApiProblemTests;
 import org.eclipse.pde.api.tools.reference.tests.SearchScopeTests;
+import org.eclipse.pde.api.tools.search.tests.ReferenceSpillTests;
 import org.eclipse.pde.api.tools.search.tests.SearchEngineTests;
 import org.eclipse.pde.api.tools.search.tests.SkippedComponentTests;
 import org.eclipse.pde.api.tools.search.tests.UseSearchTests;
@@ -39,6 +51,8 @@ import org.eclipse.pde.api.tools.util.tests.SignaturesTests;
 import org.eclipse.pde.api.tools.util.tests.TarEntryTests;
 import org.eclipse.pde.api.tools.util.tests.TarExceptionTests;
 import org.eclipse.pde.api.tools.util.tests.UtilTests;
+import org.eclipse.pde.api.tools.util.tests.WeightedCacheTests;
+import org.eclipse.pde.api.tools.util.tests.WorkerPoolTests;
 import org.junit.BeforeClass;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -64,7 +78,14 @@ import org.junit.runners.Suite;
 		ApiProblemFactoryTests.class, ApiFilterTests.class, TarEntryTests.class, TarExceptionTests.class,
 		OSGiLessAnalysisTests.class, ApiModelCacheTests.class, BadClassfileTests.class,
 	CRCTests.class,
-	AllDeltaTests.class
+	AllDeltaTests.class,
+	WorkerPoolTests.class,
+	TypeStructureCacheTests.class,
+	WeightedCacheTests.class,
+	MappedArchiveTests.class, UseScanIndexTests.class, ReferenceSpillTests.class,
+	BaselineSnapshotTests.class, ReferenceIndexTests.class, BuildStateTests.class, ApiFilterWriterTests.class,
+	DeltaXmlVisitorTests.class, ApiMarkerUpdateTests.class, ApiAnalysisSchedulerTests.class,
+	ApiDescriptionSegmentFileTests.class
 })
 public class ApiToolsTestSuite {
 
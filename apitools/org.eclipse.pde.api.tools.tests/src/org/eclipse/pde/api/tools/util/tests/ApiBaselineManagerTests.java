@@ -14,11 +14,14 @@
 package org.eclipse.pde.api.tools.util.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.util.Iterator;
 import java.util.List;
 
@@ -56,6 +59,7 @@ import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.pde.api.tools.builder.tests.ApiTestingEnvironment;
 import org.eclipse.pde.api.tools.internal.ApiBaselineManager;
+import org.eclipse.pde.api.tools.internal.ProjectApiDescription;
 import org.eclipse.pde.api.tools.internal.model.ApiModelFactory;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.Factory;
@@ -428,6 +432,38 @@ public class ApiBaselineManagerTests extends AbstractApiTest {
 		assertNull("the annotations for a.b.c.TestClass1 should no longer be present", annot); //$NON-NLS-1$
 	}
 
+	/**
+	 * Tests that a saved project description is restored, reading the types
+	 * of a package only when the package is first accessed
+	 */
+	@Test
+	public void testSaveRestoreDescription() throws Exception {
+		IJavaProject project = getTestingProject();
+		assertNotNull("The testing project must exist", project); //$NON-NLS-1$
+		IPackageFragmentRoot root = project.findPackageFragmentRoot(IPath.fromOSString(project.getElementName()).append(ProjectUtils.SRC_FOLDER).makeAbsolute());
+		assertNotNull("the 'src' package fragment root must exist", root); //$NON-NLS-1$
+		assertTestSource(root, TESTING_PACKAGE, "TestClass1"); //$NON-NLS-1$
+		ProjectApiDescription description = new ProjectApiDescription(project);
+		IApiAnnotations annot = description.resolveAnnotations(Factory.typeDescriptor(TESTING_PACKAGE + ".TestClass1")); //$NON-NLS-1$
+		assertNotNull("the annotations for a.b.c.TestClass1 cannot be null", annot); //$NON-NLS-1$
+		assertEquals("there must be a noinstantiate setting for TestClass1", RestrictionModifiers.NO_INSTANTIATE, annot.getRestrictions()); //$NON-NLS-1$
+		File directory = Files.createTempDirectory("description").toFile(); //$NON-NLS-1$
+		File file = new File(directory, "api_description.dat"); //$NON-NLS-1$
+		try {
+			description.save(file);
+			ProjectApiDescription restored = new ProjectApiDescription(project);
+			assertTrue("the saved description should be restored", restored.restore(file)); //$NON-NLS-1$
+			assertFalse("the package should not be read when restored", restored.isLoaded(TESTING_PACKAGE)); //$NON-NLS-1$
+			annot = restored.resolveAnnotations(Factory.typeDescriptor(TESTING_PACKAGE + ".TestClass1")); //$NON-NLS-1$
+			assertTrue("the package should be read when accessed", restored.isLoaded(TESTING_PACKAGE)); //$NON-NLS-1$
+			assertNotNull("the restored annotations for a.b.c.TestClass1 cannot be null", annot); //$NON-NLS-1$
+			assertEquals("there must be a restored noinstantiate setting for TestClass1", RestrictionModifiers.NO_INSTANTIATE, annot.getRestrictions()); //$NON-NLS-1$
+		} finally {
+			file.delete();
+			directory.delete();
+		}
+	}
+
 	/**
 	 * Adds the specified tag to the source member defined by the member name
 	 * and signature
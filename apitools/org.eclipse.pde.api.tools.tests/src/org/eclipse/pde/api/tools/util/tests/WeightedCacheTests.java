@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.util.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.pde.api.tools.internal.util.WeightedCache;
+import org.eclipse.pde.api.tools.internal.util.WeightedCache.Statistics;
+import org.junit.Test;
+
+/**
+ * Tests the {@link WeightedCache} class
+ *
+ * @since 1.3.700
+ */
+public class WeightedCacheTests {
+
+	/**
+	 * Tests that hits and misses are counted
+	 */
+	@Test
+	public void testHitsAndMisses() {
+		WeightedCache<String, String> cache = new WeightedCache<>(1000, String::length);
+		cache.put("a", "value"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("value", cache.get("a")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull(cache.get("b")); //$NON-NLS-1$
+		Statistics statistics = cache.getStatistics();
+		assertEquals("wrong hit count", 1, statistics.hits()); //$NON-NLS-1$
+		assertEquals("wrong miss count", 1, statistics.misses()); //$NON-NLS-1$
+		assertEquals("wrong size", 1, statistics.size()); //$NON-NLS-1$
+		assertEquals("wrong weight", 5, statistics.weight()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the weight of the cache stays within its budget and that the
+	 * least recently used values are evicted first
+	 */
+	@Test
+	public void testEvictionByWeight() {
+		// 16 segments with a budget of 10 each
+		WeightedCache<Integer, Integer> cache = new WeightedCache<>(160, value -> 4);
+		for (int i = 0; i < 1000; i++) {
+			cache.put(Integer.valueOf(i), Integer.valueOf(i));
+			// keep the first value in use
+			assertNotNull("a recently used value should not be evicted", cache.get(Integer.valueOf(0))); //$NON-NLS-1$
+		}
+		Statistics statistics = cache.getStatistics();
+		assertTrue("the weight should stay within the budget: " + statistics.weight(), statistics.weight() <= 160); //$NON-NLS-1$
+		assertTrue("values should have been evicted", statistics.evictions() > 0); //$NON-NLS-1$
+		assertEquals("evicted values should be gone", 1000 - statistics.evictions(), statistics.size()); //$NON-NLS-1$
+		assertNotNull("the most recently added value should be cached", cache.get(Integer.valueOf(999))); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests removing values by key and by filter
+	 */
+	@Test
+	public void testRemove() {
+		WeightedCache<String, String> cache = new WeightedCache<>(1000, String::length);
+		cache.put("a.one", "1"); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.put("a.two", "2"); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.put("b.one", "3"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("3", cache.remove("b.one")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull(cache.remove("b.one")); //$NON-NLS-1$
+		assertEquals("wrong number of removed values", 2, cache.removeIf(key -> key.startsWith("a."))); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("the cache should be empty", cache.isEmpty()); //$NON-NLS-1$
+		assertEquals("wrong weight", 0, cache.getStatistics().weight()); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.util.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.pde.api.tools.internal.util.WorkerPool;
+import org.junit.Test;
+
+/**
+ * Tests the {@link WorkerPool} class
+ *
+ * @since 1.3.700
+ */
+public class WorkerPoolTests {
+
+	/**
+	 * Tests that the preference value is translated into a number of workers
+	 */
+	@Test
+	public void testGetParallelism() {
+		int processors = Runtime.getRuntime().availableProcessors();
+		assertEquals("a missing value should use the processor count", processors, WorkerPool.getParallelism(null)); //$NON-NLS-1$
+		assertEquals("zero should use the processor count", processors, WorkerPool.getParallelism("0")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("an invalid value should use the processor count", processors, WorkerPool.getParallelism("many")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("an explicit count should be used", 3, WorkerPool.getParallelism(" 3 ")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that results are handed back in submission order
+	 */
+	@Test
+	public void testResultOrder() throws Exception {
+		List<Callable<Integer>> tasks = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			final int value = i;
+			tasks.add(() -> {
+				Thread.sleep((50 - value) % 7);
+				return Integer.valueOf(value);
+			});
+		}
+		try (WorkerPool pool = new WorkerPool("test", 4)) { //$NON-NLS-1$
+			List<Future<Integer>> futures = pool.submitAll(tasks);
+			for (int i = 0; i < futures.size(); i++) {
+				assertEquals("unexpected result order", i, WorkerPool.join(futures.get(i), null).intValue()); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Tests that a {@link CoreException} thrown by a task is rethrown by
+	 * {@link WorkerPool#join(Future, org.eclipse.core.runtime.IProgressMonitor)}
+	 */
+	@Test
+	public void testJoinRethrowsCoreException() throws Exception {
+		CoreException failure = new CoreException(Status.error("failed")); //$NON-NLS-1$
+		try (WorkerPool pool = new WorkerPool("test", 2)) { //$NON-NLS-1$
+			Future<Object> future = pool.submit(() -> {
+				throw failure;
+			});
+			WorkerPool.join(future, null);
+			fail("The exception of the task should have been rethrown"); //$NON-NLS-1$
+		} catch (CoreException e) {
+			assertSame("The exception of the task should have been rethrown", failure, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Tests that waiting on a result honors a canceled monitor
+	 */
+	@Test(expected = OperationCanceledException.class)
+	public void testJoinCanceled() throws Exception {
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		try (WorkerPool pool = new WorkerPool("test", 1)) { //$NON-NLS-1$
+			Future<Object> future = pool.submit(() -> {
+				Thread.sleep(10000);
+				return null;
+			});
+			WorkerPool.join(future, monitor);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.ui.internal;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.pde.api.tools.internal.builder.ApiAnalysisScheduler;
+import org.eclipse.ui.IEditorInput;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IWindowListener;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPart;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Tracks the editor activated in the workbench so that the
+ * {@link ApiAnalysisScheduler} analyzes the project of the active editor
+ * first.
+ *
+ * @since 1.3.700
+ */
+final class ActiveEditorTracker implements IWindowListener, IPartListener2 {
+
+	/**
+	 * Starts tracking the active editor, must be called from the UI thread
+	 */
+	void install() {
+		if (!PlatformUI.isWorkbenchRunning()) {
+			return;
+		}
+		IWorkbench workbench = PlatformUI.getWorkbench();
+		workbench.addWindowListener(this);
+		for (IWorkbenchWindow window : workbench.getWorkbenchWindows()) {
+			window.getPartService().addPartListener(this);
+		}
+		IWorkbenchWindow window = workbench.getActiveWorkbenchWindow();
+		if (window != null) {
+			IWorkbenchPage page = window.getActivePage();
+			if (page != null) {
+				editorActivated(page.getActiveEditor());
+			}
+		}
+	}
+
+	/**
+	 * Stops tracking the active editor, must be called from the UI thread
+	 */
+	void uninstall() {
+		if (!PlatformUI.isWorkbenchRunning()) {
+			return;
+		}
+		IWorkbench workbench = PlatformUI.getWorkbench();
+		workbench.removeWindowListener(this);
+		for (IWorkbenchWindow window : workbench.getWorkbenchWindows()) {
+			window.getPartService().removePartListener(this);
+		}
+		ApiAnalysisScheduler.getDefault().setPreferredProject(null);
+	}
+
+	private void editorActivated(IEditorPart editor) {
+		if (editor == null) {
+			return;
+		}
+		IEditorInput input = editor.getEditorInput();
+		IResource resource = input != null ? input.getAdapter(IResource.class) : null;
+		if (resource != null) {
+			ApiAnalysisScheduler.getDefault().setPreferredProject(resource.getProject());
+		}
+	}
+
+	@Override
+	public void partActivated(IWorkbenchPartReference partRef) {
+		IWorkbenchPart part = partRef.getPart(false);
+		if (part instanceof IEditorPart editor) {
+			editorActivated(editor);
+		}
+	}
+
+	@Override
+	public void windowActivated(IWorkbenchWindow window) {
+		// nothing to do
+	}
+
+	@Override
+	public void windowDeactivated(IWorkbenchWindow window) {
+		// nothing to do
+	}
+
+	@Override
+	public void windowClosed(IWorkbenchWindow window) {
+		window.getPartService().removePartListener(this);
+	}
+
+	@Override
+	public void windowOpened(IWorkbenchWindow window) {
+		window.getPartService().addPartListener(this);
+	}
+}
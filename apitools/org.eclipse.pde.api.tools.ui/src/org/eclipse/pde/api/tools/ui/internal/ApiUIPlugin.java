@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -81,6 +81,12 @@ public class ApiUIPlugin extends AbstractUIPlugin {
 
 	private ActionFilterAdapterFactory fActionFilterAdapterFactory;
 
+	/**
+	 * Lets the API analysis scheduler analyze the project of the active editor
+	 * first
+	 */
+	private final ActiveEditorTracker fActiveEditorTracker = new ActiveEditorTracker();
+
 	/**
 	 * Declare an Image in the registry table.
 	 *
@@ -343,6 +349,9 @@ public class ApiUIPlugin extends AbstractUIPlugin {
 		fActionFilterAdapterFactory = new ActionFilterAdapterFactory();
 		Platform.getAdapterManager().registerAdapters(fActionFilterAdapterFactory, IJavaElement.class);
 		super.start(context);
+		if (PlatformUI.isWorkbenchRunning()) {
+			PlatformUI.getWorkbench().getDisplay().asyncExec(fActiveEditorTracker::install);
+		}
 	}
 
 	@Override
@@ -352,6 +361,9 @@ public class ApiUIPlugin extends AbstractUIPlugin {
 			image.dispose();
 		}
 		fCompositeImages.clear();
+		if (PlatformUI.isWorkbenchRunning()) {
+			PlatformUI.getWorkbench().getDisplay().asyncExec(fActiveEditorTracker::uninstall);
+		}
 		ApiPlugin.getDefault().getSessionManager().removeSessionListener(this.sessionListener);
 		Platform.getAdapterManager().unregisterAdapters(fActionFilterAdapterFactory, IJavaElement.class);
 		super.stop(context);
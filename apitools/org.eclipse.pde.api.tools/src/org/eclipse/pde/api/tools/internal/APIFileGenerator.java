@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -112,6 +112,12 @@ public class APIFileGenerator {
 	public String sourceLocations;
 	public boolean allowNonApiProject = false;
 	public String encoding;
+	/**
+	 * The number of compilation units to parse concurrently
+	 *
+	 * @since 1.3.700
+	 */
+	public int parallelism = 1;
 
 	public void generateAPIFile() {
 		if (this.binaryLocations == null || this.projectName == null || this.projectLocation == null || this.targetFolder == null) {
@@ -250,25 +256,46 @@ public class APIFileGenerator {
 		if (allFiles != null && allFiles.length != 0) {
 			Map<String, String> options = JavaCore.getOptions();
 			options.put(JavaCore.COMPILER_COMPLIANCE, resolveCompliance(manifestMap));
-			CompilationUnit unit = null;
-			for (int i = 0, max = allFiles.length; i < max; i++) {
-				unit = new CompilationUnit(allFiles[i].getAbsolutePath(), this.encoding);
+			if (this.parallelism > 1) {
+				List<CompilationUnit> units = new ArrayList<>(allFiles.length);
+				for (File file : allFiles) {
+					units.add(new CompilationUnit(file.getAbsolutePath(), this.encoding));
+				}
 				if (this.debug) {
-					System.out.println("Unit name[" + i + "] : " + unit.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+					System.out.println("Scanning " + units.size() + " units with " + this.parallelism + " workers"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 				}
 				try {
-					tagScanner.scan(unit, apiDescription, classFileContainer, options, null);
+					tagScanner.scan(units, apiDescription, classFileContainer, options, this.parallelism, null);
 				} catch (CoreException e) {
 					ApiPlugin.log(e);
 				} finally {
 					try {
-						if (classFileContainer != null) {
-							classFileContainer.close();
-						}
+						classFileContainer.close();
 					} catch (CoreException e) {
 						// ignore
 					}
 				}
+			} else {
+				CompilationUnit unit = null;
+				for (int i = 0, max = allFiles.length; i < max; i++) {
+					unit = new CompilationUnit(allFiles[i].getAbsolutePath(), this.encoding);
+					if (this.debug) {
+						System.out.println("Unit name[" + i + "] : " + unit.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+					try {
+						tagScanner.scan(unit, apiDescription, classFileContainer, options, null);
+					} catch (CoreException e) {
+						ApiPlugin.log(e);
+					} finally {
+						try {
+							if (classFileContainer != null) {
+								classFileContainer.close();
+							}
+						} catch (CoreException e) {
+							// ignore
+						}
+					}
+				}
 			}
 		}
 		try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2024 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,18 +17,26 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
 
+import org.eclipse.core.resources.IBuildConfiguration;
 import org.eclipse.core.resources.ICommand;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceDescription;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -48,6 +56,7 @@ import org.eclipse.pde.api.tools.internal.model.BundleComponent;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.util.WorkerPool;
 import org.eclipse.pde.core.target.ITargetDefinition;
 import org.eclipse.pde.core.target.ITargetLocation;
 import org.eclipse.pde.core.target.ITargetPlatformService;
@@ -66,6 +75,10 @@ public class ApiAnalysisApplication implements IApplication {
 		private static final String BASELINE_ARG = "baseline"; //$NON-NLS-1$
 		private static final String BASELINE_DEFAULT_VALUE = "default"; //$NON-NLS-1$
 		private static final String DEPENDENCY_LIST_ARG = "dependencyList"; //$NON-NLS-1$
+		private static final String PARALLELISM_ARG = "parallelism"; //$NON-NLS-1$
+		private static final String REPORT_ARG = "report"; //$NON-NLS-1$
+		private static final String PORT_ARG = "port"; //$NON-NLS-1$
+		private static final String SOCKET_ARG = "socket"; //$NON-NLS-1$
 
 		private Request() {
 		}
@@ -73,6 +86,7 @@ public class ApiAnalysisApplication implements IApplication {
 		public static Request readFromArgs(String[] params) {
 			Request res = new Request();
 			String currentKey = null;
+			String parallelism = null;
 			for (String param : params) {
 				if (param.charAt(0) == '-') {
 					if (FAIL_ON_ERROR_ARG.equals(currentKey)) {
@@ -80,46 +94,104 @@ public class ApiAnalysisApplication implements IApplication {
 					}
 					currentKey = param.substring(1);
 				} else if (PROJECT_ARG.equals(currentKey)) {
-					res.project = new File(param);
+					// several projects can follow one -project argument
+					res.projects.add(new File(param));
 				} else if (BASELINE_ARG.equals(currentKey) && !BASELINE_DEFAULT_VALUE.equals(param)) {
 					res.baselinePath = new File(param);
 				} else if (FAIL_ON_ERROR_ARG.equals(currentKey)) {
 					res.failOnError = Boolean.parseBoolean(param);
 				} else if (DEPENDENCY_LIST_ARG.equals(currentKey)) {
 					res.tpFile = new File(param);
+				} else if (PARALLELISM_ARG.equals(currentKey)) {
+					parallelism = param;
+				} else if (REPORT_ARG.equals(currentKey)) {
+					res.report = new File(param);
+				} else if (PORT_ARG.equals(currentKey)) {
+					res.port = Integer.parseInt(param);
+				} else if (SOCKET_ARG.equals(currentKey)) {
+					res.socket = new File(param);
 				}
 			}
 			if (FAIL_ON_ERROR_ARG.equals(currentKey)) {
 				res.failOnError = true;
 			}
+			// projects are built one at a time unless asked otherwise
+			res.parallelism = parallelism == null ? 1 : WorkerPool.getParallelism(parallelism);
 			return res;
 		}
 
-		public File project;
+		public final List<File> projects = new ArrayList<>();
 		public File baselinePath;
 		public boolean failOnError;
 		public File tpFile;
+		public int parallelism;
+		public File report;
+		public int port = -1;
+		public File socket;
+
+		/**
+		 * @return <code>true</code> if the application should keep running
+		 *         and serve analysis requests
+		 */
+		public boolean isDaemon() {
+			return port >= 0 || socket != null;
+		}
 	}
 
-	private ICoreRunnable restoreOriginalProjectState = null;
+	/**
+	 * The markers found for one analyzed project
+	 *
+	 * @param project the project
+	 * @param nonAPIErrors the blocking errors that are not API problems
+	 * @param apiErrors the API errors
+	 * @param apiWarnings the API warnings
+	 */
+	public record ProjectResult(IProject project, IMarker[] nonAPIErrors, IMarker[] apiErrors, IMarker[] apiWarnings) {
+	}
+
+	/**
+	 * The file in the state location the daemon writes the token of its
+	 * loopback port to
+	 */
+	private static final String DAEMON_TOKEN_FILE = "daemon.token"; //$NON-NLS-1$
+
+	private final List<ICoreRunnable> restoreOriginalProjectStates = new ArrayList<>();
+
+	/**
+	 * The projects imported so far by their location
+	 */
+	private final Map<File, IProject> importedProjects = new HashMap<>();
+
+	private volatile ApiAnalysisDaemon daemon;
 
 	@Override
 	public Object start(IApplicationContext context) throws Exception {
-		restoreOriginalProjectState = null;
+		restoreOriginalProjectStates.clear();
+		importedProjects.clear();
 		try {
+			Request args = Request
+					.readFromArgs((String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS));
 			IWorkspaceDescription desc = ResourcesPlugin.getWorkspace().getDescription();
 			desc.setAutoBuilding(false);
+			desc.setMaxConcurrentBuilds(args.parallelism);
 			ResourcesPlugin.getWorkspace().setDescription(desc);
 			PDECore.getDefault().getPreferencesManager().setValue(ICoreConstants.DISABLE_API_ANALYSIS_BUILDER, false);
 			PDECore.getDefault().getPreferencesManager().setValue(ICoreConstants.RUN_API_ANALYSIS_AS_JOB, false);
 
-			Request args = Request
-					.readFromArgs((String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS));
-			IProject project = importProject(args.project);
-			if (project == null) {
-				System.err.println("Project not loaded."); //$NON-NLS-1$
+			if (args.projects.isEmpty() && !args.isDaemon()) {
+				System.err.println("No project specified."); //$NON-NLS-1$
 				return IStatus.ERROR;
 			}
+			List<IProject> projects = new ArrayList<>(args.projects.size());
+			for (File projectPath : args.projects) {
+				IProject project = importProject(projectPath);
+				if (project == null) {
+					System.err.println("Project not loaded."); //$NON-NLS-1$
+					return IStatus.ERROR;
+				}
+				projects.add(project);
+			}
+			// the baseline and target platform are shared by all the projects
 			IApiBaseline baseline = setBaseline(args.baselinePath);
 			if (baseline == null) {
 				System.err.println("Baseline shouldn't be null."); //$NON-NLS-1$
@@ -127,57 +199,30 @@ public class ApiAnalysisApplication implements IApplication {
 			}
 			setTargetPlatform(args.tpFile);
 
-			project.build(IncrementalProjectBuilder.FULL_BUILD, new NullProgressMonitor());
-			// wait untill all jobs has finished that might be sceduled as part of the
-			// build...
-			while (!Job.getJobManager().isIdle()) {
-				Thread.yield();
-			}
-			IMarker[] allProblemMarkers = project.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE);
-			Predicate<IMarker> isAPIMarker = marker -> {
-				try {
-					return marker.getType().startsWith(ApiPlugin.PLUGIN_ID);
-				} catch (CoreException e) {
-					ApiPlugin.log(e);
-					return false;
-				}
-			};
-			IMarker[] allAPIProbleMarkers = Arrays.stream(allProblemMarkers) //
-					.filter(isAPIMarker) //
-					.toArray(IMarker[]::new);
-			IMarker[] allNonAPIErrors = Arrays.stream(allProblemMarkers) //
-					.filter(isAPIMarker.negate()) //
-					.filter(marker -> marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_ERROR) //
-					.toArray(IMarker[]::new);
-			if (allNonAPIErrors.length > 0) {
-				System.err.println("Some blocking (most likely link/compilation) errors are present:"); //$NON-NLS-1$
-				for (IMarker marker : allNonAPIErrors) {
-					printMarker(marker, "FATAL"); //$NON-NLS-1$
+			if (args.isDaemon()) {
+				File tokenFile = ApiPlugin.getDefault().getStateLocation().append(DAEMON_TOKEN_FILE).toFile();
+				try (ApiAnalysisDaemon server = ApiAnalysisDaemon.open(args.port, args.socket, tokenFile, this::analyze)) {
+					daemon = server;
+					System.out.println("API analysis daemon listening on " + server.getAddress()); //$NON-NLS-1$
+					if (server.getTokenFile() != null) {
+						System.out.println("API analysis daemon token written to " + server.getTokenFile()); //$NON-NLS-1$
+					}
+					server.serve();
+				} finally {
+					daemon = null;
 				}
-				System.err.println("Some blocking (most likely link/compilation) errors are present ^^^"); //$NON-NLS-1$
-				return 10;
+				return IStatus.OK;
 			}
-			// errors
-			IMarker[] errorMarkers = Arrays.stream(allAPIProbleMarkers)
-					.filter(marker -> marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_ERROR)
-					.toArray(IMarker[]::new);
-			System.err.println(errorMarkers.length + " API ERRORS"); //$NON-NLS-1$
-			for (IMarker marker : errorMarkers) {
-				printMarker(marker, "API ERROR"); //$NON-NLS-1$
+			IProject[] ordered = build(projects, IncrementalProjectBuilder.FULL_BUILD);
+			List<ProjectResult> results = new ArrayList<>(ordered.length);
+			for (IProject project : ordered) {
+				results.add(collectMarkers(project));
 			}
-			// warnings
-			IMarker[] warningMarkers = Arrays.stream(allAPIProbleMarkers)
-					.filter(marker -> marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_WARNING)
-					.toArray(IMarker[]::new);
-			System.out.println(warningMarkers.length + " API warnings"); //$NON-NLS-1$
-			for (IMarker marker : warningMarkers) {
-				printMarker(marker, "API WARNING"); //$NON-NLS-1$
+			int status = printResults(results, args.failOnError);
+			if (args.report != null) {
+				writeReport(args.report, results);
 			}
-			// fail
-			if (args.failOnError && errorMarkers.length > 0) {
-				return IStatus.ERROR;
-			}
-			return IStatus.OK;
+			return status;
 		} catch (CoreException e) {
 			System.err.println(e.getStatus());
 			return IStatus.ERROR;
@@ -185,13 +230,195 @@ public class ApiAnalysisApplication implements IApplication {
 			e.printStackTrace();
 			return IStatus.ERROR;
 		} finally {
-			if (restoreOriginalProjectState != null) {
-				restoreOriginalProjectState.run(new NullProgressMonitor());
+			// restore in reverse order of import
+			for (int i = restoreOriginalProjectStates.size() - 1; i >= 0; i--) {
+				restoreOriginalProjectStates.get(i).run(new NullProgressMonitor());
+			}
+			restoreOriginalProjectStates.clear();
+			importedProjects.clear();
+		}
+	}
+
+	/**
+	 * Analyzes the given projects for a request of the daemon. Projects that
+	 * have been analyzed before are refreshed and built incrementally.
+	 *
+	 * @param projectPaths the locations of the projects
+	 * @return the results in the order of the project dependencies
+	 */
+	private List<ProjectResult> analyze(List<File> projectPaths) throws CoreException, IOException {
+		List<IProject> projects = new ArrayList<>(projectPaths.size());
+		for (File projectPath : projectPaths) {
+			IProject project = importProject(projectPath);
+			if (project == null) {
+				throw new CoreException(Status.error("Project not loaded: " + projectPath)); //$NON-NLS-1$
+			}
+			projects.add(project);
+		}
+		IProject[] ordered = build(projects, IncrementalProjectBuilder.INCREMENTAL_BUILD);
+		List<ProjectResult> results = new ArrayList<>(ordered.length);
+		for (IProject project : ordered) {
+			results.add(collectMarkers(project));
+		}
+		return results;
+	}
+
+	/**
+	 * Builds the given projects. Several projects are built together by the
+	 * workspace so that projects that do not depend on each other are
+	 * analyzed concurrently, up to the maximum number of concurrent builds.
+	 *
+	 * @param projects the projects to build
+	 * @param kind the kind of build
+	 * @return the projects in the order of their dependencies
+	 */
+	private static IProject[] build(List<IProject> projects, int kind) throws CoreException {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		if (projects.size() == 1) {
+			projects.get(0).build(kind, new NullProgressMonitor());
+		} else {
+			IBuildConfiguration[] configs = new IBuildConfiguration[projects.size()];
+			for (int i = 0; i < configs.length; i++) {
+				configs[i] = projects.get(i).getActiveBuildConfig();
+			}
+			workspace.build(configs, kind, false, new NullProgressMonitor());
+		}
+		// wait untill all jobs has finished that might be sceduled as part of the
+		// build...
+		while (!Job.getJobManager().isIdle()) {
+			Thread.yield();
+		}
+		return computeProjectOrder(projects);
+	}
+
+	/**
+	 * Orders the given projects so that projects come after the projects they
+	 * reference
+	 *
+	 * @param projects the projects
+	 * @return the projects in the order of their dependencies
+	 */
+	public static IProject[] computeProjectOrder(List<IProject> projects) {
+		return ResourcesPlugin.getWorkspace().computeProjectOrder(projects.toArray(IProject[]::new)).projects;
+	}
+
+	private static ProjectResult collectMarkers(IProject project) throws CoreException {
+		IMarker[] allProblemMarkers = project.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE);
+		Predicate<IMarker> isAPIMarker = marker -> {
+			try {
+				return marker.getType().startsWith(ApiPlugin.PLUGIN_ID);
+			} catch (CoreException e) {
+				ApiPlugin.log(e);
+				return false;
+			}
+		};
+		IMarker[] allAPIProbleMarkers = Arrays.stream(allProblemMarkers) //
+				.filter(isAPIMarker) //
+				.toArray(IMarker[]::new);
+		IMarker[] allNonAPIErrors = Arrays.stream(allProblemMarkers) //
+				.filter(isAPIMarker.negate()) //
+				.filter(marker -> marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_ERROR) //
+				.toArray(IMarker[]::new);
+		IMarker[] errorMarkers = Arrays.stream(allAPIProbleMarkers)
+				.filter(marker -> marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_ERROR)
+				.toArray(IMarker[]::new);
+		IMarker[] warningMarkers = Arrays.stream(allAPIProbleMarkers)
+				.filter(marker -> marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_WARNING)
+				.toArray(IMarker[]::new);
+		return new ProjectResult(project, allNonAPIErrors, errorMarkers, warningMarkers);
+	}
+
+	/**
+	 * Prints the markers of the analyzed projects, each under the name of its
+	 * project if there are several
+	 *
+	 * @param results the results in the order of the project dependencies
+	 * @param failOnError whether API errors fail the analysis
+	 * @return the exit code: 10 if a project has blocking errors,
+	 *         {@link IStatus#ERROR} if a project has API errors and
+	 *         <code>failOnError</code> is set, {@link IStatus#OK} otherwise
+	 */
+	public static int printResults(List<ProjectResult> results, boolean failOnError) {
+		boolean multiple = results.size() > 1;
+		int status = IStatus.OK;
+		for (ProjectResult result : results) {
+			if (multiple) {
+				System.out.println(String.format("API analysis of %s", result.project().getName())); //$NON-NLS-1$
+			}
+			int projectStatus = printResult(result, failOnError);
+			if (projectStatus == 10 || (projectStatus == IStatus.ERROR && status == IStatus.OK)) {
+				status = projectStatus;
+			}
+		}
+		return status;
+	}
+
+	/**
+	 * Prints the markers of one project
+	 *
+	 * @return the exit code for the project
+	 */
+	private static int printResult(ProjectResult result, boolean failOnError) {
+		if (result.nonAPIErrors().length > 0) {
+			System.err.println("Some blocking (most likely link/compilation) errors are present:"); //$NON-NLS-1$
+			for (IMarker marker : result.nonAPIErrors()) {
+				printMarker(marker, "FATAL"); //$NON-NLS-1$
+			}
+			System.err.println("Some blocking (most likely link/compilation) errors are present ^^^"); //$NON-NLS-1$
+			return 10;
+		}
+		// errors
+		System.err.println(result.apiErrors().length + " API ERRORS"); //$NON-NLS-1$
+		for (IMarker marker : result.apiErrors()) {
+			printMarker(marker, "API ERROR"); //$NON-NLS-1$
+		}
+		// warnings
+		System.out.println(result.apiWarnings().length + " API warnings"); //$NON-NLS-1$
+		for (IMarker marker : result.apiWarnings()) {
+			printMarker(marker, "API WARNING"); //$NON-NLS-1$
+		}
+		// fail
+		if (failOnError && result.apiErrors().length > 0) {
+			return IStatus.ERROR;
+		}
+		return IStatus.OK;
+	}
+
+	/**
+	 * Writes one report with the markers of all the analyzed projects
+	 *
+	 * @param file the report file
+	 * @param results the results in the order of the project dependencies
+	 * @throws IOException if the report cannot be written
+	 */
+	public static void writeReport(File file, List<ProjectResult> results) throws IOException {
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			Files.createDirectories(parent.toPath());
+		}
+		try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+			for (ProjectResult result : results) {
+				writer.println(String.format("%s: %d blocking errors, %d API errors, %d API warnings", //$NON-NLS-1$
+						result.project().getName(), result.nonAPIErrors().length, result.apiErrors().length,
+						result.apiWarnings().length));
+				for (IMarker marker : result.nonAPIErrors()) {
+					writer.println(formatMarker(marker, "FATAL")); //$NON-NLS-1$
+				}
+				for (IMarker marker : result.apiErrors()) {
+					writer.println(formatMarker(marker, "API ERROR")); //$NON-NLS-1$
+				}
+				for (IMarker marker : result.apiWarnings()) {
+					writer.println(formatMarker(marker, "API WARNING")); //$NON-NLS-1$
+				}
 			}
 		}
 	}
 
 	private static void printMarker(IMarker marker, String type) {
+		System.out.println(formatMarker(marker, type));
+	}
+
+	private static String formatMarker(IMarker marker, String type) {
 		String path = getFullPath(marker);
 		String file = marker.getResource().getName();
 		int lineNumber = marker.getAttribute(IMarker.LINE_NUMBER, -1);
@@ -200,11 +427,11 @@ public class ApiAnalysisApplication implements IApplication {
 		if (!description.isEmpty()) {
 			message = String.format("%s %s", message, description); //$NON-NLS-1$
 		}
-		System.out.println(String.format("[%s] File %s at line %d: %s (location: %s)", type, file, lineNumber, //$NON-NLS-1$
-				message, path));
+		return String.format("[%s] File %s at line %d: %s (location: %s)", type, file, lineNumber, //$NON-NLS-1$
+				message, path);
 	}
 
-	private static String getFullPath(IMarker marker) {
+	static String getFullPath(IMarker marker) {
 		IResource resource = marker.getResource();
 		IPath location = resource.getLocation();
 		if (location != null) {
@@ -313,6 +540,11 @@ public class ApiAnalysisApplication implements IApplication {
 	}
 
 	private IProject importProject(File projectPath) throws CoreException, IOException {
+		IProject imported = importedProjects.get(projectPath.getAbsoluteFile());
+		if (imported != null) {
+			imported.refreshLocal(IResource.DEPTH_INFINITE, new NullProgressMonitor());
+			return imported;
+		}
 		File dotProject = new File(projectPath, IProjectDescription.DESCRIPTION_FILE_NAME);
 		if (!dotProject.isFile()) {
 			System.err.println("Expected `" + dotProject.getAbsolutePath() + "` file doesn't exist."); //$NON-NLS-1$ //$NON-NLS-2$
@@ -367,13 +599,14 @@ public class ApiAnalysisApplication implements IApplication {
 			projectDescription.setBuildSpec(newBuilders);
 			project.setDescription(projectDescription, IResource.NONE, new NullProgressMonitor());
 
-			restoreOriginalProjectState = m -> {
+			restoreOriginalProjectStates.add(m -> {
 				projectFile.setContents(new ByteArrayInputStream(originalContent), IResource.FORCE, m);
 				projectRemover.run(m);
-			};
+			});
 		} else {
-			restoreOriginalProjectState = projectRemover;
+			restoreOriginalProjectStates.add(projectRemover);
 		}
+		importedProjects.put(projectPath.getAbsoluteFile(), project);
 		return project;
 	}
 
@@ -389,7 +622,14 @@ public class ApiAnalysisApplication implements IApplication {
 
 	@Override
 	public void stop() {
-		// Nothing to do
+		ApiAnalysisDaemon server = daemon;
+		if (server != null) {
+			try {
+				server.close();
+			} catch (IOException e) {
+				ApiPlugin.log(e);
+			}
+		}
 	}
 
 }
@@ -0,0 +1,523 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.AclEntry;
+import java.nio.file.attribute.AclEntryPermission;
+import java.nio.file.attribute.AclEntryType;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.pde.api.tools.internal.ApiAnalysisApplication.ProjectResult;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+
+/**
+ * Serves API analysis requests of the {@link ApiAnalysisApplication} over a
+ * local socket, so that the baseline, the target platform and the API model
+ * of the running application are reused from one analysis to the next.
+ * <p>
+ * The daemon listens on a loopback port or on a Unix domain socket. Clients
+ * send one request per line and get one JSON object per line back:
+ * </p>
+ * <ul>
+ * <li><code>token &lt;token&gt;</code> authenticates the connection, it must
+ * be the first request on a loopback port. Any local user can connect to the
+ * port, so the daemon writes a random token to a file only its owner can read
+ * and closes connections that do not send it within
+ * {@value #AUTHENTICATION_TIMEOUT} seconds.</li>
+ * <li><code>analyze &lt;locations&gt;</code> analyzes the projects at the
+ * given locations, separated by the path separator of the platform, and
+ * answers with the problems found in each project</li>
+ * <li><code>stop</code> stops the daemon</li>
+ * </ul>
+ * Each connection is served on its own thread, so that an idle client does
+ * not hold up the others, but the projects of one request are analyzed at a
+ * time.
+ *
+ * @since 1.3.700
+ */
+public final class ApiAnalysisDaemon implements Closeable {
+
+	/**
+	 * Analyzes the projects of one request
+	 */
+	@FunctionalInterface
+	public interface Analyzer {
+
+		/**
+		 * @param projects the locations of the projects to analyze
+		 * @return the results in the order of the project dependencies
+		 */
+		List<ProjectResult> analyze(List<File> projects) throws CoreException, IOException;
+	}
+
+	static final String TOKEN_COMMAND = "token"; //$NON-NLS-1$
+	static final String ANALYZE_COMMAND = "analyze"; //$NON-NLS-1$
+	static final String STOP_COMMAND = "stop"; //$NON-NLS-1$
+
+	/**
+	 * Seconds a client of the loopback port has to send the token before its
+	 * connection is closed
+	 */
+	public static final int AUTHENTICATION_TIMEOUT = 10;
+
+	/**
+	 * File type bits of the <code>unix:mode</code> attribute of a socket
+	 */
+	private static final int S_IFMT = 0170000;
+	private static final int S_IFSOCK = 0140000;
+
+	private final ServerSocketChannel fServer;
+	private final Path fSocket;
+	private final Path fTokenFile;
+	private final String fToken;
+	private final Analyzer fAnalyzer;
+	/**
+	 * Closes the connections of the clients that do not authenticate in time,
+	 * <code>null</code> if the daemon listens on a Unix domain socket
+	 */
+	private final ScheduledExecutorService fDeadlines;
+	/**
+	 * The open connections, closed with the daemon
+	 */
+	private final Set<SocketChannel> fClients = ConcurrentHashMap.newKeySet();
+	/**
+	 * Held while projects are analyzed, the analyzer shares the workspace
+	 * between requests
+	 */
+	private final Object fAnalysisLock = new Object();
+	private volatile boolean fStopped = false;
+	/**
+	 * Whether the daemon created the files at its socket and token paths,
+	 * which it deletes when it is closed
+	 */
+	private boolean fBound = false;
+
+	private ApiAnalysisDaemon(ServerSocketChannel server, Path socket, Path tokenFile, Analyzer analyzer) {
+		fServer = server;
+		fSocket = socket;
+		fTokenFile = tokenFile;
+		fAnalyzer = analyzer;
+		if (tokenFile != null) {
+			byte[] token = new byte[24];
+			new SecureRandom().nextBytes(token);
+			fToken = HexFormat.of().formatHex(token);
+			fDeadlines = Executors.newSingleThreadScheduledExecutor(runnable -> newThread(runnable, "API Analysis Daemon Authentication")); //$NON-NLS-1$
+		} else {
+			fToken = null;
+			fDeadlines = null;
+		}
+	}
+
+	/**
+	 * Opens a daemon on the given Unix domain socket, or on the given loopback
+	 * port when no socket is given. A file already at the socket path is only
+	 * replaced if it is a socket, left by a daemon that did not stop cleanly.
+	 *
+	 * @param port the loopback port, <code>0</code> for any free port
+	 * @param socket the socket file or <code>null</code>
+	 * @param tokenFile the file to write the token clients of the loopback port
+	 *            must send to, replaced if it exists
+	 * @param analyzer the analyzer of the requests
+	 * @return the daemon
+	 * @throws IOException if the daemon cannot listen on the socket or port
+	 */
+	public static ApiAnalysisDaemon open(int port, File socket, File tokenFile, Analyzer analyzer) throws IOException {
+		if (socket != null) {
+			Path path = socket.toPath().toAbsolutePath();
+			if (isSocket(path)) {
+				// a stale socket file of a previous daemon prevents the bind
+				Files.delete(path);
+			} else if (Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+				throw new FileAlreadyExistsException(path.toString(), null, "Not a socket"); //$NON-NLS-1$
+			}
+			SocketAddress address = UnixDomainSocketAddress.of(path);
+			ApiAnalysisDaemon daemon = new ApiAnalysisDaemon(ServerSocketChannel.open(StandardProtocolFamily.UNIX), path, null, analyzer);
+			daemon.bind(address);
+			return daemon;
+		}
+		SocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+		Path token = tokenFile.toPath().toAbsolutePath();
+		ApiAnalysisDaemon daemon = new ApiAnalysisDaemon(ServerSocketChannel.open(), null, token, analyzer);
+		daemon.bind(address);
+		return daemon;
+	}
+
+	/**
+	 * Binds the server channel and writes the token file, closing the channel
+	 * if either fails
+	 */
+	private synchronized void bind(SocketAddress address) throws IOException {
+		try {
+			fServer.bind(address);
+			fBound = true;
+			if (fTokenFile != null) {
+				writeToken(fTokenFile, fToken);
+			}
+		} catch (IOException | RuntimeException e) {
+			try {
+				close();
+			} catch (IOException ce) {
+				e.addSuppressed(ce);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes the given token to a new file that only its owner can read
+	 */
+	private static void writeToken(Path path, String token) throws IOException {
+		Files.deleteIfExists(path);
+		Files.createDirectories(path.getParent());
+		if (path.getFileSystem().supportedFileAttributeViews().contains("posix")) { //$NON-NLS-1$
+			Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))); //$NON-NLS-1$
+		} else {
+			Files.createFile(path);
+			AclFileAttributeView view = Files.getFileAttributeView(path, AclFileAttributeView.class);
+			if (view == null) {
+				throw new IOException("Cannot restrict the access to " + path); //$NON-NLS-1$
+			}
+			view.setAcl(List.of(AclEntry.newBuilder().setType(AclEntryType.ALLOW).setPrincipal(view.getOwner()).setPermissions(EnumSet.allOf(AclEntryPermission.class)).build()));
+		}
+		Files.writeString(path, token, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param path a path
+	 * @return whether the file at the given path is a socket
+	 */
+	static boolean isSocket(Path path) {
+		try {
+			Object mode = Files.getAttribute(path, "unix:mode", LinkOption.NOFOLLOW_LINKS); //$NON-NLS-1$
+			return mode instanceof Integer value && (value.intValue() & S_IFMT) == S_IFSOCK;
+		} catch (UnsupportedOperationException | IllegalArgumentException e) {
+			// no unix view, sockets are neither files, directories nor links
+			try {
+				return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isOther();
+			} catch (IOException ioe) {
+				return false;
+			}
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @return the file the token of the loopback port is written to or
+	 *         <code>null</code> if the daemon listens on a Unix domain socket
+	 */
+	public File getTokenFile() {
+		return fTokenFile != null ? fTokenFile.toFile() : null;
+	}
+
+	/**
+	 * @return the address the daemon listens on
+	 */
+	public String getAddress() {
+		if (fSocket != null) {
+			return fSocket.toString();
+		}
+		try {
+			return String.valueOf(fServer.getLocalAddress());
+		} catch (IOException e) {
+			return String.valueOf(e.getMessage());
+		}
+	}
+
+	/**
+	 * Serves requests until the daemon is stopped or closed. Each connection
+	 * is served on its own thread, this method returns once the analysis in
+	 * progress, if any, is done.
+	 *
+	 * @throws IOException if the daemon cannot accept connections
+	 */
+	public void serve() throws IOException {
+		try {
+			while (!fStopped) {
+				SocketChannel client;
+				try {
+					client = fServer.accept();
+				} catch (ClosedChannelException e) {
+					// closed by a stop request or while waiting for a client
+					break;
+				}
+				fClients.add(client);
+				if (fStopped) {
+					// closed while the client was accepted
+					fClients.remove(client);
+					client.close();
+					break;
+				}
+				newThread(() -> serve(client), "API Analysis Daemon Client").start(); //$NON-NLS-1$
+			}
+		} finally {
+			synchronized (fAnalysisLock) {
+				// the application disposes the workspace once this returns
+			}
+		}
+	}
+
+	private static Thread newThread(Runnable runnable, String name) {
+		Thread thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	private void serve(SocketChannel client) {
+		try (client) {
+			handle(client);
+		} catch (ClosedChannelException e) {
+			// closed by the daemon, because it stopped or the client did not
+			// authenticate in time
+			if (ApiPlugin.DEBUG_API_ANALYZER) {
+				System.out.println("API analysis daemon closed a connection"); //$NON-NLS-1$
+			}
+		} catch (IOException e) {
+			ApiPlugin.log(Status.warning("API analysis daemon client failed", e)); //$NON-NLS-1$
+		} finally {
+			fClients.remove(client);
+		}
+	}
+
+	private void handle(SocketChannel client) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+		BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(client), StandardCharsets.UTF_8));
+		boolean authenticated = fToken == null;
+		// the stream of a channel ignores the socket timeout, the connection
+		// is closed instead if the token does not come in time
+		ScheduledFuture<?> deadline = null;
+		if (!authenticated) {
+			try {
+				deadline = fDeadlines.schedule(() -> {
+					client.close();
+					return null;
+				}, AUTHENTICATION_TIMEOUT, TimeUnit.SECONDS);
+			} catch (RejectedExecutionException e) {
+				// the daemon is closed
+				return;
+			}
+		}
+		String line;
+		while (!fStopped && (line = reader.readLine()) != null) {
+			line = line.trim();
+			if (line.isEmpty()) {
+				continue;
+			}
+			int index = line.indexOf(' ');
+			String command = index < 0 ? line : line.substring(0, index);
+			String argument = index < 0 ? "" : line.substring(index + 1).trim(); //$NON-NLS-1$
+			String response;
+			if (!authenticated) {
+				if (!TOKEN_COMMAND.equals(command) || !MessageDigest.isEqual(fToken.getBytes(StandardCharsets.UTF_8), argument.getBytes(StandardCharsets.UTF_8))) {
+					writeLine(writer, toError("Not authenticated")); //$NON-NLS-1$
+					return;
+				}
+				authenticated = true;
+				deadline.cancel(false);
+				response = "{\"authenticated\":true}"; //$NON-NLS-1$
+			} else if (ANALYZE_COMMAND.equals(command)) {
+				response = analyze(argument);
+			} else if (STOP_COMMAND.equals(command)) {
+				fStopped = true;
+				response = "{\"stopped\":true}"; //$NON-NLS-1$
+			} else {
+				response = toError("Unknown command: " + command); //$NON-NLS-1$
+			}
+			writeLine(writer, response);
+		}
+		if (fStopped) {
+			close();
+		}
+	}
+
+	private static void writeLine(BufferedWriter writer, String response) throws IOException {
+		writer.write(response);
+		writer.newLine();
+		writer.flush();
+	}
+
+	private String analyze(String argument) {
+		List<File> projects = new ArrayList<>();
+		for (String location : argument.split(File.pathSeparator)) {
+			if (!location.isBlank()) {
+				projects.add(new File(location.trim()));
+			}
+		}
+		if (projects.isEmpty()) {
+			return toError("No project specified"); //$NON-NLS-1$
+		}
+		synchronized (fAnalysisLock) {
+			if (fStopped) {
+				return toError("Daemon stopped"); //$NON-NLS-1$
+			}
+			try {
+				return toJson(fAnalyzer.analyze(projects));
+			} catch (CoreException e) {
+				return toError(e.getStatus().getMessage());
+			} catch (IOException | RuntimeException e) {
+				ApiPlugin.log(e);
+				return toError(String.valueOf(e.getMessage()));
+			}
+		}
+	}
+
+	/**
+	 * Returns the JSON response for the given results
+	 *
+	 * @param results the results of the analyzed projects
+	 * @return the JSON object on a single line
+	 */
+	public static String toJson(List<ProjectResult> results) {
+		StringBuilder json = new StringBuilder("{\"projects\":["); //$NON-NLS-1$
+		for (int i = 0; i < results.size(); i++) {
+			ProjectResult result = results.get(i);
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append("{\"name\":"); //$NON-NLS-1$
+			appendString(json, result.project().getName());
+			json.append(",\"errors\":").append(result.apiErrors().length); //$NON-NLS-1$
+			json.append(",\"warnings\":").append(result.apiWarnings().length); //$NON-NLS-1$
+			json.append(",\"blocking\":").append(result.nonAPIErrors().length); //$NON-NLS-1$
+			json.append(",\"problems\":["); //$NON-NLS-1$
+			boolean empty = true;
+			empty = appendMarkers(json, result.nonAPIErrors(), "fatal", empty); //$NON-NLS-1$
+			empty = appendMarkers(json, result.apiErrors(), "error", empty); //$NON-NLS-1$
+			appendMarkers(json, result.apiWarnings(), "warning", empty); //$NON-NLS-1$
+			json.append("]}"); //$NON-NLS-1$
+		}
+		return json.append("]}").toString(); //$NON-NLS-1$
+	}
+
+	/**
+	 * Appends the given markers to the problems array
+	 *
+	 * @param empty whether the problems array is empty so far
+	 * @return whether the problems array is still empty
+	 */
+	private static boolean appendMarkers(StringBuilder json, IMarker[] markers, String severity, boolean empty) {
+		boolean none = empty;
+		for (IMarker marker : markers) {
+			if (!none) {
+				json.append(',');
+			}
+			none = false;
+			json.append("{\"severity\":"); //$NON-NLS-1$
+			appendString(json, severity);
+			json.append(",\"file\":"); //$NON-NLS-1$
+			appendString(json, marker.getResource().getName());
+			json.append(",\"location\":"); //$NON-NLS-1$
+			appendString(json, ApiAnalysisApplication.getFullPath(marker));
+			json.append(",\"line\":").append(marker.getAttribute(IMarker.LINE_NUMBER, -1)); //$NON-NLS-1$
+			json.append(",\"message\":"); //$NON-NLS-1$
+			appendString(json, marker.getAttribute(IMarker.MESSAGE, "").trim()); //$NON-NLS-1$
+			json.append('}');
+		}
+		return none;
+	}
+
+	static String toError(String message) {
+		StringBuilder json = new StringBuilder("{\"error\":"); //$NON-NLS-1$
+		appendString(json, message);
+		return json.append('}').toString();
+	}
+
+	/**
+	 * Appends the given string as a JSON string literal
+	 */
+	static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' -> json.append("\\\""); //$NON-NLS-1$
+				case '\\' -> json.append("\\\\"); //$NON-NLS-1$
+				case '\n' -> json.append("\\n"); //$NON-NLS-1$
+				case '\r' -> json.append("\\r"); //$NON-NLS-1$
+				case '\t' -> json.append("\\t"); //$NON-NLS-1$
+				default -> {
+					if (c < 0x20) {
+						json.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+					} else {
+						json.append(c);
+					}
+				}
+			}
+		}
+		json.append('"');
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		fStopped = true;
+		if (fDeadlines != null) {
+			fDeadlines.shutdownNow();
+		}
+		try {
+			fServer.close();
+			for (SocketChannel client : fClients) {
+				client.close();
+			}
+		} finally {
+			if (fBound) {
+				fBound = false;
+				if (fSocket != null && isSocket(fSocket)) {
+					Files.delete(fSocket);
+				}
+				if (fTokenFile != null) {
+					Files.deleteIfExists(fTokenFile);
+				}
+			}
+		}
+	}
+}
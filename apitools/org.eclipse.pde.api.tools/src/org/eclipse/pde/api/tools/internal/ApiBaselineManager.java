@@ -52,11 +52,12 @@ import org.eclipse.core.runtime.preferences.IScopeContext;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.osgi.service.resolver.BundleDescription;
 import org.eclipse.pde.api.tools.internal.builder.ApiAnalysisBuilder;
-import org.eclipse.pde.api.tools.internal.builder.ApiAnalysisBuilder.ApiAnalysisJob;
 import org.eclipse.pde.api.tools.internal.builder.ApiAnalysisBuilder.ApiAnalysisJobRule;
+import org.eclipse.pde.api.tools.internal.builder.ApiAnalysisScheduler;
 import org.eclipse.pde.api.tools.internal.model.ApiBaseline;
 import org.eclipse.pde.api.tools.internal.model.ApiModelCache;
 import org.eclipse.pde.api.tools.internal.model.ApiModelFactory;
+import org.eclipse.pde.api.tools.internal.model.BaselineSnapshot;
 import org.eclipse.pde.api.tools.internal.model.StubApiComponent;
 import org.eclipse.pde.api.tools.internal.model.WorkspaceBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
@@ -103,6 +104,12 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 	 */
 	private static final String BASELINE_FILE_EXTENSION = ".profile"; //$NON-NLS-1$
 
+	/**
+	 * Disables the binary snapshots of resolved baselines, baselines are then
+	 * always restored from their <code>.profile</code> description
+	 */
+	private static final boolean NO_SNAPSHOTS = Boolean.getBoolean("org.eclipse.pde.api.tools.noBaselineSnapshots"); //$NON-NLS-1$
+
 	/**
 	 * The main cache for the manager. The form of the cache is:
 	 *
@@ -219,6 +226,11 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 					ApiPlugin.log(e);
 				}
 			}
+			try {
+				Files.deleteIfExists(savelocation.append(name + BaselineSnapshot.SNAPSHOT_FILE_EXTENSION).toPath());
+			} catch (IOException e) {
+				ApiPlugin.log(e);
+			}
 			fNeedsSaving = true;
 
 			// flush the model cache
@@ -241,6 +253,10 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 		}
 		String filename = handlecache.get(baseline.getName());
 		if (filename != null) {
+			if (restoreFromSnapshot(baseline)) {
+				hasinfos.add(baseline.getName());
+				return;
+			}
 			File file = new File(filename);
 			if (file.exists()) {
 				try (FileInputStream inputStream = new FileInputStream(file)) {
@@ -253,6 +269,41 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 		}
 	}
 
+	/**
+	 * Restores the given baseline from its snapshot, if there is one that is
+	 * still valid
+	 *
+	 * @param baseline the given baseline
+	 * @return <code>true</code> if the baseline has been restored
+	 */
+	private boolean restoreFromSnapshot(ApiBaseline baseline) {
+		if (NO_SNAPSHOTS || savelocation == null) {
+			return false;
+		}
+		Path file = savelocation.toPath().resolve(baseline.getName() + BaselineSnapshot.SNAPSHOT_FILE_EXTENSION);
+		if (!Files.isRegularFile(file)) {
+			return false;
+		}
+		long start = System.currentTimeMillis();
+		try {
+			BaselineSnapshot snapshot = BaselineSnapshot.read(file);
+			if (snapshot == null) {
+				if (ApiPlugin.DEBUG_BASELINE_MANAGER) {
+					System.out.println("Outdated snapshot for baseline: " + baseline.getName()); //$NON-NLS-1$
+				}
+				return false;
+			}
+			snapshot.restore(baseline);
+		} catch (IOException | CoreException | RuntimeException e) {
+			ApiPlugin.log(Status.warning("Unable to restore API baseline from snapshot: " + baseline.getName(), e)); //$NON-NLS-1$
+			return false;
+		}
+		if (ApiPlugin.DEBUG_BASELINE_MANAGER) {
+			System.out.println("Time to restore a baseline snapshot : " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return true;
+	}
+
 	public boolean isBaselineLoaded(IApiBaseline baseline) {
 		return hasinfos.contains(baseline.getName());
 	}
@@ -340,6 +391,7 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 				}
 				Path file = dir.resolve(id + BASELINE_FILE_EXTENSION);
 				writeBaselineDescription(baseline, file);
+				writeBaselineSnapshot((ApiBaseline) baseline, dir.resolve(id + BaselineSnapshot.SNAPSHOT_FILE_EXTENSION));
 				// need to save the api baseline state in order to be able
 				// to reload it later
 				handlecache.put(baseline.getName(), file.toAbsolutePath().toString());
@@ -359,6 +411,28 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 		}
 	}
 
+	/**
+	 * Writes a binary snapshot of the resolved {@link IApiBaseline} to the
+	 * given file, or removes the snapshot if none can be written for the
+	 * baseline
+	 */
+	private void writeBaselineSnapshot(ApiBaseline baseline, Path file) {
+		try {
+			if (NO_SNAPSHOTS || !BaselineSnapshot.isSupported(baseline)) {
+				Files.deleteIfExists(file);
+				return;
+			}
+			BaselineSnapshot.write(baseline, file);
+		} catch (IOException | CoreException e) {
+			ApiPlugin.log(Status.warning("Unable to write API baseline snapshot: " + baseline.getName(), e)); //$NON-NLS-1$
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException ioe) {
+				ApiPlugin.log(ioe);
+			}
+		}
+	}
+
 	/**
 	 * Returns an XML description of the given baseline.
 	 *
@@ -535,7 +609,7 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 	 */
 	public void stop() {
 		try {
-			Job.getJobManager().cancel(ApiAnalysisJob.class);
+			ApiAnalysisScheduler.getDefault().cancelAll();
 			if (baselinecache != null) {
 				// we should first dispose all existing baselines
 				for (IApiBaseline iApiBaseline : baselinecache.values()) {
@@ -640,7 +714,7 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 		};
 
 		if (ApiAnalysisBuilder.isRunningAsJob()) {
-			Job.getJobManager().cancel(ApiAnalysisJob.class);
+			ApiAnalysisScheduler.getDefault().cancelAll();
 			Job.getJobManager().cancel(ApiBaselineManager.class);
 			Job job = new Job("Disposing Workspace API Baseline") { //$NON-NLS-1$
 				@Override
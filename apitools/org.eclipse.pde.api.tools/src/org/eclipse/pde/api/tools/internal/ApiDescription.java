@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -541,7 +541,7 @@ public class ApiDescription implements IApiDescription {
 				buffer.append(RestrictionModifiers.getRestrictionText(restrictions));
 				System.out.println(buffer.toString());
 			}
-			modified();
+			modified(node);
 			node.restrictions = restrictions;
 			return Status.OK_STATUS;
 		}
@@ -560,7 +560,7 @@ public class ApiDescription implements IApiDescription {
 				buffer.append(VisibilityModifiers.getVisibilityName(visibility));
 				System.out.println(buffer.toString());
 			}
-			modified();
+			modified(node);
 			node.visibility = visibility;
 			return Status.OK_STATUS;
 		}
@@ -625,6 +625,19 @@ public class ApiDescription implements IApiDescription {
 		fModified = true;
 	}
 
+	/**
+	 * Marks the description as modified because the given node changed.
+	 * Default implementation marks the whole description as modified.
+	 * Subclasses that save parts of the description separately should
+	 * override as required.
+	 *
+	 * @param node the changed node
+	 * @since 1.3.700
+	 */
+	protected void modified(ManifestNode node) {
+		modified();
+	}
+
 	/**
 	 * Returns whether this description has been modified.
 	 */
@@ -0,0 +1,377 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+
+/**
+ * The saved state of a {@link ProjectApiDescription}, made of one segment per
+ * package.
+ * <p>
+ * The file starts with a header followed by records: a package record holds
+ * the visibility and package fragments of a package followed by the
+ * serialized types and members of the package, a removed record drops a
+ * package and a commit record ends the records of one save with the time
+ * stamp of the manifest the packages were computed from. Later records replace
+ * earlier ones for the same package, and records after the last commit record
+ * are ignored, they belong to a save that did not complete.
+ * </p>
+ * <p>
+ * Opening the file only reads the package headers, the types and members of a
+ * package are read when the package is first accessed. Saves append the
+ * records of the changed packages, and the file is written again from scratch
+ * once replaced records outweigh the live ones.
+ * </p>
+ *
+ * @since 1.3.700
+ */
+public final class ApiDescriptionSegmentFile {
+
+	private static final int VERSION = 1;
+	private static final int PACKAGE_RECORD = 1;
+	private static final int REMOVED_RECORD = 2;
+	private static final int COMMIT_RECORD = 3;
+	/**
+	 * Bytes of replaced records tolerated on top of the live ones before the
+	 * file is written again from scratch
+	 */
+	private static final long REPLACED_BYTES_SLACK = 64 * 1024;
+
+	/**
+	 * A saved package
+	 *
+	 * @param name the package name
+	 * @param visibility the visibility of the package
+	 * @param handles the handle identifiers of the package fragments
+	 * @param offset the offset of the serialized children in the file
+	 * @param length the length of the serialized children
+	 */
+	public record Segment(String name, int visibility, String[] handles, long offset, int length) {
+	}
+
+	/**
+	 * A package to save
+	 *
+	 * @param name the package name
+	 * @param visibility the visibility of the package
+	 * @param handles the handle identifiers of the package fragments
+	 * @param children the serialized children of the package
+	 */
+	public record PackageData(String name, int visibility, String[] handles, byte[] children) {
+	}
+
+	private final File fFile;
+	private final Map<String, Segment> fSegments = new LinkedHashMap<>();
+	private long fPackageTimeStamp;
+	/**
+	 * Length of the file up to the end of the last commit record
+	 */
+	private long fLength;
+	/**
+	 * Bytes of the live package records
+	 */
+	private long fLiveBytes;
+
+	private ApiDescriptionSegmentFile(File file) {
+		fFile = file;
+	}
+
+	/**
+	 * Opens the given file, reading the package headers
+	 *
+	 * @param file the file
+	 * @return the opened file or <code>null</code> if the file does not exist
+	 *         or is from another version
+	 * @throws IOException if the file cannot be read
+	 */
+	public static ApiDescriptionSegmentFile open(File file) throws IOException {
+		if (!file.isFile()) {
+			return null;
+		}
+		ApiDescriptionSegmentFile segments = new ApiDescriptionSegmentFile(file);
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (!ApiPlugin.PLUGIN_ID.equals(in.readUTF()) || !"DESCRIPTION".equals(in.readUTF()) || in.readInt() != VERSION) { //$NON-NLS-1$
+				return null;
+			}
+			segments.read(in);
+		} catch (EOFException e) {
+			// not even a complete header
+			return null;
+		}
+		return segments;
+	}
+
+	private void read(DataInputStream in) throws IOException {
+		Map<String, Segment> pending = new LinkedHashMap<>();
+		long offset = headerLength();
+		fLength = offset;
+		try {
+			int record;
+			scan: while ((record = in.read()) != -1) {
+				offset++;
+				switch (record) {
+					case PACKAGE_RECORD -> {
+						String name = in.readUTF();
+						int visibility = in.readInt();
+						String[] handles = new String[in.readInt()];
+						offset += utfLength(name) + 8;
+						for (int i = 0; i < handles.length; i++) {
+							handles[i] = in.readUTF();
+							offset += utfLength(handles[i]);
+						}
+						int length = in.readInt();
+						offset += 4;
+						pending.put(name, new Segment(name, visibility, handles, offset, length));
+						in.skipNBytes(length);
+						offset += length;
+					}
+					case REMOVED_RECORD -> {
+						String name = in.readUTF();
+						offset += utfLength(name);
+						pending.put(name, null);
+					}
+					case COMMIT_RECORD -> {
+						fPackageTimeStamp = in.readLong();
+						offset += 8;
+						for (Map.Entry<String, Segment> entry : pending.entrySet()) {
+							if (entry.getValue() == null) {
+								fSegments.remove(entry.getKey());
+							} else {
+								fSegments.put(entry.getKey(), entry.getValue());
+							}
+						}
+						pending.clear();
+						fLength = offset;
+					}
+					default -> {
+						// garbage written by a save that did not complete
+						break scan;
+					}
+				}
+			}
+		} catch (EOFException e) {
+			// the last save did not complete, its records are ignored
+		}
+		fLiveBytes = 0;
+		for (Segment segment : fSegments.values()) {
+			fLiveBytes += segment.length();
+		}
+	}
+
+	private static long headerLength() {
+		return utfLength(ApiPlugin.PLUGIN_ID) + utfLength("DESCRIPTION") + 4; //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the number of bytes {@link DataOutputStream#writeUTF(String)}
+	 *         writes for the given string
+	 */
+	private static long utfLength(String string) {
+		long length = 2;
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			if (c >= 0x0001 && c <= 0x007F) {
+				length++;
+			} else if (c > 0x07FF) {
+				length += 3;
+			} else {
+				length += 2;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * @return the saved packages
+	 */
+	public Collection<Segment> getSegments() {
+		return fSegments.values();
+	}
+
+	/**
+	 * @param name a package name
+	 * @return the saved package with the given name or <code>null</code>
+	 */
+	public Segment getSegment(String name) {
+		return fSegments.get(name);
+	}
+
+	/**
+	 * @return the time stamp of the manifest saved with the packages
+	 */
+	public long getPackageTimeStamp() {
+		return fPackageTimeStamp;
+	}
+
+	/**
+	 * Reads the serialized children of the given saved package
+	 *
+	 * @param segment the saved package
+	 * @return the serialized children
+	 * @throws IOException if the file cannot be read
+	 */
+	public byte[] readChildren(Segment segment) throws IOException {
+		byte[] bytes = new byte[segment.length()];
+		try (RandomAccessFile file = new RandomAccessFile(fFile, "r")) { //$NON-NLS-1$
+			file.seek(segment.offset());
+			file.readFully(bytes);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Returns whether the given changes can be appended to the file: the file
+	 * must be unchanged since it was read or written, and the records they
+	 * replace must not outweigh the live ones.
+	 *
+	 * @param changed the changed packages
+	 * @return whether the changes can be appended
+	 */
+	public boolean canAppend(List<PackageData> changed) {
+		if (fFile.length() != fLength) {
+			return false;
+		}
+		long added = 0;
+		for (PackageData data : changed) {
+			added += data.children().length;
+		}
+		return fLength + added <= 2 * (fLiveBytes + added) + REPLACED_BYTES_SLACK;
+	}
+
+	/**
+	 * Appends the given changes and a commit record to the file
+	 *
+	 * @param changed the changed packages
+	 * @param removed the names of the removed packages
+	 * @param packageTimeStamp the time stamp of the manifest
+	 * @throws IOException if the file cannot be written
+	 */
+	public void append(List<PackageData> changed, Collection<String> removed, long packageTimeStamp) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fFile, true)))) {
+			Map<String, Segment> written = new LinkedHashMap<>();
+			for (PackageData data : changed) {
+				written.put(data.name(), writePackage(data, out, fLength));
+			}
+			for (String name : removed) {
+				out.writeByte(REMOVED_RECORD);
+				out.writeUTF(name);
+				written.put(name, null);
+			}
+			out.writeByte(COMMIT_RECORD);
+			out.writeLong(packageTimeStamp);
+			out.flush();
+			fLength += out.size();
+			commit(written, packageTimeStamp);
+		} catch (IOException e) {
+			// the partial records are ignored when reading, but cannot be
+			// appended to
+			fLength = -1;
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes the file from scratch with the given packages
+	 *
+	 * @param packages all the packages
+	 * @param packageTimeStamp the time stamp of the manifest
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write(List<PackageData> packages, long packageTimeStamp) throws IOException {
+		fSegments.clear();
+		fLiveBytes = 0;
+		fFile.getParentFile().mkdirs();
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fFile)))) {
+			out.writeUTF(ApiPlugin.PLUGIN_ID);
+			out.writeUTF("DESCRIPTION"); //$NON-NLS-1$
+			out.writeInt(VERSION);
+			Map<String, Segment> written = new LinkedHashMap<>();
+			for (PackageData data : packages) {
+				written.put(data.name(), writePackage(data, out, 0));
+			}
+			out.writeByte(COMMIT_RECORD);
+			out.writeLong(packageTimeStamp);
+			out.flush();
+			fLength = out.size();
+			commit(written, packageTimeStamp);
+		} catch (IOException e) {
+			fLength = -1;
+			throw e;
+		}
+	}
+
+	/**
+	 * Creates the given file and writes the given packages to it
+	 *
+	 * @param file the file
+	 * @param packages all the packages
+	 * @param packageTimeStamp the time stamp of the manifest
+	 * @return the written file
+	 * @throws IOException if the file cannot be written
+	 */
+	public static ApiDescriptionSegmentFile create(File file, List<PackageData> packages, long packageTimeStamp) throws IOException {
+		ApiDescriptionSegmentFile segments = new ApiDescriptionSegmentFile(file);
+		segments.write(packages, packageTimeStamp);
+		return segments;
+	}
+
+	private static Segment writePackage(PackageData data, DataOutputStream out, long base) throws IOException {
+		out.writeByte(PACKAGE_RECORD);
+		out.writeUTF(data.name());
+		out.writeInt(data.visibility());
+		out.writeInt(data.handles().length);
+		for (String handle : data.handles()) {
+			out.writeUTF(handle);
+		}
+		out.writeInt(data.children().length);
+		long offset = base + out.size();
+		out.write(data.children());
+		return new Segment(data.name(), data.visibility(), data.handles(), offset, data.children().length);
+	}
+
+	private void commit(Map<String, Segment> written, long packageTimeStamp) {
+		for (Map.Entry<String, Segment> entry : written.entrySet()) {
+			Segment old = entry.getValue() == null ? fSegments.remove(entry.getKey()) : fSegments.put(entry.getKey(), entry.getValue());
+			if (old != null) {
+				fLiveBytes -= old.length();
+			}
+			if (entry.getValue() != null) {
+				fLiveBytes += entry.getValue().length();
+			}
+		}
+		fPackageTimeStamp = packageTimeStamp;
+	}
+
+	/**
+	 * @return the file
+	 */
+	public File getFile() {
+		return fFile;
+	}
+}
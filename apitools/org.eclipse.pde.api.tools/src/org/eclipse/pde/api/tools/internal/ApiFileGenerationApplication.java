@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.pde.api.tools.internal;
 import org.eclipse.equinox.app.IApplication;
 import org.eclipse.equinox.app.IApplicationContext;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.util.WorkerPool;
 
 /**
  * Prefer using the tycho-apitools-plugin to generate the api description file
@@ -33,6 +34,10 @@ public class ApiFileGenerationApplication implements IApplication {
 		generator.projectLocation = find("project", args); //$NON-NLS-1$
 		generator.binaryLocations = find("binary", args); //$NON-NLS-1$
 		generator.targetFolder = find("target", args); //$NON-NLS-1$
+		String parallelism = find("parallelism", args); //$NON-NLS-1$
+		if (parallelism != null) {
+			generator.parallelism = WorkerPool.getParallelism(parallelism);
+		}
 		try {
 			generator.generateAPIFile();
 			return 0;
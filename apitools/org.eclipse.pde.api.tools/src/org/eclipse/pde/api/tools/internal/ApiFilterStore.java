@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,10 @@ package org.eclipse.pde.api.tools.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -62,8 +65,6 @@ import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblemFilter;
 import org.eclipse.pde.api.tools.internal.util.Util;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 /**
  * Implementation of
@@ -89,6 +90,19 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	boolean fTriggeredChange = false;
 	Map<IResource, Map<String, Set<IApiProblemFilter>>> fFilterMap;
 
+	/**
+	 * Key of the filters a problem can match: filters only match problems with
+	 * the same id and type name
+	 */
+	private record FilterKey(int id, String typeName) {
+	}
+
+	/**
+	 * Index of the filters of each resource by {@link FilterKey}, built on
+	 * demand and discarded whenever the filters change
+	 */
+	private Map<IResource, Map<FilterKey, List<IApiProblemFilter>>> fFilterIndex;
+
 	/**
 	 * Constructor
 	 *
@@ -123,9 +137,8 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 						}
 						return Status.CANCEL_STATUS;
 					}
-					Document xml = getXmlDocument(filters);
 					IFile file = project.getFile(API_FILTERS_XML_PATH);
-					if (xml == null) {
+					if (filters.isEmpty()) {
 						if (ApiPlugin.DEBUG_FILTER_STORE) {
 							System.out.println("no XML to persist for plugin project component [" + fProject.getElementName() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
 						}
@@ -151,12 +164,10 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 					}
 
 					if (file.getProject().isAccessible()) {
-						String lineSeparator = System.lineSeparator();
-						if (lineDelimiter != null && !lineDelimiter.equals(lineSeparator)) {
-							String content = Util.serializeDocument(xml).replaceAll(lineSeparator, lineDelimiter);
-							Files.writeString(file.getLocation().toPath(), content);
-						} else {
-							Util.writeDocumentToFile(xml, file.getLocation().toPath());
+						Path location = file.getLocation().toPath();
+						Files.createDirectories(location.getParent());
+						try (Writer writer = Files.newBufferedWriter(location, StandardCharsets.UTF_8)) {
+							writeFilters(filters, writer, lineDelimiter != null ? lineDelimiter : System.lineSeparator());
 						}
 						file.refreshLocal(IResource.DEPTH_ZERO, localmonitor);
 					}
@@ -208,6 +219,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			}
 			fNeedsSaving |= pfilters.add(filter);
 		}
+		fFilterIndex = null;
 		persistApiFilters();
 	}
 
@@ -254,10 +266,10 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			}
 			return false;
 		}
-		IApiProblemFilter[] filters = this.getFilters(resource);
+		List<IApiProblemFilter> filters = getFilterIndex(resource).get(new FilterKey(problem.getId(), problem.getTypeName()));
 		if (filters == null) {
 			if (ApiPlugin.DEBUG_FILTER_STORE) {
-				System.out.println("no filters defined for [" + resourcePath + "] return not filtered"); //$NON-NLS-1$ //$NON-NLS-2$
+				System.out.println("no filter defined for problem: [" + problem.toString() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
 			}
 			return false;
 		}
@@ -276,6 +288,32 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 		return false;
 	}
 
+	/**
+	 * Returns the filters of the given resource indexed by problem id and type
+	 * name, the message arguments of the problems still have to be matched
+	 *
+	 * @param resource the resource
+	 * @return the index of the filters of the resource, never
+	 *         <code>null</code>
+	 */
+	private Map<FilterKey, List<IApiProblemFilter>> getFilterIndex(IResource resource) {
+		if (fFilterIndex == null) {
+			Map<IResource, Map<FilterKey, List<IApiProblemFilter>>> index = new HashMap<>();
+			for (Entry<IResource, Map<String, Set<IApiProblemFilter>>> entry : fFilterMap.entrySet()) {
+				Map<FilterKey, List<IApiProblemFilter>> filters = new HashMap<>();
+				for (Set<IApiProblemFilter> set : entry.getValue().values()) {
+					for (IApiProblemFilter filter : set) {
+						IApiProblem problem = filter.getUnderlyingProblem();
+						filters.computeIfAbsent(new FilterKey(problem.getId(), problem.getTypeName()), k -> new ArrayList<>(1)).add(filter);
+					}
+				}
+				index.put(entry.getKey(), filters);
+			}
+			fFilterIndex = index;
+		}
+		return fFilterIndex.getOrDefault(resource, Collections.emptyMap());
+	}
+
 	@Override
 	public void dispose() {
 		// if the store is about to be disposed and has pending changes save
@@ -346,38 +384,24 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 				success &= false;
 			}
 		}
+		fFilterIndex = null;
 		persistApiFilters();
 		return success;
 	}
 
 	/**
-	 * Converts the information contained in the given map to an XML string
+	 * Writes the given filters as the content of an <code>.api_filters</code>
+	 * file. Resources are sorted by path, types by name and filters by problem
+	 * id and message arguments so that the file only changes with the filters.
 	 *
-	 * @param filtermap the mapping of filters to convert to XML
-	 * @return an XML string representation of the given mapping of filters
+	 * @param filtermap the mapping of filters to write
+	 * @param out the writer to write to
+	 * @param lineDelimiter the line delimiter to use
 	 */
-	synchronized Document getXmlDocument(Map<IResource, Map<String, Set<IApiProblemFilter>>> filtermap)
-			throws CoreException {
-		if (filtermap == null) {
-			if (ApiPlugin.DEBUG_FILTER_STORE) {
-				System.out.println("no filter map returning null XML for project [" + fProject.getElementName() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
-			}
-			return null;
-		}
-		if (filtermap.isEmpty()) {
-			if (ApiPlugin.DEBUG_FILTER_STORE) {
-				System.out.println("empty filter map returning null XML for project [" + fProject.getElementName() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
-			}
-			return null;
-		}
-		Document document = Util.newDocument();
-		Element root = document.createElement(IApiXmlConstants.ELEMENT_COMPONENT);
-		document.appendChild(root);
-		root.setAttribute(IApiXmlConstants.ATTR_ID, fProject.getElementName());
-		root.setAttribute(IApiXmlConstants.ATTR_VERSION, IApiXmlConstants.API_FILTER_STORE_CURRENT_VERSION);
-		Set<Entry<IResource, Map<String, Set<IApiProblemFilter>>>> allFiltersEntrySet = filtermap.entrySet();
-		List<Entry<IResource, Map<String, Set<IApiProblemFilter>>>> allFiltersEntries = new ArrayList<>(allFiltersEntrySet.size());
-		allFiltersEntries.addAll(allFiltersEntrySet);
+	synchronized void writeFilters(Map<IResource, Map<String, Set<IApiProblemFilter>>> filtermap, Writer out, String lineDelimiter) throws IOException {
+		ApiFilterWriter writer = new ApiFilterWriter(out, lineDelimiter);
+		writer.startComponent(fProject.getElementName());
+		List<Entry<IResource, Map<String, Set<IApiProblemFilter>>>> allFiltersEntries = new ArrayList<>(filtermap.entrySet());
 		Collections.sort(allFiltersEntries, Comparator.comparing(e -> e.getKey().getFullPath().toOSString()));
 		for (Entry<IResource, Map<String, Set<IApiProblemFilter>>> allFiltersEntry : allFiltersEntries) {
 			IResource resource = allFiltersEntry.getKey();
@@ -385,28 +409,14 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			if (pTypeNames == null) {
 				continue;
 			}
-			Set<Entry<String, Set<IApiProblemFilter>>> allTypeNamesEntriesSet = pTypeNames.entrySet();
-			List<Entry<String, Set<IApiProblemFilter>>> allTypeNamesEntries = new ArrayList<>(allTypeNamesEntriesSet.size());
-			allTypeNamesEntries.addAll(allTypeNamesEntriesSet);
-
+			List<Entry<String, Set<IApiProblemFilter>>> allTypeNamesEntries = new ArrayList<>(pTypeNames.entrySet());
 			Collections.sort(allTypeNamesEntries, Comparator.comparing(Entry::getKey));
 			for (Entry<String, Set<IApiProblemFilter>> entry : allTypeNamesEntries) {
-				String typeName = entry.getKey();
 				Set<IApiProblemFilter> filters = entry.getValue();
 				if (filters.isEmpty()) {
 					continue;
 				}
-				Element relement = document.createElement(IApiXmlConstants.ELEMENT_RESOURCE);
-				relement.setAttribute(IApiXmlConstants.ATTR_PATH, resource.getProjectRelativePath().toPortableString());
-				boolean typeNameIsInitialized = false;
-				if (typeName != GLOBAL) {
-					relement.setAttribute(IApiXmlConstants.ATTR_TYPE, typeName);
-					typeNameIsInitialized = true;
-				}
-				root.appendChild(relement);
-				typeName = null;
-				List<IApiProblemFilter> filtersList = new ArrayList<>(filters.size());
-				filtersList.addAll(filters);
+				List<IApiProblemFilter> filtersList = new ArrayList<>(filters);
 				Collections.sort(filtersList, (o1, o2) -> {
 					IApiProblem p1 = o1.getUnderlyingProblem();
 					IApiProblem p2 = o2.getUnderlyingProblem();
@@ -432,34 +442,18 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 					}
 					return ids;
 				});
-				for (IApiProblemFilter filter : filtersList) {
-					IApiProblem problem = filter.getUnderlyingProblem();
-					typeName = problem.getTypeName();
-					Element filterElement = document.createElement(IApiXmlConstants.ELEMENT_FILTER);
-					filterElement.setAttribute(IApiXmlConstants.ATTR_ID, Integer.toString(problem.getId()));
-					String comment = filter.getComment();
-					if (comment != null) {
-						filterElement.setAttribute(IApiXmlConstants.ATTR_COMMENT, comment);
-					}
-					String[] messageArguments = problem.getMessageArguments();
-					int length = messageArguments.length;
-					if (length > 0) {
-						Element messageArgumentsElement = document.createElement(IApiXmlConstants.ELEMENT_PROBLEM_MESSAGE_ARGUMENTS);
-						for (int j = 0; j < length; j++) {
-							Element messageArgumentElement = document.createElement(IApiXmlConstants.ELEMENT_PROBLEM_MESSAGE_ARGUMENT);
-							messageArgumentElement.setAttribute(IApiXmlConstants.ATTR_VALUE, String.valueOf(messageArguments[j]));
-							messageArgumentsElement.appendChild(messageArgumentElement);
-						}
-						filterElement.appendChild(messageArgumentsElement);
+				String typeName = entry.getKey();
+				if (typeName == GLOBAL) {
+					// global filters take the type of their last problem, if any
+					typeName = filtersList.get(filtersList.size() - 1).getUnderlyingProblem().getTypeName();
+					if (typeName != null && typeName.length() == 0) {
+						typeName = null;
 					}
-					relement.appendChild(filterElement);
-				}
-				if (typeName != null && !typeNameIsInitialized && typeName.length() != 0) {
-					relement.setAttribute(IApiXmlConstants.ATTR_TYPE, typeName);
 				}
+				writer.writeResource(resource.getProjectRelativePath().toPortableString(), typeName, filtersList);
 			}
 		}
-		return document;
+		writer.endComponent();
 	}
 
 	@Override
@@ -471,6 +465,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			System.out.println("initializing api filter map for project [" + fProject.getElementName() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 		fFilterMap = new LinkedHashMap<>(5);
+		fFilterIndex = null;
 		IFile filterFile = fProject.getProject().getFile(API_FILTERS_XML_PATH);
 		if (!filterFile.exists()) {
 			if (ApiPlugin.DEBUG_FILTER_STORE) {
@@ -522,6 +517,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			}
 			fNeedsSaving |= filters.add(filter);
 		}
+		fFilterIndex = null;
 	}
 
 	/**
@@ -708,6 +704,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 				}
 				if (fFilterMap != null) {
 					fFilterMap.clear();
+					fFilterIndex = null;
 					needsbuild = fProject.getProject().isAccessible();
 				}
 			} else if (leafdelta.getKind() == IResourceDelta.ADDED || (leafdelta.getFlags() & IResourceDelta.CONTENT) != 0 || (leafdelta.getFlags() & IResourceDelta.REPLACED) != 0) {
@@ -740,6 +737,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	 * Clears out the filter map
 	 */
 	private synchronized void clearFilters() {
+		fFilterIndex = null;
 		if (fFilterMap != null) {
 			fFilterMap.clear();
 			fFilterMap = null;
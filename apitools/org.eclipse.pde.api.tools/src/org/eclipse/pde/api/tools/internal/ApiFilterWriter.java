@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+
+import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblemFilter;
+import org.eclipse.pde.api.tools.internal.util.Util;
+
+/**
+ * Writes an <code>.api_filters</code> file element by element, without
+ * building a DOM first.
+ * <p>
+ * The output is the same as the one of the serialized DOM the filter store
+ * used to build: UTF-8 XML indented by four spaces, with attributes in
+ * alphabetical order, so that saving unchanged filters does not change the
+ * file.
+ * </p>
+ *
+ * @since 1.3.700
+ */
+public final class ApiFilterWriter {
+
+	private static final String INDENT = "    "; //$NON-NLS-1$
+
+	private final Writer fOut;
+	private final String fLineDelimiter;
+
+	/**
+	 * Constructor
+	 *
+	 * @param out the writer to write to, encoding characters as UTF-8
+	 * @param lineDelimiter the line delimiter to use
+	 */
+	public ApiFilterWriter(Writer out, String lineDelimiter) {
+		fOut = out;
+		fLineDelimiter = lineDelimiter;
+	}
+
+	/**
+	 * Writes the XML declaration and the start tag of the component element
+	 *
+	 * @param componentId the id of the component
+	 */
+	public void startComponent(String componentId) throws IOException {
+		fOut.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"); //$NON-NLS-1$
+		fOut.write(fLineDelimiter);
+		fOut.write('<');
+		fOut.write(IApiXmlConstants.ELEMENT_COMPONENT);
+		writeAttribute(IApiXmlConstants.ATTR_ID, componentId);
+		writeAttribute(IApiXmlConstants.ATTR_VERSION, IApiXmlConstants.API_FILTER_STORE_CURRENT_VERSION);
+		fOut.write('>');
+		fOut.write(fLineDelimiter);
+	}
+
+	/**
+	 * Writes a resource element with its filters, in the given order
+	 *
+	 * @param path the project relative portable path of the resource
+	 * @param typeName the name of the type of the filters or
+	 *            <code>null</code>
+	 * @param filters the filters of the resource and type, not empty
+	 */
+	public void writeResource(String path, String typeName, Collection<IApiProblemFilter> filters) throws IOException {
+		fOut.write(INDENT);
+		fOut.write('<');
+		fOut.write(IApiXmlConstants.ELEMENT_RESOURCE);
+		writeAttribute(IApiXmlConstants.ATTR_PATH, path);
+		if (typeName != null) {
+			writeAttribute(IApiXmlConstants.ATTR_TYPE, typeName);
+		}
+		fOut.write('>');
+		fOut.write(fLineDelimiter);
+		for (IApiProblemFilter filter : filters) {
+			writeFilter(filter);
+		}
+		fOut.write(INDENT);
+		writeEndTag(IApiXmlConstants.ELEMENT_RESOURCE);
+	}
+
+	private void writeFilter(IApiProblemFilter filter) throws IOException {
+		IApiProblem problem = filter.getUnderlyingProblem();
+		String indent = INDENT + INDENT;
+		fOut.write(indent);
+		fOut.write('<');
+		fOut.write(IApiXmlConstants.ELEMENT_FILTER);
+		String comment = filter.getComment();
+		if (comment != null) {
+			writeAttribute(IApiXmlConstants.ATTR_COMMENT, comment);
+		}
+		writeAttribute(IApiXmlConstants.ATTR_ID, Integer.toString(problem.getId()));
+		String[] messageArguments = problem.getMessageArguments();
+		if (messageArguments.length == 0) {
+			fOut.write("/>"); //$NON-NLS-1$
+			fOut.write(fLineDelimiter);
+			return;
+		}
+		fOut.write('>');
+		fOut.write(fLineDelimiter);
+		fOut.write(indent);
+		fOut.write(INDENT);
+		fOut.write('<');
+		fOut.write(IApiXmlConstants.ELEMENT_PROBLEM_MESSAGE_ARGUMENTS);
+		fOut.write('>');
+		fOut.write(fLineDelimiter);
+		for (String argument : messageArguments) {
+			fOut.write(indent);
+			fOut.write(INDENT);
+			fOut.write(INDENT);
+			fOut.write('<');
+			fOut.write(IApiXmlConstants.ELEMENT_PROBLEM_MESSAGE_ARGUMENT);
+			writeAttribute(IApiXmlConstants.ATTR_VALUE, String.valueOf(argument));
+			fOut.write("/>"); //$NON-NLS-1$
+			fOut.write(fLineDelimiter);
+		}
+		fOut.write(indent);
+		fOut.write(INDENT);
+		writeEndTag(IApiXmlConstants.ELEMENT_PROBLEM_MESSAGE_ARGUMENTS);
+		fOut.write(indent);
+		writeEndTag(IApiXmlConstants.ELEMENT_FILTER);
+	}
+
+	/**
+	 * Writes the end tag of the component element
+	 */
+	public void endComponent() throws IOException {
+		writeEndTag(IApiXmlConstants.ELEMENT_COMPONENT);
+	}
+
+	private void writeEndTag(String element) throws IOException {
+		fOut.write("</"); //$NON-NLS-1$
+		fOut.write(element);
+		fOut.write('>');
+		fOut.write(fLineDelimiter);
+	}
+
+	private void writeAttribute(String name, String value) throws IOException {
+		fOut.write(' ');
+		fOut.write(name);
+		fOut.write("=\""); //$NON-NLS-1$
+		Util.writeXmlAttributeValue(fOut, value);
+		fOut.write('"');
+	}
+}
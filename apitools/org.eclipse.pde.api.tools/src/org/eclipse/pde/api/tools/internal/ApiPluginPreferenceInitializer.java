@@ -83,6 +83,13 @@ public class ApiPluginPreferenceInitializer extends AbstractPreferenceInitialize
 		node.put(IApiProblemTypes.API_USE_SCAN_TYPE_SEVERITY, ApiPlugin.VALUE_ERROR);
 		node.put(IApiProblemTypes.API_USE_SCAN_METHOD_SEVERITY, ApiPlugin.VALUE_ERROR);
 		node.put(IApiProblemTypes.API_USE_SCAN_FIELD_SEVERITY, ApiPlugin.VALUE_ERROR);
+
+		// analysis workers
+		node.putInt(IApiCoreConstants.API_COMPATIBILITY_CHECK_WORKERS, 0);
+		node.putInt(IApiCoreConstants.API_ANALYSIS_JOB_WORKERS, 0);
+
+		// model cache
+		node.putInt(IApiCoreConstants.API_MODEL_CACHE_BUDGET, 0);
 	}
 
 }
@@ -74,6 +74,28 @@ public interface IApiCoreConstants {
 	 */
 	public static final String API_USE_SCAN_LOCATION = "API_USE_SCAN_LOCATION"; //$NON-NLS-1$
 
+	/**
+	 * Preference to store the number of workers used to check the
+	 * compatibility of types against the baseline. A value less than one means
+	 * one worker per available processor, <code>1</code> checks the types one
+	 * after another.
+	 */
+	public static final String API_COMPATIBILITY_CHECK_WORKERS = "API_COMPATIBILITY_CHECK_WORKERS"; //$NON-NLS-1$
+
+	/**
+	 * Preference to store the number of API analysis jobs of projects that run
+	 * at the same time when the analysis runs as a job. A value less than one
+	 * means one job per available processor.
+	 */
+	public static final String API_ANALYSIS_JOB_WORKERS = "API_ANALYSIS_JOB_WORKERS"; //$NON-NLS-1$
+
+	/**
+	 * Preference to store the heap budget of the cache of type structures, in
+	 * megabytes. A value less than one means a sixteenth of the maximum heap
+	 * size.
+	 */
+	public static final String API_MODEL_CACHE_BUDGET = "API_MODEL_CACHE_BUDGET"; //$NON-NLS-1$
+
 	/**
 	 * Constant representing <code>XML</code>
 	 */
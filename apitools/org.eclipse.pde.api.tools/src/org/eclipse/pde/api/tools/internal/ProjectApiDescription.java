@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,13 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -20,6 +27,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarFile;
 
 import org.eclipse.core.resources.IFile;
@@ -37,7 +45,10 @@ import org.eclipse.jdt.core.IOrdinaryClassFile;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.pde.api.tools.internal.ApiDescriptionSegmentFile.PackageData;
+import org.eclipse.pde.api.tools.internal.ApiDescriptionSegmentFile.Segment;
 import org.eclipse.pde.api.tools.internal.builder.BuildStamps;
 import org.eclipse.pde.api.tools.internal.model.BundleComponent;
 import org.eclipse.pde.api.tools.internal.model.ProjectComponent;
@@ -48,10 +59,13 @@ import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
 import org.eclipse.pde.api.tools.internal.provisional.RestrictionModifiers;
 import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IFieldDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMethodDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IPackageDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
+import org.eclipse.pde.api.tools.internal.provisional.scanner.ScannerMessages;
 import org.eclipse.pde.api.tools.internal.provisional.scanner.TagScanner;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.w3c.dom.Document;
@@ -92,6 +106,23 @@ public class ProjectApiDescription extends ApiDescription {
 	 */
 	private volatile boolean fInSynch;
 
+	/**
+	 * Saved state the types and members of restored packages are read from, or
+	 * <code>null</code> if the description has not been saved or restored yet
+	 */
+	private ApiDescriptionSegmentFile fSegments;
+
+	/**
+	 * Names of the packages changed since the last save
+	 */
+	private final Set<String> fChangedPackages = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Whether the description changed in a way that requires saving all the
+	 * packages
+	 */
+	private volatile boolean fAllChanged;
+
 	/**
 	 * A node for a package.
 	 */
@@ -99,6 +130,12 @@ public class ProjectApiDescription extends ApiDescription {
 
 		IPackageFragment[] fFragments;
 
+		/**
+		 * The saved package the children of this node have not been read from
+		 * yet, or <code>null</code>
+		 */
+		Segment fSegment;
+
 		/**
 		 * Constructs a new node.
 		 */
@@ -109,10 +146,11 @@ public class ProjectApiDescription extends ApiDescription {
 
 		@Override
 		protected ManifestNode refresh() {
+			load(this);
 			refreshPackages();
 			for (IPackageFragment fFragment : fFragments) {
 				if (!fFragment.exists()) {
-					modified();
+					modified(this);
 					return null;
 				}
 			}
@@ -229,7 +267,7 @@ public class ProjectApiDescription extends ApiDescription {
 										buffer.append(')');
 										System.out.println(buffer.toString());
 									}
-									modified();
+									modified(this);
 									children.clear();
 									restrictions = RestrictionModifiers.NO_RESTRICTIONS;
 									fTimeStamp = resource.getModificationStamp();
@@ -265,7 +303,7 @@ public class ProjectApiDescription extends ApiDescription {
 									System.out.println(buffer.toString());
 								}
 								// element has been removed
-								modified();
+								modified(this);
 								parent.children.remove(element);
 								return null;
 							}
@@ -338,6 +376,7 @@ public class ProjectApiDescription extends ApiDescription {
 	public synchronized void accept(ApiDescriptionVisitor visitor, IProgressMonitor monitor) {
 		boolean completeVisit = true;
 		if (fInSynch) {
+			loadAll();
 			super.accept(visitor, monitor);
 		} else {
 			try {
@@ -409,6 +448,16 @@ public class ProjectApiDescription extends ApiDescription {
 		visitor.endVisitElement(node.element, annotations);
 	}
 
+	/**
+	 * Nodes are inserted into the description while resolving, and the
+	 * description may be resolved from several API analysis workers at the
+	 * same time.
+	 */
+	@Override
+	protected synchronized ManifestNode findNode(IElementDescriptor element, boolean write) {
+		return super.findNode(element, write);
+	}
+
 	@Override
 	protected boolean isInsertOnResolve(IElementDescriptor elementDescriptor) {
 		return switch (elementDescriptor.getElementType())
@@ -640,6 +689,7 @@ public class ProjectApiDescription extends ApiDescription {
 	 * Returns this API description as XML.
 	 */
 	public synchronized Document getXML() throws CoreException {
+		loadAll();
 		Document document = Util.newDocument();
 		Element component = document.createElement(IApiXmlConstants.ELEMENT_COMPONENT);
 		component.setAttribute(IApiXmlConstants.ATTR_ID, getJavaProject().getElementName());
@@ -664,6 +714,247 @@ public class ProjectApiDescription extends ApiDescription {
 		}
 	}
 
+	@Override
+	protected void modified() {
+		fAllChanged = true;
+		super.modified();
+	}
+
+	@Override
+	protected void modified(ManifestNode node) {
+		ManifestNode root = node;
+		while (root.parent != null) {
+			root = root.parent;
+		}
+		if (root.element instanceof IPackageDescriptor pkg) {
+			fChangedPackages.add(pkg.getName());
+			setModified(true);
+		} else {
+			modified();
+		}
+	}
+
+	/**
+	 * Restores the packages saved in the given file. The types and members of
+	 * a package are read from the file when the package is first accessed.
+	 *
+	 * @param file the file written by {@link #save(File)}
+	 * @return whether the file exists and is from the current version
+	 * @throws IOException if the file cannot be read
+	 */
+	public synchronized boolean restore(File file) throws IOException {
+		ApiDescriptionSegmentFile segments = ApiDescriptionSegmentFile.open(file);
+		if (segments == null) {
+			return false;
+		}
+		for (Segment segment : segments.getSegments()) {
+			IPackageFragment[] fragments = new IPackageFragment[segment.handles().length];
+			for (int i = 0; i < fragments.length; i++) {
+				IJavaElement element = JavaCore.create(segment.handles()[i]);
+				if (element == null || element.getElementType() != IJavaElement.PACKAGE_FRAGMENT) {
+					throw new IOException(ScannerMessages.ApiDescriptionManager_2 + segment.handles()[i]);
+				}
+				fragments[i] = (IPackageFragment) element;
+			}
+			IPackageDescriptor descriptor = Factory.packageDescriptor(segment.name());
+			PackageNode node = newPackageNode(fragments, null, descriptor, segment.visibility(), RestrictionModifiers.NO_RESTRICTIONS);
+			node.fSegment = segment;
+			fPackageMap.put(descriptor, node);
+		}
+		fSegments = segments;
+		fPackageTimeStamp = segments.getPackageTimeStamp();
+		fManifestFile = getJavaProject().getProject().getFile(JarFile.MANIFEST_NAME);
+		return true;
+	}
+
+	/**
+	 * Saves this description to the given file. Only the packages changed since
+	 * the last save are appended to the file, unless the whole file needs to
+	 * be written again.
+	 *
+	 * @param file the file to save to
+	 * @throws IOException if the file cannot be written
+	 */
+	public synchronized void save(File file) throws IOException {
+		List<String> changedNames = new ArrayList<>(fChangedPackages);
+		fChangedPackages.removeAll(changedNames);
+		boolean all = fAllChanged || fSegments == null;
+		fAllChanged = false;
+		setModified(false);
+		try {
+			if (!all) {
+				List<PackageData> changed = new ArrayList<>();
+				List<String> removed = new ArrayList<>();
+				for (String name : changedNames) {
+					ManifestNode node = fPackageMap.get(Factory.packageDescriptor(name));
+					if (node instanceof PackageNode pkg && pkg.hasApiVisibility(pkg)) {
+						changed.add(getPackageData(pkg));
+					} else if (fSegments.getSegment(name) != null) {
+						removed.add(name);
+					}
+				}
+				if (fSegments.canAppend(changed)) {
+					fSegments.append(changed, removed, fPackageTimeStamp);
+					return;
+				}
+			}
+			List<PackageData> packages = new ArrayList<>();
+			for (ManifestNode node : fPackageMap.values()) {
+				if (node instanceof PackageNode pkg && pkg.hasApiVisibility(pkg)) {
+					packages.add(getPackageData(pkg));
+				}
+			}
+			if (fSegments == null) {
+				fSegments = ApiDescriptionSegmentFile.create(file, packages, fPackageTimeStamp);
+			} else {
+				fSegments.write(packages, fPackageTimeStamp);
+			}
+			// packages not read yet now live at another offset
+			for (ManifestNode node : fPackageMap.values()) {
+				if (node instanceof PackageNode pkg && pkg.fSegment != null) {
+					pkg.fSegment = fSegments.getSegment(pkg.fSegment.name());
+				}
+			}
+		} catch (IOException e) {
+			modified();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the saved form of the given package, reusing the saved children
+	 * of a package that has not been read yet
+	 */
+	private PackageData getPackageData(PackageNode node) throws IOException {
+		String[] handles = new String[node.fFragments.length];
+		for (int i = 0; i < handles.length; i++) {
+			handles[i] = node.fFragments[i].getHandleIdentifier();
+		}
+		byte[] children;
+		if (node.fSegment != null) {
+			children = fSegments.readChildren(node.fSegment);
+		} else {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			writeChildren(node.children, out);
+			out.flush();
+			children = bytes.toByteArray();
+		}
+		return new PackageData(((IPackageDescriptor) node.element).getName(), node.visibility, handles, children);
+	}
+
+	/**
+	 * Writes the children of a node that are persisted, the same ones as in
+	 * {@link #getXML()}
+	 */
+	private void writeChildren(Map<IElementDescriptor, ManifestNode> children, DataOutputStream out) throws IOException {
+		List<ManifestNode> persisted = new ArrayList<>(children.size());
+		for (ManifestNode node : children.values()) {
+			boolean persist = switch (node.element.getElementType())
+				{
+				case IElementDescriptor.TYPE -> node instanceof TypeNode && node.hasApiVisibility(node);
+				case IElementDescriptor.METHOD, IElementDescriptor.FIELD -> !RestrictionModifiers.isUnrestricted(node.restrictions);
+				default -> false;
+				};
+			if (persist) {
+				persisted.add(node);
+			}
+		}
+		out.writeInt(persisted.size());
+		for (ManifestNode node : persisted) {
+			out.writeByte(node.element.getElementType());
+			switch (node.element.getElementType()) {
+				case IElementDescriptor.TYPE -> out.writeUTF(((TypeNode) node).fType.getHandleIdentifier());
+				case IElementDescriptor.FIELD -> out.writeUTF(((IFieldDescriptor) node.element).getName());
+				default -> {
+					IMethodDescriptor method = (IMethodDescriptor) node.element;
+					out.writeUTF(method.getName());
+					out.writeUTF(method.getSignature());
+				}
+			}
+			out.writeInt(node.visibility);
+			out.writeInt(node.restrictions);
+			if (node instanceof TypeNode type) {
+				out.writeLong(type.fTimeStamp);
+				writeChildren(node.children, out);
+			}
+		}
+	}
+
+	/**
+	 * Reads the children written by
+	 * {@link #writeChildren(Map, DataOutputStream)}
+	 */
+	private void readChildren(DataInputStream in, ManifestNode parent) throws IOException {
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			int kind = in.readByte();
+			ManifestNode node = switch (kind)
+				{
+				case IElementDescriptor.TYPE -> {
+					String handle = in.readUTF();
+					if (!(JavaCore.create(handle) instanceof IType type)) {
+						throw new IOException(ScannerMessages.ApiDescriptionManager_3 + handle);
+					}
+					yield newTypeNode(type, parent, Factory.typeDescriptor(type.getFullyQualifiedName('$')), 0, 0);
+				}
+				case IElementDescriptor.FIELD -> newNode(parent, ((IReferenceTypeDescriptor) parent.element).getField(in.readUTF()), 0, 0);
+				case IElementDescriptor.METHOD -> newNode(parent, ((IReferenceTypeDescriptor) parent.element).getMethod(in.readUTF(), in.readUTF()), 0, 0);
+				default -> throw new IOException(ScannerMessages.ApiDescriptionManager_4);
+				};
+			node.visibility = in.readInt();
+			node.restrictions = in.readInt();
+			if (node instanceof TypeNode type) {
+				type.fTimeStamp = in.readLong();
+				readChildren(in, node);
+			}
+			parent.children.put(node.element, node);
+		}
+	}
+
+	/**
+	 * Reads the types and members of the given package from the saved state,
+	 * if they have not been read yet. If they cannot be read, the types of the
+	 * package are scanned again when accessed.
+	 */
+	private synchronized void load(PackageNode node) {
+		Segment segment = node.fSegment;
+		if (segment == null) {
+			return;
+		}
+		node.fSegment = null;
+		try {
+			readChildren(new DataInputStream(new ByteArrayInputStream(fSegments.readChildren(segment))), node);
+		} catch (IOException e) {
+			ApiPlugin.log(Status.error(MessageFormat.format(ScannerMessages.ApiDescriptionManager_1, getJavaProject().getElementName()), e));
+			node.children.clear();
+			modified(node);
+		}
+	}
+
+	/**
+	 * Returns whether the types and members of the given package are read, they
+	 * are not until a restored package is first accessed
+	 *
+	 * @param packageName the package name
+	 * @return whether the package is not waiting to be read from the saved
+	 *         state
+	 */
+	public synchronized boolean isLoaded(String packageName) {
+		return !(fPackageMap.get(Factory.packageDescriptor(packageName)) instanceof PackageNode pkg && pkg.fSegment != null);
+	}
+
+	/**
+	 * Reads the types and members of all the packages not read yet
+	 */
+	private void loadAll() {
+		for (ManifestNode node : fPackageMap.values()) {
+			if (node instanceof PackageNode pkg) {
+				load(pkg);
+			}
+		}
+	}
+
 	/**
 	 * Cleans this API description so it will be re-populated with fresh data.
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2024 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.jar.JarFile;
@@ -177,6 +178,13 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 
 	private final ConcurrentLinkedQueue<Runnable> markersQueue = new ConcurrentLinkedQueue<>();
 
+	/**
+	 * Update of the markers by the running build, recording the markers to
+	 * clean up until the markers of the problems found are created, or
+	 * <code>null</code> if markers are cleaned up right away
+	 */
+	private volatile ApiMarkerUpdate markerUpdate = null;
+
 	/**
 	 * Bug 549838:  In case auto-building on a API tools settings change  is not desired,
 	 * specify VM property: {@code -Dorg.eclipse.disableAutoBuildOnSettingsChange=true}
@@ -187,7 +195,10 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 * Cleans up markers associated with API Tools on the given resource.
 	 */
 	void cleanupMarkers(IResource resource) {
-		if (isRunningAsJob()) {
+		ApiMarkerUpdate update = this.markerUpdate;
+		if (update != null && update.isOwner()) {
+			cleanupMarkersInternally(resource);
+		} else if (isRunningAsJob()) {
 			new ApiAnalysisMarkersJob(() -> cleanupMarkersInternally(resource)).schedule();
 		} else {
 			cleanupMarkersInternally(resource);
@@ -207,28 +218,54 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 		cleanupFatalMarkers(resource);
 	}
 
+	/**
+	 * Defers the clean up of the markers the given finders find on the given
+	 * resource to the update of the markers by the build run by the current
+	 * thread, if any
+	 *
+	 * @return whether the clean up is deferred
+	 */
+	private boolean deferCleanup(IResource resource, ApiMarkerUpdate.MarkerFinder... finders) {
+		ApiMarkerUpdate update = this.markerUpdate;
+		if (update == null || !update.isOwner()) {
+			return false;
+		}
+		for (ApiMarkerUpdate.MarkerFinder finder : finders) {
+			update.addCleanup(resource, finder);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the update of the markers by the build run by the current thread
+	 * and ends the deferral of clean ups to it
+	 *
+	 * @return the update or <code>null</code>
+	 */
+	private ApiMarkerUpdate takeMarkerUpdate() {
+		ApiMarkerUpdate update = this.markerUpdate;
+		if (update == null || !update.isOwner()) {
+			return null;
+		}
+		this.markerUpdate = null;
+		return update;
+	}
+
 	/**
 	 * Cleans up API use scan breakage related markers on the specified resource
 	 */
 	void cleanApiUseScanMarkers(IResource resource) {
+		if (deferCleanup(resource, r -> r.findMarkers(IApiMarkerConstants.API_USESCAN_PROBLEM_MARKER, true, IResource.DEPTH_INFINITE), this::findProjectApiUseScanMarkers)) {
+			return;
+		}
 		try {
 			if (resource != null && resource.isAccessible()) {
 				if (ApiPlugin.DEBUG_BUILDER) {
 					System.out.println("ApiAnalysisBuilder: cleaning api use problems"); //$NON-NLS-1$
 				}
 				resource.deleteMarkers(IApiMarkerConstants.API_USESCAN_PROBLEM_MARKER, true, IResource.DEPTH_INFINITE);
-
-				IProject project = resource.getProject();
-				IMarker[] markers = project.findMarkers(IApiMarkerConstants.API_USESCAN_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
-				for (IMarker marker : markers) {
-					String typeName = marker.getAttribute(IApiMarkerConstants.API_USESCAN_TYPE, null);
-					IJavaElement adaptor = resource.getAdapter(IJavaElement.class);
-					if (adaptor != null && adaptor instanceof ICompilationUnit) {
-						IType typeroot = ((ICompilationUnit) adaptor).findPrimaryType();
-						if (typeroot != null && typeName != null && typeName.startsWith(typeroot.getFullyQualifiedName())) {
-							marker.delete();
-						}
-					}
+				for (IMarker marker : findProjectApiUseScanMarkers(resource)) {
+					marker.delete();
 				}
 			}
 		} catch (CoreException e) {
@@ -236,10 +273,34 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 		}
 	}
 
+	/**
+	 * Returns the API use scan breakage related markers of the project of the
+	 * specified resource for the types of the resource
+	 */
+	private IMarker[] findProjectApiUseScanMarkers(IResource resource) throws CoreException {
+		ArrayList<IMarker> found = new ArrayList<>();
+		IProject project = resource.getProject();
+		IMarker[] markers = project.findMarkers(IApiMarkerConstants.API_USESCAN_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
+		for (IMarker marker : markers) {
+			String typeName = marker.getAttribute(IApiMarkerConstants.API_USESCAN_TYPE, null);
+			IJavaElement adaptor = resource.getAdapter(IJavaElement.class);
+			if (adaptor != null && adaptor instanceof ICompilationUnit) {
+				IType typeroot = ((ICompilationUnit) adaptor).findPrimaryType();
+				if (typeroot != null && typeName != null && typeName.startsWith(typeroot.getFullyQualifiedName())) {
+					found.add(marker);
+				}
+			}
+		}
+		return found.toArray(new IMarker[found.size()]);
+	}
+
 	/**
 	 * Cleans up unsupported Javadoc tag markers on the specified resource
 	 */
 	void cleanupUnsupportedTagMarkers(IResource resource) {
+		if (deferCleanup(resource, r -> r.findMarkers(IApiMarkerConstants.UNSUPPORTED_TAG_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE))) {
+			return;
+		}
 		try {
 			if (resource != null && resource.isAccessible()) {
 				if (ApiPlugin.DEBUG_BUILDER) {
@@ -259,6 +320,9 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 * @since 1.0.600
 	 */
 	void cleanupUnsupportedAnnotationMarkers(IResource resource) {
+		if (deferCleanup(resource, r -> r.findMarkers(IApiMarkerConstants.UNSUPPORTED_ANNOTATION_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE))) {
+			return;
+		}
 		try {
 			if (resource != null && resource.isAccessible()) {
 				if (ApiPlugin.DEBUG_BUILDER) {
@@ -277,6 +341,18 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 * @param resource the given resource
 	 */
 	void cleanupCompatibilityMarkers(IResource resource) {
+		if (resource != null && resource.getType() == IResource.PROJECT) {
+			if (deferCleanup(resource, r -> r.findMarkers(IApiMarkerConstants.COMPATIBILITY_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE),
+					r -> r.findMarkers(IApiMarkerConstants.SINCE_TAGS_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE),
+					r -> r.findMarkers(IApiMarkerConstants.VERSION_NUMBERING_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE),
+					r -> r.findMarkers(IApiMarkerConstants.DEFAULT_API_BASELINE_PROBLEM_MARKER, true, IResource.DEPTH_ZERO),
+					r -> r.findMarkers(IApiMarkerConstants.API_COMPONENT_RESOLUTION_PROBLEM_MARKER, true, IResource.DEPTH_ZERO))) {
+				return;
+			}
+		} else if (deferCleanup(resource, r -> r.findMarkers(IApiMarkerConstants.COMPATIBILITY_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE),
+				r -> r.findMarkers(IApiMarkerConstants.SINCE_TAGS_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE))) {
+			return;
+		}
 		try {
 			if (resource != null && resource.isAccessible()) {
 				resource.deleteMarkers(IApiMarkerConstants.COMPATIBILITY_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
@@ -297,6 +373,12 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 * cleans up only API usage markers from the given {@link IResource}
 	 */
 	void cleanupUsageMarkers(IResource resource) {
+		if (deferCleanup(resource, r -> r.findMarkers(IApiMarkerConstants.API_USAGE_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE))) {
+			if (resource != null && resource.getType() != IResource.PROJECT) {
+				deferCleanup(resource.getProject(), r -> r.findMarkers(IApiMarkerConstants.API_USAGE_PROBLEM_MARKER, false, IResource.DEPTH_ZERO));
+			}
+			return;
+		}
 		try {
 			if (resource != null && resource.isAccessible()) {
 				resource.deleteMarkers(IApiMarkerConstants.API_USAGE_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
@@ -316,6 +398,9 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 * cleans up only fatal problem markers from the given {@link IResource}
 	 */
 	void cleanupFatalMarkers(IResource resource) {
+		if (deferCleanup(resource, r -> r.findMarkers(IApiMarkerConstants.FATAL_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE))) {
+			return;
+		}
 		try {
 			if (resource != null && resource.isAccessible()) {
 				resource.deleteMarkers(IApiMarkerConstants.FATAL_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
@@ -329,6 +414,9 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 * Cleans up the unused API filter problems from the given resource
 	 */
 	void cleanUnusedFilterMarkers(IResource resource) {
+		if (deferCleanup(resource, r -> r.findMarkers(IApiMarkerConstants.UNUSED_FILTER_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE))) {
+			return;
+		}
 		try {
 			if (resource != null && resource.isAccessible()) {
 				resource.deleteMarkers(IApiMarkerConstants.UNUSED_FILTER_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
@@ -377,8 +465,8 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 			ApiAnalysisJob job = new ApiAnalysisJob(BuilderMessages.api_analysis_builder, currentproject, fullBuild,
 					wbaseline, projects);
 			job.cancelSimilarJobs(fullBuild);
-			job.schedule(100);
 			job.setPriority(Job.DECORATE);
+			ApiAnalysisScheduler.getDefault().schedule(job);
 		} else {
 			work(fullBuild, wbaseline, projects, monitor);
 		}
@@ -390,6 +478,9 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 		SubMonitor localMonitor = SubMonitor.convert(monitor, BuilderMessages.api_analysis_builder, 8);
 
 		IApiBaseline baseline = ApiPlugin.getDefault().getApiBaselineManager().getDefaultApiBaseline();
+		if (ApiMarkerUpdate.isEnabled()) {
+			this.markerUpdate = new ApiMarkerUpdate();
+		}
 		try {
 			SubMonitor switchMonitor = localMonitor.split(4);
 			if (fullBuild) {
@@ -447,7 +538,9 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 							if (state == null) {
 								buildAll(baseline, wbaseline, switchMonitor.split(1));
 							} else {
-								BuildState.setLastBuiltState(this.currentproject, null);
+								// the state saved by the build is appended to the
+								// marked state
+								BuildState.setBuildInProgress(this.currentproject, this.buildstate);
 								IncrementalApiBuilder builder = new IncrementalApiBuilder(this);
 								builder.build(baseline, wbaseline, deltas, state, this.buildstate, switchMonitor.split(1));
 							}
@@ -469,6 +562,11 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 			}
 			ApiPlugin.log(e);
 		} finally {
+			// apply the clean ups of a build that did not create markers
+			ApiMarkerUpdate update = takeMarkerUpdate();
+			if (update != null) {
+				runMarkersTask(() -> updateMarkers(update, null));
+			}
 			try {
 				localMonitor.split(1);
 				if (this.analyzer != null) {
@@ -532,7 +630,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 
 	public class ApiAnalysisJob extends Job {
 
-		private final boolean fullBuild;
+		private volatile boolean fullBuild;
 		private final IApiBaseline wbaseline;
 		private final IProject[] projects;
 		private final IProject project;
@@ -583,7 +681,41 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 			IStatus s = new Status(IStatus.INFO, ApiAnalysisBuilder.class,
 					"Re-scheduling API analysis for " + project.getName(), e); //$NON-NLS-1$
 			ApiPlugin.log(s);
-			schedule();
+			ApiAnalysisScheduler.getDefault().schedule(this);
+		}
+
+		/**
+		 * @return the project to analyze
+		 * @since 1.3.700
+		 */
+		public IProject getProject() {
+			return project;
+		}
+
+		/**
+		 * @return the projects required by the project to analyze
+		 * @since 1.3.700
+		 */
+		public IProject[] getRequiredProjects() {
+			return projects;
+		}
+
+		/**
+		 * @return whether the job performs a full build
+		 * @since 1.3.700
+		 */
+		public boolean isFullBuild() {
+			return fullBuild;
+		}
+
+		/**
+		 * Sets whether the job performs a full build, for a request merged with
+		 * an earlier full build request
+		 *
+		 * @since 1.3.700
+		 */
+		void setFullBuild(boolean fullBuild) {
+			this.fullBuild = fullBuild;
 		}
 
 		@Override
@@ -957,10 +1089,67 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 */
 	protected void createMarkers() {
 		IApiProblem[] problems = getAnalyzer().getProblems();
+		ApiMarkerUpdate update = takeMarkerUpdate();
+		if (update != null) {
+			runMarkersTask(() -> updateMarkers(update, problems));
+		} else {
+			runMarkersTask(() -> createMarkersInternally(problems));
+		}
+	}
+
+	/**
+	 * Runs the given markers task in a markers job if the analysis runs as a
+	 * job, or right away
+	 */
+	private void runMarkersTask(Runnable task) {
 		if (isRunningAsJob()) {
-			new ApiAnalysisMarkersJob(() -> createMarkersInternally(problems)).schedule();
+			new ApiAnalysisMarkersJob(task).schedule();
 		} else {
-			createMarkersInternally(problems);
+			task.run();
+		}
+	}
+
+	/**
+	 * Updates the markers to clean up recorded by the given update to the
+	 * markers of the given problems: equal markers are kept, and only the
+	 * other markers are deleted or created, in one workspace operation.
+	 *
+	 * @param update the markers update of the build
+	 * @param problems the problems found by the build or <code>null</code> if
+	 *            the build did not create markers
+	 */
+	void updateMarkers(ApiMarkerUpdate update, IApiProblem[] problems) {
+		ArrayList<ApiMarkerUpdate.MarkerInfo> markers = new ArrayList<>();
+		ArrayList<Runnable> others = new ArrayList<>();
+		if (problems != null) {
+			update.addCleanup(Util.getManifestFile(this.currentproject), r -> r.findMarkers(IApiMarkerConstants.VERSION_NUMBERING_PROBLEM_MARKER, false, IResource.DEPTH_ZERO));
+			update.addCleanup(this.currentproject, r -> r.findMarkers(IApiMarkerConstants.DEFAULT_API_BASELINE_PROBLEM_MARKER, false, IResource.DEPTH_ZERO));
+			update.addCleanup(this.currentproject, r -> r.findMarkers(IApiMarkerConstants.API_COMPONENT_RESOLUTION_PROBLEM_MARKER, false, IResource.DEPTH_ZERO));
+			for (IApiProblem problem : problems) {
+				int category = problem.getCategory();
+				String type = getProblemTypeFromCategory(category, problem.getKind());
+				if (type == null) {
+					continue;
+				}
+				if (ApiPlugin.DEBUG_BUILDER) {
+					System.out.println("ApiAnalysisBuilder: creating marker for: " + problem.toString()); //$NON-NLS-1$
+				}
+				if (category == IApiProblem.CATEGORY_API_USE_SCAN_PROBLEM
+						|| (problem.getKind() == IApiProblem.API_BASELINE_MISMATCH && category == IApiProblem.CATEGORY_API_BASELINE)) {
+					// markers reused by createMarkerForProblem
+					others.add(() -> createMarkerForProblem(category, type, problem));
+					continue;
+				}
+				IResource resource = resolveResource(problem);
+				if (resource != null) {
+					markers.add(new ApiMarkerUpdate.MarkerInfo(resource, type, getMarkerAttributes(category, problem)));
+				}
+			}
+		}
+		try {
+			update.apply(markers, () -> others.forEach(Runnable::run));
+		} catch (CoreException e) {
+			ApiPlugin.log(e);
 		}
 	}
 
@@ -1073,6 +1262,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 					}
 				}
 			}
+			Map<String, Object> attributes = getMarkerAttributes(category, problem);
 			IMarker marker = null;
 			if (problem.getKind() == IApiProblem.API_BASELINE_MISMATCH
 					&& category == IApiProblem.CATEGORY_API_BASELINE) {
@@ -1080,49 +1270,14 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 				IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
 				IMarker[] findMarkers = root.findMarkers(type, false, IResource.DEPTH_ZERO);
 				if (findMarkers.length == 0) {
-					marker = root.createMarker(type);
+					marker = root.createMarker(type, attributes);
 				}
 				else {
 					marker = findMarkers[0];
+					marker.setAttributes(attributes);
 				}
 			} else {
-				marker = resource.createMarker(type);
-			}
-
-			int line = problem.getLineNumber();
-			switch (category)
-				{
-				case IApiProblem.CATEGORY_VERSION:
-				case IApiProblem.CATEGORY_API_BASELINE:
-				case IApiProblem.CATEGORY_API_COMPONENT_RESOLUTION:
-				case IApiProblem.CATEGORY_API_USE_SCAN_PROBLEM: {
-					break;
-				}
-				default: {
-					line++;
-				}
-			}
-			marker.setAttributes(new String[] {
-					IMarker.MESSAGE, IMarker.SEVERITY, IMarker.LINE_NUMBER,
-					IMarker.CHAR_START, IMarker.CHAR_END, IMarker.SOURCE_ID,
-					IApiMarkerConstants.MARKER_ATTR_PROBLEM_ID }, new Object[] {
-					problem.getMessage(),
-					Integer.valueOf(ApiPlugin.getDefault().getSeverityLevel(ApiProblemFactory.getProblemSeverityId(problem), this.currentproject)),
-					Integer.valueOf(line), Integer.valueOf(problem.getCharStart()),
-					Integer.valueOf(problem.getCharEnd()),
-					ApiAnalysisBuilder.SOURCE, Integer.valueOf(problem.getId()) });
-			// add message arguments, if any
-			String[] args = problem.getMessageArguments();
-			if (args.length > 0) {
-				marker.setAttribute(IApiMarkerConstants.MARKER_ATTR_MESSAGE_ARGUMENTS, createArgAttribute(args));
-			}
-			String typeName = problem.getTypeName();
-			if (typeName != null) {
-				marker.setAttribute(IApiMarkerConstants.MARKER_ATTR_PROBLEM_TYPE_NAME, typeName);
-			}
-			// add all other extra arguments, if any
-			if (problem.getExtraMarkerAttributeIds().length > 0) {
-				marker.setAttributes(problem.getExtraMarkerAttributeIds(), problem.getExtraMarkerAttributeValues());
+				marker = resource.createMarker(type, attributes);
 			}
 			if (ApiPlugin.DEBUG_BUILDER) {
 				System.out.println("ApiAnalysisBuilder: Created the marker: " + marker.getId() + " - " + marker.getAttributes().entrySet()); //$NON-NLS-1$ //$NON-NLS-2$
@@ -1133,6 +1288,56 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 		}
 	}
 
+	/**
+	 * Returns the attributes of the marker of the given problem
+	 *
+	 * @param category the category of the problem - see {@link IApiProblem} for
+	 *            categories
+	 * @param problem the problem to create a marker from
+	 * @return the marker attributes, without <code>null</code> values
+	 */
+	Map<String, Object> getMarkerAttributes(int category, IApiProblem problem) {
+		int line = problem.getLineNumber();
+		switch (category)
+			{
+			case IApiProblem.CATEGORY_VERSION:
+			case IApiProblem.CATEGORY_API_BASELINE:
+			case IApiProblem.CATEGORY_API_COMPONENT_RESOLUTION:
+			case IApiProblem.CATEGORY_API_USE_SCAN_PROBLEM: {
+				break;
+			}
+			default: {
+				line++;
+			}
+		}
+		HashMap<String, Object> attributes = new HashMap<>();
+		attributes.put(IMarker.MESSAGE, problem.getMessage());
+		attributes.put(IMarker.SEVERITY, Integer.valueOf(ApiPlugin.getDefault().getSeverityLevel(ApiProblemFactory.getProblemSeverityId(problem), this.currentproject)));
+		attributes.put(IMarker.LINE_NUMBER, Integer.valueOf(line));
+		attributes.put(IMarker.CHAR_START, Integer.valueOf(problem.getCharStart()));
+		attributes.put(IMarker.CHAR_END, Integer.valueOf(problem.getCharEnd()));
+		attributes.put(IMarker.SOURCE_ID, ApiAnalysisBuilder.SOURCE);
+		attributes.put(IApiMarkerConstants.MARKER_ATTR_PROBLEM_ID, Integer.valueOf(problem.getId()));
+		// add message arguments, if any
+		String[] args = problem.getMessageArguments();
+		if (args.length > 0) {
+			attributes.put(IApiMarkerConstants.MARKER_ATTR_MESSAGE_ARGUMENTS, createArgAttribute(args));
+		}
+		String typeName = problem.getTypeName();
+		if (typeName != null) {
+			attributes.put(IApiMarkerConstants.MARKER_ATTR_PROBLEM_TYPE_NAME, typeName);
+		}
+		// add all other extra arguments, if any
+		String[] ids = problem.getExtraMarkerAttributeIds();
+		Object[] values = problem.getExtraMarkerAttributeValues();
+		for (int i = 0; i < ids.length; i++) {
+			attributes.put(ids[i], values[i]);
+		}
+		// a null value is no attribute
+		attributes.values().removeIf(Objects::isNull);
+		return attributes;
+	}
+
 	/**
 	 * Resolves the resource from the path in the problem, returns
 	 * <code>null</code> in the following cases:
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.builder;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.pde.api.tools.internal.IApiCoreConstants;
+import org.eclipse.pde.api.tools.internal.builder.ApiAnalysisBuilder.ApiAnalysisJob;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.util.WorkerPool;
+
+/**
+ * Schedules the {@link ApiAnalysisJob}s of the projects analyzed when the API
+ * analysis runs as a job.
+ * <p>
+ * Requests are held back until they can run: at most the number of jobs given
+ * by the {@link IApiCoreConstants#API_ANALYSIS_JOB_WORKERS} preference run at
+ * the same time, and the analysis of a project waits for the analysis of the
+ * projects it requires, so that projects are analyzed in dependency order
+ * rather than all at once. A request for a project that is
+ * already waiting replaces the waiting request, a full build request winning
+ * over an incremental one. The project preferred with
+ * {@link #setPreferredProject(IProject)}, usually the project of the active
+ * editor, and the projects it requires are analyzed first.
+ * </p>
+ *
+ * @since 1.3.700
+ */
+public final class ApiAnalysisScheduler {
+
+	private static final ApiAnalysisScheduler fgDefault = new ApiAnalysisScheduler();
+
+	/**
+	 * Waiting requests in request order
+	 */
+	private final LinkedHashMap<IProject, ApiAnalysisJob> fPending = new LinkedHashMap<>();
+
+	/**
+	 * Jobs scheduled by this scheduler that are not done yet
+	 */
+	private final HashMap<IProject, ApiAnalysisJob> fRunning = new HashMap<>();
+
+	private final LongAdder fMerged = new LongAdder();
+
+	private volatile IProject fPreferred;
+
+	private final IJobChangeListener fDoneListener = new JobChangeAdapter() {
+		@Override
+		public void done(IJobChangeEvent event) {
+			ApiAnalysisJob job = (ApiAnalysisJob) event.getJob();
+			synchronized (ApiAnalysisScheduler.this) {
+				fRunning.remove(job.getProject(), job);
+				dispatch();
+			}
+		}
+	};
+
+	private ApiAnalysisScheduler() {
+		// singleton
+	}
+
+	/**
+	 * @return the scheduler of the workspace
+	 */
+	public static ApiAnalysisScheduler getDefault() {
+		return fgDefault;
+	}
+
+	/**
+	 * Requests the given analysis job to run. The job is scheduled once it can
+	 * run, or replaced by a later request for the same project.
+	 *
+	 * @param job the analysis job
+	 */
+	public synchronized void schedule(ApiAnalysisJob job) {
+		IProject project = job.getProject();
+		ApiAnalysisJob pending = fPending.get(project);
+		if (pending != null) {
+			// the later request has the current baseline and prerequisites
+			if (pending.isFullBuild()) {
+				job.setFullBuild(true);
+			}
+			fMerged.increment();
+			if (ApiPlugin.DEBUG_BUILDER) {
+				System.out.println("ApiAnalysisScheduler: merged analysis request for " + project.getName()); //$NON-NLS-1$
+			}
+		}
+		fPending.put(project, job);
+		dispatch();
+	}
+
+	/**
+	 * Drops the waiting requests and cancels the scheduled analysis jobs
+	 */
+	public void cancelAll() {
+		synchronized (this) {
+			fPending.clear();
+		}
+		Job.getJobManager().cancel(ApiAnalysisJob.class);
+	}
+
+	/**
+	 * Sets the project to analyze first, together with the projects it
+	 * requires
+	 *
+	 * @param project the project or <code>null</code>
+	 */
+	public void setPreferredProject(IProject project) {
+		fPreferred = project;
+		synchronized (this) {
+			dispatch();
+		}
+	}
+
+	/**
+	 * @return the number of requests merged into a later request for the same
+	 *         project
+	 */
+	public long getMergedCount() {
+		return fMerged.sum();
+	}
+
+	/**
+	 * @return the number of requests waiting to be scheduled
+	 */
+	public synchronized int getPendingCount() {
+		return fPending.size();
+	}
+
+	/**
+	 * Schedules the waiting requests that can run, must be called holding the
+	 * lock of this scheduler
+	 */
+	private void dispatch() {
+		int workers = getWorkers();
+		while (fRunning.size() < workers && !fPending.isEmpty()) {
+			IProject next = selectNext(fPending.keySet(), fRunning.keySet(), project -> Arrays.asList(fPending.get(project).getRequiredProjects()), fPreferred);
+			if (next == null) {
+				return;
+			}
+			ApiAnalysisJob job = fPending.remove(next);
+			fRunning.put(next, job);
+			if (ApiPlugin.DEBUG_BUILDER) {
+				System.out.println("ApiAnalysisScheduler: scheduling analysis of " + next.getName() + ", " + fPending.size() + " waiting"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			job.addJobChangeListener(fDoneListener);
+			job.schedule(100);
+		}
+	}
+
+	/**
+	 * @return the maximum number of analysis jobs to run at the same time
+	 */
+	private static int getWorkers() {
+		String value = null;
+		if (ApiPlugin.isRunningInFramework()) {
+			value = Platform.getPreferencesService().getString(ApiPlugin.PLUGIN_ID, IApiCoreConstants.API_ANALYSIS_JOB_WORKERS, null, null);
+		}
+		return WorkerPool.getParallelism(value);
+	}
+
+	/**
+	 * Selects the next project to analyze among the waiting ones. A project is
+	 * ready if it is not being analyzed and none of the projects it requires is
+	 * waiting or being analyzed. The preferred project is selected first if it
+	 * is ready, then the ready projects it requires, then the ready projects in
+	 * request order. If no project is ready and none is being analyzed, the
+	 * projects require each other and the first one is selected anyway.
+	 *
+	 * @param pending the waiting projects in request order
+	 * @param running the projects being analyzed
+	 * @param required returns the projects a waiting project requires
+	 * @param preferred the project to analyze first or <code>null</code>
+	 * @return the next project to analyze or <code>null</code> if none can be
+	 *         analyzed now
+	 */
+	public static <P> P selectNext(Collection<P> pending, Set<P> running, Function<P, Collection<P>> required, P preferred) {
+		if (preferred != null && pending.contains(preferred)) {
+			// the preferred project or the first ready project it requires
+			Set<P> visited = new HashSet<>();
+			Deque<P> queue = new ArrayDeque<>();
+			queue.add(preferred);
+			visited.add(preferred);
+			while (!queue.isEmpty()) {
+				P project = queue.poll();
+				if (isReady(project, pending, running, required)) {
+					return project;
+				}
+				for (P prerequisite : required.apply(project)) {
+					if (pending.contains(prerequisite) && visited.add(prerequisite)) {
+						queue.add(prerequisite);
+					}
+				}
+			}
+		}
+		P first = null;
+		for (P project : pending) {
+			if (isReady(project, pending, running, required)) {
+				return project;
+			}
+			if (first == null && !running.contains(project)) {
+				first = project;
+			}
+		}
+		return running.isEmpty() ? first : null;
+	}
+
+	private static <P> boolean isReady(P project, Collection<P> pending, Set<P> running, Function<P, Collection<P>> required) {
+		if (running.contains(project)) {
+			return false;
+		}
+		for (P prerequisite : required.apply(project)) {
+			if (!prerequisite.equals(project) && (pending.contains(prerequisite) || running.contains(prerequisite))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
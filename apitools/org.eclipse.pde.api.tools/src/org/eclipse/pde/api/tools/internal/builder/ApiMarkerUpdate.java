@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.builder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+
+/**
+ * Update of the API Tools markers of a project by one build.
+ * <p>
+ * Instead of deleting the markers of the resources to analyze again before the
+ * analysis and creating a marker for each problem found afterwards, the
+ * markers to clean up are only recorded. Once the problems are known, the
+ * markers to clean up are compared to the markers of the problems: the equal
+ * markers are kept, and only the markers that are no longer reported are
+ * deleted and only the markers that do not exist yet are created, all in one
+ * workspace operation.
+ * </p>
+ * <p>
+ * The update can be turned off with the
+ * <code>org.eclipse.pde.api.tools.noMarkerDiffing</code> system property, in
+ * which case markers are deleted and created as the build goes.
+ * </p>
+ *
+ * @since 1.3.700
+ */
+public final class ApiMarkerUpdate {
+
+	/**
+	 * Finds the markers to clean up on a resource
+	 */
+	@FunctionalInterface
+	interface MarkerFinder {
+		/**
+		 * @param resource an accessible resource
+		 * @return the markers to clean up
+		 * @throws CoreException if the markers cannot be found
+		 */
+		IMarker[] find(IResource resource) throws CoreException;
+	}
+
+	/**
+	 * A marker to create or an existing marker
+	 *
+	 * @param resource the resource of the marker
+	 * @param type the marker type
+	 * @param attributes the attributes of the marker, without
+	 *            <code>null</code> values
+	 */
+	record MarkerInfo(IResource resource, String type, Map<String, Object> attributes) {
+	}
+
+	/**
+	 * Difference between existing and wanted elements
+	 *
+	 * @param stale the existing elements that are not wanted
+	 * @param missing the wanted elements that do not exist
+	 * @param kept the number of wanted elements that exist
+	 */
+	public record Difference<E, K>(List<E> stale, List<K> missing, int kept) {
+	}
+
+	private static final boolean fgEnabled = !Boolean.getBoolean("org.eclipse.pde.api.tools.noMarkerDiffing"); //$NON-NLS-1$
+
+	private static final LongAdder fgKept = new LongAdder();
+	private static final LongAdder fgCreated = new LongAdder();
+	private static final LongAdder fgDeleted = new LongAdder();
+
+	private record Cleanup(IResource resource, MarkerFinder finder) {
+	}
+
+	private final List<Cleanup> fCleanups = new ArrayList<>();
+	private final Thread fOwner = Thread.currentThread();
+
+	/**
+	 * @return whether markers are updated by difference
+	 */
+	static boolean isEnabled() {
+		return fgEnabled;
+	}
+
+	/**
+	 * @return whether the current thread is the thread running the build that
+	 *         created this update
+	 */
+	boolean isOwner() {
+		return Thread.currentThread() == fOwner;
+	}
+
+	/**
+	 * Records the markers the given finder finds on the given resource as
+	 * markers to clean up. The markers are found when the update is applied.
+	 *
+	 * @param resource the resource or <code>null</code>
+	 * @param finder the finder of the markers to clean up
+	 */
+	void addCleanup(IResource resource, MarkerFinder finder) {
+		if (resource != null) {
+			fCleanups.add(new Cleanup(resource, finder));
+		}
+	}
+
+	/**
+	 * Deletes the markers to clean up that are not given, creates the given
+	 * markers that do not exist yet and runs the given task, in one workspace
+	 * operation
+	 *
+	 * @param markers the markers of the problems found by the build
+	 * @param task the task creating the markers that are not compared or
+	 *            <code>null</code>
+	 * @throws CoreException if the workspace operation fails
+	 */
+	void apply(List<MarkerInfo> markers, Runnable task) throws CoreException {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		workspace.run(monitor -> {
+			Map<IMarker, MarkerInfo> existing = new LinkedHashMap<>();
+			for (IMarker marker : findCleanupMarkers()) {
+				try {
+					existing.put(marker, new MarkerInfo(marker.getResource(), marker.getType(), marker.getAttributes()));
+				} catch (CoreException e) {
+					// deleted in the meantime
+				}
+			}
+			Difference<IMarker, MarkerInfo> difference = difference(existing, markers);
+			if (!difference.stale().isEmpty()) {
+				workspace.deleteMarkers(difference.stale().toArray(new IMarker[difference.stale().size()]));
+			}
+			int created = 0;
+			for (MarkerInfo info : difference.missing()) {
+				try {
+					IMarker marker = info.resource().createMarker(info.type(), info.attributes());
+					created++;
+					if (ApiPlugin.DEBUG_BUILDER) {
+						System.out.println("ApiAnalysisBuilder: Created the marker: " + marker.getId() + " - " + info.attributes().entrySet()); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+				} catch (CoreException e) {
+					ApiPlugin.log(e);
+				}
+			}
+			if (task != null) {
+				task.run();
+			}
+			fgKept.add(difference.kept());
+			fgCreated.add(created);
+			fgDeleted.add(difference.stale().size());
+			if (ApiPlugin.DEBUG_BUILDER) {
+				System.out.println("ApiAnalysisBuilder: Updated markers: kept " + difference.kept() + ", created " + created + ", deleted " + difference.stale().size() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ " (" + (2 * difference.kept()) + " marker changes avoided)"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}, null, IWorkspace.AVOID_UPDATE, null);
+	}
+
+	private Set<IMarker> findCleanupMarkers() {
+		Set<IMarker> markers = new LinkedHashSet<>();
+		for (Cleanup cleanup : fCleanups) {
+			if (!cleanup.resource().isAccessible()) {
+				continue;
+			}
+			try {
+				for (IMarker marker : cleanup.finder().find(cleanup.resource())) {
+					markers.add(marker);
+				}
+			} catch (CoreException e) {
+				ApiPlugin.log(e.getStatus());
+			}
+		}
+		return markers;
+	}
+
+	/**
+	 * Compares existing elements to wanted ones. Each existing element can
+	 * only stand for one wanted element equal to its key.
+	 *
+	 * @param existing the existing elements mapped to their keys
+	 * @param wanted the keys of the wanted elements
+	 * @return the difference, the missing keys in the order they are given
+	 */
+	public static <E, K> Difference<E, K> difference(Map<E, K> existing, Collection<K> wanted) {
+		Map<K, Deque<E>> available = new LinkedHashMap<>();
+		for (Map.Entry<E, K> entry : existing.entrySet()) {
+			available.computeIfAbsent(entry.getValue(), key -> new ArrayDeque<>()).add(entry.getKey());
+		}
+		List<K> missing = new ArrayList<>();
+		int kept = 0;
+		for (K key : wanted) {
+			Deque<E> elements = available.get(key);
+			if (elements != null && !elements.isEmpty()) {
+				elements.poll();
+				kept++;
+			} else {
+				missing.add(key);
+			}
+		}
+		List<E> stale = new ArrayList<>();
+		for (Deque<E> elements : available.values()) {
+			stale.addAll(elements);
+		}
+		return new Difference<>(stale, missing, kept);
+	}
+
+	/**
+	 * @return the number of markers kept by updates instead of being deleted
+	 *         and created again
+	 */
+	public static long getKeptCount() {
+		return fgKept.sum();
+	}
+
+	/**
+	 * @return the number of markers created by updates
+	 */
+	public static long getCreatedCount() {
+		return fgCreated.sum();
+	}
+
+	/**
+	 * @return the number of markers deleted by updates
+	 */
+	public static long getDeletedCount() {
+		return fgDeleted.sum();
+	}
+}
@@ -32,6 +32,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.jar.JarFile;
 import java.util.stream.Collectors;
@@ -49,6 +50,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.InstanceScope;
@@ -118,6 +120,7 @@ import org.eclipse.pde.api.tools.internal.search.UseScanManager;
 import org.eclipse.pde.api.tools.internal.util.Signatures;
 import org.eclipse.pde.api.tools.internal.util.SinceTagVersion;
 import org.eclipse.pde.api.tools.internal.util.Util;
+import org.eclipse.pde.api.tools.internal.util.WorkerPool;
 import org.osgi.framework.Constants;
 import org.osgi.framework.Version;
 import org.osgi.framework.VersionRange;
@@ -290,7 +293,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 			}
 
 			// usage checks
-			checkApiUsage(bcontext, component, localMonitor.split(1));
+			checkApiUsage(bcontext, component, state, localMonitor.split(1));
 			// tag validation
 			checkTagValidation(bcontext, localMonitor.split(1));
 			if (checkfilters) {
@@ -609,20 +612,58 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	}
 
 	/**
-	 * Checks the compatibility of each type.
+	 * Checks the compatibility of each type. If more than one worker is
+	 * configured the types are compared against the reference on a
+	 * {@link WorkerPool}, the resulting deltas are processed on this thread in
+	 * the order of the given type names.
 	 *
 	 * @param changedtypes type names, may have <code>null</code> entries
 	 * @param reference API component in the reference baseline
 	 * @param component API component being checked for compatibility
 	 */
 	private void checkCompatibility(String[] changedtypes, IApiComponent reference, IApiComponent component, SubMonitor localMonitor) throws CoreException {
-		localMonitor.setWorkRemaining(changedtypes.length);
+		List<String> typenames = new ArrayList<>(changedtypes.length);
 		for (String changedtype : changedtypes) {
-			if (changedtype == null) {
-				continue;
+			if (changedtype != null) {
+				typenames.add(changedtype);
+			}
+		}
+		localMonitor.setWorkRemaining(typenames.size());
+		int workers = Math.min(getCompatibilityCheckWorkers(), typenames.size());
+		if (workers <= 1) {
+			for (String typename : typenames) {
+				checkCompatibility(typename, reference, component, localMonitor.split(1));
+			}
+			return;
+		}
+		try (WorkerPool pool = new WorkerPool("API compatibility check", workers)) { //$NON-NLS-1$
+			List<Future<TypeCompatibility>> results = new ArrayList<>(typenames.size());
+			for (String typename : typenames) {
+				results.add(pool.submit(() -> compareType(typename, reference, component, null)));
 			}
-			checkCompatibility(changedtype, reference, component, localMonitor.split(1));
+			for (Future<TypeCompatibility> result : results) {
+				SubMonitor subMonitor = SubMonitor.convert(localMonitor.split(1), BuilderMessages.BaseApiAnalyzer_checking_compat, 2);
+				processTypeCompatibility(WorkerPool.join(result, subMonitor), reference, component, subMonitor);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of workers to use when checking the compatibility of
+	 * types, as specified by the
+	 * {@link IApiCoreConstants#API_COMPATIBILITY_CHECK_WORKERS} preference.
+	 *
+	 * @return the number of workers to use
+	 */
+	private int getCompatibilityCheckWorkers() {
+		String value = null;
+		if (fPreferences != null) {
+			value = fPreferences.getProperty(IApiCoreConstants.API_COMPATIBILITY_CHECK_WORKERS);
+		}
+		if (value == null && ApiPlugin.isRunningInFramework()) {
+			value = Platform.getPreferencesService().getString(ApiPlugin.PLUGIN_ID, IApiCoreConstants.API_COMPATIBILITY_CHECK_WORKERS, null, null);
 		}
+		return WorkerPool.getParallelism(value);
 	}
 
 	/**
@@ -1227,13 +1268,18 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	 *
 	 * @param context the current build context
 	 * @param component component being built
+	 * @param state the build state to keep the reference index in or
+	 *            <code>null</code>
 	 * @param monitor progress monitor
 	 */
-	private void checkApiUsage(final IBuildContext context, final IApiComponent component, IProgressMonitor monitor) {
+	private void checkApiUsage(final IBuildContext context, final IApiComponent component, final BuildState state, IProgressMonitor monitor) {
 		if (ignoreApiUsageScan()) {
 			if (ApiPlugin.DEBUG_API_ANALYZER) {
 				System.out.println("Ignoring API usage scan"); //$NON-NLS-1$
 			}
+			if (state != null) {
+				state.getReferenceIndex().invalidate();
+			}
 			return;
 		}
 		IApiTypeContainer scope = null;
@@ -1248,6 +1294,14 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		}
 		SubMonitor localMonitor = SubMonitor.convert(monitor, MessageFormat.format(BuilderMessages.checking_api_usage, component.getSymbolicName()), 2);
 		ReferenceAnalyzer analyzer = new ReferenceAnalyzer();
+		if (state != null) {
+			ReferenceIndex index = state.getReferenceIndex();
+			if (!context.hasTypes()) {
+				// the whole component is scanned
+				index.reset();
+			}
+			analyzer.setReferenceIndex(index);
+		}
 		try {
 			long start = System.currentTimeMillis();
 			IApiProblem[] illegal = analyzer.analyze(component, scope, localMonitor.split(2));
@@ -1302,12 +1356,37 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		return NO_TYPES;
 	}
 
+	/**
+	 * The result of comparing one type against the reference baseline
+	 *
+	 * @param typeName the name of the compared type
+	 * @param found if the type was found in the component or one of its
+	 *            providers
+	 * @param delta the delta of the comparison or <code>null</code>
+	 */
+	private record TypeCompatibility(String typeName, boolean found, IDelta delta) {
+	}
+
 	/**
 	 * Compares the given type between the two API components
 	 *
 	 * @param typeName the type to check in each component
 	 */
 	private void checkCompatibility(final String typeName, final IApiComponent reference, final IApiComponent component, IProgressMonitor monitor) throws CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, BuilderMessages.BaseApiAnalyzer_checking_compat, 4);
+		TypeCompatibility result = compareType(typeName, reference, component, subMonitor.split(2));
+		processTypeCompatibility(result, reference, component, subMonitor.split(2));
+	}
+
+	/**
+	 * Compares the given type between the two API components. This method
+	 * does not modify the state of the analyzer and can be called from any
+	 * thread.
+	 *
+	 * @param typeName the type to check in each component
+	 * @return the result of the comparison, never <code>null</code>
+	 */
+	private static TypeCompatibility compareType(final String typeName, final IApiComponent reference, final IApiComponent component, IProgressMonitor monitor) throws CoreException {
 		String id = component.getSymbolicName();
 		if (ApiPlugin.DEBUG_API_ANALYZER) {
 			System.out.println("comparing components [" + reference.getSymbolicName() + "] and [" + id + "] for type [" + typeName + "]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
@@ -1318,7 +1397,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		} catch (CoreException e) {
 			ApiPlugin.log(e);
 		}
-		SubMonitor subMonitor = SubMonitor.convert(monitor, BuilderMessages.BaseApiAnalyzer_checking_compat, 4);
+		SubMonitor subMonitor = SubMonitor.convert(monitor, 2);
 		IDelta delta = null;
 		IApiComponent provider = null;
 		boolean reexported = false;
@@ -1363,7 +1442,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 				try {
 					IApiType type = referenceClassFile.getStructure();
 					if (type == null) {
-						return;
+						return new TypeCompatibility(typeName, false, null);
 					}
 					final IApiDescription referenceApiDescription = reference.getApiDescription();
 					IApiAnnotations elementDescription = referenceApiDescription.resolveAnnotations(type.getHandle());
@@ -1379,7 +1458,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 						// if the visibility is API, we only consider public
 						// and protected types
 						if (Util.isDefault(type.getModifiers()) || Flags.isPrivate(type.getModifiers())) {
-							return;
+							return new TypeCompatibility(typeName, false, null);
 						}
 						if (VisibilityModifiers.isAPI(visibility)) {
 							String deltaComponentID = Util.getDeltaComponentVersionsId(reference);
@@ -1393,30 +1472,44 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 				}
 			}
 			subMonitor.split(1);
-		} else {
-			fBuildState.cleanup(typeName);
-			long time = System.currentTimeMillis();
-			try {
-				IApiComponent exporter = null;
-				if (reexported) {
-					exporter = component;
-				}
-				delta = ApiComparator.compare(classFile, reference, provider, exporter, reference.getBaseline(), provider.getBaseline(), VisibilityModifiers.API, subMonitor.split(1));
-			} catch (OperationCanceledException oce) {
-				// do nothing, but don't forward it
-				// https://bugs.eclipse.org/bugs/show_bug.cgi?id=304315
-				if (ApiPlugin.DEBUG_API_ANALYZER) {
-					System.out.println("Trapped OperationCanceledException"); //$NON-NLS-1$
-				}
-			} catch (Exception e) {
-				ApiPlugin.log(e);
-			} finally {
-				if (ApiPlugin.DEBUG_API_ANALYZER) {
-					System.out.println("Time spent for " + typeName + " : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-				}
-				fPendingDeltaInfos.clear();
+			return new TypeCompatibility(typeName, false, delta);
+		}
+		long time = System.currentTimeMillis();
+		try {
+			IApiComponent exporter = null;
+			if (reexported) {
+				exporter = component;
 			}
+			delta = ApiComparator.compare(classFile, reference, provider, exporter, reference.getBaseline(), provider.getBaseline(), VisibilityModifiers.API, subMonitor.split(1));
+		} catch (OperationCanceledException oce) {
+			// do nothing, but don't forward it
+			// https://bugs.eclipse.org/bugs/show_bug.cgi?id=304315
+			if (ApiPlugin.DEBUG_API_ANALYZER) {
+				System.out.println("Trapped OperationCanceledException"); //$NON-NLS-1$
+			}
+		} catch (Exception e) {
+			ApiPlugin.log(e);
+		} finally {
+			if (ApiPlugin.DEBUG_API_ANALYZER) {
+				System.out.println("Time spent for " + typeName + " : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		}
+		return new TypeCompatibility(typeName, true, delta);
+	}
+
+	/**
+	 * Processes the result of the comparison of a type, updating the build
+	 * state and reporting problems for the deltas found
+	 *
+	 * @param result the result of {@link #compareType}
+	 */
+	private void processTypeCompatibility(TypeCompatibility result, final IApiComponent reference, final IApiComponent component, IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, 2);
+		if (result.found()) {
+			fBuildState.cleanup(result.typeName());
+			fPendingDeltaInfos.clear();
 		}
+		IDelta delta = result.delta();
 		if (delta == null) {
 			return;
 		}
@@ -1451,7 +1544,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 			localmonitor.split(1);
 		} else {
 			try {
-				delta = ApiComparator.compare(reference, component, VisibilityModifiers.API, localmonitor.split(1));
+				delta = ApiComparator.compare(reference, component, VisibilityModifiers.API, getCompatibilityCheckWorkers(), localmonitor.split(1));
 			} finally {
 				if (ApiPlugin.DEBUG_API_ANALYZER) {
 					System.out.println("Time spent for " + component.getSymbolicName() + " : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
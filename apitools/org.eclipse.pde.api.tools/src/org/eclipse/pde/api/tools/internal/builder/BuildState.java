@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2021 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -26,8 +27,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -59,7 +61,16 @@ import org.eclipse.pde.core.build.IBuildModel;
 public class BuildState {
 	private static final IDelta[] EMPTY_DELTAS = new IDelta[0];
 	private static final String[] NO_REEXPORTED_COMPONENTS = new String[0];
-	private static final int VERSION = 33;
+	private static final int VERSION = 35;
+	private static final int STRING_RECORD = 1;
+	private static final int TYPE_RECORD = 2;
+	private static final int PROJECT_RECORD = 3;
+	private static final int BUILDING_RECORD = 4;
+	/**
+	 * Number of replaced records tolerated on top of the live ones before the
+	 * state is written again from scratch
+	 */
+	private static final int REPLACED_RECORDS_SLACK = 32;
 
 	private final Map<String, Set<IDelta>> compatibleChanges;
 	private final Map<String, Set<IDelta>> breakingChanges;
@@ -78,11 +89,37 @@ public class BuildState {
 	private String[] reexportedComponents;
 	private Set<String> apiToolingDependentProjects;
 	private long buildpathCRC = -1L;
+	/**
+	 * Types referenced by each type of the project, saved to its own file
+	 */
+	private ReferenceIndex referenceIndex = new ReferenceIndex();
+
+	/**
+	 * Types whose deltas changed since the state was read or saved
+	 */
+	private final Set<String> changedTypes = new LinkedHashSet<>();
+	/**
+	 * Index of each string in the string table of the saved state or
+	 * <code>null</code> if the state has not been read or saved
+	 */
+	private Map<String, Integer> stringIndexes;
+	/**
+	 * Number of type and project records in the saved state, including the
+	 * ones replaced by later records
+	 */
+	private int recordCount;
+	/**
+	 * The file the state was read from or saved to with its length and
+	 * modification stamp at that time
+	 */
+	private File savedFile;
+	private long savedLength;
+	private long savedModified;
 
 	/**
 	 * Constructor
 	 */
-	BuildState() {
+	public BuildState() {
 		this.compatibleChanges = new LinkedHashMap<>();
 		this.breakingChanges = new LinkedHashMap<>();
 		this.manifestChanges = new LinkedHashMap<>();
@@ -90,9 +127,17 @@ public class BuildState {
 	}
 
 	/**
-	 * Reads the build state from an input stream
+	 * Reads the build state from an input stream. The state is stored as a
+	 * sequence of records: string records fill a table of the strings used by
+	 * the following records, a type record holds all the deltas of one type and
+	 * replaces the deltas read for that type before, and the last project record
+	 * holds the project wide information. Every save ends with a project
+	 * record, a state ending with another record was cut by an incomplete save
+	 * or is marked by a building record as being built.
 	 *
-	 * @return the {@link BuildState} from the given input stream
+	 * @return the {@link BuildState} from the given input stream or
+	 *         <code>null</code> if the state is from another version or
+	 *         incomplete
 	 */
 	public static BuildState read(DataInputStream in) throws IOException {
 		String pluginID = in.readUTF();
@@ -107,58 +152,51 @@ public class BuildState {
 			// this is an old build state - a full build is required
 			return null;
 		}
-		if (in.readBoolean()) {
-			// continue to read
-			BuildState state = new BuildState();
-			state.buildpathCRC = in.readLong();
-			int count = in.readInt();
-			// read all compatible deltas
-			for (int i = 0; i < count; i++) {
-				state.addCompatibleChange(readDelta(in));
-			}
-			count = in.readInt();
-			// read all breaking deltas
-			for (int i = 0; i < count; i++) {
-				state.addBreakingChange(readDelta(in));
-			}
-			count = in.readInt();
-			// read all re-exported component names
-			String[] components = new String[count];
-			for (int i = 0; i < count; i++) {
-				components[i] = in.readUTF();
-			}
-			state.reexportedComponents = components;
-			count = in.readInt();
-			for (int i = 0; i < count; i++) {
-				state.addApiToolingDependentProject(in.readUTF());
-			}
-			if (in.available() > 0) {
-				count = in.readInt();
-				if (count > 0) {
-					// read the saved headers
-					HashMap<String, String> map = new HashMap<>(count);
-					for (int i = 0; i < count; i++) {
-						String key = in.readUTF();
-						String value = in.readUTF();
-						map.put(key, value);
-					}
-					state.setManifestState(map);
-				}
-				count = in.readInt();
-				if (count > 0) {
-					// read the saved headers
-					HashMap<String, String> map = new LinkedHashMap<>(count);
-					for (int i = 0; i < count; i++) {
-						String key = in.readUTF();
-						String value = in.readUTF();
-						map.put(key, value);
-					}
-					state.setBuildPropertiesState(map);
+		BuildState state = new BuildState();
+		List<String> strings = new ArrayList<>();
+		int records = 0;
+		boolean complete = false;
+		try {
+			int record;
+			while ((record = in.read()) != -1) {
+				switch (record) {
+					case STRING_RECORD:
+						strings.add(in.readUTF());
+						complete = false;
+						break;
+					case TYPE_RECORD:
+						state.readTypeRecord(in, strings);
+						complete = false;
+						records++;
+						break;
+					case PROJECT_RECORD:
+						state.readProjectRecord(in, strings);
+						complete = true;
+						records++;
+						break;
+					case BUILDING_RECORD:
+						complete = false;
+						records++;
+						break;
+					default:
+						throw new IOException(BuilderMessages.build_wrongFileFormat);
 				}
 			}
-			return state;
+		} catch (EOFException e) {
+			// the last save did not complete - a full build is required
+			return null;
 		}
-		return null;
+		if (!complete) {
+			// the last save did not complete - a full build is required
+			return null;
+		}
+		state.stringIndexes = new HashMap<>(strings.size());
+		for (String string : strings) {
+			state.stringIndexes.put(string, Integer.valueOf(state.stringIndexes.size()));
+		}
+		state.recordCount = records;
+		state.changedTypes.clear();
+		return state;
 	}
 
 	/**
@@ -168,80 +206,142 @@ public class BuildState {
 		out.writeUTF(ApiPlugin.PLUGIN_ID);
 		out.writeUTF("STATE"); //$NON-NLS-1$
 		out.writeInt(VERSION);
-		out.writeBoolean(true);
-		out.writeLong(state.buildpathCRC);
-		IDelta[] compatibleChangesDeltas = state.getCompatibleChanges();
-		int length = compatibleChangesDeltas.length;
-		out.writeInt(length);
-		for (int i = 0; i < length; i++) {
-			writeDelta(compatibleChangesDeltas[i], out);
-		}
-		IDelta[] breakingChangesDeltas = state.getBreakingChanges();
-		length = breakingChangesDeltas.length;
-		out.writeInt(length);
-		for (int i = 0; i < length; i++) {
-			writeDelta(breakingChangesDeltas[i], out);
-		}
-		String[] reexportedComponents = state.getReexportedComponents();
-		length = reexportedComponents.length;
-		out.writeInt(length);
-		for (int i = 0; i < length; i++) {
-			out.writeUTF(reexportedComponents[i]);
-		}
-		Set<String> apiToolingDependentsProjects = state.getApiToolingDependentProjects();
-		length = apiToolingDependentsProjects.size();
-		out.writeInt(length);
-		for (String string : apiToolingDependentsProjects) {
-			out.writeUTF(string);
-		}
-		Map<String, String> map = state.getManifestState();
-		out.writeInt(map.size());
-		Entry<String, String> entry = null;
-		for (Iterator<Entry<String, String>> i = map.entrySet().iterator(); i.hasNext();) {
-			entry = i.next();
-			out.writeUTF(entry.getKey());
-			out.writeUTF(entry.getValue());
+		Set<String> typeNames = new LinkedHashSet<>(state.compatibleChanges.keySet());
+		typeNames.addAll(state.breakingChanges.keySet());
+		state.stringIndexes = new HashMap<>();
+		state.recordCount = 0;
+		state.writeRecords(typeNames, out);
+	}
+
+	/**
+	 * Appends the types of the given {@link BuildState} changed since it was
+	 * read or written to the given output stream, positioned at the end of the
+	 * saved state
+	 *
+	 * @throws IllegalStateException if the state has not been read or written
+	 */
+	public static void append(BuildState state, DataOutputStream out) throws IOException {
+		if (state.stringIndexes == null) {
+			throw new IllegalStateException("The build state has not been read or written"); //$NON-NLS-1$
 		}
-		map = state.getBuildPropertiesState();
-		out.writeInt(map.size());
-		entry = null;
-		for (Iterator<Entry<String, String>> i = map.entrySet().iterator(); i.hasNext();) {
-			entry = i.next();
-			out.writeUTF(entry.getKey());
-			out.writeUTF(entry.getValue());
+		state.writeRecords(new ArrayList<>(state.changedTypes), out);
+	}
+
+	/**
+	 * Writes a type record for each of the given types followed by a project
+	 * record. New strings are written to the string table first.
+	 */
+	private void writeRecords(Collection<String> typeNames, DataOutputStream out) throws IOException {
+		for (String typeName : typeNames) {
+			Set<IDelta> compatible = compatibleChanges.getOrDefault(typeName, Collections.emptySet());
+			Set<IDelta> breaking = breakingChanges.getOrDefault(typeName, Collections.emptySet());
+			addString(typeName, out);
+			for (IDelta delta : compatible) {
+				addStrings(delta, out);
+			}
+			for (IDelta delta : breaking) {
+				addStrings(delta, out);
+			}
+			out.writeByte(TYPE_RECORD);
+			writeInt(stringIndexes.get(typeName).intValue(), out);
+			writeInt(compatible.size(), out);
+			for (IDelta delta : compatible) {
+				writeDelta(delta, out);
+			}
+			writeInt(breaking.size(), out);
+			for (IDelta delta : breaking) {
+				writeDelta(delta, out);
+			}
+			recordCount++;
+		}
+		String[] components = getReexportedComponents();
+		Set<String> dependents = getApiToolingDependentProjects();
+		for (String component : components) {
+			addString(component, out);
+		}
+		for (String dependent : dependents) {
+			addString(dependent, out);
+		}
+		addStrings(manifestChanges, out);
+		addStrings(buildPropChanges, out);
+		out.writeByte(PROJECT_RECORD);
+		out.writeLong(buildpathCRC);
+		writeInt(components.length, out);
+		for (String component : components) {
+			writeString(component, out);
+		}
+		writeInt(dependents.size(), out);
+		for (String dependent : dependents) {
+			writeString(dependent, out);
+		}
+		writeMap(manifestChanges, out);
+		writeMap(buildPropChanges, out);
+		recordCount++;
+		changedTypes.clear();
+	}
+
+	/**
+	 * Reads a type record, replacing all deltas recorded so far for the type
+	 */
+	private void readTypeRecord(DataInputStream in, List<String> strings) throws IOException {
+		String typeName = strings.get(readInt(in));
+		compatibleChanges.remove(typeName);
+		breakingChanges.remove(typeName);
+		int count = readInt(in);
+		for (int i = 0; i < count; i++) {
+			addCompatibleChange(readDelta(in, typeName, strings));
+		}
+		count = readInt(in);
+		for (int i = 0; i < count; i++) {
+			addBreakingChange(readDelta(in, typeName, strings));
 		}
 	}
 
+	/**
+	 * Reads a project record, replacing the project information read so far
+	 */
+	private void readProjectRecord(DataInputStream in, List<String> strings) throws IOException {
+		buildpathCRC = in.readLong();
+		int count = readInt(in);
+		// read all re-exported component names
+		String[] components = new String[count];
+		for (int i = 0; i < count; i++) {
+			components[i] = strings.get(readInt(in));
+		}
+		reexportedComponents = components;
+		apiToolingDependentProjects = null;
+		count = readInt(in);
+		for (int i = 0; i < count; i++) {
+			addApiToolingDependentProject(strings.get(readInt(in)));
+		}
+		manifestChanges = readMap(in, strings);
+		buildPropChanges = readMap(in, strings);
+	}
+
 	/**
 	 * Read the {@link IDelta} from the build state (input stream)
 	 *
 	 * @param in the input stream to read the {@link IDelta} from
+	 * @param typeName the name of the type of the delta
+	 * @param strings the string table
 	 * @return a reconstructed {@link IDelta} from the build state
 	 */
-	private static IDelta readDelta(DataInputStream in) throws IOException {
+	private static IDelta readDelta(DataInputStream in, String typeName, List<String> strings) throws IOException {
 		// decode the delta from the build state
-		boolean hasComponentID = in.readBoolean();
-		String componentID = null;
-		if (hasComponentID) {
-			in.readUTF(); // delta.getComponentID()
-		}
-		int elementType = in.readInt(); // delta.getElementType()
-		int kind = in.readInt(); // delta.getKind()
-		int flags = in.readInt(); // delta.getFlags()
-		int restrictions = in.readInt(); // delta.getRestrictions()
-		int oldModifiers = in.readInt(); // delta.getOldModifier()
-		int newModifiers = in.readInt(); // delta.getNewModifier()
-		String typeName = in.readUTF(); // delta.getTypeName()
-		String key = in.readUTF(); // delta.getKey()
-		int length = in.readInt(); // arguments.length;
+		int elementType = readInt(in); // delta.getElementType()
+		int kind = readInt(in); // delta.getKind()
+		int flags = readInt(in); // delta.getFlags()
+		int restrictions = readInt(in); // delta.getRestrictions()
+		int oldModifiers = readInt(in); // delta.getOldModifier()
+		int newModifiers = readInt(in); // delta.getNewModifier()
+		String key = strings.get(readInt(in)); // delta.getKey()
+		int length = readInt(in); // arguments.length;
 		String[] datas = null;
 		if (length != 0) {
-			ArrayList<String> arguments = new ArrayList<>();
+			datas = new String[length];
 			for (int i = 0; i < length; i++) {
-				arguments.add(in.readUTF());
+				datas[i] = strings.get(readInt(in));
 			}
-			datas = new String[length];
-			arguments.toArray(datas);
 		} else {
 			datas = new String[1];
 			datas[0] = typeName.replace('$', '.');
@@ -249,39 +349,103 @@ public class BuildState {
 
 		int previousRestrictions = restrictions >>> Delta.PREVIOUS_RESTRICTIONS_OFFSET;
 		int currentRestrictions = restrictions & Delta.RESTRICTIONS_MASK;
-		return new Delta(componentID, elementType, kind, flags, currentRestrictions, previousRestrictions, oldModifiers, newModifiers, typeName, key, datas);
+		// the component id is not restored
+		return new Delta(null, elementType, kind, flags, currentRestrictions, previousRestrictions, oldModifiers, newModifiers, typeName, key, datas);
 	}
 
 	/**
-	 * Writes a given {@link IDelta} to the build state (the output stream)
+	 * Writes a given {@link IDelta} to the build state (the output stream).
+	 * The strings of the delta must have been added to the string table and
+	 * its type name is the one of the enclosing type record.
 	 *
 	 * @param delta the delta to write
 	 * @param out the stream to write to
 	 */
-	private static void writeDelta(IDelta delta, DataOutputStream out) throws IOException {
-		// encode a delta into the build state
-		// int elementType, int kind, int flags, int restrictions, int
-		// modifiers, String typeName, String key, Object data
-		String apiComponentID = delta.getComponentVersionId();
-		boolean hasComponentID = apiComponentID != null;
-		out.writeBoolean(hasComponentID);
-		if (hasComponentID) {
-			out.writeUTF(apiComponentID);
-		}
-		out.writeInt(delta.getElementType());
-		out.writeInt(delta.getKind());
-		out.writeInt(delta.getFlags());
-		out.writeInt(delta.getCurrentRestrictions());
-		out.writeInt(delta.getOldModifiers());
-		out.writeInt(delta.getNewModifiers());
-		out.writeUTF(delta.getTypeName());
-		out.writeUTF(delta.getKey());
+	private void writeDelta(IDelta delta, DataOutputStream out) throws IOException {
+		writeInt(delta.getElementType(), out);
+		writeInt(delta.getKind(), out);
+		writeInt(delta.getFlags(), out);
+		writeInt(delta.getCurrentRestrictions(), out);
+		writeInt(delta.getOldModifiers(), out);
+		writeInt(delta.getNewModifiers(), out);
+		writeString(delta.getKey(), out);
 		String[] arguments = delta.getArguments();
-		int length = arguments.length;
-		out.writeInt(length);
-		for (int i = 0; i < length; i++) {
-			out.writeUTF(arguments[i]);
+		writeInt(arguments.length, out);
+		for (String argument : arguments) {
+			writeString(argument, out);
+		}
+	}
+
+	private void addStrings(IDelta delta, DataOutputStream out) throws IOException {
+		addString(delta.getKey(), out);
+		for (String argument : delta.getArguments()) {
+			addString(argument, out);
+		}
+	}
+
+	private void addStrings(Map<String, String> map, DataOutputStream out) throws IOException {
+		for (Entry<String, String> entry : map.entrySet()) {
+			addString(entry.getKey(), out);
+			addString(entry.getValue(), out);
+		}
+	}
+
+	/**
+	 * Writes a string record for the given string unless the string table
+	 * already contains it
+	 */
+	private void addString(String string, DataOutputStream out) throws IOException {
+		if (!stringIndexes.containsKey(string)) {
+			stringIndexes.put(string, Integer.valueOf(stringIndexes.size()));
+			out.writeByte(STRING_RECORD);
+			out.writeUTF(string);
+		}
+	}
+
+	private void writeString(String string, DataOutputStream out) throws IOException {
+		writeInt(stringIndexes.get(string).intValue(), out);
+	}
+
+	private void writeMap(Map<String, String> map, DataOutputStream out) throws IOException {
+		writeInt(map.size(), out);
+		for (Entry<String, String> entry : map.entrySet()) {
+			writeString(entry.getKey(), out);
+			writeString(entry.getValue(), out);
+		}
+	}
+
+	private static Map<String, String> readMap(DataInputStream in, List<String> strings) throws IOException {
+		int count = readInt(in);
+		Map<String, String> map = new LinkedHashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			map.put(strings.get(readInt(in)), strings.get(readInt(in)));
+		}
+		return map;
+	}
+
+	/**
+	 * Writes an int using 7 bits per byte, most values in a build state are
+	 * small
+	 */
+	static void writeInt(int value, DataOutputStream out) throws IOException {
+		int remaining = value;
+		while ((remaining & ~0x7F) != 0) {
+			out.writeByte((remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+		out.writeByte(remaining);
+	}
+
+	static int readInt(DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
 		}
+		throw new IOException(BuilderMessages.build_wrongFileFormat);
 	}
 
 	/**
@@ -292,6 +456,7 @@ public class BuildState {
 	 */
 	public void addCompatibleChange(IDelta delta) {
 		String typeName = delta.getTypeName();
+		this.changedTypes.add(typeName);
 		Set<IDelta> object = this.compatibleChanges.get(typeName);
 		if (object == null) {
 			Set<IDelta> changes = new HashSet<>();
@@ -310,6 +475,7 @@ public class BuildState {
 	 */
 	public void addBreakingChange(IDelta delta) {
 		String typeName = delta.getTypeName();
+		this.changedTypes.add(typeName);
 		Set<IDelta> object = this.breakingChanges.get(typeName);
 		if (object == null) {
 			Set<IDelta> changes = new HashSet<>();
@@ -368,8 +534,11 @@ public class BuildState {
 	 * @param typeName the given type name
 	 */
 	public void cleanup(String typeName) {
-		this.breakingChanges.remove(typeName);
-		this.compatibleChanges.remove(typeName);
+		boolean removed = this.breakingChanges.remove(typeName) != null;
+		removed |= this.compatibleChanges.remove(typeName) != null;
+		if (removed) {
+			this.changedTypes.add(typeName);
+		}
 		this.reexportedComponents = null;
 	}
 
@@ -504,6 +673,16 @@ public class BuildState {
 		return this.buildPropChanges;
 	}
 
+	/**
+	 * Returns the index of the types referenced by each type of the project
+	 *
+	 * @return the reference index, never <code>null</code>
+	 * @since 1.3.700
+	 */
+	public ReferenceIndex getReferenceIndex() {
+		return referenceIndex;
+	}
+
 	/**
 	 * Returns a CRC32 code of the project's build path or -1 if unknown.
 	 *
@@ -543,8 +722,15 @@ public class BuildState {
 		File file = getSerializationFile(project);
 		if (file != null && file.exists()) {
 			try {
+				long length = file.length();
+				long modified = file.lastModified();
 				try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
-					return read(in);
+					BuildState state = read(in);
+					if (state != null) {
+						state.setSavedFile(file, length, modified);
+						state.readReferenceIndex(project);
+					}
+					return state;
 				} finally {
 					if (ApiPlugin.DEBUG_BUILDER) {
 						System.out.println("ApiAnalysisBuilder: Saved state thinks last build failed for " + project.getName()); //$NON-NLS-1$
@@ -564,6 +750,27 @@ public class BuildState {
 		return null;
 	}
 
+	/**
+	 * Reads the reference index saved for the given project. The index is
+	 * left empty and incomplete if it cannot be read.
+	 */
+	private void readReferenceIndex(IProject project) {
+		File file = getReferenceIndexFile(project);
+		if (file == null || !file.exists()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			ReferenceIndex index = ReferenceIndex.read(in);
+			if (index != null) {
+				referenceIndex = index;
+			}
+		} catch (IOException e) {
+			if (ApiPlugin.DEBUG_BUILDER) {
+				System.out.println("ApiAnalysisBuilder: Could not read reference index for " + project.getName() + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+
 	/**
 	 * Sets the last built state for the given project, or null to reset it.
 	 *
@@ -588,6 +795,32 @@ public class BuildState {
 		}
 	}
 
+	/**
+	 * Marks the saved state of the given project as being built by appending a
+	 * building record, so that the state is not read again if the build does
+	 * not complete. The state saved once the build completes is appended after
+	 * the building record. A saved state that cannot be marked is deleted.
+	 *
+	 * @param project the project being built
+	 * @param state the state read for the build
+	 */
+	public static void setBuildInProgress(IProject project, BuildState state) throws CoreException {
+		File file = getSerializationFile(project);
+		if (file != null && state.canAppendTo(file)) {
+			try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file, true))) {
+				out.writeByte(BUILDING_RECORD);
+			} catch (IOException e) {
+				state.stringIndexes = null;
+				setLastBuiltState(project, null);
+				return;
+			}
+			state.recordCount++;
+			state.setSavedFile(file, file.length(), file.lastModified());
+			return;
+		}
+		setLastBuiltState(project, null);
+	}
+
 	/**
 	 * Returns the {@link File} to use for saving and restoring the last built
 	 * state for the given project.
@@ -604,6 +837,23 @@ public class BuildState {
 		return workingLocation.append("state.dat").toFile(); //$NON-NLS-1$
 	}
 
+	/**
+	 * Returns the {@link File} the reference index of the given project is
+	 * saved to. The index is kept when the build state is reset since each of
+	 * its entries is checked against the class file it was extracted from.
+	 *
+	 * @param project the project
+	 * @return the {@link File} of the reference index or <code>null</code> if
+	 *         the project does not exist
+	 */
+	static File getReferenceIndexFile(IProject project) {
+		if (!project.exists()) {
+			return null;
+		}
+		IPath workingLocation = project.getWorkingLocation(ApiPlugin.PLUGIN_ID);
+		return workingLocation.append("references.dat").toFile(); //$NON-NLS-1$
+	}
+
 	/**
 	 * Saves the current build state
 	 */
@@ -619,9 +869,16 @@ public class BuildState {
 		if (ApiPlugin.DEBUG_BUILDER) {
 			t = System.currentTimeMillis();
 		}
-		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
-			write(state, out);
+		boolean append = state.canAppendTo(file);
+		int changed = state.changedTypes.size();
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, append)))) {
+			if (append) {
+				append(state, out);
+			} else {
+				write(state, out);
+			}
 		} catch (RuntimeException | IOException e) {
+			state.stringIndexes = null;
 			try {
 				file.delete();
 			} catch (SecurityException se) {
@@ -629,12 +886,64 @@ public class BuildState {
 			}
 			throw new CoreException(Status.error(NLS.bind(BuilderMessages.build_cannotSaveState, project.getName()), e));
 		}
+		state.setSavedFile(file, file.length(), file.lastModified());
+		saveReferenceIndex(project, state.referenceIndex);
 		if (ApiPlugin.DEBUG_BUILDER) {
+			if (append) {
+				System.out.println("ApiAnalysisBuilder: Appended " + changed + " changed types to build state"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
 			t = System.currentTimeMillis() - t;
 			System.out.println(NLS.bind(BuilderMessages.build_saveStateComplete, String.valueOf(t)));
 		}
 	}
 
+	/**
+	 * Saves the given reference index if it changed since it was read or
+	 * saved. An index that cannot be saved is deleted, the next build then
+	 * falls back to the dependents computed by the Java builder.
+	 */
+	private static void saveReferenceIndex(IProject project, ReferenceIndex index) {
+		File file = getReferenceIndexFile(project);
+		if (file == null || (!index.hasChanged() && file.exists())) {
+			return;
+		}
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			index.write(out);
+		} catch (IOException e) {
+			try {
+				file.delete();
+			} catch (SecurityException se) {
+				// could not delete file: cannot do much more
+			}
+			ApiPlugin.log(Status.warning(NLS.bind(BuilderMessages.build_cannotSaveState, project.getName()), e));
+		}
+	}
+
+	private void setSavedFile(File file, long length, long modified) {
+		this.savedFile = file;
+		this.savedLength = length;
+		this.savedModified = modified;
+	}
+
+	/**
+	 * Returns whether the changed types can be appended to the given file. The
+	 * file must be the unchanged file this state was read from or saved to,
+	 * and the records replaced by later ones must not outnumber the live
+	 * ones.
+	 *
+	 * @param file the file to save the state to
+	 * @return <code>true</code> if the changes can be appended
+	 */
+	private boolean canAppendTo(File file) {
+		if (stringIndexes == null || !file.equals(savedFile) || file.length() != savedLength || file.lastModified() != savedModified) {
+			return false;
+		}
+		Set<String> typeNames = new HashSet<>(compatibleChanges.keySet());
+		typeNames.addAll(breakingChanges.keySet());
+		int live = typeNames.size() + 1;
+		return recordCount + changedTypes.size() + 1 <= 2 * live + REPLACED_RECORDS_SLACK;
+	}
+
 	/**
 	 * Computes and returns a CRC of the projects resolved build path, or -1 if
 	 * unknown.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2017 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@ package org.eclipse.pde.api.tools.internal.builder;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -47,6 +48,7 @@ import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
 import org.eclipse.pde.api.tools.internal.provisional.IApiMarkerConstants;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.util.Signatures;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.core.plugin.IPluginModelBase;
 import org.osgi.framework.Version;
@@ -234,7 +236,7 @@ public class IncrementalApiBuilder {
 			for (IResourceDelta delta : deltas) {
 				delta.accept(visitor);
 			}
-			buildContext(project, state, visitor.changes, depprojects);
+			buildContext(project, state, buildstate, visitor.changes, depprojects);
 			build(project, baseline, wbaseline, state, buildstate, localmonitor.split(1));
 		} catch (OperationCanceledException oce) {
 			// do nothing, but don't forward it
@@ -361,9 +363,10 @@ public class IncrementalApiBuilder {
 	 *
 	 * @param project the current project being built
 	 * @param state the current JDT build state
+	 * @param buildstate the current API tools build state
 	 * @param list of changes
 	 */
-	void buildContext(final IProject project, State state, List<Change> changes, HashSet<IProject> depprojects) {
+	void buildContext(final IProject project, State state, BuildState buildstate, List<Change> changes, HashSet<IProject> depprojects) {
 		StringSet structural = null;
 		StringSet description = null;
 		for (Change change : changes) {
@@ -419,35 +422,78 @@ public class IncrementalApiBuilder {
 		if (changes.size() == 1 && structural != null && description != null) {
 			String[] types = structural.values;
 			if (types.length > 0) {
-				addDependents(project, state, types, STRUCTURAL | DESCRIPTION);
+				addDependents(project, state, buildstate, types, STRUCTURAL | DESCRIPTION);
 			}
 		} else {
 			if (structural != null) {
 				String[] types = structural.values;
 				if (types.length > 0) {
-					addDependents(project, state, types, STRUCTURAL);
+					addDependents(project, state, buildstate, types, STRUCTURAL);
 				}
 			}
 			if (description != null) {
 				String[] types = description.values;
 				if (types.length > 0) {
-					addDependents(project, state, types, DESCRIPTION);
+					addDependents(project, state, buildstate, types, DESCRIPTION);
 				}
 			}
 		}
+		addStaleTypes(project, state, buildstate);
+	}
+
+	/**
+	 * Adds the types whose class file changed since their references were
+	 * indexed to the description dependents, so that their references are
+	 * checked and indexed again. This keeps the reference index usable when
+	 * a previous analysis was cancelled or class files changed while the
+	 * builder did not run.
+	 *
+	 * @param project the current project being built
+	 * @param state the current JDT build state
+	 * @param buildstate the current API tools build state
+	 */
+	private void addStaleTypes(final IProject project, State state, BuildState buildstate) {
+		ReferenceIndex index = buildstate != null ? buildstate.getReferenceIndex() : null;
+		if (index == null || !index.isComplete()) {
+			return;
+		}
+		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		Set<String> stale = index.getStaleTypes(path -> root.getFile(IPath.fromPortableString(path)).getLocalTimeStamp());
+		for (String type : stale) {
+			String typeLocator = state.typeLocators.get(type.replace('.', '/'));
+			if (typeLocator == null) {
+				// not compiled from a source of this project anymore
+				index.remove(type);
+				continue;
+			}
+			IFile file = project.getFile(typeLocator);
+			if (ApiPlugin.DEBUG_BUILDER) {
+				System.out.println("ApiAnalysisBuilder:   adding stale indexed source file " + file.getName()); //$NON-NLS-1$
+			}
+			addDependentTypeToContext(file, DESCRIPTION);
+		}
 	}
 
 	/**
 	 * Adds the dependent files from the current build context based on the
 	 * current JDT build state to either the structural or description
-	 * dependents.
+	 * dependents. Description dependents are looked up in the reference index
+	 * of the API tools build state when it is complete.
 	 *
 	 * @param project the current project being built
 	 * @param state the current JDT build state
+	 * @param buildstate the current API tools build state
 	 * @param types dot and $ qualified names of base types that changed
 	 * @param kind mask of STRUCTURAL or DESCRIPTION
 	 */
-	private void addDependents(final IProject project, State state, String[] types, int kind) {
+	private void addDependents(final IProject project, State state, BuildState buildstate, String[] types, int kind) {
+		int remaining = kind;
+		if ((remaining & DESCRIPTION) > 0 && addIndexedDependents(project, state, buildstate, types)) {
+			remaining &= ~DESCRIPTION;
+			if (remaining == 0) {
+				return;
+			}
+		}
 		StringSet packages = new StringSet(16);
 		StringSet typenames = new StringSet(16);
 		for (String type : types) {
@@ -479,9 +525,50 @@ public class IncrementalApiBuilder {
 				if (ApiPlugin.DEBUG_BUILDER) {
 					System.out.println("ApiAnalysisBuilder:   adding affected source file " + file.getName()); //$NON-NLS-1$
 				}
-				addDependentTypeToContext(file, kind);
+				addDependentTypeToContext(file, remaining);
+			}
+		}
+	}
+
+	/**
+	 * Adds the types that reference the given types according to the
+	 * reference index of the API tools build state to the description
+	 * dependents. Nothing is added if the index is not complete or one of the
+	 * referencing types has no known source file.
+	 *
+	 * @param project the current project being built
+	 * @param state the current JDT build state
+	 * @param buildstate the current API tools build state
+	 * @param types dot and $ qualified names of base types that changed
+	 * @return <code>true</code> if the dependents have been added from the
+	 *         index
+	 */
+	private boolean addIndexedDependents(final IProject project, State state, BuildState buildstate, String[] types) {
+		ReferenceIndex index = buildstate != null ? buildstate.getReferenceIndex() : null;
+		if (index == null || !index.isComplete()) {
+			return false;
+		}
+		Set<String> dependents = new LinkedHashSet<>();
+		for (String type : types) {
+			if (type != null) {
+				dependents.addAll(index.getReferencingTypes(Signatures.getPrimaryTypeName(type.replace('/', '.'))));
+			}
+		}
+		List<IFile> files = new ArrayList<>(dependents.size());
+		for (String dependent : dependents) {
+			String typeLocator = state.typeLocators.get(dependent.replace('.', '/'));
+			if (typeLocator == null) {
+				return false;
+			}
+			files.add(project.getFile(typeLocator));
+		}
+		for (IFile file : files) {
+			if (ApiPlugin.DEBUG_BUILDER) {
+				System.out.println("ApiAnalysisBuilder:   adding indexed dependent source file " + file.getName()); //$NON-NLS-1$
 			}
+			addDependentTypeToContext(file, DESCRIPTION);
 		}
+		return true;
 	}
 
 	/**
@@ -517,6 +604,7 @@ public class IncrementalApiBuilder {
 		String[] types = this.context.getRemovedTypes();
 		for (String type : types) {
 			state.cleanup(type);
+			state.getReferenceIndex().remove(type);
 		}
 		subMonitor.split(1);
 		IResource resource = project.findMember(ApiAnalysisBuilder.MANIFEST_PATH);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2021 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -373,23 +373,34 @@ public class Reference implements IReference {
 						// cannot resolve a type that is in a bad classfile
 						return;
 					}
-					switch (getReferenceType()) {
-						case IReference.T_TYPE_REFERENCE -> {
-							fResolved = type;
-						}
-						case IReference.T_FIELD_REFERENCE -> {
-							resolveField(type, getReferencedMemberName());
-						}
-						case IReference.T_METHOD_REFERENCE -> {
-							resolveVirtualMethod(type, getReferencedMemberName(), getReferencedSignature());
-						}
-						default -> { /**/ }
-					}
+					resolve(type);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Resolves this reference against the given referenced type, which has
+	 * already been looked up from the source component of this reference.
+	 *
+	 * @param type the structure of the referenced type
+	 * @throws CoreException if the type hierarchy cannot be read
+	 */
+	void resolve(IApiType type) throws CoreException {
+		switch (getReferenceType()) {
+			case IReference.T_TYPE_REFERENCE -> {
+				fResolved = type;
+			}
+			case IReference.T_FIELD_REFERENCE -> {
+				resolveField(type, getReferencedMemberName());
+			}
+			case IReference.T_METHOD_REFERENCE -> {
+				resolveVirtualMethod(type, getReferencedMemberName(), getReferencedSignature());
+			}
+			default -> { /**/ }
+		}
+	}
+
 	public boolean resolve(int eeValue) throws CoreException {
 		IApiComponent sourceComponent = StubApiComponent.getStubApiComponent(eeValue);
 		if (sourceComponent == null) {
@@ -672,6 +683,14 @@ public class Reference implements IReference {
 		this.fStatus = value;
 	}
 
+	/**
+	 * @return <code>false</code> if this reference must not be resolved
+	 * @see #setResolveStatus(boolean)
+	 */
+	boolean getResolveStatus() {
+		return this.fStatus;
+	}
+
 	/**
 	 * Returns the string representation for the given reference kind or
 	 * <code>UKNOWN_KIND</code> if the kind cannot be determined.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,14 +14,24 @@
 package org.eclipse.pde.api.tools.internal.builder;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.pde.api.tools.internal.model.ProjectComponent;
+import org.eclipse.pde.api.tools.internal.model.ResourceApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.provisional.ApiDescriptionVisitor;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
@@ -36,6 +46,8 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.api.tools.internal.util.Signatures;
+import org.eclipse.pde.api.tools.internal.util.Util;
 
 /**
  * The reference analyzer
@@ -82,11 +94,20 @@ public class ReferenceAnalyzer {
 
 		@Override
 		public void visit(String packageName, IApiTypeRoot classFile) {
-			if (!fMonitor.isCanceled()) {
+			if (fMonitor.isCanceled()) {
+				if (fReferenceIndex != null && classFile.getTypeName().indexOf('$') < 0) {
+					// analyze the type again in the next build
+					IFile file = getFile(classFile);
+					fReferenceIndex.setStale(classFile.getTypeName(), file == null ? null : file.getFullPath().toString());
+				}
+			} else {
 				try {
 					IApiType type = classFile.getStructure();
 					if (type == null) {
 						// do nothing for bad class files
+						if (fReferenceIndex != null) {
+							fReferenceIndex.remove(classFile.getTypeName());
+						}
 						return;
 					}
 					// don't process inner/anonymous/local types, this is done
@@ -95,6 +116,9 @@ public class ReferenceAnalyzer {
 						return;
 					}
 					List<IReference> references = type.extractReferences(fAllReferenceKinds, null);
+					if (fReferenceIndex != null) {
+						indexReferences(type, getFile(classFile), references);
+					}
 					// keep potential matches
 					for (IReference ref : references) {
 						if (fMonitor.isCanceled()) {
@@ -141,6 +165,18 @@ public class ReferenceAnalyzer {
 	 */
 	List<IReference> fReferences = new LinkedList<>();
 
+	/**
+	 * Index to record the types referenced by each scanned type in or
+	 * <code>null</code>
+	 */
+	private ReferenceIndex fReferenceIndex;
+
+	/**
+	 * The names of the types to index for a referenced type name: its primary
+	 * type name and the ones of its workspace super types
+	 */
+	private final Map<String, Set<String>> fIndexedTypes = new HashMap<>();
+
 	/**
 	 * Problem detectors indexed by the log base 2 of each reference kind they
 	 * are interested in. Provides a fast way to hand references off to
@@ -180,6 +216,97 @@ public class ReferenceAnalyzer {
 		}
 	}
 
+	/**
+	 * Sets the index to record the types referenced by each scanned type in.
+	 * The index is invalidated when the references of some types cannot be
+	 * extracted. Types skipped because the analysis is cancelled are marked
+	 * as stale and analyzed again by the next build.
+	 *
+	 * @param index the index or <code>null</code>
+	 */
+	void setReferenceIndex(ReferenceIndex index) {
+		fReferenceIndex = index;
+	}
+
+	/**
+	 * @return the workspace class file of the given type root or
+	 *         <code>null</code>
+	 */
+	static IFile getFile(IApiTypeRoot root) {
+		return root instanceof ResourceApiTypeRoot resource ? resource.getFile() : null;
+	}
+
+	/**
+	 * Records the types referenced by the given top level type in the
+	 * reference index, together with the time stamp of its class file
+	 */
+	void indexReferences(IApiType type, IFile file, List<IReference> references) {
+		Set<String> referenced = new HashSet<>();
+		IApiComponent component = type.getApiComponent();
+		for (IReference ref : references) {
+			String name = ref.getReferencedTypeName();
+			Set<String> types = fIndexedTypes.get(name);
+			if (types == null) {
+				types = new HashSet<>();
+				types.add(Signatures.getPrimaryTypeName(name));
+				if (component != null) {
+					addWorkspaceSupertypes(component, name, types, new HashSet<>());
+				}
+				fIndexedTypes.put(name, types);
+			}
+			referenced.addAll(types);
+		}
+		referenced.remove(type.getName());
+		if (file == null) {
+			fReferenceIndex.setReferences(type.getName(), null, IResource.NULL_STAMP, referenced);
+		} else {
+			fReferenceIndex.setReferences(type.getName(), file.getFullPath().toString(), file.getLocalTimeStamp(), referenced);
+		}
+	}
+
+	/**
+	 * Adds the primary names of the super types of the given type to the given
+	 * set, if the type is provided by a workspace project. Only the API
+	 * descriptions of workspace projects change between builds.
+	 */
+	private void addWorkspaceSupertypes(IApiComponent component, String typeName, Set<String> types, Set<String> visited) {
+		if (!visited.add(typeName)) {
+			return;
+		}
+		try {
+			IApiComponent[] providers = component.getBaseline().resolvePackage(component, Signatures.getPackageName(typeName));
+			boolean workspace = false;
+			for (IApiComponent provider : providers) {
+				workspace |= provider instanceof ProjectComponent;
+			}
+			if (!workspace) {
+				return;
+			}
+			IApiTypeRoot root = Util.getClassFile(providers, typeName);
+			if (root == null || !(root.getApiComponent() instanceof ProjectComponent)) {
+				return;
+			}
+			IApiType type = root.getStructure();
+			if (type == null) {
+				return;
+			}
+			List<String> supertypes = new ArrayList<>();
+			if (type.getSuperclassName() != null) {
+				supertypes.add(type.getSuperclassName());
+			}
+			Collections.addAll(supertypes, type.getSuperInterfaceNames());
+			for (String supertype : supertypes) {
+				types.add(Signatures.getPrimaryTypeName(supertype));
+				addWorkspaceSupertypes(root.getApiComponent(), supertype, types, visited);
+			}
+		} catch (CoreException e) {
+			// the super types are not indexed, the type itself still is
+			if (ApiPlugin.DEBUG_REFERENCE_ANALYZER) {
+				ApiPlugin.log(e);
+			}
+		}
+	}
+
 	/**
 	 * log 2 (x) = ln(x) / ln(2)
 	 *
@@ -230,17 +357,33 @@ public class ReferenceAnalyzer {
 	 */
 	public IApiProblem[] analyze(IApiComponent component, IApiTypeContainer scope, IProgressMonitor monitor) throws CoreException {
 		SubMonitor localMonitor = SubMonitor.convert(monitor, 4);
+		boolean indexed = false;
 		try {
 			// build problem detectors
 			IApiProblemDetector[] detectors = buildProblemDetectors(component, ProblemDetectorBuilder.K_ALL,
 					localMonitor.split(1));
 			if (detectors.length == 0) {
+				if (fReferenceIndex != null) {
+					fReferenceIndex.invalidate();
+				}
 				return EMPTY_RESULT;
 			}
 			// analyze
 			// 1. extract references
 			localMonitor.subTask(BuilderMessages.ReferenceAnalyzer_analyzing_api_checking_use);
-			extractReferences(scope, localMonitor.split(1));
+			if (fReferenceIndex != null) {
+				fReferenceIndex.beginIndexing(fAllReferenceKinds);
+			}
+			SubMonitor extractMonitor = localMonitor.split(1);
+			try {
+				extractReferences(scope, extractMonitor);
+			} catch (CoreException | OperationCanceledException e) {
+				if (fReferenceIndex != null) {
+					fReferenceIndex.invalidate();
+				}
+				throw e;
+			}
+			indexed = !localMonitor.isCanceled();
 			// 2. resolve problematic references
 			localMonitor.subTask(BuilderMessages.ReferenceAnalyzer_analyzing_api_checking_use);
 			if (fReferences.size() != 0) {
@@ -264,6 +407,10 @@ public class ReferenceAnalyzer {
 			// clean up
 			fIndexedDetectors = null;
 			fReferences.clear();
+			fIndexedTypes.clear();
+			if (fReferenceIndex != null) {
+				fReferenceIndex.endIndexing(indexed);
+			}
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,9 +19,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
-import java.util.SortedSet;
 import java.util.Stack;
-import java.util.TreeSet;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Status;
@@ -50,7 +48,6 @@ import org.objectweb.asm.Type;
 import org.objectweb.asm.TypePath;
 import org.objectweb.asm.signature.SignatureReader;
 import org.objectweb.asm.signature.SignatureVisitor;
-import org.objectweb.asm.tree.ClassNode;
 
 /**
  * Extracts references from a class file
@@ -235,19 +232,28 @@ public class ReferenceExtractor extends ClassVisitor {
 		String methodName;
 		int lastLineNumber;
 		boolean implicitConstructor = false;
-		LocalLineNumberMarker localVariableMarker;
+		/**
+		 * Line number and variable index of the most recent local variable
+		 * store, waiting for the label that starts the scope of the variable
+		 */
+		int markerLineNumber = -1;
+		int markerVarIndex;
 
+		/**
+		 * Local variable markers by the label starting their scope, created on
+		 * demand
+		 */
 		HashMap<Label, List<LocalLineNumberMarker>> labelsToLocalMarkers;
 
 		/**
 		 * Constructor
 		 */
-		public ClassFileMethodVisitor(MethodVisitor mv, String name, int argumentcount) {
-			super(Util.LATEST_OPCODES_ASM, mv);
+		public ClassFileMethodVisitor(String name, int argumentcount) {
+			// no delegate, the visited code is not kept
+			super(Util.LATEST_OPCODES_ASM);
 			this.argumentcount = argumentcount;
 			this.linePositionTracker = new LinePositionTracker();
 			this.lastLineNumber = -1;
-			this.labelsToLocalMarkers = new HashMap<>();
 			this.methodName = name;
 		}
 
@@ -264,7 +270,8 @@ public class ReferenceExtractor extends ClassVisitor {
 		public void visitVarInsn(int opcode, int var) {
 			this.stringLiteral = null;
 			if (opcode == Opcodes.ASTORE && this.lastLineNumber != -1) {
-				this.localVariableMarker = new LocalLineNumberMarker(this.lastLineNumber, var);
+				this.markerLineNumber = this.lastLineNumber;
+				this.markerVarIndex = var;
 			}
 		}
 
@@ -278,7 +285,7 @@ public class ReferenceExtractor extends ClassVisitor {
 				default -> -1;
 			};
 			if (refType != -1) {
-				Reference reference = ReferenceExtractor.this.addFieldReference(Type.getObjectType(owner), name, refType);
+				Reference reference = ReferenceExtractor.this.addFieldReference(owner, name, refType);
 				if (reference != null) {
 					this.linePositionTracker.addLocation(reference);
 					if (refType == IReference.REF_GETFIELD || refType == IReference.REF_PUTFIELD) {
@@ -303,33 +310,28 @@ public class ReferenceExtractor extends ClassVisitor {
 		@Override
 		public void visitLabel(Label label) {
 			this.linePositionTracker.addLabel(label);
-			if (this.localVariableMarker != null) {
-				List<LocalLineNumberMarker> list = this.labelsToLocalMarkers.get(label);
-				if (list != null) {
-					list.add(this.localVariableMarker);
-				} else {
-					list = new ArrayList<>();
-					list.add(this.localVariableMarker);
-					this.labelsToLocalMarkers.put(label, list);
+			if (this.markerLineNumber != -1) {
+				if (this.labelsToLocalMarkers == null) {
+					this.labelsToLocalMarkers = new HashMap<>();
 				}
-				this.localVariableMarker = null;
+				this.labelsToLocalMarkers.computeIfAbsent(label, l -> new ArrayList<>(2)).add(new LocalLineNumberMarker(this.markerLineNumber, this.markerVarIndex));
+				this.markerLineNumber = -1;
 			}
 		}
 
 		@Override
 		public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean inf) {
-			Type declaringType = Type.getObjectType(owner);
 			int kind = -1;
 			int flags = 0;
 			switch (opcode) {
 				case Opcodes.INVOKESPECIAL -> {
 					kind = ("<init>".equals(name) ? IReference.REF_CONSTRUCTORMETHOD : IReference.REF_SPECIALMETHOD); //$NON-NLS-1$
 					if (kind == IReference.REF_CONSTRUCTORMETHOD) {
-						if (!implicitConstructor && this.methodName.equals("<init>") && !fSuperStack.isEmpty() && (fSuperStack.peek()).equals(declaringType.getClassName())) { //$NON-NLS-1$
+						if (!implicitConstructor && this.methodName.equals("<init>") && !fSuperStack.isEmpty() && (fSuperStack.peek()).equals(processName(owner))) { //$NON-NLS-1$
 							implicitConstructor = true;
 							kind = IReference.REF_SUPER_CONSTRUCTORMETHOD;
 						} else {
-							Reference reference = ReferenceExtractor.this.addTypeReference(declaringType, IReference.REF_INSTANTIATE);
+							Reference reference = ReferenceExtractor.this.addTypeReference(owner, IReference.REF_INSTANTIATE);
 							if (reference != null) {
 								this.linePositionTracker.addLocation(reference);
 							}
@@ -401,7 +403,7 @@ public class ReferenceExtractor extends ClassVisitor {
 				default -> { /**/ }
 			}
 			if (kind != -1) {
-				Reference reference = ReferenceExtractor.this.addMethodReference(declaringType, name, desc, kind, flags);
+				Reference reference = ReferenceExtractor.this.addMethodReference(owner, name, desc, kind, flags);
 				if (reference != null) {
 					this.linePositionTracker.addLocation(reference);
 					if (kind == IReference.REF_STATICMETHOD) {
@@ -416,8 +418,7 @@ public class ReferenceExtractor extends ClassVisitor {
 		public void visitInvokeDynamicInsn(String name, String desc, Handle bsm, Object... bsmArgs) {
 			for (Object arg : bsmArgs) {
 				if (arg instanceof Handle handle) {
-					Type declaringType = Type.getObjectType(handle.getOwner());
-					Reference reference = ReferenceExtractor.this.addMethodReference(declaringType, handle.getName(), handle.getDesc(), IReference.REF_VIRTUALMETHOD, 0);
+					Reference reference = ReferenceExtractor.this.addMethodReference(handle.getOwner(), handle.getName(), handle.getDesc(), IReference.REF_VIRTUALMETHOD, 0);
 					if (reference != null) {
 						this.linePositionTracker.addLocation(reference);
 					}
@@ -517,7 +518,7 @@ public class ReferenceExtractor extends ClassVisitor {
 				// base type
 				return;
 			}
-			if (index > this.argumentcount) {
+			if (index > this.argumentcount && this.labelsToLocalMarkers != null) {
 				List<LocalLineNumberMarker> list = this.labelsToLocalMarkers.get(start);
 				int lineNumber = -1;
 				if (list != null) {
@@ -614,7 +615,11 @@ public class ReferenceExtractor extends ClassVisitor {
 	 * @since 1.1
 	 */
 	static class FieldTracker {
-		HashMap<String, List<Reference>> accessors = new HashMap<>();
+		/**
+		 * Static method references in the order they were found, only grouped
+		 * by method name if there are synthetic fields to resolve
+		 */
+		ArrayList<Reference> accessors = new ArrayList<>();
 		ArrayList<Reference> fields = new ArrayList<>();
 		ReferenceExtractor extractor = null;
 
@@ -639,23 +644,23 @@ public class ReferenceExtractor extends ClassVisitor {
 		 */
 		public void addAccessor(Reference ref) {
 			if (ref != null) {
-				String key = ref.getReferencedMemberName();
-				List<Reference> refs = accessors.get(key);
-				if (refs == null) {
-					refs = new ArrayList<>();
-					accessors.put(key, refs);
-				}
-				refs.add(ref);
+				accessors.add(ref);
 			}
-
 		}
 
 		/**
 		 * Resolve any synthetic field access to their accessor
 		 */
 		public void resolveSyntheticFields() {
+			if (fields.isEmpty() || accessors.isEmpty()) {
+				return;
+			}
+			HashMap<String, List<Reference>> accessorsByName = new HashMap<>();
+			for (Reference accessor : accessors) {
+				accessorsByName.computeIfAbsent(accessor.getReferencedMemberName(), name -> new ArrayList<>()).add(accessor);
+			}
 			for (Reference field : fields) {
-				List<Reference> refs = accessors.get(field.getMember().getName());
+				List<Reference> refs = accessorsByName.get(field.getMember().getName());
 				if (refs != null) {
 					for (Reference accessor : refs) {
 						Reference refer = Reference.fieldReference(accessor.getMember(), field.getReferencedTypeName(), field.getReferencedMemberName(), field.getReferenceKind());
@@ -669,16 +674,19 @@ public class ReferenceExtractor extends ClassVisitor {
 		}
 	}
 
+	/**
+	 * Computes the line numbers of the references of a method from the labels
+	 * and line numbers visited around them. Only the labels and references are
+	 * recorded in visit order, line numbers are kept by label.
+	 */
 	static class LinePositionTracker {
 		List<Object> labelsAndLocations;
-		SortedSet<LineInfo> lineInfos;
 		List<LabelInfo> catchLabelInfos;
 		HashMap<Label, Integer> lineMap;
+		int firstLine = Integer.MAX_VALUE;
 
 		public LinePositionTracker() {
 			this.labelsAndLocations = new ArrayList<>();
-			this.lineInfos = new TreeSet<>();
-			this.catchLabelInfos = new ArrayList<>();
 			this.lineMap = new HashMap<>();
 		}
 
@@ -687,11 +695,14 @@ public class ReferenceExtractor extends ClassVisitor {
 		}
 
 		void addLineInfo(int line, Label label) {
-			this.lineInfos.add(new LineInfo(line, label));
+			this.firstLine = Math.min(this.firstLine, line);
 			this.lineMap.put(label, Integer.valueOf(line));
 		}
 
 		void addCatchLabelInfos(Reference location, Label label) {
+			if (this.catchLabelInfos == null) {
+				this.catchLabelInfos = new ArrayList<>();
+			}
 			this.catchLabelInfos.add(new LabelInfo(location, label));
 		}
 
@@ -701,56 +712,43 @@ public class ReferenceExtractor extends ClassVisitor {
 
 		public void computeLineNumbers() {
 
-			if (this.lineInfos.isEmpty() || this.labelsAndLocations.isEmpty()) {
+			if (this.lineMap.isEmpty() || this.labelsAndLocations.isEmpty()) {
 				// nothing to do
 				return;
 			}
-			Iterator<LineInfo> lineInfosIterator = this.lineInfos.iterator();
-			LineInfo firstLineInfo = lineInfosIterator.next();
-			int currentLineNumber = firstLineInfo.line;
-
-			List<LabelInfo> remainingCatchLabelInfos = new ArrayList<>();
-			for (LabelInfo catchLabelInfo : this.catchLabelInfos) {
-				Integer lineValue = this.lineMap.get(catchLabelInfo.label);
-				if (lineValue != null) {
-					catchLabelInfo.location.setLineNumber(lineValue.intValue());
-				} else {
-					remainingCatchLabelInfos.add(catchLabelInfo);
-				}
-			}
-			// Iterate over List of Labels and SourceLocations.
-			List<Object> computedEntries = new ArrayList<>();
-			for (Object current : this.labelsAndLocations) {
-				if (current instanceof Label label) {
-					// label
-					Integer lineValue = this.lineMap.get(current);
+			int currentLineNumber = this.firstLine;
+
+			List<LabelInfo> remainingCatchLabelInfos = null;
+			if (this.catchLabelInfos != null) {
+				for (LabelInfo catchLabelInfo : this.catchLabelInfos) {
+					Integer lineValue = this.lineMap.get(catchLabelInfo.label);
 					if (lineValue != null) {
-						computedEntries.add(new LineInfo(lineValue.intValue(), label));
+						catchLabelInfo.location.setLineNumber(lineValue.intValue());
 					} else {
-						computedEntries.add(current);
+						if (remainingCatchLabelInfos == null) {
+							remainingCatchLabelInfos = new ArrayList<>();
+						}
+						remainingCatchLabelInfos.add(catchLabelInfo);
 					}
-				} else {
-					// location
-					computedEntries.add(current);
 				}
 			}
-			List<LabelInfo> remaingEntriesTemp;
-			for (Object current : computedEntries) {
+			// Iterate over List of Labels and SourceLocations.
+			for (Object current : this.labelsAndLocations) {
 				if (current instanceof Label) {
-					// try to set the line number for remaining catch labels
-					if (remainingCatchLabelInfos != null) {
-						remaingEntriesTemp = new ArrayList<>();
-						loop: for (LabelInfo catchLabelInfo : remainingCatchLabelInfos) {
-							if (!current.equals(catchLabelInfo.label)) {
-								remaingEntriesTemp.add(catchLabelInfo);
-								continue loop;
+					Integer lineValue = this.lineMap.get(current);
+					if (lineValue != null) {
+						currentLineNumber = lineValue.intValue();
+					} else if (remainingCatchLabelInfos != null) {
+						// try to set the line number for remaining catch labels
+						for (Iterator<LabelInfo> iterator = remainingCatchLabelInfos.iterator(); iterator.hasNext();) {
+							LabelInfo catchLabelInfo = iterator.next();
+							if (current.equals(catchLabelInfo.label)) {
+								catchLabelInfo.location.setLineNumber(currentLineNumber);
+								iterator.remove();
 							}
-							catchLabelInfo.location.setLineNumber(currentLineNumber);
 						}
-						if (remaingEntriesTemp.isEmpty()) {
+						if (remainingCatchLabelInfos.isEmpty()) {
 							remainingCatchLabelInfos = null;
-						} else {
-							remainingCatchLabelInfos = remaingEntriesTemp;
 						}
 					}
 				} else if (current instanceof Reference ref) {
@@ -759,8 +757,6 @@ public class ReferenceExtractor extends ClassVisitor {
 					} else {
 						currentLineNumber = ref.getLineNumber();
 					}
-				} else if (current instanceof LineInfo lineInfo) {
-					currentLineNumber = lineInfo.line;
 				}
 			}
 		}
@@ -783,41 +779,6 @@ public class ReferenceExtractor extends ClassVisitor {
 		}
 	}
 
-	static class LineInfo implements Comparable<Object> {
-		int line;
-		Label label;
-
-		LineInfo(int line, Label label) {
-			this.line = line;
-			this.label = label;
-		}
-
-		@Override
-		public int compareTo(Object o) {
-			return this.line - ((LineInfo) o).line;
-		}
-
-		@Override
-		public boolean equals(Object obj) {
-			if (obj instanceof LineInfo lineInfo2) {
-				return this.line == lineInfo2.line && this.label.equals(lineInfo2.label);
-			}
-			return super.equals(obj);
-		}
-
-		@Override
-		public int hashCode() {
-			return this.line + (this.label != null ? this.label.hashCode() : 0);
-		}
-
-		@Override
-		public String toString() {
-			StringBuilder buffer = new StringBuilder();
-			buffer.append('(').append(this.line).append(',').append(this.label).append(')');
-			return String.valueOf(buffer);
-		}
-	}
-
 	static class LocalLineNumberMarker {
 		int lineNumber;
 		int varIndex;
@@ -871,6 +832,12 @@ public class ReferenceExtractor extends ClassVisitor {
 	 */
 	Stack<String> fSuperStack = new Stack<>();
 
+	/**
+	 * Qualified names by the internal names they have been computed from, the
+	 * same few names are referenced from most call sites
+	 */
+	private final HashMap<String, String> fNames = new HashMap<>();
+
 	/**
 	 * Mapping of anonymous type names to their reference
 	 */
@@ -935,7 +902,7 @@ public class ReferenceExtractor extends ClassVisitor {
 	 *            {@link IReference}
 	 */
 	public ReferenceExtractor(IApiType type, Set<Reference> collector, int referenceKinds) {
-		super(Util.LATEST_OPCODES_ASM, new ClassNode());
+		super(Util.LATEST_OPCODES_ASM);
 		fType = type;
 		this.collector = collector;
 		fReferenceKinds = referenceKinds;
@@ -947,7 +914,7 @@ public class ReferenceExtractor extends ClassVisitor {
 	 * Constructor
 	 */
 	protected ReferenceExtractor(IApiType type, Set<Reference> collector, int referenceKinds, FieldTracker tracker) {
-		super(Util.LATEST_OPCODES_ASM, new ClassNode());
+		super(Util.LATEST_OPCODES_ASM);
 		fType = type;
 		this.collector = collector;
 		fReferenceKinds = referenceKinds;
@@ -1018,6 +985,10 @@ public class ReferenceExtractor extends ClassVisitor {
 	 * The returned name has been modified to be '.' separated
 	 */
 	protected String processName(String name) {
+		return fNames.computeIfAbsent(name, ReferenceExtractor::toQualifiedName);
+	}
+
+	private static String toQualifiedName(String name) {
 		String newname = name;
 		Type type = Type.getObjectType(name);
 		if (type != null && type.getSort() == Type.OBJECT) {
@@ -1036,9 +1007,28 @@ public class ReferenceExtractor extends ClassVisitor {
 	 * @return reference added, or <code>null</code> if none
 	 */
 	protected Reference addTypeReference(Type type, int kind) {
-		Type rtype = this.resolveType(type.getDescriptor());
-		if (rtype != null) {
-			return addReference(Reference.typeReference(getMember(), rtype.getClassName(), kind));
+		if ((kind & fReferenceKinds) == 0) {
+			return null;
+		}
+		String typeName = this.getClassName(type);
+		if (typeName != null) {
+			return addReference(Reference.typeReference(getMember(), typeName, kind));
+		}
+		return null;
+	}
+
+	/**
+	 * Adds a reference to the type with the given internal name
+	 *
+	 * @see #addTypeReference(Type, int)
+	 */
+	Reference addTypeReference(String internalName, int kind) {
+		if ((kind & fReferenceKinds) == 0) {
+			return null;
+		}
+		String typeName = this.getClassName(internalName);
+		if (typeName != null) {
+			return addReference(Reference.typeReference(getMember(), typeName, kind));
 		}
 		return null;
 	}
@@ -1053,9 +1043,29 @@ public class ReferenceExtractor extends ClassVisitor {
 	 * @return reference added, or <code>null</code> if none
 	 */
 	protected Reference addFieldReference(Type declaringType, String name, int kind) {
-		Type rtype = this.resolveType(declaringType.getDescriptor());
-		if (rtype != null) {
-			return addReference(Reference.fieldReference(getMember(), rtype.getClassName(), name, kind));
+		if ((kind & fReferenceKinds) == 0) {
+			return null;
+		}
+		String typeName = this.getClassName(declaringType);
+		if (typeName != null) {
+			return addReference(Reference.fieldReference(getMember(), typeName, name, kind));
+		}
+		return null;
+	}
+
+	/**
+	 * Adds a reference to the given field of the type with the given internal
+	 * name
+	 *
+	 * @see #addFieldReference(Type, String, int)
+	 */
+	Reference addFieldReference(String owner, String name, int kind) {
+		if ((kind & fReferenceKinds) == 0) {
+			return null;
+		}
+		String typeName = this.getClassName(owner);
+		if (typeName != null) {
+			return addReference(Reference.fieldReference(getMember(), typeName, name, kind));
 		}
 		return null;
 	}
@@ -1073,13 +1083,65 @@ public class ReferenceExtractor extends ClassVisitor {
 	 * @return reference added, or <code>null</code> if none
 	 */
 	protected Reference addMethodReference(Type declaringType, String name, String signature, int kind, int flags) {
-		Type rtype = this.resolveType(declaringType.getDescriptor());
-		if (rtype != null) {
-			return this.addReference(Reference.methodReference(getMember(), rtype.getClassName(), name, signature, kind, flags));
+		if ((kind & fReferenceKinds) == 0) {
+			return null;
+		}
+		String typeName = this.getClassName(declaringType);
+		if (typeName != null) {
+			return this.addReference(Reference.methodReference(getMember(), typeName, name, signature, kind, flags));
+		}
+		return null;
+	}
+
+	/**
+	 * Adds a reference to the given method of the type with the given
+	 * internal name
+	 *
+	 * @see #addMethodReference(Type, String, String, int, int)
+	 */
+	Reference addMethodReference(String owner, String name, String signature, int kind, int flags) {
+		if ((kind & fReferenceKinds) == 0) {
+			return null;
+		}
+		String typeName = this.getClassName(owner);
+		if (typeName != null) {
+			return this.addReference(Reference.methodReference(getMember(), typeName, name, signature, kind, flags));
 		}
 		return null;
 	}
 
+	/**
+	 * Returns the qualified name of the given object type or of the element
+	 * type of the given array type
+	 *
+	 * @return the qualified name or <code>null</code> for primitive types and
+	 *         arrays of primitive types
+	 */
+	String getClassName(Type type) {
+		Type element = type;
+		if (element.getSort() == Type.ARRAY) {
+			element = element.getElementType();
+		}
+		if (element.getSort() == Type.OBJECT) {
+			return processName(element.getInternalName());
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the qualified name of the type with the given internal name, as
+	 * found as owner of field and method instructions
+	 *
+	 * @return the qualified name or <code>null</code> for arrays of primitive
+	 *         types
+	 */
+	String getClassName(String internalName) {
+		if (internalName.charAt(0) == '[') {
+			return getClassName(Type.getObjectType(internalName));
+		}
+		return processName(internalName);
+	}
+
 	/**
 	 * Adds a reference to the given target member from the given line number in the
 	 * class file being scanned. If the target member is contained in the class file
@@ -1356,9 +1418,8 @@ public class ReferenceExtractor extends ClassVisitor {
 					}
 				}
 			}
-			MethodVisitor mv = super.visitMethod(access, name, desc, signature, exceptions);
-			if (mv != null && ((access & (Opcodes.ACC_NATIVE | Opcodes.ACC_ABSTRACT)) == 0)) {
-				return new ClassFileMethodVisitor(mv, name, argumentcount);
+			if ((access & (Opcodes.ACC_NATIVE | Opcodes.ACC_ABSTRACT)) == 0) {
+				return new ClassFileMethodVisitor(name, argumentcount);
 			}
 		}
 		return null;
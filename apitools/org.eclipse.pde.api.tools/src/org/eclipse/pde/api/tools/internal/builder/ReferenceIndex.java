@@ -0,0 +1,375 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.builder;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+
+/**
+ * Index of the types referenced by each top level type of a project, recorded
+ * by the {@link ReferenceAnalyzer} while extracting references for the API use
+ * scan and saved next to the {@link BuildState} of the project.
+ * <p>
+ * A full build fills the index for all the types of the project and an
+ * incremental build replaces the entries of the types it analyzes again. The
+ * incremental builder uses the reverse of the index to find the types to check
+ * again when the API description of a type changes. The index is only
+ * complete, and only used, if the last full build scanned every type for the
+ * same kinds of references as the following builds.
+ * </p>
+ * <p>
+ * Each entry remembers the class file it was extracted from and the time stamp
+ * of that class file, so that the entries of class files changed while the
+ * builder did not run, for instance because the analysis was cancelled or the
+ * workbench was closed, are detected and analyzed again instead of discarding
+ * the whole index.
+ * </p>
+ * <p>
+ * Referenced types are recorded by their primary type name, together with the
+ * super types of referenced workspace types, since a reference to an inherited
+ * member is resolved against the super type that declares it.
+ * </p>
+ *
+ * @since 1.3.700
+ */
+public final class ReferenceIndex {
+
+	private static final int VERSION = 1;
+
+	/**
+	 * Entry of a referencing type
+	 *
+	 * @param path the full path of the class file the references were
+	 *            extracted from or <code>null</code>
+	 * @param stamp the local time stamp of the class file when the references
+	 *            were extracted
+	 * @param references the names of the referenced types
+	 */
+	record Entry(String path, long stamp, Set<String> references) {
+	}
+
+	/**
+	 * Entries by referencing type name
+	 */
+	private final Map<String, Entry> fEntries = new HashMap<>();
+	/**
+	 * Referencing type names by referenced type name, computed on demand
+	 */
+	private Map<String, Set<String>> fReferencingTypes;
+	/**
+	 * If the index changed since it was read or saved
+	 */
+	private boolean fChanged = false;
+	private int fReferenceKinds = 0;
+	private boolean fComplete = false;
+	/**
+	 * If all the types of the project are being indexed since the last reset
+	 */
+	private boolean fIndexingAll = false;
+
+	/**
+	 * Empties the index before a full build indexes all the types of the
+	 * project again. The index is complete once all of them have been indexed.
+	 */
+	public void reset() {
+		clear();
+		fComplete = false;
+		fIndexingAll = true;
+	}
+
+	/**
+	 * Empties the index and marks it as incomplete, so that incremental builds
+	 * do not use it until the next full build
+	 */
+	public void invalidate() {
+		clear();
+		fComplete = false;
+		fIndexingAll = false;
+	}
+
+	private void clear() {
+		fChanged |= !fEntries.isEmpty() || fComplete;
+		fEntries.clear();
+		fReferencingTypes = null;
+		fReferenceKinds = 0;
+	}
+
+	/**
+	 * Starts indexing references of the given kinds. Indexing other kinds
+	 * than the ones the index was built with makes it incomplete.
+	 *
+	 * @param kinds the reference kinds about to be indexed
+	 */
+	public void beginIndexing(int kinds) {
+		if (fReferenceKinds == 0) {
+			fReferenceKinds = kinds;
+		} else if (fReferenceKinds != kinds) {
+			invalidate();
+		}
+	}
+
+	/**
+	 * Ends indexing the types of a scan. After a reset, the index becomes
+	 * complete if all the types of the project have been indexed.
+	 *
+	 * @param finished whether all the types of the scanned scope have been
+	 *            indexed
+	 */
+	public void endIndexing(boolean finished) {
+		if (fIndexingAll) {
+			fIndexingAll = false;
+			fComplete = finished;
+			fChanged = true;
+		}
+	}
+
+	/**
+	 * @return whether the index is being filled or kept up to date
+	 */
+	private boolean isIndexing() {
+		return fComplete || fIndexingAll;
+	}
+
+	/**
+	 * Replaces the types referenced by the given type
+	 *
+	 * @param typeName the name of the referencing top level type
+	 * @param path the full path of the class file of the type or
+	 *            <code>null</code> if it is not a workspace file
+	 * @param stamp the local time stamp of the class file
+	 * @param referencedTypes the names of the referenced types
+	 */
+	public void setReferences(String typeName, String path, long stamp, Set<String> referencedTypes) {
+		if (!isIndexing()) {
+			return;
+		}
+		fEntries.put(typeName, new Entry(path, stamp, referencedTypes));
+		fReferencingTypes = null;
+		fChanged = true;
+	}
+
+	/**
+	 * Marks the entry of the given type as stale, so that the type is analyzed
+	 * again. The references recorded so far are kept until then.
+	 *
+	 * @param typeName the name of the top level type
+	 * @param path the full path of the class file of the type or
+	 *            <code>null</code> if it is not a workspace file
+	 */
+	public void setStale(String typeName, String path) {
+		if (!fComplete || path == null) {
+			return;
+		}
+		Entry entry = fEntries.get(typeName);
+		fEntries.put(typeName, new Entry(path, IResource.NULL_STAMP, entry == null ? Collections.emptySet() : entry.references()));
+		fChanged = true;
+	}
+
+	/**
+	 * Removes the references of the given type
+	 *
+	 * @param typeName the name of the removed top level type
+	 */
+	public void remove(String typeName) {
+		if (fEntries.remove(typeName) != null) {
+			fReferencingTypes = null;
+			fChanged = true;
+		}
+	}
+
+	/**
+	 * Returns the names of the types that reference the given type
+	 *
+	 * @param typeName the primary name of the referenced type
+	 * @return the names of the referencing top level types, never
+	 *         <code>null</code>
+	 */
+	public Set<String> getReferencingTypes(String typeName) {
+		if (fReferencingTypes == null) {
+			Map<String, Set<String>> referencing = new HashMap<>();
+			for (Map.Entry<String, Entry> entry : fEntries.entrySet()) {
+				for (String referenced : entry.getValue().references()) {
+					referencing.computeIfAbsent(referenced, k -> new HashSet<>()).add(entry.getKey());
+				}
+			}
+			fReferencingTypes = referencing;
+		}
+		return fReferencingTypes.getOrDefault(typeName, Collections.emptySet());
+	}
+
+	/**
+	 * Returns the types whose class file changed since their references were
+	 * indexed. Their entries are kept until they are indexed again, entries of
+	 * types whose class file no longer exists are removed.
+	 *
+	 * @param stamps the current local time stamp of a class file given its
+	 *            full path, {@link IResource#NULL_STAMP}
+	 *            if it does not exist
+	 * @return the names of the types with outdated entries
+	 */
+	public Set<String> getStaleTypes(ToLongFunction<String> stamps) {
+		Set<String> stale = new LinkedHashSet<>();
+		List<String> removed = new ArrayList<>();
+		for (Map.Entry<String, Entry> entry : fEntries.entrySet()) {
+			String path = entry.getValue().path();
+			if (path == null) {
+				continue;
+			}
+			long stamp = stamps.applyAsLong(path);
+			if (stamp == IResource.NULL_STAMP) {
+				removed.add(entry.getKey());
+			} else if (stamp != entry.getValue().stamp()) {
+				stale.add(entry.getKey());
+			}
+		}
+		for (String typeName : removed) {
+			remove(typeName);
+		}
+		return stale;
+	}
+
+	/**
+	 * @return whether the index covers all the types of the project
+	 */
+	public boolean isComplete() {
+		return fComplete;
+	}
+
+	/**
+	 * @return the reference kinds the index was built with
+	 */
+	public int getReferenceKinds() {
+		return fReferenceKinds;
+	}
+
+	/**
+	 * @return the number of referencing types
+	 */
+	public int size() {
+		return fEntries.size();
+	}
+
+	/**
+	 * @return whether the index changed since it was read or saved
+	 */
+	boolean hasChanged() {
+		return fChanged;
+	}
+
+	/**
+	 * Writes the index to the given stream. Strings are written the first time
+	 * they are used and referred to by their index afterwards.
+	 *
+	 * @param out the stream to write to
+	 */
+	public void write(DataOutputStream out) throws IOException {
+		out.writeUTF(ApiPlugin.PLUGIN_ID);
+		out.writeUTF("REFERENCES"); //$NON-NLS-1$
+		out.writeInt(VERSION);
+		BuildState.writeInt(fReferenceKinds, out);
+		out.writeBoolean(fComplete);
+		BuildState.writeInt(fEntries.size(), out);
+		Map<String, Integer> strings = new HashMap<>();
+		for (Map.Entry<String, Entry> entry : fEntries.entrySet()) {
+			Entry value = entry.getValue();
+			writeString(entry.getKey(), strings, out);
+			out.writeBoolean(value.path() != null);
+			if (value.path() != null) {
+				out.writeUTF(value.path());
+			}
+			out.writeLong(value.stamp());
+			BuildState.writeInt(value.references().size(), out);
+			for (String reference : value.references()) {
+				writeString(reference, strings, out);
+			}
+		}
+		fChanged = false;
+	}
+
+	private static void writeString(String string, Map<String, Integer> strings, DataOutputStream out) throws IOException {
+		Integer index = strings.get(string);
+		if (index != null) {
+			BuildState.writeInt(index.intValue(), out);
+		} else {
+			BuildState.writeInt(strings.size(), out);
+			strings.put(string, Integer.valueOf(strings.size()));
+			out.writeUTF(string);
+		}
+	}
+
+	/**
+	 * Reads an index from the given stream
+	 *
+	 * @param in the stream to read from
+	 * @return the index or <code>null</code> if the index is from another
+	 *         version or incomplete
+	 */
+	public static ReferenceIndex read(DataInputStream in) throws IOException {
+		if (!ApiPlugin.PLUGIN_ID.equals(in.readUTF()) || !"REFERENCES".equals(in.readUTF())) { //$NON-NLS-1$
+			throw new IOException(BuilderMessages.build_wrongFileFormat);
+		}
+		if (in.readInt() != VERSION) {
+			return null;
+		}
+		ReferenceIndex index = new ReferenceIndex();
+		try {
+			index.fReferenceKinds = BuildState.readInt(in);
+			index.fComplete = in.readBoolean();
+			int count = BuildState.readInt(in);
+			List<String> strings = new ArrayList<>();
+			for (int i = 0; i < count; i++) {
+				String typeName = readString(strings, in);
+				String path = in.readBoolean() ? in.readUTF() : null;
+				long stamp = in.readLong();
+				int size = BuildState.readInt(in);
+				Set<String> references = new HashSet<>(size);
+				for (int j = 0; j < size; j++) {
+					references.add(readString(strings, in));
+				}
+				index.fEntries.put(typeName, new Entry(path, stamp, references));
+			}
+		} catch (EOFException e) {
+			// the last save did not complete
+			return null;
+		}
+		return index;
+	}
+
+	private static String readString(List<String> strings, DataInputStream in) throws IOException {
+		int index = BuildState.readInt(in);
+		if (index < strings.size()) {
+			return strings.get(index);
+		}
+		if (index != strings.size()) {
+			throw new IOException(BuilderMessages.build_wrongFileFormat);
+		}
+		String string = in.readUTF();
+		strings.add(string);
+		return string;
+	}
+}
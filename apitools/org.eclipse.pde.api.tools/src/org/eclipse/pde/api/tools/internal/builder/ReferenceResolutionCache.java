@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.builder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMember;
+
+/**
+ * Remembers the resolution of references for the duration of one analysis or
+ * search, so that a target referenced from many types of the same component
+ * is only resolved against the baseline once.
+ * <p>
+ * Resolutions are keyed by the component the reference comes from and the
+ * referenced type, member and signature, since the same name can resolve to
+ * different members from different components. Targets that cannot be
+ * resolved are remembered as well. A cache can be shared by concurrent
+ * searches, it must not outlive the baseline the references are resolved
+ * against.
+ * </p>
+ *
+ * @see ReferenceResolver#resolveReferences(java.util.List,
+ *      ReferenceResolutionCache)
+ * @since 1.3.700
+ */
+public final class ReferenceResolutionCache {
+
+	/**
+	 * Key of a resolution, the member name and signature are <code>null</code>
+	 * for type references and the signature is <code>null</code> for field
+	 * references
+	 */
+	record Key(IApiComponent component, String typeName, String memberName, String signature) {
+
+		static Key of(IReference reference) {
+			String member = null;
+			String signature = null;
+			switch (reference.getReferenceType()) {
+				case IReference.T_FIELD_REFERENCE -> member = reference.getReferencedMemberName();
+				case IReference.T_METHOD_REFERENCE -> {
+					member = reference.getReferencedMemberName();
+					signature = reference.getReferencedSignature();
+				}
+				default -> { /**/ }
+			}
+			return new Key(reference.getMember().getApiComponent(), reference.getReferencedTypeName(), member, signature);
+		}
+	}
+
+	private final Map<Key, Optional<IApiMember>> fResolutions = new ConcurrentHashMap<>();
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+
+	/**
+	 * Returns the remembered resolution of the given key
+	 *
+	 * @param key the key
+	 * @return the resolved member, an empty optional if the target could not
+	 *         be resolved or <code>null</code> if the key was not resolved yet
+	 */
+	Optional<IApiMember> get(Key key) {
+		Optional<IApiMember> resolution = fResolutions.get(key);
+		if (resolution == null) {
+			fMisses.increment();
+		} else {
+			fHits.increment();
+		}
+		return resolution;
+	}
+
+	/**
+	 * Remembers the resolution of the given key
+	 *
+	 * @param key the key
+	 * @param member the resolved member or <code>null</code> if the target
+	 *            could not be resolved
+	 */
+	void put(Key key, IApiMember member) {
+		fResolutions.putIfAbsent(key, Optional.ofNullable(member));
+	}
+
+	/**
+	 * @return the number of remembered resolutions
+	 */
+	public int size() {
+		return fResolutions.size();
+	}
+
+	/**
+	 * @return the number of lookups answered from this cache
+	 */
+	public long getHits() {
+		return fHits.sum();
+	}
+
+	/**
+	 * @return the number of lookups that had to be resolved against the
+	 *         baseline
+	 */
+	public long getMisses() {
+		return fMisses.sum();
+	}
+
+	/**
+	 * Forgets all remembered resolutions
+	 */
+	public void clear() {
+		fResolutions.clear();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2013 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,11 +17,17 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiMember;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.Signatures;
+import org.eclipse.pde.api.tools.internal.util.Util;
 
 /**
  * Utility class used to resolve {@link IReference}s
@@ -44,19 +50,34 @@ public final class ReferenceResolver {
 	 * @throws CoreException if something goes wrong
 	 */
 	public static void resolveReferences(List<IReference> references) throws CoreException {
+		resolveReferences(references, null);
+	}
+
+	/**
+	 * Resolves retained references, reusing and remembering resolutions in the
+	 * given cache so that they carry over from one call to the next within
+	 * the same analysis.
+	 *
+	 * @param references list of {@link IReference} to resolve
+	 * @param cache the resolutions of the current analysis or <code>null</code>
+	 *            to only share resolutions within this call
+	 * @throws CoreException if something goes wrong
+	 * @since 1.3.700
+	 */
+	public static void resolveReferences(List<IReference> references, ReferenceResolutionCache cache) throws CoreException {
 		// sort references by target type for 'shared' resolution
 		int refcount = references.size();
-		Map<String, List<IReference>> sigtoref = new LinkedHashMap<>(refcount);
+		Map<ReferenceResolutionCache.Key, List<IReference>> sigtoref = new LinkedHashMap<>(refcount);
 
 		List<IReference> refs = null;
-		String key = null;
+		ReferenceResolutionCache.Key key = null;
 		List<Reference> methodDecls = new ArrayList<>(refcount);
 		long start = System.currentTimeMillis();
 		for (IReference ref : references) {
 			if (ref.getReferenceKind() == IReference.REF_OVERRIDE) {
 				methodDecls.add((Reference) ref);
 			} else {
-				key = createSignatureKey(ref);
+				key = ReferenceResolutionCache.Key.of(ref);
 				refs = sigtoref.get(key);
 				if (refs == null) {
 					refs = new ArrayList<>(20);
@@ -72,10 +93,13 @@ public final class ReferenceResolver {
 		}
 		// resolve references
 		start = System.currentTimeMillis();
-		resolveReferenceSets(sigtoref);
+		resolveReferenceSets(sigtoref, cache != null ? cache : new ReferenceResolutionCache());
 		end = System.currentTimeMillis();
 		if (ApiPlugin.DEBUG_REFERENCE_RESOLVER) {
 			System.out.println("Reference resolver: resolved unique references in " + (end - start) + "ms"); //$NON-NLS-1$//$NON-NLS-2$
+			if (cache != null) {
+				System.out.println("Reference resolver: " + cache.size() + " cached resolutions, " + cache.getHits() + " hits, " + cache.getMisses() + " misses"); //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$ //$NON-NLS-4$
+			}
 		}
 		// resolve method overrides
 		start = System.currentTimeMillis();
@@ -89,51 +113,65 @@ public final class ReferenceResolver {
 	}
 
 	/**
-	 * Resolves the collect sets of references.
+	 * Resolves the collect sets of references. Sets that are not in the cache
+	 * are batched by referenced type, so that the providing component and the
+	 * structure of a type are looked up once for all of its members.
 	 *
 	 * @param map the mapping of keys to sets of {@link IReference}s
+	 * @param cache the resolutions to reuse and complete
 	 * @throws CoreException if something bad happens
 	 */
-	private static void resolveReferenceSets(Map<String, List<IReference>> map) throws CoreException {
-		IReference ref = null;
-		for (List<IReference> refs : map.values()) {
-			ref = refs.get(0);
-			((Reference) ref).resolve();
-			IApiMember resolved = ref.getResolvedReference();
-			if (resolved != null) {
-				for (IReference ref2 : refs) {
-					((Reference) ref2).setResolution(resolved);
+	private static void resolveReferenceSets(Map<ReferenceResolutionCache.Key, List<IReference>> map, ReferenceResolutionCache cache) throws CoreException {
+		Map<ReferenceResolutionCache.Key, List<ReferenceResolutionCache.Key>> types = new LinkedHashMap<>();
+		for (Map.Entry<ReferenceResolutionCache.Key, List<IReference>> entry : map.entrySet()) {
+			ReferenceResolutionCache.Key key = entry.getKey();
+			if (!((Reference) entry.getValue().get(0)).getResolveStatus()) {
+				continue;
+			}
+			Optional<IApiMember> resolution = cache.get(key);
+			if (resolution != null) {
+				setResolution(entry.getValue(), resolution.orElse(null));
+			} else {
+				types.computeIfAbsent(new ReferenceResolutionCache.Key(key.component(), key.typeName(), null, null), k -> new ArrayList<>()).add(key);
+			}
+		}
+		for (Map.Entry<ReferenceResolutionCache.Key, List<ReferenceResolutionCache.Key>> batch : types.entrySet()) {
+			IApiType type = findType(batch.getKey().component(), batch.getKey().typeName());
+			for (ReferenceResolutionCache.Key key : batch.getValue()) {
+				List<IReference> refs = map.get(key);
+				Reference ref = (Reference) refs.get(0);
+				if (type != null && ref.getResolvedReference() == null) {
+					ref.resolve(type);
 				}
+				IApiMember resolved = ref.getResolvedReference();
+				cache.put(key, resolved);
+				setResolution(refs, resolved);
 			}
 		}
 	}
 
 	/**
-	 * Creates a unique string key for a given reference. The key is of the form
-	 * "component X references type/member"
-	 *
-	 * <pre>
-	 * [component_id]#[type_name](#[member_name]#[member_signature])
-	 * </pre>
+	 * Returns the structure of the given type as seen from the given
+	 * component
 	 *
-	 * @param reference reference
-	 * @return a string key for the given reference.
+	 * @return the type or <code>null</code> if it cannot be found or its class
+	 *         file is bad
 	 */
-	private static String createSignatureKey(IReference reference) {
-		StringBuilder buffer = new StringBuilder();
-		buffer.append(reference.getMember().getApiComponent().getSymbolicName());
-		buffer.append("#"); //$NON-NLS-1$
-		buffer.append(reference.getReferencedTypeName());
-		if (reference.getReferenceType() == IReference.T_FIELD_REFERENCE) {
-			buffer.append("#"); //$NON-NLS-1$
-			buffer.append(reference.getReferencedMemberName());
+	private static IApiType findType(IApiComponent component, String typeName) throws CoreException {
+		if (component == null) {
+			return null;
+		}
+		IApiTypeRoot root = Util.getClassFile(component.getBaseline().resolvePackage(component, Signatures.getPackageName(typeName)), typeName);
+		return root != null ? root.getStructure() : null;
+	}
 
-		} else if (reference.getReferenceType() == IReference.T_METHOD_REFERENCE) {
-			buffer.append("#"); //$NON-NLS-1$
-			buffer.append(reference.getReferencedMemberName());
-			buffer.append("#"); //$NON-NLS-1$
-			buffer.append(reference.getReferencedSignature());
+	private static void setResolution(List<IReference> refs, IApiMember resolved) {
+		if (resolved != null) {
+			for (IReference ref : refs) {
+				if (((Reference) ref).getResolveStatus()) {
+					((Reference) ref).setResolution(resolved);
+				}
+			}
 		}
-		return buffer.toString();
 	}
 }
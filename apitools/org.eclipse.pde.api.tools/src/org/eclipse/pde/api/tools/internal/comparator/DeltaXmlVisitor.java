@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,7 +13,15 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.comparator;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.pde.api.tools.internal.IApiXmlConstants;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.ApiComparator;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.DeltaProcessor;
@@ -22,23 +30,51 @@ import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
 
 /**
  * Delta visitor that generates XML for the delta.
+ * <p>
+ * By default the XML is built as a DOM document. A visitor constructed with
+ * an output stream instead writes the element of each delta to the stream as
+ * soon as the delta is visited, and then drops it. The streamed XML is the
+ * same as the serialized document.
+ * </p>
  *
  * @since 1.0.0
  */
 public class DeltaXmlVisitor extends DeltaVisitor {
+
+	private static final String INDENT = "    "; //$NON-NLS-1$
+
 	/**
-	 * XML doc being generated
+	 * XML doc being generated, only used to create the elements if the XML is
+	 * streamed
 	 */
 	private final Document fDoc;
 
 	/**
-	 * Top deltas element
+	 * Top deltas element or <code>null</code> if the XML is streamed
 	 */
 	private final Element fDeltas;
 
+	/**
+	 * Writer the XML is streamed to or <code>null</code> if a document is
+	 * built
+	 */
+	private final Writer fOut;
+
+	/**
+	 * Whether the start tag of the deltas element has been streamed
+	 */
+	private boolean fStarted;
+
+	/**
+	 * The first failure to stream the XML, reported by {@link #endDocument()}
+	 */
+	private IOException fError;
+
 	/**
 	 * Constructs a new visitor for the given component.
 	 *
@@ -48,6 +84,29 @@ public class DeltaXmlVisitor extends DeltaVisitor {
 		fDoc = Util.newDocument();
 		fDeltas = fDoc.createElement(IApiXmlConstants.DELTAS_ELEMENT_NAME);
 		fDoc.appendChild(fDeltas);
+		fOut = null;
+	}
+
+	/**
+	 * Constructs a new visitor that writes the XML to the given stream as the
+	 * deltas are visited. {@link #endDocument()} must be called once all of
+	 * the deltas have been visited.
+	 *
+	 * @param out the stream to write the UTF-8 encoded XML to, it is not
+	 *            closed by the visitor
+	 * @throws CoreException if unable to construct the visitor
+	 * @since 1.3.700
+	 */
+	public DeltaXmlVisitor(OutputStream out) throws CoreException {
+		fDoc = Util.newDocument();
+		fDeltas = null;
+		fOut = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		try {
+			fOut.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"); //$NON-NLS-1$
+			fOut.write(System.lineSeparator());
+		} catch (IOException e) {
+			throw new CoreException(Status.error("Unable to write XML document.", e)); //$NON-NLS-1$
+		}
 	}
 
 	@Override
@@ -91,7 +150,111 @@ public class DeltaXmlVisitor extends DeltaVisitor {
 			}
 			deltaElement.appendChild(messageArgumentsElement);
 		}
-		fDeltas.appendChild(deltaElement);
+		addElement(deltaElement);
+	}
+
+	/**
+	 * Adds the given element to the deltas element, after the elements of the
+	 * deltas visited so far. If the XML is streamed the element is written
+	 * right away, only its attributes and child elements are written.
+	 *
+	 * @param element an element created with the document of this visitor
+	 * @since 1.3.700
+	 */
+	public void addElement(Element element) {
+		if (fOut == null) {
+			fDeltas.appendChild(element);
+			return;
+		}
+		if (fError != null) {
+			return;
+		}
+		try {
+			if (!fStarted) {
+				fOut.write('<');
+				fOut.write(IApiXmlConstants.DELTAS_ELEMENT_NAME);
+				fOut.write('>');
+				fStarted = true;
+			}
+			writeElement(element, 1);
+		} catch (IOException e) {
+			fError = e;
+		}
+	}
+
+	/**
+	 * Writes the given element on a new line indented by the given number of
+	 * levels, the way the document is serialized
+	 */
+	private void writeElement(Element element, int level) throws IOException {
+		fOut.write(System.lineSeparator());
+		for (int i = 0; i < level; i++) {
+			fOut.write(INDENT);
+		}
+		fOut.write('<');
+		fOut.write(element.getTagName());
+		NamedNodeMap attributes = element.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			Node attribute = attributes.item(i);
+			fOut.write(' ');
+			fOut.write(attribute.getNodeName());
+			fOut.write("=\""); //$NON-NLS-1$
+			Util.writeXmlAttributeValue(fOut, attribute.getNodeValue());
+			fOut.write('"');
+		}
+		boolean hasChildren = false;
+		for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (child.getNodeType() == Node.ELEMENT_NODE) {
+				if (!hasChildren) {
+					fOut.write('>');
+					hasChildren = true;
+				}
+				writeElement((Element) child, level + 1);
+			}
+		}
+		if (hasChildren) {
+			fOut.write(System.lineSeparator());
+			for (int i = 0; i < level; i++) {
+				fOut.write(INDENT);
+			}
+			fOut.write("</"); //$NON-NLS-1$
+			fOut.write(element.getTagName());
+			fOut.write('>');
+		} else {
+			fOut.write("/>"); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Ends the XML streamed to the output stream given to the constructor and
+	 * flushes it. Does nothing if a document is built.
+	 *
+	 * @throws CoreException if unable to write to the stream
+	 * @since 1.3.700
+	 */
+	public void endDocument() throws CoreException {
+		if (fOut == null) {
+			return;
+		}
+		try {
+			if (fError != null) {
+				throw fError;
+			}
+			if (fStarted) {
+				fOut.write(System.lineSeparator());
+				fOut.write("</"); //$NON-NLS-1$
+				fOut.write(IApiXmlConstants.DELTAS_ELEMENT_NAME);
+				fOut.write('>');
+			} else {
+				fOut.write('<');
+				fOut.write(IApiXmlConstants.DELTAS_ELEMENT_NAME);
+				fOut.write("/>"); //$NON-NLS-1$
+			}
+			fOut.write(System.lineSeparator());
+			fOut.flush();
+		} catch (IOException e) {
+			throw new CoreException(Status.error("Unable to write XML document.", e)); //$NON-NLS-1$
+		}
 	}
 
 	@Override
@@ -102,6 +265,8 @@ public class DeltaXmlVisitor extends DeltaVisitor {
 	/**
 	 * Return the xml dom document this visitor generates. Use
 	 * {@link Util#serializeDocument(Document)} to get the serialized xml string.
+	 * If the XML is streamed, the document only serves to create the elements
+	 * given to {@link #addElement(Element)}.
 	 *
 	 * @return xml dom document
 	 */
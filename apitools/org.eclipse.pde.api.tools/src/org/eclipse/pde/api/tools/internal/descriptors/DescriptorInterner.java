@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.descriptors;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares equal element descriptors and the names and signatures they are made
+ * of, so that the many descriptors created for the same elements while
+ * scanning, resolving and comparing do not each keep their own copy.
+ * <p>
+ * Instances are only weakly referenced: a descriptor or string no longer used
+ * anywhere else is garbage collected as usual. The table is split into
+ * independently locked stripes so that concurrent builds and searches do not
+ * contend on a single lock.
+ * </p>
+ * <p>
+ * Interning can be turned off with the
+ * <code>org.eclipse.pde.api.tools.noDescriptorInterning</code> system
+ * property, in which case instances are returned as is.
+ * </p>
+ *
+ * @since 1.3.700
+ */
+public final class DescriptorInterner {
+
+	private static final int STRIPES = 32;
+
+	@SuppressWarnings("unchecked")
+	private static final Map<Object, WeakReference<Object>>[] fgStripes = new Map[STRIPES];
+	static {
+		for (int i = 0; i < STRIPES; i++) {
+			fgStripes[i] = new WeakHashMap<>();
+		}
+	}
+
+	private static final LongAdder fgHits = new LongAdder();
+	private static final LongAdder fgMisses = new LongAdder();
+
+	private static volatile boolean fgEnabled = !Boolean.getBoolean("org.eclipse.pde.api.tools.noDescriptorInterning"); //$NON-NLS-1$
+
+	private DescriptorInterner() {
+		// static only
+	}
+
+	/**
+	 * Returns the shared instance equal to the given descriptor, name or
+	 * signature, making the given one the shared instance if there is none yet
+	 *
+	 * @param descriptor a descriptor, name or signature or <code>null</code>,
+	 *            equal instances must be interchangeable
+	 * @return the shared instance
+	 */
+	public static <T> T intern(T descriptor) {
+		if (!fgEnabled || descriptor == null) {
+			return descriptor;
+		}
+		int hash = descriptor.hashCode();
+		Map<Object, WeakReference<Object>> stripe = fgStripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+		synchronized (stripe) {
+			WeakReference<Object> reference = stripe.get(descriptor);
+			if (reference != null) {
+				@SuppressWarnings("unchecked")
+				T shared = (T) reference.get();
+				if (shared != null) {
+					fgHits.increment();
+					return shared;
+				}
+			}
+			stripe.put(descriptor, new WeakReference<>(descriptor));
+		}
+		fgMisses.increment();
+		return descriptor;
+	}
+
+	/**
+	 * Turns interning on or off. Instances shared so far stay shared.
+	 *
+	 * @param enabled whether to intern instances
+	 */
+	public static void setEnabled(boolean enabled) {
+		fgEnabled = enabled;
+	}
+
+	/**
+	 * @return whether instances are interned
+	 */
+	public static boolean isEnabled() {
+		return fgEnabled;
+	}
+
+	/**
+	 * @return the number of instances replaced by a shared instance
+	 */
+	public static long getHits() {
+		return fgHits.sum();
+	}
+
+	/**
+	 * @return the number of instances that became the shared instance
+	 */
+	public static long getMisses() {
+		return fgMisses.sum();
+	}
+
+	/**
+	 * @return the number of shared instances that have not been garbage
+	 *         collected yet
+	 */
+	public static int getLiveCount() {
+		int count = 0;
+		for (Map<Object, WeakReference<Object>> stripe : fgStripes) {
+			synchronized (stripe) {
+				count += stripe.size();
+			}
+		}
+		return count;
+	}
+}
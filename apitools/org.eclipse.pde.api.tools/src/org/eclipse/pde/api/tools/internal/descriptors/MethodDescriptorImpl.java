@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,7 +39,7 @@ public class MethodDescriptorImpl extends MemberDescriptorImpl implements IMetho
 	 */
 	MethodDescriptorImpl(String name, IReferenceTypeDescriptor enclosingType, String signature) {
 		super(name, enclosingType);
-		fSignature = signature;
+		fSignature = DescriptorInterner.intern(signature);
 	}
 
 	@Override
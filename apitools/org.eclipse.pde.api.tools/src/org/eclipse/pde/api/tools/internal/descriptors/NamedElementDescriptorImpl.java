@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2009 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,7 +34,7 @@ public abstract class NamedElementDescriptorImpl extends ElementDescriptorImpl {
 	 * @param name element name
 	 */
 	NamedElementDescriptorImpl(String name) {
-		fName = name;
+		fName = DescriptorInterner.intern(name);
 	}
 
 	/**
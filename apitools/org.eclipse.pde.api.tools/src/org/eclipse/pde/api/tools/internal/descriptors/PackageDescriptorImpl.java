@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -61,6 +61,11 @@ public class PackageDescriptorImpl extends NamedElementDescriptorImpl implements
 	public IReferenceTypeDescriptor getType(String typeQualifiedName, String signature) {
 		String[] names = typeQualifiedName.split("\\$"); //$NON-NLS-1$
 		IReferenceTypeDescriptor typeDescriptor = new ReferenceTypeDescriptorImpl(names[0], this, signature);
+		if (signature == null) {
+			// equal to the same type with a generic signature, but not
+			// interchangeable with it
+			typeDescriptor = DescriptorInterner.intern(typeDescriptor);
+		}
 		for (int i = 1; i < names.length; i++) {
 			typeDescriptor = typeDescriptor.getType(names[i]);
 		}
@@ -70,7 +75,7 @@ public class PackageDescriptorImpl extends NamedElementDescriptorImpl implements
 	@Override
 	public IReferenceTypeDescriptor getType(String typeQualifiedName) {
 		String[] names = typeQualifiedName.split("\\$"); //$NON-NLS-1$
-		IReferenceTypeDescriptor typeDescriptor = new ReferenceTypeDescriptorImpl(names[0], this);
+		IReferenceTypeDescriptor typeDescriptor = DescriptorInterner.intern(new ReferenceTypeDescriptorImpl(names[0], this));
 		for (int i = 1; i < names.length; i++) {
 			typeDescriptor = typeDescriptor.getType(names[i]);
 		}
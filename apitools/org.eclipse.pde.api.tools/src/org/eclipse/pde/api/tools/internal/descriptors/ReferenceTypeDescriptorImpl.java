@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -69,17 +69,26 @@ public class ReferenceTypeDescriptorImpl extends MemberDescriptorImpl implements
 
 	@Override
 	public IFieldDescriptor getField(String name) {
-		return new FieldDescriptorImpl(name, this);
+		return intern(new FieldDescriptorImpl(name, this));
 	}
 
 	@Override
 	public IMethodDescriptor getMethod(String name, String signature) {
-		return new MethodDescriptorImpl(name, this, signature);
+		return intern(new MethodDescriptorImpl(name, this, signature));
 	}
 
 	@Override
 	public IReferenceTypeDescriptor getType(String simpleName) {
-		return new ReferenceTypeDescriptorImpl(simpleName, this);
+		return intern(new ReferenceTypeDescriptorImpl(simpleName, this));
+	}
+
+	/**
+	 * Interns the given member of this type, unless this type has a generic
+	 * signature: the member is then equal to the same member of the type
+	 * without one, but its enclosing type is not interchangeable with it.
+	 */
+	private <T> T intern(T member) {
+		return fGenericSignature == null ? DescriptorInterner.intern(member) : member;
 	}
 
 	@Override
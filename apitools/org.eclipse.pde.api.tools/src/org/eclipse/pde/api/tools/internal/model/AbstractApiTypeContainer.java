@@ -168,6 +168,15 @@ public abstract class AbstractApiTypeContainer extends ApiElement implements IAp
 		return names.toArray(String[]::new);
 	}
 
+	/**
+	 * Returns whether this container has created its {@link IApiTypeContainer}s
+	 *
+	 * @return whether the containers have been created
+	 */
+	protected boolean isApiTypeContainersInitialized() {
+		return fApiTypeContainers != null;
+	}
+
 	/**
 	 * Returns the {@link IApiTypeContainer}s in this container. Creates the
 	 * containers if they are not yet created.
@@ -59,7 +59,7 @@ public abstract class AbstractApiTypeRoot extends ApiElement implements IApiType
 			type = (IApiType) cache.getElementInfo(baseline.getName(), comp.getSymbolicName(), this.getTypeName(), IApiElement.TYPE);
 		}
 		if (type == null) {
-			type = TypeStructureBuilder.buildTypeStructure(getContents(), getApiComponent(), this);
+			type = buildStructure();
 			if (type == null) {
 				return null;
 			}
@@ -79,6 +79,18 @@ public abstract class AbstractApiTypeRoot extends ApiElement implements IApiType
 		return fType;
 	}
 
+	/**
+	 * Builds the structure of this type root when it is not in the
+	 * {@link ApiModelCache}. Subclasses may override to read the structure
+	 * from a persistent cache.
+	 *
+	 * @return the structure or <code>null</code> if it could not be built
+	 * @throws CoreException if the contents of the type root cannot be read
+	 */
+	protected IApiType buildStructure() throws CoreException {
+		return TypeStructureBuilder.buildTypeStructure(getContents(), getApiComponent(), this);
+	}
+
 	/**
 	 * @see IApiTypeRoot#getApiComponent()
 	 */
@@ -67,6 +67,7 @@ import org.eclipse.pde.api.tools.internal.ApiBaselineManager;
 import org.eclipse.pde.api.tools.internal.ApiBaselineManager.ApiBaselineManagerRule;
 import org.eclipse.pde.api.tools.internal.CoreMessages;
 import org.eclipse.pde.api.tools.internal.builder.ApiAnalysisBuilder.ApiAnalysisJob;
+import org.eclipse.pde.api.tools.internal.builder.ApiAnalysisScheduler;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
@@ -172,6 +173,14 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 
 	private volatile boolean restored;
 
+	/**
+	 * The number of components of a baseline and how many of them have read
+	 * their manifest and created their type containers, API description and
+	 * filter store
+	 */
+	public record ComponentStatistics(int components, int manifests, int typeContainers, int apiDescriptions, int filterStores) {
+	}
+
 	/**
 	 * Constructs a new API baseline with the given name.
 	 *
@@ -701,6 +710,43 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 		return set;
 	}
 
+	/**
+	 * Returns how many components of this baseline have been materialized so
+	 * far. Components create their type containers, API description and filter
+	 * store on first access, and components restored from a baseline snapshot
+	 * only read their manifest if needed.
+	 *
+	 * @return the component statistics
+	 */
+	public ComponentStatistics getComponentStatistics() {
+		Set<IApiComponent> components = new HashSet<>(fComponentsById.values());
+		for (Set<IApiComponent> all : fAllComponentsById.values()) {
+			components.addAll(all);
+		}
+		components.removeAll(fSystemLibraryComponentList);
+		int manifests = 0;
+		int containers = 0;
+		int descriptions = 0;
+		int stores = 0;
+		for (IApiComponent component : components) {
+			if (component instanceof BundleComponent bundle && bundle.isManifestRead()) {
+				manifests++;
+			}
+			if (component instanceof Component comp) {
+				if (comp.isApiTypeContainersInitialized()) {
+					containers++;
+				}
+				if (comp.isApiDescriptionInitialized()) {
+					descriptions++;
+				}
+				if (comp.hasApiFilterStore()) {
+					stores++;
+				}
+			}
+		}
+		return new ComponentStatistics(components.size(), manifests, containers, descriptions, stores);
+	}
+
 	@Override
 	public String getExecutionEnvironment() {
 		return fExecutionEnvironment;
@@ -755,6 +801,42 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 		}
 	}
 
+	/**
+	 * Restore a baseline from a resolved state (baseline snapshot). The bundle
+	 * descriptions of the given components are looked up in the given state
+	 * and the state is only resolved again if the system library now provides
+	 * other packages than the ones it was resolved against.
+	 *
+	 * @param state          the resolved state
+	 * @param components     the components described in the state
+	 * @param ees            the execution environments required by the
+	 *                       components
+	 * @param systemPackages the system packages the state was resolved against
+	 * @throws CoreException if unable to restore the baseline
+	 * @see BaselineSnapshot
+	 */
+	void restoreFrom(State state, IApiComponent[] components, Set<String> ees, Set<String> systemPackages) throws CoreException {
+		synchronized (this) {
+			if (disposed || restored) {
+				for (IApiComponent component : components) {
+					component.dispose();
+				}
+				return;
+			}
+			fState = state;
+			fSystemPackageNames = null;
+			clearComponentsCache();
+			for (IApiComponent component : components) {
+				addComponent(component);
+			}
+			resolveSystemLibrary(new HashSet<>(ees));
+			if (!systemPackages.equals(BaselineSnapshot.getSystemPackages(state))) {
+				state.resolve(false);
+			}
+			restored = true;
+		}
+	}
+
 
 	/**
 	 * Returns all errors in the state.
@@ -822,6 +904,9 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 		if (disposed) {
 			return;
 		}
+		if (ApiPlugin.DEBUG_BASELINE_MANAGER) {
+			System.out.println("Components of baseline " + getName() + ": " + getComponentStatistics()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
 		IApiComponent[] components;
 		synchronized (this) {
 			components = getAlreadyLoadedApiComponents();
@@ -933,7 +1018,7 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	 */
 	private void rebindVM() {
 		final IVMInstall originalVm = fVMBinding;
-		Job.getJobManager().cancel(ApiAnalysisJob.class);
+		ApiAnalysisScheduler.getDefault().cancelAll();
 		Job job = new Job("Rebinding JVM") { //$NON-NLS-1$
 
 			@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2019 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,15 +13,20 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.model;
 
-import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.jdt.internal.core.util.LRUCache;
-import org.eclipse.pde.api.tools.internal.SynchronizedOverflowingLRUCache;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.pde.api.tools.internal.IApiCoreConstants;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiField;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
+import org.eclipse.pde.api.tools.internal.util.WeightedCache;
 
 /**
  * Manages the caches of {@link IApiElement}s
@@ -31,40 +36,51 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
 public final class ApiModelCache {
 
 	/**
-	 * Cache used for {@link IApiElement}s
+	 * Key of a cached type
 	 */
-	static class Cache<K, V> extends SynchronizedOverflowingLRUCache<K, V> {
+	record TypeKey(String baseline, String component, String typeName) {
 
-		/**
-		 * Constructor
-		 */
-		public Cache(int size, int overflow) {
-			super(size, overflow);
-		}
-
-		@Override
-		protected boolean close(LRUCacheEntry<K, V> entry) {
-			return true;
+		boolean isIn(String baselineid, String componentid) {
+			return baseline.equals(baselineid) && component.equals(componentid);
 		}
+	}
 
-		@Override
-		protected LRUCache<K, V> newInstance(int size, int newOverflow) {
-			return new Cache<>(size, newOverflow);
-		}
+	/**
+	 * The estimated number of bytes used by an empty type, field or method
+	 * structure
+	 */
+	private static final int TYPE_WEIGHT = 240;
+	private static final int FIELD_WEIGHT = 80;
+	private static final int METHOD_WEIGHT = 112;
 
-	}
+	/**
+	 * Part of the maximum heap used for the cache when no budget is set
+	 */
+	private static final int DEFAULT_HEAP_FRACTION = 16;
 
-	static final int DEFAULT_CACHE_SIZE = 1000;
-	static final int DEFAULT_OVERFLOW = (int) (DEFAULT_CACHE_SIZE * 0.1f);
 	static ApiModelCache fInstance = null;
 
-	Cache<String, Cache<String, Cache<String, IApiElement>>> fRootCache;
-	Cache<String, Cache<String, ApiType>> fMemberTypeCache;
+	private final WeightedCache<TypeKey, ApiType> fTypeCache;
+
+	/**
+	 * The names of the baselines with cached types, used to look up the types
+	 * of system components in other baselines
+	 */
+	private final Set<String> fBaselines = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The names of the member types cached for each top-level type, so that
+	 * removing a type does not need to look through the whole cache for its
+	 * member types. Names of member types evicted from the cache are kept
+	 * until their top-level type, component or baseline is removed.
+	 */
+	private final Map<TypeKey, Set<String>> fMemberTypes = new ConcurrentHashMap<>();
 
 	/**
 	 * Constructor - no instantiation
 	 */
 	private ApiModelCache() {
+		fTypeCache = new WeightedCache<>(getBudget(), ApiModelCache::estimateWeight);
 	}
 
 	/**
@@ -80,15 +96,48 @@ public final class ApiModelCache {
 	}
 
 	/**
-	 * Returns the key to use in a cache. The key is of the form:
-	 * <code>[baselineid].[componentid].[typename]</code><br>
+	 * Returns the heap budget of the cache in bytes
 	 *
-	 * @return the member type cache key to use
+	 * @return the budget
 	 */
-	private String getCacheKey(String baseline, String component, String typename) {
-		StringBuilder buffer = new StringBuilder();
-		buffer.append(baseline).append('.').append(component).append('.').append(typename);
-		return buffer.toString();
+	private static long getBudget() {
+		int megabytes = 0;
+		if (ApiPlugin.isRunningInFramework()) {
+			megabytes = Platform.getPreferencesService().getInt(ApiPlugin.PLUGIN_ID, IApiCoreConstants.API_MODEL_CACHE_BUDGET, 0, null);
+		}
+		if (megabytes > 0) {
+			return megabytes * 1024L * 1024L;
+		}
+		return Runtime.getRuntime().maxMemory() / DEFAULT_HEAP_FRACTION;
+	}
+
+	/**
+	 * Returns the estimated number of bytes retained by the given type
+	 * structure
+	 *
+	 * @param type the type
+	 * @return the estimated weight
+	 */
+	static long estimateWeight(ApiType type) {
+		long weight = TYPE_WEIGHT + weight(type.getName()) + weight(type.getSignature()) + weight(type.getGenericSignature()) + weight(type.getSuperclassName());
+		String[] interfaces = type.getSuperInterfaceNames();
+		if (interfaces != null) {
+			for (String name : interfaces) {
+				weight += weight(name);
+			}
+		}
+		for (IApiField field : type.getFields()) {
+			weight += FIELD_WEIGHT + weight(field.getName()) + weight(field.getSignature()) + weight(field.getGenericSignature());
+		}
+		for (IApiMethod method : type.getMethods()) {
+			weight += METHOD_WEIGHT + weight(method.getName()) + weight(method.getSignature()) + weight(method.getGenericSignature());
+		}
+		return weight;
+	}
+
+	private static long weight(String value) {
+		// object header, hash and array plus one byte per latin-1 character
+		return value == null ? 0 : 40 + value.length();
 	}
 
 	/**
@@ -103,9 +152,6 @@ public final class ApiModelCache {
 	public void cacheElementInfo(IApiElement element) throws CoreException {
 		switch (element.getType()) {
 			case IApiElement.TYPE: {
-				if (fRootCache == null) {
-					fRootCache = new Cache<>(DEFAULT_CACHE_SIZE / 150, DEFAULT_OVERFLOW / 150);
-				}
 				IApiComponent comp = element.getApiComponent();
 				if (comp != null) {
 					IApiBaseline baseline = comp.getBaseline();
@@ -113,46 +159,12 @@ public final class ApiModelCache {
 					if (id == null) {
 						return;
 					}
-					Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(baseline.getName());
-					if (compcache == null) {
-						compcache = new Cache<>(DEFAULT_CACHE_SIZE / 2, DEFAULT_OVERFLOW / 2);
-						fRootCache.put(baseline.getName(), compcache);
-					}
-					Cache<String, IApiElement> typecache = compcache.get(id);
-					if (typecache == null) {
-						typecache = new Cache<>(DEFAULT_CACHE_SIZE * 2, DEFAULT_OVERFLOW);
-						compcache.put(comp.getSymbolicName(), typecache);
-					}
-					ApiType type = (ApiType) element;
-					if (type.isMemberType() || isMemberType(type.getName()) /*
-																			 * cache
-																			 * even
-																			 * a
-																			 * root
-																			 * type
-																			 * with
-																			 * a
-																			 * '$'
-																			 * in
-																			 * its
-																			 * name
-																			 * here
-																			 * as
-																			 * well
-																			 */) {
-						if (this.fMemberTypeCache == null) {
-							this.fMemberTypeCache = new Cache<>(DEFAULT_CACHE_SIZE, DEFAULT_OVERFLOW);
-						}
-						String key = getCacheKey(baseline.getName(), id, getRootName(type.getName()));
-						Cache<String, ApiType> mcache = this.fMemberTypeCache.get(key);
-						if (mcache == null) {
-							mcache = new Cache<>(DEFAULT_CACHE_SIZE, DEFAULT_OVERFLOW);
-							this.fMemberTypeCache.put(key, mcache);
-						}
-						mcache.put(type.getName(), type);
-					} else {
-						typecache.put(element.getName(), element);
+					fBaselines.add(baseline.getName());
+					String name = element.getName();
+					if (isMemberType(name)) {
+						fMemberTypes.computeIfAbsent(new TypeKey(baseline.getName(), id, getRootName(name)), key -> ConcurrentHashMap.newKeySet()).add(name);
 					}
+					fTypeCache.put(new TypeKey(baseline.getName(), id, name), (ApiType) element);
 				}
 				break;
 			}
@@ -200,74 +212,45 @@ public final class ApiModelCache {
 	 *         element is cached
 	 */
 	public IApiElement getElementInfo(String baselineid, String componentid, String identifier, int type) {
-		if (baselineid == null || componentid == null) {
+		if (baselineid == null || componentid == null || identifier == null) {
 			return null;
 		}
 		switch (type) {
 			case IApiElement.TYPE: {
-				if (isMemberType(identifier)) {
-					if (this.fMemberTypeCache != null) {
-						Cache<String, ApiType> mcache = this.fMemberTypeCache
-								.get(getCacheKey(baselineid, componentid, getRootName(identifier)));
-						if (mcache != null) {
-							return mcache.get(identifier);
-						}
-					}
-				} else {
-					if (this.fRootCache != null) {
-						Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(baselineid);
-						if (compcache != null) {
-							Cache<String, IApiElement> typecache = compcache.get(componentid);
-							if (typecache != null && identifier != null) {
-								IApiElement ele = typecache.get(identifier);
-								if (ele != null) {
-									return ele;
-								}
-
-							}
-						}
-					}
+				IApiElement element = fTypeCache.get(new TypeKey(baselineid, componentid, identifier));
+				if (element != null) {
+					return element;
 				}
 				break;
 			}
 			default:
 				break;
 			}
-		if (componentid.startsWith("JavaSE-") && this.fRootCache != null) { //$NON-NLS-1$
+		if (componentid.startsWith("JavaSE-")) { //$NON-NLS-1$
 			// for system component, retrieve element from any baseline instead
 			// of recreating the structure and caching the equivalent element info
-			IApiElement element = getElementInfoFromAnyBaseline(baselineid, componentid, identifier);
-			if (element != null) {
-				return element;
-			}
+			return getElementInfoFromAnyBaseline(baselineid, componentid, identifier);
 		}
 		return null;
 	}
 
-	private IApiElement getElementInfoFromAnyBaseline(String baselineid, String componentid, String updatedIdentifier) {
-		List<String> elements = fRootCache.keysSnapshot();
-		for (String otherBaselines : elements) {
-				if (otherBaselines.equals(baselineid)) {
-					continue;
-				}
-				Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(otherBaselines);
-				if (compcache != null) {
-					Cache<String, IApiElement> typecache = compcache.get(componentid);
-					if (typecache != null && updatedIdentifier != null) {
-						IApiElement ele = typecache.get(updatedIdentifier);
-						if (ele != null) {
-							return ele;
-						}
-					}
-				}
+	private IApiElement getElementInfoFromAnyBaseline(String baselineid, String componentid, String identifier) {
+		for (String otherBaseline : fBaselines) {
+			if (otherBaseline.equals(baselineid)) {
+				continue;
 			}
+			IApiElement element = fTypeCache.get(new TypeKey(otherBaseline, componentid, identifier));
+			if (element != null) {
+				return element;
+			}
+		}
 		return null;
 	}
 
-
 	/**
 	 * Removes the {@link IApiElement} from the given component (given its id)
-	 * with the given identifier and of the given type.
+	 * with the given identifier and of the given type. Removing a type also
+	 * removes its member types.
 	 *
 	 * @param componentid the id of the component the element resides in
 	 * @param identifier the id (name) of the element to remove
@@ -282,60 +265,35 @@ public final class ApiModelCache {
 		switch (type) {
 			case IApiElement.TYPE: {
 				if (componentid != null && identifier != null) {
-					boolean removed = true;
-					// clean member type cache
-					if (this.fMemberTypeCache != null) {
-						if (isMemberType(identifier)) {
-							Cache<String, ApiType> mcache = this.fMemberTypeCache.get(getCacheKey(baselineid, componentid, getRootName(identifier)));
-							if (mcache != null) {
-								return mcache.remove(identifier) != null;
-							}
-						} else {
-							this.fMemberTypeCache.remove(getCacheKey(baselineid, componentid, getRootName(identifier)));
+					boolean removed = fTypeCache.remove(new TypeKey(baselineid, componentid, identifier)) != null;
+					if (isMemberType(identifier)) {
+						Set<String> members = fMemberTypes.get(new TypeKey(baselineid, componentid, getRootName(identifier)));
+						if (members != null) {
+							members.remove(identifier);
 						}
-					}
-					if (fRootCache != null) {
-						Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(baselineid);
-						if (compcache != null) {
-							Cache<String, IApiElement> typecache = compcache.get(componentid);
-							if (typecache != null) {
-								removed &= typecache.remove(identifier) != null;
-								if (typecache.isEmpty()) {
-									removed &= compcache.remove(componentid) != null;
-								}
-								if (compcache.isEmpty()) {
-									removed &= fRootCache.remove(baselineid) != null;
-								}
-								return removed;
+					} else {
+						Set<String> members = fMemberTypes.remove(new TypeKey(baselineid, componentid, identifier));
+						if (members != null) {
+							for (String member : members) {
+								fTypeCache.remove(new TypeKey(baselineid, componentid, member));
 							}
-
 						}
-					} else {
-						return false;
 					}
+					return removed;
 				}
 				break;
 			}
 			case IApiElement.COMPONENT: {
-				flushMemberCache();
-				if (fRootCache != null && componentid != null) {
-					Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(baselineid);
-					if (compcache != null) {
-						boolean removed = compcache.remove(componentid) != null;
-						if (compcache.isEmpty()) {
-							removed &= fRootCache.remove(baselineid) != null;
-						}
-						return removed;
-					}
+				if (componentid != null) {
+					fMemberTypes.keySet().removeIf(key -> key.isIn(baselineid, componentid));
+					return fTypeCache.removeIf(key -> key.isIn(baselineid, componentid)) > 0;
 				}
 				break;
 			}
 			case IApiElement.BASELINE: {
-				flushMemberCache();
-				if (fRootCache != null) {
-					return fRootCache.remove(baselineid) != null;
-				}
-				break;
+				fBaselines.remove(baselineid);
+				fMemberTypes.keySet().removeIf(key -> key.baseline().equals(baselineid));
+				return fTypeCache.removeIf(key -> key.baseline().equals(baselineid)) > 0;
 			}
 			default:
 				break;
@@ -356,26 +314,20 @@ public final class ApiModelCache {
 		switch (element.getType()) {
 			case IApiElement.COMPONENT:
 			case IApiElement.TYPE: {
-				if (fRootCache != null) {
-					IApiComponent comp = element.getApiComponent();
-					if (comp != null) {
-						try {
-							IApiBaseline baseline = comp.getBaseline();
-							return removeElementInfo(baseline.getName(), comp.getSymbolicName(), element.getName(), element.getType());
-						} catch (CoreException ce) {
-							ApiPlugin.log("Failed to remove element info for " + comp.getName(), ce); //$NON-NLS-1$
-						}
+				IApiComponent comp = element.getApiComponent();
+				if (comp != null) {
+					try {
+						IApiBaseline baseline = comp.getBaseline();
+						return removeElementInfo(baseline.getName(), comp.getSymbolicName(), element.getName(), element.getType());
+					} catch (CoreException ce) {
+						ApiPlugin.log("Failed to remove element info for " + comp.getName(), ce); //$NON-NLS-1$
 					}
 				}
 				break;
 			}
 			case IApiElement.BASELINE: {
-				flushMemberCache();
-				if (fRootCache != null) {
-					IApiBaseline baseline = (IApiBaseline) element;
-					return fRootCache.remove(baseline.getName()) != null;
-				}
-				break;
+				IApiBaseline baseline = (IApiBaseline) element;
+				return removeElementInfo(baseline.getName(), null, null, IApiElement.BASELINE);
 			}
 			default:
 				break;
@@ -387,34 +339,28 @@ public final class ApiModelCache {
 	 * Clears out all cached information.
 	 */
 	public void flushCaches() {
-		if (fRootCache != null) {
-			fRootCache.flush();
-		}
-		flushMemberCache();
+		fTypeCache.clear();
+		fBaselines.clear();
+		fMemberTypes.clear();
 	}
 
 	/**
-	 * Flushes the cache of member types
+	 * Returns if the cache has any elements in it or not
+	 *
+	 * @return true if the cache has no entries, false otherwise
 	 */
-	private void flushMemberCache() {
-		if (this.fMemberTypeCache != null) {
-			this.fMemberTypeCache.flush();
-		}
+	public boolean isEmpty() {
+		return fTypeCache.isEmpty();
 	}
 
 	/**
-	 * Returns if the cache has any elements in it or not
+	 * Returns the hit, miss and eviction counts and the current size and
+	 * estimated weight of the cache
 	 *
-	 * @return true if the cache has no entries, false otherwise
+	 * @return a snapshot of the cache statistics
+	 * @since 1.3.700
 	 */
-	public boolean isEmpty() {
-		boolean empty = true;
-		if (fRootCache != null) {
-			empty &= fRootCache.isEmpty();
-		}
-		if (this.fMemberTypeCache != null) {
-			empty &= this.fMemberTypeCache.isEmpty();
-		}
-		return empty;
+	public WeightedCache.Statistics getStatistics() {
+		return fTypeCache.getStatistics();
 	}
 }
@@ -78,6 +78,18 @@ public class ApiModelFactory {
 		return fNextId++;
 	}
 
+	/**
+	 * Makes sure the given bundle id, taken from a restored state, is not
+	 * handed out again
+	 *
+	 * @param id the bundle id in use
+	 */
+	static void reserveBundleID(long id) {
+		if (fNextId <= id) {
+			fNextId = id + 1;
+		}
+	}
+
 	/**
 	 * Creates and returns a new API component for this baseline at the
 	 * specified location or <code>null</code> if the location specified does
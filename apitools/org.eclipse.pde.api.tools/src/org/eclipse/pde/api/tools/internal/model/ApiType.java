@@ -426,6 +426,61 @@ public class ApiType extends ApiMember implements IApiType {
 		}
 	}
 
+	/**
+	 * Used when storing a type structure.
+	 *
+	 * @return the enclosing method name as set while building the structure,
+	 *         the empty string if there is no enclosing method or
+	 *         <code>null</code> if it was never set
+	 */
+	String getEnclosingMethodName() {
+		return fEnclosingMethodName;
+	}
+
+	/**
+	 * Used when storing a type structure.
+	 *
+	 * @return the enclosing method signature as set while building the
+	 *         structure, the empty string if there is no enclosing method or
+	 *         <code>null</code> if it was never set
+	 */
+	String getEnclosingMethodSignature() {
+		return fEnclosingMethodSignature;
+	}
+
+	/**
+	 * Used when storing a type structure.
+	 *
+	 * @return the name of the enclosing type as read from the class file or
+	 *         <code>null</code>
+	 */
+	String getEnclosingTypeName() {
+		return fEnclosingTypeName;
+	}
+
+	/**
+	 * Used when storing a type structure.
+	 *
+	 * @return the simple name as set while building the structure or
+	 *         <code>null</code>
+	 */
+	String getRawSimpleName() {
+		return fSimpleName;
+	}
+
+	/**
+	 * Used when storing a type structure.
+	 *
+	 * @return the simple names of the member types or <code>null</code> if
+	 *         there are none
+	 */
+	String[] getMemberTypeNames() {
+		if (fMemberTypes == null) {
+			return null;
+		}
+		return fMemberTypes.keySet().toArray(new String[fMemberTypes.size()]);
+	}
+
 	@Override
 	public IApiMethod getEnclosingMethod() {
 		if (fEnclosingMethod == null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,10 +22,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.util.Signatures;
@@ -46,6 +49,12 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 		private final String fTypeName;
 		private byte[] fContents = null;
 
+		/**
+		 * Index of the class file in the mapped archive or <code>-1</code> if
+		 * the archive is not mapped
+		 */
+		private final int fIndex;
+
 		/**
 		 * Constructs a new handle to an {@link IApiTypeRoot} in the archive.
 		 *
@@ -53,8 +62,21 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 		 * @param entryName zip entry name
 		 */
 		public ArchiveApiTypeRoot(ArchiveApiTypeContainer container, String typeName, String entryName) {
+			this(container, typeName, entryName, -1);
+		}
+
+		/**
+		 * Constructs a new handle to an {@link IApiTypeRoot} in a mapped
+		 * archive.
+		 *
+		 * @param container archive
+		 * @param entryName zip entry name
+		 * @param index index of the class file in the mapped archive
+		 */
+		ArchiveApiTypeRoot(ArchiveApiTypeContainer container, String typeName, String entryName, int index) {
 			super(container, entryName);
 			this.fTypeName = typeName;
+			this.fIndex = index;
 		}
 
 		@Override
@@ -86,6 +108,14 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 				return fContents;
 			}
 			ArchiveApiTypeContainer archive = (ArchiveApiTypeContainer) getParent();
+			if (fIndex >= 0) {
+				// read again from the mapping rather than keeping a copy
+				try {
+					return archive.fArchive.read(fIndex);
+				} catch (IOException e) {
+					abort("Failed to open class file: " + getTypeName() + " in archive: " + archive.fLocation, e); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
 			try {
 				Path location = archive.getLocation();
 				Path classLocation = location.resolve(getName());
@@ -96,17 +126,73 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 			return fContents;
 		}
 
+		@Override
+		protected IApiType buildStructure() throws CoreException {
+			ArchiveApiTypeContainer archive = (ArchiveApiTypeContainer) getParent();
+			TypeStructureCache cache = TypeStructureCache.getCache();
+			if (!cache.isEnabled() || archive.isJrt()) {
+				return super.buildStructure();
+			}
+			long crc = getCRC();
+			IApiType type = cache.getStructure(archive.fLocation, getTypeName(), crc, getApiComponent(), this);
+			if (type == null) {
+				type = super.buildStructure();
+				if (type instanceof ApiType apiType) {
+					cache.putStructure(archive.fLocation, apiType, crc);
+				}
+			}
+			return type;
+		}
+
+		/**
+		 * Returns the CRC of the class file, read from the archive directory
+		 * when possible to avoid reading the class file itself
+		 *
+		 * @return the CRC of the class file
+		 * @throws CoreException if the class file cannot be read
+		 */
+		private long getCRC() throws CoreException {
+			ArchiveApiTypeContainer archive = (ArchiveApiTypeContainer) getParent();
+			if (fIndex >= 0) {
+				return archive.fArchive.getCRC(fIndex);
+			}
+			try {
+				Object crc = Files.getAttribute(archive.getLocation().resolve(getName()), "zip:crc"); //$NON-NLS-1$
+				if (crc instanceof Long value) {
+					return value.longValue();
+				}
+			} catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+				// compute it from the contents
+			}
+			CRC32 crc = new CRC32();
+			crc.update(getContents());
+			return crc.getValue();
+		}
+
 		@Override
 		public String toString() {
 			return getTypeName();
 		}
 	}
 
+	/**
+	 * In case archives should be read through a memory mapped index of their
+	 * central directory instead of the zip file system, specify VM property:
+	 * {@code -Dorg.eclipse.pde.api.tools.mappedArchives=true}
+	 */
+	private static final boolean MAPPED_ARCHIVES = Boolean.getBoolean("org.eclipse.pde.api.tools.mappedArchives"); //$NON-NLS-1$
+
 	/**
 	 * Location of the archive in the local file system.
 	 */
 	String fLocation;
 
+	/**
+	 * The mapped archive or <code>null</code> if the archive is read through
+	 * the zip file system
+	 */
+	MappedArchive fArchive;
+
 	/**
 	 * Cache of package names to a map of class names to class files paths in that
 	 * package, or <code>null</code> if not yet initialized.
@@ -138,7 +224,7 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	@SuppressWarnings("restriction")
 	private Path getLocation() throws IOException {
 		Path path = Path.of(fLocation);
-		if (fLocation.endsWith(org.eclipse.jdt.internal.compiler.util.JRTUtil.JRT_FS_JAR)) {
+		if (isJrt()) {
 			Path jreRoot = path.getParent().getParent();
 			FileSystem jrtFileSystem = org.eclipse.jdt.internal.compiler.util.JRTUtil.getJrtFileSystem(jreRoot);
 			return jrtFileSystem.getPath("modules"); //$NON-NLS-1$
@@ -147,6 +233,15 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 		}
 	}
 
+	/**
+	 * @return <code>true</code> if this container is the module image of a
+	 *         JRE, <code>false</code> otherwise
+	 */
+	@SuppressWarnings("restriction")
+	private boolean isJrt() {
+		return fLocation.endsWith(org.eclipse.jdt.internal.compiler.util.JRTUtil.JRT_FS_JAR);
+	}
+
 	/**
 	 * @see AbstractApiTypeContainer#accept(ApiTypeContainerVisitor)
 	 */
@@ -154,6 +249,11 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	public void accept(ApiTypeContainerVisitor visitor) throws CoreException {
 		if (visitor.visit(this)) {
 			init();
+			if (fArchive != null) {
+				acceptMapped(visitor);
+				visitor.end(this);
+				return;
+			}
 			for (Map.Entry<String, Map<String, String>> entry : fPackages.entrySet()) {
 				String pkg = entry.getKey();
 				if (visitor.visitPackage(pkg)) {
@@ -173,6 +273,29 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 		visitor.end(this);
 	}
 
+	/**
+	 * Visits the packages and types of the mapped archive
+	 */
+	private void acceptMapped(ApiTypeContainerVisitor visitor) {
+		String[] packageNames = fArchive.getPackageNames();
+		for (int i = 0; i < packageNames.length; i++) {
+			String pkg = packageNames[i];
+			if (visitor.visitPackage(pkg)) {
+				for (int index = fArchive.getPackageStart(i); index < fArchive.getPackageStart(i + 1); index++) {
+					ArchiveApiTypeRoot classfile = newMappedTypeRoot(index);
+					visitor.visit(pkg, classfile);
+					visitor.end(pkg, classfile);
+				}
+				visitor.endVisitPackage(pkg);
+			}
+		}
+	}
+
+	private ArchiveApiTypeRoot newMappedTypeRoot(int index) {
+		String typeName = fArchive.getTypeName(index);
+		return new ArchiveApiTypeRoot(this, typeName, typeName.replace('.', '/') + Util.DOT_CLASS_SUFFIX, index);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder buff = new StringBuilder();
@@ -194,6 +317,10 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	@Override
 	public IApiTypeRoot findTypeRoot(String qualifiedName) throws CoreException {
 		init();
+		if (fArchive != null) {
+			int index = fArchive.indexOf(qualifiedName);
+			return index < 0 ? null : newMappedTypeRoot(index);
+		}
 		String packageName = Signatures.getPackageName(qualifiedName);
 		Map<String, String> classFileNames = fPackages.get(packageName);
 		if (classFileNames != null) {
@@ -211,6 +338,9 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	@Override
 	public String[] getPackageNames() throws CoreException {
 		init();
+		if (fArchive != null) {
+			return fArchive.getPackageNames();
+		}
 		synchronized (this) {
 			if (fPackageNames == null) {
 				fPackageNames = fPackages.keySet().toArray(String[]::new);
@@ -223,7 +353,14 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	 * Initializes cache of packages and types.
 	 */
 	private synchronized void init() throws CoreException {
-		if (fPackages == null) {
+		if (fArchive == null && fPackages == null && MAPPED_ARCHIVES && !isJrt()) {
+			try {
+				fArchive = MappedArchive.open(Path.of(fLocation));
+			} catch (IOException | RuntimeException e) {
+				ApiPlugin.log("Failed to map archive: " + fLocation, e); //$NON-NLS-1$
+			}
+		}
+		if (fArchive == null && fPackages == null) {
 			fPackages = new TreeMap<>();
 			try {
 				Path location = getLocation();
@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Hashtable;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.osgi.service.resolver.ExportPackageDescription;
+import org.eclipse.osgi.service.resolver.PlatformAdmin;
+import org.eclipse.osgi.service.resolver.State;
+import org.eclipse.osgi.service.resolver.StateObjectFactory;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.util.Util;
+import org.osgi.framework.Constants;
+
+/**
+ * Binary snapshot of a resolved {@link ApiBaseline}. It holds the OSGi state
+ * of the baseline after resolution, the locations of its components with the
+ * stamps of their files, the execution environments they require and the
+ * packages of the system library the state was resolved against.
+ * <p>
+ * Restoring a baseline from a snapshot re-creates its components on top of the
+ * saved state without adding their bundle descriptions and resolving the state
+ * again. The manifest headers each component keeps are recorded too, so the
+ * restored components do not open their bundles until their type containers,
+ * API description or filter store are needed. A snapshot is only used when
+ * none of the component files changed since it was written, otherwise the
+ * baseline is restored from its <code>.profile</code> description.
+ * </p>
+ *
+ * @since 1.3.700
+ */
+public final class BaselineSnapshot {
+
+	/**
+	 * The file extension of baseline snapshots
+	 */
+	public static final String SNAPSHOT_FILE_EXTENSION = ".snapshot"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x41504253;
+	private static final int VERSION = 2;
+	private static final String MANIFEST_PATH = "META-INF/MANIFEST.MF"; //$NON-NLS-1$
+
+	/**
+	 * A component of the snapshot
+	 *
+	 * @param location the location of the component
+	 * @param id the bundle id of the component in the saved state
+	 * @param modified the modification stamp of the component file
+	 * @param size the size of the component file
+	 * @param manifest the manifest headers the component keeps and its
+	 *            symbolic name
+	 * @param ees the execution environments declared by the component
+	 * @param source whether the component is a source bundle
+	 */
+	record Component(String location, long id, long modified, long size, Map<String, String> manifest, List<String> ees, boolean source) {
+	}
+
+	private final String fLocation;
+	private final List<Component> fComponents;
+	private final Set<String> fExecutionEnvironments;
+	private final Set<String> fSystemPackages;
+	private final State fState;
+
+	private BaselineSnapshot(String location, List<Component> components, Set<String> ees, Set<String> systemPackages, State state) {
+		fLocation = location;
+		fComponents = components;
+		fExecutionEnvironments = ees;
+		fSystemPackages = systemPackages;
+		fState = state;
+	}
+
+	/**
+	 * Returns whether a snapshot can be written for the given baseline. Only
+	 * baselines made of binary bundles can be restored from a snapshot.
+	 *
+	 * @param baseline the baseline
+	 * @return <code>true</code> if a snapshot can be written
+	 */
+	public static boolean isSupported(ApiBaseline baseline) {
+		if (baseline instanceof WorkspaceBaseline) {
+			return false;
+		}
+		for (IApiComponent component : getComponents(baseline)) {
+			if (component.getClass() != BundleComponent.class) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the components of the baseline including all versions, without
+	 *         the system library
+	 */
+	private static Collection<IApiComponent> getComponents(ApiBaseline baseline) {
+		Set<IApiComponent> components = new LinkedHashSet<>();
+		for (IApiComponent component : baseline.getApiComponents()) {
+			if (component.isSystemComponent()) {
+				continue;
+			}
+			Set<IApiComponent> all = baseline.getAllApiComponents(component.getSymbolicName());
+			if (all.isEmpty()) {
+				components.add(component);
+			} else {
+				components.addAll(all);
+			}
+		}
+		return components;
+	}
+
+	/**
+	 * Returns the stamp of the file backing the given component location.
+	 * Directory bundles are stamped with their manifest, the only file the
+	 * resolved state depends on.
+	 *
+	 * @param location the component location
+	 * @return the modification stamp and size or <code>null</code> if the
+	 *         location does not exist
+	 */
+	static long[] getStamp(String location) {
+		File file = new File(location);
+		if (file.isDirectory()) {
+			file = new File(file, MANIFEST_PATH);
+		}
+		if (!file.isFile()) {
+			return null;
+		}
+		return new long[] { file.lastModified(), file.length() };
+	}
+
+	/**
+	 * Writes a snapshot of the given resolved baseline. The snapshot is
+	 * written to a temporary file that replaces the given file once complete.
+	 *
+	 * @param baseline the baseline
+	 * @param file the snapshot file
+	 * @throws CoreException if the components of the baseline cannot be read
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	@SuppressWarnings("deprecation")
+	public static void write(ApiBaseline baseline, Path file) throws CoreException, IOException {
+		Collection<IApiComponent> components = getComponents(baseline);
+		Set<String> ees = new TreeSet<>();
+		List<Component> entries = new ArrayList<>(components.size());
+		for (IApiComponent component : components) {
+			BundleComponent bundle = (BundleComponent) component;
+			long[] stamp = getStamp(bundle.getLocation());
+			if (stamp == null) {
+				throw new IOException("Missing component: " + bundle.getLocation()); //$NON-NLS-1$
+			}
+			Map<String, String> manifest = new TreeMap<>(bundle.getManifest());
+			manifest.put(Constants.BUNDLE_SYMBOLICNAME, bundle.getSymbolicName());
+			entries.add(new Component(bundle.getLocation(), bundle.getBundleDescription().getBundleId(), stamp[0], stamp[1], manifest, bundle.getExecutionEnvironments(), bundle.isSourceComponent()));
+			ees.addAll(bundle.getExecutionEnvironments());
+		}
+		State state = baseline.getState();
+		Set<String> systemPackages = getSystemPackages(state);
+		String location = baseline.getLocation();
+		Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeUTF(location == null ? Util.EMPTY_STRING : location);
+				writeStrings(out, ees);
+				writeStrings(out, systemPackages);
+				out.writeInt(entries.size());
+				for (Component entry : entries) {
+					out.writeUTF(entry.location());
+					out.writeLong(entry.id());
+					out.writeLong(entry.modified());
+					out.writeLong(entry.size());
+					out.writeInt(entry.manifest().size());
+					for (Entry<String, String> header : entry.manifest().entrySet()) {
+						out.writeUTF(header.getKey());
+						out.writeUTF(header.getValue());
+					}
+					writeStrings(out, entry.ees());
+					out.writeBoolean(entry.source());
+				}
+				// the state is written last, the factory closes the stream
+				StateObjectFactory.defaultFactory.writeState(state, out);
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Reads the snapshot in the given file
+	 *
+	 * @param file the snapshot file
+	 * @return the snapshot or <code>null</code> if the file does not hold a
+	 *         snapshot of the current version, a component changed since it
+	 *         was written or no resolver is available
+	 * @throws IOException if the snapshot cannot be read
+	 */
+	@SuppressWarnings("deprecation")
+	public static BaselineSnapshot read(Path file) throws IOException {
+		// a read state comes without resolver, a new one is needed to resolve
+		// the state again when components are added
+		PlatformAdmin admin = ApiPlugin.isRunningInFramework() ? ApiPlugin.getDefault().acquireService(PlatformAdmin.class) : null;
+		if (admin == null) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return null;
+			}
+			String location = in.readUTF();
+			Set<String> ees = new TreeSet<>(readStrings(in));
+			Set<String> systemPackages = new TreeSet<>(readStrings(in));
+			int count = in.readInt();
+			List<Component> components = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				String componentLocation = in.readUTF();
+				long id = in.readLong();
+				long modified = in.readLong();
+				long size = in.readLong();
+				int headers = in.readInt();
+				Map<String, String> manifest = new Hashtable<>(headers, 1);
+				for (int j = 0; j < headers; j++) {
+					manifest.put(in.readUTF(), in.readUTF());
+				}
+				List<String> componentEEs = readStrings(in);
+				boolean source = in.readBoolean();
+				Component component = new Component(componentLocation, id, modified, size, manifest, componentEEs, source);
+				long[] stamp = getStamp(component.location());
+				if (stamp == null || stamp[0] != component.modified() || stamp[1] != component.size()) {
+					return null;
+				}
+				components.add(component);
+			}
+			State state = StateObjectFactory.defaultFactory.readState(in);
+			if (state == null) {
+				return null;
+			}
+			state.setResolver(admin.createResolver());
+			return new BaselineSnapshot(location.isEmpty() ? null : location, components, ees, systemPackages, state);
+		}
+	}
+
+	/**
+	 * Restores the given baseline from this snapshot
+	 *
+	 * @param baseline the baseline to restore
+	 * @throws CoreException if the baseline cannot be restored
+	 */
+	public void restore(ApiBaseline baseline) throws CoreException {
+		if (fLocation != null) {
+			baseline.setLocation(fLocation);
+		}
+		IApiComponent[] components = new IApiComponent[fComponents.size()];
+		for (int i = 0; i < components.length; i++) {
+			Component component = fComponents.get(i);
+			ApiModelFactory.reserveBundleID(component.id());
+			components[i] = new BundleComponent(baseline, component.location(), component.id(), component.manifest(), component.ees(), component.source());
+		}
+		baseline.restoreFrom(fState, components, fExecutionEnvironments, fSystemPackages);
+	}
+
+	/**
+	 * @return the names of the packages provided by the system library of the
+	 *         given state
+	 */
+	static Set<String> getSystemPackages(State state) {
+		Set<String> names = new TreeSet<>();
+		for (ExportPackageDescription description : state.getSystemPackages()) {
+			names.add(description.getName());
+		}
+		return names;
+	}
+
+	private static void writeStrings(DataOutputStream out, Collection<String> strings) throws IOException {
+		out.writeInt(strings.size());
+		for (String string : strings) {
+			out.writeUTF(string);
+		}
+	}
+
+	private static List<String> readStrings(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		List<String> strings = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			strings.add(in.readUTF());
+		}
+		return strings;
+	}
+}
@@ -161,6 +161,18 @@ public class BundleComponent extends Component {
 	 */
 	private volatile List<String> fdeclaredRequiredEE;
 
+	/**
+	 * Cached value for {@link #isSourceComponent()}, only kept for binary
+	 * bundles
+	 */
+	private volatile Boolean fSourceComponent;
+
+	/**
+	 * Whether the manifest has been read from the bundle rather than provided
+	 * on creation
+	 */
+	private volatile boolean fManifestRead;
+
 	/**
 	 * Constructs a new API component from the specified location in the file
 	 * system in the given baseline.
@@ -184,6 +196,30 @@ public class BundleComponent extends Component {
 				&& !new File(location).isFile();
 	}
 
+	/**
+	 * Constructs a new API component from metadata recorded for the bundle at
+	 * the given location, the component is created lazily: its manifest is not
+	 * read and its bundle description is looked up in the state of the baseline
+	 * when first needed.
+	 *
+	 * @param baseline owning API baseline, its state describes the bundle
+	 * @param location directory or jar file
+	 * @param bundleid the id of the bundle in the state of the baseline
+	 * @param manifest the headers of the manifest kept after initialization
+	 *            and the symbolic name of the bundle
+	 * @param ees the execution environments declared by the bundle
+	 * @param source whether the bundle is a source bundle
+	 * @exception CoreException if unable to create a component from the
+	 *                specified location
+	 * @see BaselineSnapshot
+	 */
+	BundleComponent(IApiBaseline baseline, String location, long bundleid, Map<String, String> manifest, List<String> ees, boolean source) throws CoreException {
+		this(baseline, location, bundleid);
+		fManifest = manifest;
+		fdeclaredRequiredEE = ees;
+		fSourceComponent = Boolean.valueOf(source);
+	}
+
 	@Override
 	public void dispose() {
 		if (isDisposed()) {
@@ -216,6 +252,7 @@ public class BundleComponent extends Component {
 		synchronized (this) {
 			if (fManifest == null) {
 				fManifest = manifest;
+				fManifestRead = true;
 			}
 			return fManifest;
 		}
@@ -300,6 +337,14 @@ public class BundleComponent extends Component {
 		synchronized (this) {
 			try {
 				Map<String, String> manifest = getManifest();
+				if (!fManifestRead && manifest != null && lookupBundle(getState(), manifest) == null) {
+					// recorded headers are not enough to describe the bundle
+					manifest = loadManifest(new File(fLocation), isWorkspaceBinary());
+					fManifest = manifest;
+					fManifestRead = true;
+					fdeclaredRequiredEE = null;
+					fSourceComponent = null;
+				}
 				if (manifest == null) {
 					throw new CoreException(
 							Status.error("Unable to find a manifest for the component from: " + fLocation, //$NON-NLS-1$
@@ -308,9 +353,11 @@ public class BundleComponent extends Component {
 				BundleDescription bundleDescription = getBundleDescription(manifest, fLocation, fBundleId);
 				fSymbolicName = bundleDescription.getSymbolicName();
 				fVersion = bundleDescription.getVersion();
-				fdeclaredRequiredEE = MinimalState.hasDeclaredRequiredEE(manifest)
-						? ManifestUtils.getRequiredExecutionEnvironments(bundleDescription).toList()
-						: List.of();
+				if (fdeclaredRequiredEE == null) {
+					fdeclaredRequiredEE = MinimalState.hasDeclaredRequiredEE(manifest)
+							? ManifestUtils.getRequiredExecutionEnvironments(bundleDescription).toList()
+							: List.of();
+				}
 				setName(manifest.get(Constants.BUNDLE_NAME));
 				fBundleDescription = bundleDescription;
 			} catch (BundleException e) {
@@ -957,11 +1004,31 @@ public class BundleComponent extends Component {
 
 	@Override
 	public boolean isSourceComponent() throws CoreException {
+		Boolean source = fSourceComponent;
+		if (source != null) {
+			return source.booleanValue();
+		}
 		Map<String, String> manifest = getManifest();
 		if (manifest == null) {
 			baselineDisposed(getBaseline());
 		}
-		return isSourceComponent(manifest, new File(getLocation()));
+		boolean result = isSourceComponent(manifest, new File(getLocation()));
+		if (isBinary()) {
+			// plugin.xml and fragment.xml of a binary bundle do not change
+			fSourceComponent = Boolean.valueOf(result);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns whether the manifest of this component has been read from the
+	 * bundle. Components restored from a baseline snapshot only read their
+	 * manifest if their bundle description is not in the baseline state.
+	 *
+	 * @return <code>true</code> if the manifest has been read
+	 */
+	public boolean isManifestRead() {
+		return fManifestRead;
 	}
 
 	private static boolean isSourceComponent(Map<String, String> manifest, File location) {
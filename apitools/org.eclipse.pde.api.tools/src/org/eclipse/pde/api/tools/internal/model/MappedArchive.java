@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.model;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.eclipse.pde.api.tools.internal.util.Signatures;
+import org.eclipse.pde.api.tools.internal.util.Util;
+
+/**
+ * Read-only view of the class files of a zip archive that is mapped into
+ * memory. The central directory is read once into a compact index of the
+ * class files sorted by package and type name, and class files are inflated
+ * directly from the mapped file when asked for.
+ * <p>
+ * Archives that need ZIP64 extensions or are larger than 2GB are not
+ * supported, see {@link #open(Path)}.
+ * </p>
+ *
+ * @since 1.3.700
+ */
+public final class MappedArchive {
+
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int CENTRAL_SIGNATURE = 0x02014b50;
+	private static final int LOCAL_SIGNATURE = 0x04034b50;
+	private static final int END_HEADER = 22;
+	private static final int CENTRAL_HEADER = 46;
+	private static final int LOCAL_HEADER = 30;
+	private static final int MAX_COMMENT = 0xFFFF;
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+	private static final int ENCRYPTED = 0x1;
+	private static final int ZIP64_MARKER = 0xFFFFFFFF;
+
+	private final MappedByteBuffer fBuffer;
+
+	/**
+	 * Names of the packages, sorted
+	 */
+	private final String[] fPackageNames;
+
+	/**
+	 * Index of the first class file of each package, followed by the total
+	 * number of class files
+	 */
+	private final int[] fPackageStarts;
+
+	/**
+	 * Qualified names of the types, sorted by package and name
+	 */
+	private final String[] fTypeNames;
+
+	/**
+	 * Offsets of the local headers, compressed sizes, sizes, CRCs and
+	 * compression methods of the class files, in the order of
+	 * {@link #fTypeNames}
+	 */
+	private final int[] fOffsets;
+	private final int[] fCompressedSizes;
+	private final int[] fSizes;
+	private final int[] fCrcs;
+	private final byte[] fMethods;
+
+	private MappedArchive(MappedByteBuffer buffer, List<int[]> entries, List<String> typeNames) {
+		fBuffer = buffer;
+		int count = entries.size();
+		Integer[] order = new Integer[count];
+		String[] packages = new String[count];
+		for (int i = 0; i < count; i++) {
+			order[i] = Integer.valueOf(i);
+			packages[i] = Signatures.getPackageName(typeNames.get(i));
+		}
+		Arrays.sort(order, Comparator.<Integer, String> comparing(i -> packages[i]).thenComparing(i -> typeNames.get(i)));
+		fTypeNames = new String[count];
+		fOffsets = new int[count];
+		fCompressedSizes = new int[count];
+		fSizes = new int[count];
+		fCrcs = new int[count];
+		fMethods = new byte[count];
+		List<String> packageNames = new ArrayList<>();
+		int[] starts = new int[count + 1];
+		for (int i = 0; i < count; i++) {
+			int index = order[i].intValue();
+			int[] entry = entries.get(index);
+			fTypeNames[i] = typeNames.get(index);
+			fOffsets[i] = entry[0];
+			fCompressedSizes[i] = entry[1];
+			fSizes[i] = entry[2];
+			fCrcs[i] = entry[3];
+			fMethods[i] = (byte) entry[4];
+			if (packageNames.isEmpty() || !packageNames.get(packageNames.size() - 1).equals(packages[index])) {
+				starts[packageNames.size()] = i;
+				packageNames.add(packages[index]);
+			}
+		}
+		starts[packageNames.size()] = count;
+		fPackageNames = packageNames.toArray(String[]::new);
+		fPackageStarts = Arrays.copyOf(starts, fPackageNames.length + 1);
+	}
+
+	/**
+	 * Maps the given archive and reads its central directory
+	 *
+	 * @param path the archive
+	 * @return the mapped archive or <code>null</code> if the archive uses
+	 *         features that are not supported
+	 * @throws IOException if the archive cannot be read or is not a valid zip
+	 *             file
+	 */
+	public static MappedArchive open(Path path) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				return null;
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		int end = findEnd(buffer);
+		if (end < 0) {
+			throw new IOException("Not a zip file: " + path); //$NON-NLS-1$
+		}
+		int count = Short.toUnsignedInt(buffer.getShort(end + 10));
+		int offset = buffer.getInt(end + 16);
+		if (count == 0xFFFF || offset == ZIP64_MARKER) {
+			return null;
+		}
+		List<int[]> entries = new ArrayList<>(count);
+		List<String> typeNames = new ArrayList<>(count);
+		int position = offset;
+		for (int i = 0; i < count; i++) {
+			if (position + CENTRAL_HEADER > buffer.limit() || buffer.getInt(position) != CENTRAL_SIGNATURE) {
+				throw new IOException("Invalid central directory in: " + path); //$NON-NLS-1$
+			}
+			int flags = Short.toUnsignedInt(buffer.getShort(position + 8));
+			int method = Short.toUnsignedInt(buffer.getShort(position + 10));
+			int crc = buffer.getInt(position + 16);
+			int compressedSize = buffer.getInt(position + 20);
+			int entrySize = buffer.getInt(position + 24);
+			int nameLength = Short.toUnsignedInt(buffer.getShort(position + 28));
+			int extraLength = Short.toUnsignedInt(buffer.getShort(position + 30));
+			int commentLength = Short.toUnsignedInt(buffer.getShort(position + 32));
+			int localOffset = buffer.getInt(position + 42);
+			if (compressedSize == ZIP64_MARKER || entrySize == ZIP64_MARKER || localOffset == ZIP64_MARKER) {
+				return null;
+			}
+			byte[] name = new byte[nameLength];
+			buffer.get(position + CENTRAL_HEADER, name);
+			String entryName = new String(name, StandardCharsets.UTF_8);
+			if (entryName.endsWith(Util.DOT_CLASS_SUFFIX) && (flags & ENCRYPTED) == 0 && (method == STORED || method == DEFLATED)) {
+				entries.add(new int[] { localOffset, compressedSize, entrySize, crc, method });
+				typeNames.add(entryName.substring(0, entryName.length() - Util.DOT_CLASS_SUFFIX.length()).replace('/', '.'));
+			}
+			position += CENTRAL_HEADER + nameLength + extraLength + commentLength;
+		}
+		return new MappedArchive(buffer, entries, typeNames);
+	}
+
+	/**
+	 * Returns the position of the end of central directory record
+	 *
+	 * @param buffer the mapped archive
+	 * @return the position or <code>-1</code> if there is none
+	 */
+	private static int findEnd(MappedByteBuffer buffer) {
+		int last = buffer.limit() - END_HEADER;
+		int first = Math.max(0, last - MAX_COMMENT);
+		for (int position = last; position >= first; position--) {
+			if (buffer.getInt(position) == END_SIGNATURE) {
+				return position;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the sorted names of the packages containing class files
+	 */
+	public String[] getPackageNames() {
+		return fPackageNames;
+	}
+
+	/**
+	 * Returns the index of the first class file of the given package, the
+	 * class files of the package are stored up to the first index of the next
+	 * package
+	 *
+	 * @param packageIndex the index of the package in
+	 *            {@link #getPackageNames()}
+	 * @return the index of the first class file
+	 */
+	public int getPackageStart(int packageIndex) {
+		return fPackageStarts[packageIndex];
+	}
+
+	/**
+	 * Returns the qualified name of the type stored at the given index
+	 *
+	 * @param index the index of the class file
+	 * @return the qualified type name
+	 */
+	public String getTypeName(int index) {
+		return fTypeNames[index];
+	}
+
+	/**
+	 * Returns the index of the class file of the given type
+	 *
+	 * @param qualifiedName the qualified name of the type
+	 * @return the index or <code>-1</code> if there is no such class file
+	 */
+	public int indexOf(String qualifiedName) {
+		int packageIndex = Arrays.binarySearch(fPackageNames, Signatures.getPackageName(qualifiedName));
+		if (packageIndex < 0) {
+			return -1;
+		}
+		int start = fPackageStarts[packageIndex];
+		int index = Arrays.binarySearch(fTypeNames, start, fPackageStarts[packageIndex + 1], qualifiedName);
+		return index < 0 ? -1 : index;
+	}
+
+	/**
+	 * Returns the CRC of the class file stored at the given index
+	 *
+	 * @param index the index of the class file
+	 * @return the CRC
+	 */
+	public long getCRC(int index) {
+		return Integer.toUnsignedLong(fCrcs[index]);
+	}
+
+	/**
+	 * Reads the class file stored at the given index from the mapped archive
+	 *
+	 * @param index the index of the class file
+	 * @return the contents of the class file
+	 * @throws IOException if the class file cannot be read
+	 */
+	public byte[] read(int index) throws IOException {
+		int offset = fOffsets[index];
+		if (fBuffer.getInt(offset) != LOCAL_SIGNATURE) {
+			throw new IOException("Invalid local header for: " + fTypeNames[index]); //$NON-NLS-1$
+		}
+		int data = offset + LOCAL_HEADER + Short.toUnsignedInt(fBuffer.getShort(offset + 26)) + Short.toUnsignedInt(fBuffer.getShort(offset + 28));
+		byte[] contents = new byte[fSizes[index]];
+		if (fMethods[index] == STORED) {
+			fBuffer.get(data, contents);
+			return contents;
+		}
+		Inflater inflater = new Inflater(true);
+		try {
+			inflater.setInput(fBuffer.slice(data, fCompressedSizes[index]));
+			int read = 0;
+			while (read < contents.length) {
+				int count = inflater.inflate(contents, read, contents.length - read);
+				if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				read += count;
+			}
+			if (read != contents.length) {
+				throw new IOException("Truncated class file: " + fTypeNames[index]); //$NON-NLS-1$
+			}
+		} catch (DataFormatException e) {
+			throw new IOException("Invalid class file: " + fTypeNames[index], e); //$NON-NLS-1$
+		} finally {
+			inflater.end();
+		}
+		return contents;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -62,9 +62,13 @@ public class ResourceApiTypeRoot extends AbstractApiTypeRoot {
 		return getName();
 	}
 
-//	public IFile getFile() {
-//		return fFile;
-//	}
+	/**
+	 * @return the underlying class file
+	 * @since 1.3.700
+	 */
+	public IFile getFile() {
+		return fFile;
+	}
 
 	@Override
 	public String toString() {
@@ -0,0 +1,584 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiField;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+
+/**
+ * Persistent cache of the type structures built from the class files of
+ * archives. Baseline archives do not change between sessions, so the
+ * structures are written to the API tools state location and read back
+ * instead of parsing the class files again.
+ * <p>
+ * There is one cache file per archive. A file is only used while the size
+ * and modification time of its archive are unchanged and each structure is
+ * only used for a class file with the same CRC. Files are loaded on first
+ * access and each structure is decoded when it is first asked for. The
+ * structures of an archive are kept in memory until {@link #save()} is
+ * called, which writes the new structures and drops all of them from memory,
+ * and deletes the files of archives that no longer exist.
+ * </p>
+ *
+ * @since 1.3.700
+ */
+public final class TypeStructureCache {
+
+	/**
+	 * Magic number at the start of each cache file
+	 */
+	private static final int MAGIC = 0x41505453;
+
+	/**
+	 * Version of the cache file format, must be increased whenever the
+	 * encoding of the structures changes
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * Name of the folder in the state location holding the cache files
+	 */
+	private static final String CACHE_FOLDER = "typestructures"; //$NON-NLS-1$
+
+	private static final String CACHE_FILE_EXTENSION = ".bin"; //$NON-NLS-1$
+
+	/**
+	 * Tags used to encode the constant value of a field
+	 */
+	private static final byte VALUE_NONE = 0;
+	private static final byte VALUE_INT = 1;
+	private static final byte VALUE_LONG = 2;
+	private static final byte VALUE_FLOAT = 3;
+	private static final byte VALUE_DOUBLE = 4;
+	private static final byte VALUE_STRING = 5;
+
+	/**
+	 * Flags used to encode the kind of a type
+	 */
+	private static final int FLAG_ANONYMOUS = 0x1;
+	private static final int FLAG_LOCAL = 0x2;
+	private static final int FLAG_MEMBER = 0x4;
+	private static final int FLAG_ENCLOSING_METHOD = 0x8;
+
+	private static TypeStructureCache fInstance = null;
+
+	/**
+	 * The folder holding the cache files or <code>null</code> if the cache is
+	 * disabled
+	 */
+	private final Path fRoot;
+
+	/**
+	 * Map of archive locations to the structures stored for them
+	 */
+	private final Map<String, ArchiveEntries> fArchives = new ConcurrentHashMap<>();
+
+	/**
+	 * Whether the files of archives that no longer exist have been deleted
+	 */
+	private volatile boolean fPruned = false;
+
+	/**
+	 * The encoded structures of one archive
+	 */
+	private final class ArchiveEntries {
+
+		private final String fArchive;
+		private final long fSize;
+		private final long fModified;
+		private Map<String, Entry> fEntries = null;
+		private boolean fDirty = false;
+
+		ArchiveEntries(String archive, long size, long modified) {
+			fArchive = archive;
+			fSize = size;
+			fModified = modified;
+		}
+
+		synchronized Entry get(String typeName) {
+			load();
+			return fEntries.get(typeName);
+		}
+
+		synchronized void put(String typeName, Entry entry) {
+			load();
+			fEntries.put(typeName, entry);
+			fDirty = true;
+		}
+
+		/**
+		 * Reads the cache file of the archive, a file that does not match the
+		 * archive is ignored and overwritten on the next save
+		 */
+		private void load() {
+			if (fEntries != null) {
+				return;
+			}
+			fEntries = new LinkedHashMap<>();
+			Path file = getCacheFile(fArchive);
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+				if (in.readInt() != MAGIC || in.readInt() != VERSION || !fArchive.equals(in.readUTF()) || in.readLong() != fSize || in.readLong() != fModified) {
+					fDirty = true;
+					return;
+				}
+				int count = in.readInt();
+				for (int i = 0; i < count; i++) {
+					String typeName = in.readUTF();
+					long crc = in.readLong();
+					byte[] data = new byte[in.readInt()];
+					in.readFully(data);
+					fEntries.put(typeName, new Entry(crc, data));
+				}
+			} catch (NoSuchFileException e) {
+				// nothing cached yet
+			} catch (IOException e) {
+				// a corrupt file is simply rebuilt
+				fEntries.clear();
+				fDirty = true;
+			}
+		}
+
+		synchronized void save() throws IOException {
+			if (!fDirty || fEntries == null) {
+				return;
+			}
+			Path file = getCacheFile(fArchive);
+			Files.createDirectories(file.getParent());
+			Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), null);
+			try {
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+					out.writeInt(MAGIC);
+					out.writeInt(VERSION);
+					out.writeUTF(fArchive);
+					out.writeLong(fSize);
+					out.writeLong(fModified);
+					out.writeInt(fEntries.size());
+					for (Map.Entry<String, Entry> entry : fEntries.entrySet()) {
+						out.writeUTF(entry.getKey());
+						out.writeLong(entry.getValue().crc());
+						out.writeInt(entry.getValue().data().length);
+						out.write(entry.getValue().data());
+					}
+				}
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+			fDirty = false;
+		}
+	}
+
+	/**
+	 * An encoded type structure and the CRC of the class file it was built
+	 * from
+	 */
+	private record Entry(long crc, byte[] data) {
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param root the folder to store the cache files in or <code>null</code>
+	 *            to disable the cache
+	 */
+	public TypeStructureCache(Path root) {
+		fRoot = root;
+	}
+
+	/**
+	 * Returns the singleton instance of this cache. The cache is only enabled
+	 * when running in the framework.
+	 *
+	 * @return the cache
+	 */
+	public static synchronized TypeStructureCache getCache() {
+		if (fInstance == null) {
+			Path root = null;
+			if (ApiPlugin.isRunningInFramework()) {
+				root = ApiPlugin.getDefault().getStateLocation().append(CACHE_FOLDER).toPath();
+			}
+			fInstance = new TypeStructureCache(root);
+		}
+		return fInstance;
+	}
+
+	/**
+	 * @return <code>true</code> if structures are read from and written to
+	 *         disk, <code>false</code> otherwise
+	 */
+	public boolean isEnabled() {
+		return fRoot != null;
+	}
+
+	/**
+	 * Returns the cached structure of the given type or <code>null</code> if
+	 * there is none for a class file with the given CRC.
+	 *
+	 * @param archive the location of the archive containing the type
+	 * @param typeName the fully qualified name of the type
+	 * @param crc the CRC of the class file of the type
+	 * @param component the component the type belongs to, may be
+	 *            <code>null</code>
+	 * @param root the type root the structure is built for
+	 * @return the cached structure or <code>null</code>
+	 */
+	public ApiType getStructure(String archive, String typeName, long crc, IApiComponent component, IApiTypeRoot root) {
+		ArchiveEntries entries = getEntries(archive);
+		if (entries == null) {
+			return null;
+		}
+		Entry entry = entries.get(typeName);
+		if (entry == null || entry.crc() != crc) {
+			return null;
+		}
+		try {
+			return decode(entry.data(), component, root);
+		} catch (IOException e) {
+			ApiPlugin.log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the given structure for the given archive. The structure is
+	 * written to disk on the next {@link #save()}.
+	 *
+	 * @param archive the location of the archive containing the type
+	 * @param type the structure to store
+	 * @param crc the CRC of the class file the structure was built from
+	 */
+	public void putStructure(String archive, ApiType type, long crc) {
+		ArchiveEntries entries = getEntries(archive);
+		if (entries == null) {
+			return;
+		}
+		byte[] data;
+		try {
+			data = encode(type);
+		} catch (IOException e) {
+			// e.g. a signature too long for the encoding, do not cache it
+			return;
+		}
+		if (data != null) {
+			entries.put(type.getName(), new Entry(crc, data));
+		}
+	}
+
+	/**
+	 * Writes all new structures to disk and drops the structures of all
+	 * archives from memory, they are loaded again when next asked for. The
+	 * first save also deletes the cache files of archives that no longer
+	 * exist.
+	 */
+	public void save() {
+		for (Map.Entry<String, ArchiveEntries> entry : fArchives.entrySet()) {
+			try {
+				entry.getValue().save();
+			} catch (IOException e) {
+				ApiPlugin.log(e);
+			}
+			fArchives.remove(entry.getKey(), entry.getValue());
+		}
+		if (!fPruned && fRoot != null) {
+			fPruned = true;
+			prune();
+		}
+	}
+
+	/**
+	 * Deletes the cache files of archives that no longer exist and the files
+	 * of other versions of the cache
+	 */
+	private void prune() {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(fRoot, '*' + CACHE_FILE_EXTENSION)) {
+			for (Path file : files) {
+				if (!isLive(file)) {
+					Files.deleteIfExists(file);
+				}
+			}
+		} catch (NoSuchFileException e) {
+			// nothing cached yet
+		} catch (IOException | RuntimeException e) {
+			ApiPlugin.log(e);
+		}
+	}
+
+	/**
+	 * @return whether the given cache file is of this version and its archive
+	 *         still exists
+	 */
+	private static boolean isLive(Path file) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			return in.readInt() == MAGIC && in.readInt() == VERSION && Files.exists(Path.of(in.readUTF()));
+		} catch (IOException | RuntimeException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Forgets all structures loaded in memory, structures that have not been
+	 * saved are lost
+	 */
+	public void clear() {
+		fArchives.clear();
+	}
+
+	/**
+	 * Returns the entries for the given archive, replacing the ones that were
+	 * loaded for a previous state of the archive
+	 *
+	 * @param archive the location of the archive
+	 * @return the entries or <code>null</code> if the archive cannot be cached
+	 */
+	private ArchiveEntries getEntries(String archive) {
+		if (fRoot == null) {
+			return null;
+		}
+		long size;
+		long modified;
+		try {
+			Path path = Path.of(archive);
+			size = Files.size(path);
+			modified = Files.getLastModifiedTime(path).toMillis();
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+		return fArchives.compute(archive, (key, entries) -> {
+			if (entries != null && entries.fSize == size && entries.fModified == modified) {
+				return entries;
+			}
+			return new ArchiveEntries(archive, size, modified);
+		});
+	}
+
+	/**
+	 * Returns the cache file for the given archive
+	 *
+	 * @param archive the location of the archive
+	 * @return the cache file
+	 */
+	private Path getCacheFile(String archive) {
+		CRC32 crc = new CRC32();
+		crc.update(archive.getBytes(StandardCharsets.UTF_8));
+		String name = Integer.toHexString(archive.hashCode()) + '_' + Long.toHexString(crc.getValue()) + CACHE_FILE_EXTENSION;
+		return fRoot.resolve(name);
+	}
+
+	/**
+	 * Encodes the given structure
+	 *
+	 * @param type the structure
+	 * @return the encoded structure or <code>null</code> if it cannot be
+	 *         encoded
+	 * @throws IOException if the structure cannot be written
+	 */
+	static byte[] encode(ApiType type) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeUTF(type.getName());
+		out.writeUTF(type.getSignature());
+		writeString(out, type.getGenericSignature());
+		out.writeInt(type.getModifiers());
+		writeString(out, type.getEnclosingTypeName());
+		writeString(out, type.getSuperclassName());
+		writeStrings(out, type.getSuperInterfaceNames());
+		int flags = 0;
+		if (type.isAnonymous()) {
+			flags |= FLAG_ANONYMOUS;
+		}
+		if (type.isLocal()) {
+			flags |= FLAG_LOCAL;
+		}
+		if (type.isMemberType()) {
+			flags |= FLAG_MEMBER;
+		}
+		if (type.getEnclosingMethodName() != null) {
+			flags |= FLAG_ENCLOSING_METHOD;
+		}
+		out.writeByte(flags);
+		writeString(out, type.getRawSimpleName());
+		if ((flags & FLAG_ENCLOSING_METHOD) != 0) {
+			out.writeUTF(type.getEnclosingMethodName());
+			out.writeUTF(type.getEnclosingMethodSignature());
+		}
+		writeStrings(out, type.getMemberTypeNames());
+		IApiField[] fields = type.getFields();
+		out.writeInt(fields.length);
+		for (IApiField field : fields) {
+			out.writeUTF(field.getName());
+			out.writeUTF(field.getSignature());
+			writeString(out, field.getGenericSignature());
+			out.writeInt(field.getModifiers());
+			Object value = field.getConstantValue();
+			if (value == null) {
+				out.writeByte(VALUE_NONE);
+			} else if (value instanceof Integer i) {
+				out.writeByte(VALUE_INT);
+				out.writeInt(i.intValue());
+			} else if (value instanceof Long l) {
+				out.writeByte(VALUE_LONG);
+				out.writeLong(l.longValue());
+			} else if (value instanceof Float f) {
+				out.writeByte(VALUE_FLOAT);
+				out.writeFloat(f.floatValue());
+			} else if (value instanceof Double d) {
+				out.writeByte(VALUE_DOUBLE);
+				out.writeDouble(d.doubleValue());
+			} else if (value instanceof String s) {
+				out.writeByte(VALUE_STRING);
+				out.writeUTF(s);
+			} else {
+				return null;
+			}
+		}
+		IApiMethod[] methods = type.getMethods();
+		out.writeInt(methods.length);
+		for (IApiMethod method : methods) {
+			out.writeUTF(method.getName());
+			out.writeUTF(method.getSignature());
+			writeString(out, method.getGenericSignature());
+			out.writeInt(method.getModifiers());
+			writeStrings(out, method.getExceptionNames());
+			writeString(out, method.getDefaultValue());
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes a structure written by {@link #encode(ApiType)}
+	 *
+	 * @param data the encoded structure
+	 * @param component the component the type belongs to, may be
+	 *            <code>null</code>
+	 * @param root the type root the structure is built for
+	 * @return the structure
+	 * @throws IOException if the structure cannot be read
+	 */
+	static ApiType decode(byte[] data, IApiComponent component, IApiTypeRoot root) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+		String name = in.readUTF();
+		String signature = in.readUTF();
+		String genericSig = readString(in);
+		int modifiers = in.readInt();
+		String enclosingName = readString(in);
+		ApiType type = new ApiType(component, name, signature, genericSig, modifiers, enclosingName, root);
+		type.setSuperclassName(readString(in));
+		type.setSuperInterfaceNames(readStrings(in));
+		int flags = in.readByte();
+		if ((flags & FLAG_ANONYMOUS) != 0) {
+			type.setAnonymous();
+		}
+		if ((flags & FLAG_LOCAL) != 0) {
+			type.setLocal();
+		}
+		if ((flags & FLAG_MEMBER) != 0) {
+			type.setMemberType();
+		}
+		type.setSimpleName(readString(in));
+		if ((flags & FLAG_ENCLOSING_METHOD) != 0) {
+			String methodName = in.readUTF();
+			String methodSignature = in.readUTF();
+			type.setEnclosingMethodInfo(methodName.isEmpty() ? null : methodName, methodSignature.isEmpty() ? null : methodSignature);
+		}
+		String[] memberTypes = readStrings(in);
+		if (memberTypes != null) {
+			for (String memberType : memberTypes) {
+				type.addMemberType(memberType);
+			}
+		}
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			String fieldName = in.readUTF();
+			String fieldSignature = in.readUTF();
+			String fieldGenericSig = readString(in);
+			int fieldModifiers = in.readInt();
+			Object value = switch (in.readByte()) {
+				case VALUE_INT -> Integer.valueOf(in.readInt());
+				case VALUE_LONG -> Long.valueOf(in.readLong());
+				case VALUE_FLOAT -> Float.valueOf(in.readFloat());
+				case VALUE_DOUBLE -> Double.valueOf(in.readDouble());
+				case VALUE_STRING -> in.readUTF();
+				default -> null;
+			};
+			type.addField(fieldName, fieldSignature, fieldGenericSig, fieldModifiers, value);
+		}
+		count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			String methodName = in.readUTF();
+			String methodSignature = in.readUTF();
+			String methodGenericSig = readString(in);
+			int methodModifiers = in.readInt();
+			String[] exceptions = readStrings(in);
+			ApiMethod method = type.addMethod(methodName, methodSignature, methodGenericSig, methodModifiers, exceptions);
+			method.setDefaultValue(readString(in));
+		}
+		return type;
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static void writeStrings(DataOutputStream out, String[] values) throws IOException {
+		if (values == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(values.length);
+		for (String value : values) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String[] readStrings(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		String[] values = new String[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = in.readUTF();
+		}
+		return values;
+	}
+}
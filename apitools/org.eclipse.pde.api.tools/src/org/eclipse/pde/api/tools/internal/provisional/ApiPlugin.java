@@ -46,6 +46,7 @@ import org.eclipse.pde.api.tools.internal.ApiDescriptionManager;
 import org.eclipse.pde.api.tools.internal.JavadocTagManager;
 import org.eclipse.pde.api.tools.internal.SessionManager;
 import org.eclipse.pde.api.tools.internal.WorkspaceDeltaProcessor;
+import org.eclipse.pde.api.tools.internal.model.TypeStructureCache;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblemTypes;
 import org.eclipse.pde.api.tools.internal.util.FileManager;
 import org.eclipse.pde.api.tools.internal.util.Util;
@@ -557,6 +558,7 @@ public class ApiPlugin extends Plugin implements ISaveParticipant, DebugOptionsL
 		for (ISaveParticipant sp : savelisteners) {
 			sp.saving(context);
 		}
+		TypeStructureCache.getCache().save();
 		IEclipsePreferences node = InstanceScope.INSTANCE.getNode(PLUGIN_ID);
 		if (node != null) {
 			try {
@@ -690,6 +692,7 @@ public class ApiPlugin extends Plugin implements ISaveParticipant, DebugOptionsL
 		try {
 			ApiDescriptionManager.shutdown();
 			ApiBaselineManager.getManager().stop();
+			TypeStructureCache.getCache().save();
 			ResourcesPlugin.getWorkspace().removeSaveParticipant(PLUGIN_ID);
 			FileManager.getManager().deleteFiles();
 			fBundleContext = null;
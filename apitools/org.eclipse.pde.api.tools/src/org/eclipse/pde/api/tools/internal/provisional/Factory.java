@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.pde.api.tools.internal.builder.TypeScope;
 import org.eclipse.pde.api.tools.internal.descriptors.ComponentDescriptorImpl;
+import org.eclipse.pde.api.tools.internal.descriptors.DescriptorInterner;
 import org.eclipse.pde.api.tools.internal.descriptors.PackageDescriptorImpl;
 import org.eclipse.pde.api.tools.internal.model.CompositeApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IComponentDescriptor;
@@ -80,7 +81,7 @@ public class Factory {
 	 * @return an {@link IPackageDescriptor} for the package
 	 */
 	public static IPackageDescriptor packageDescriptor(String packageName) {
-		return new PackageDescriptorImpl(packageName);
+		return DescriptorInterner.intern(new PackageDescriptorImpl(packageName));
 	}
 
 	/**
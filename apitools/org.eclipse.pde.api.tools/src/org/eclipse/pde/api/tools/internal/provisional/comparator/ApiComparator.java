@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,13 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.provisional.comparator;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -38,6 +43,7 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.util.Util;
+import org.eclipse.pde.api.tools.internal.util.WorkerPool;
 import org.osgi.framework.Version;
 
 /**
@@ -99,6 +105,48 @@ public class ApiComparator {
 	 * @throws IllegalArgumentException if one of the two baselines is null
 	 */
 	public static IDelta compare(final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final IProgressMonitor monitor) {
+		return compare(referenceBaseline, baseline, visibilityModifiers, force, 1, monitor);
+	}
+
+	/**
+	 * Returns a delta that corresponds to the difference between the given
+	 * baseline and the reference. The API components of the baselines are
+	 * compared using up to <code>parallelism</code> workers, the resulting
+	 * delta is the same as if they were compared one after another.
+	 *
+	 * @param referenceBaseline the given API baseline which is used as the
+	 *            reference
+	 * @param baseline the given API baseline to compare with
+	 * @param visibilityModifiers the given visibility that triggers what
+	 *            visibility should be used for the comparison
+	 * @param force a flag to force the comparison of nested API components with
+	 *            the same versions
+	 * @param parallelism the maximum number of API components compared at the
+	 *            same time
+	 * @param monitor
+	 *
+	 * @return a delta, an empty delta if no difference is found or null if the
+	 *         delta detection failed
+	 * @throws IllegalArgumentException if one of the two baselines is null
+	 * @since 1.3.700
+	 */
+	public static IDelta compare(final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final int parallelism, final IProgressMonitor monitor) {
+		final Delta globalDelta = new Delta();
+		compare(referenceBaseline, baseline, visibilityModifiers, force, parallelism, globalDelta::add, monitor);
+		return globalDelta.isEmpty() ? NO_DELTA : globalDelta;
+	}
+
+	/**
+	 * Compares the given baselines like
+	 * {@link #compare(IApiBaseline, IApiBaseline, int, boolean, int, IProgressMonitor)}
+	 * but hands the delta of each API component to the given consumer, in
+	 * component order, as soon as it is known instead of adding it to a global
+	 * delta.
+	 *
+	 * @param deltas the consumer of the non-empty deltas, called on the
+	 *            calling thread
+	 */
+	static void compare(final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final int parallelism, final Consumer<IDelta> deltas, final IProgressMonitor monitor) {
 		SubMonitor localmonitor = SubMonitor.convert(monitor, 2);
 		if (referenceBaseline == null || baseline == null) {
 			throw new IllegalArgumentException("None of the baselines must be null"); //$NON-NLS-1$
@@ -106,45 +154,55 @@ public class ApiComparator {
 		IApiComponent[] apiComponents = referenceBaseline.getApiComponents();
 		IApiComponent[] apiComponents2 = baseline.getApiComponents();
 		Set<String> apiComponentsIds = new HashSet<>();
-		final Delta globalDelta = new Delta();
-		SubMonitor apiLoopMonitor = localmonitor.split(1).setWorkRemaining(apiComponents.length);
-		for (IApiComponent apiComponentMainLoop : apiComponents) {
-			apiLoopMonitor.split(1);
-			IApiComponent apiComponent = apiComponentMainLoop;
-			if (!apiComponent.isSystemComponent()) {
-				String id = apiComponent.getSymbolicName();
-				IApiComponent apiComponentBaseline = baseline.getApiComponent(id);
-				IDelta delta = null;
-				if (apiComponentBaseline == null) {
-					// report removal of an API component
-					delta = new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.REMOVED, IDelta.API_COMPONENT,
-							null, id, id);
-				} else {
-					apiComponentsIds.add(id);
-					String versionString = apiComponent.getVersion();
-					String versionString2 = apiComponentBaseline.getVersion();
-					IDelta bundleVersionChangesDelta = checkBundleVersionChanges(apiComponentBaseline, id,
-							versionString, versionString2);
-					if (bundleVersionChangesDelta != null) {
-						globalDelta.add(bundleVersionChangesDelta);
-					}
-					if (!versionString.equals(versionString2) || force) {
-						long time = System.currentTimeMillis();
-						try {
-							delta = compare(apiComponent, apiComponentBaseline, referenceBaseline, baseline,
-									visibilityModifiers, localmonitor.split(1));
-						} finally {
-							if (ApiPlugin.DEBUG_API_COMPARATOR) {
-								System.out.println("Time spent for " + id + " " + versionString + " : " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-										+ (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$
+		// the deltas are handed off in component order, compared components
+		// are only submitted a few components ahead so that their deltas do
+		// not all stay in memory, and are handed off right away when compared
+		// on the calling thread
+		final List<Future<IDelta>> pendingDeltas = new ArrayList<>();
+		int accepted = 0;
+		try (WorkerPool pool = parallelism > 1 ? new WorkerPool("API component comparison", parallelism) : null) { //$NON-NLS-1$
+			int window = pool == null ? 0 : parallelism * 2;
+			SubMonitor apiLoopMonitor = localmonitor.split(1).setWorkRemaining(apiComponents.length);
+			for (IApiComponent apiComponentMainLoop : apiComponents) {
+				apiLoopMonitor.split(1);
+				IApiComponent apiComponent = apiComponentMainLoop;
+				if (!apiComponent.isSystemComponent()) {
+					String id = apiComponent.getSymbolicName();
+					IApiComponent apiComponentBaseline = baseline.getApiComponent(id);
+					if (apiComponentBaseline == null) {
+						// report removal of an API component
+						pendingDeltas.add(CompletableFuture.completedFuture(new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.REMOVED, IDelta.API_COMPONENT,
+								null, id, id)));
+					} else {
+						apiComponentsIds.add(id);
+						String versionString = apiComponent.getVersion();
+						String versionString2 = apiComponentBaseline.getVersion();
+						IDelta bundleVersionChangesDelta = checkBundleVersionChanges(apiComponentBaseline, id,
+								versionString, versionString2);
+						if (bundleVersionChangesDelta != null) {
+							pendingDeltas.add(CompletableFuture.completedFuture(bundleVersionChangesDelta));
+						}
+						if (!versionString.equals(versionString2) || force) {
+							if (pool == null) {
+								pendingDeltas.add(CompletableFuture.completedFuture(compareComponents(apiComponent, apiComponentBaseline, referenceBaseline, baseline, visibilityModifiers, localmonitor.split(1))));
+							} else {
+								// the pool is already busy with other
+								// components, compare the class files of each
+								// component one after another
+								pendingDeltas.add(pool.submit(() -> compareComponents(apiComponent, apiComponentBaseline, referenceBaseline, baseline, visibilityModifiers, null)));
 							}
 						}
 					}
 				}
-				if (delta != null && delta != NO_DELTA) {
-					globalDelta.add(delta);
+				while (pendingDeltas.size() - accepted > window) {
+					acceptDelta(pendingDeltas, accepted++, deltas, apiLoopMonitor);
 				}
 			}
+			SubMonitor joinMonitor = apiLoopMonitor.setWorkRemaining(pendingDeltas.size() - accepted);
+			while (accepted < pendingDeltas.size()) {
+				joinMonitor.split(1);
+				acceptDelta(pendingDeltas, accepted++, deltas, joinMonitor);
+			}
 		}
 		SubMonitor elementLoopMonitor = localmonitor.split(1).setWorkRemaining(apiComponents2.length);
 		for (IApiComponent element : apiComponents2) {
@@ -154,12 +212,48 @@ public class ApiComparator {
 				String id = apiComponent.getSymbolicName();
 				if (!apiComponentsIds.contains(id)) {
 					// addition of an API component
-					globalDelta.add(new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.ADDED,
+					deltas.accept(new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.ADDED,
 							IDelta.API_COMPONENT, null, id, id));
 				}
 			}
 		}
-		return globalDelta.isEmpty() ? NO_DELTA : globalDelta;
+	}
+
+	/**
+	 * Waits for the delta at the given index and hands it to the given
+	 * consumer unless it is empty, releasing it from the pending deltas
+	 */
+	private static void acceptDelta(List<Future<IDelta>> pendingDeltas, int index, Consumer<IDelta> deltas, IProgressMonitor monitor) {
+		try {
+			IDelta delta = WorkerPool.join(pendingDeltas.get(index), monitor);
+			pendingDeltas.set(index, null);
+			if (delta != null && delta != NO_DELTA) {
+				deltas.accept(delta);
+			}
+		} catch (CoreException e) {
+			ApiPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Compares the given API component of the reference baseline with its
+	 * counterpart in the other baseline, tracing the time spent when
+	 * debugging the comparator
+	 *
+	 * @return the delta of the component comparison or <code>null</code> if
+	 *         it failed
+	 */
+	private static IDelta compareComponents(final IApiComponent apiComponent, final IApiComponent apiComponentBaseline, final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final IProgressMonitor monitor) {
+		long time = System.currentTimeMillis();
+		try {
+			return compare(apiComponent, apiComponentBaseline, referenceBaseline, baseline,
+					visibilityModifiers, monitor);
+		} finally {
+			if (ApiPlugin.DEBUG_API_COMPARATOR) {
+				System.out.println("Time spent for " + apiComponent.getSymbolicName() + " " + apiComponent.getVersion() + " : " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$
+			}
+		}
 	}
 
 	/**
@@ -245,6 +339,38 @@ public class ApiComparator {
 	 *                </ul>
 	 */
 	public static IDelta compare(final IApiComponent referenceComponent, final IApiComponent component2, final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final IProgressMonitor monitor) {
+		return compare(referenceComponent, component2, referenceBaseline, baseline, visibilityModifiers, 1, monitor);
+	}
+
+	/**
+	 * Returns a delta that corresponds to the comparison of the two given API
+	 * components. The two components are compared even if their versions are
+	 * identical. The class files of the components are compared using up to
+	 * <code>parallelism</code> workers, the resulting delta is the same as if
+	 * they were compared one after another.
+	 *
+	 * @param referenceComponent the given API component
+	 * @param component2 the given API component to compare with
+	 * @param referenceBaseline the given API baseline from which the given
+	 *            component <code>component</code> is coming from
+	 * @param baseline the given API baseline from which the given component
+	 *            <code>component2</code> is coming from
+	 * @param visibilityModifiers the given visibility that triggers what
+	 *            visibility should be used for the comparison
+	 * @param parallelism the maximum number of class files compared at the same
+	 *            time
+	 * @param monitor
+	 *
+	 * @return a delta, an empty delta if no difference is found or null if the
+	 *         delta detection failed
+	 * @exception IllegalArgumentException if:
+	 *                <ul>
+	 *                <li>both given components are null</li>
+	 *                <li>one of the baselines is null</li>
+	 *                </ul>
+	 * @since 1.3.700
+	 */
+	public static IDelta compare(final IApiComponent referenceComponent, final IApiComponent component2, final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final int parallelism, final IProgressMonitor monitor) {
 		SubMonitor localmonitor = SubMonitor.convert(monitor, 3);
 		try {
 			if (referenceComponent == null) {
@@ -281,7 +407,7 @@ public class ApiComparator {
 						currentEE,
 						Util.getComponentVersionsId(referenceComponent) }));
 			}
-			return internalCompare(referenceComponent, component2, referenceBaseline, baseline, visibilityModifiers, globalDelta, localmonitor.split(1));
+			return internalCompare(referenceComponent, component2, referenceBaseline, baseline, visibilityModifiers, parallelism, globalDelta, localmonitor.split(1));
 		} catch (CoreException e) {
 			// null means an error case
 			return null;
@@ -303,8 +429,30 @@ public class ApiComparator {
 	 *         delta detection failed
 	 */
 	public static IDelta compare(final IApiComponent referenceComponent, final IApiComponent component, final int visibilityModifiers, final IProgressMonitor monitor) {
+		return compare(referenceComponent, component, visibilityModifiers, 1, monitor);
+	}
+
+	/**
+	 * Returns a delta that corresponds to the difference between the given
+	 * component and the given reference component. The given component cannot
+	 * be null. The class files of the components are compared using up to
+	 * <code>parallelism</code> workers.
+	 *
+	 * @param referenceComponent the given API component that is used as the
+	 *            reference
+	 * @param component the given component to compare with
+	 * @param visibilityModifiers the given visibility that triggers what
+	 *            visibility should be used for the comparison
+	 * @param parallelism the maximum number of class files compared at the same
+	 *            time
+	 *
+	 * @return a delta, an empty delta if no difference is found or null if the
+	 *         delta detection failed
+	 * @since 1.3.700
+	 */
+	public static IDelta compare(final IApiComponent referenceComponent, final IApiComponent component, final int visibilityModifiers, final int parallelism, final IProgressMonitor monitor) {
 		try {
-			return compare(referenceComponent, component, referenceComponent == null ? null : referenceComponent.getBaseline(), component.getBaseline(), visibilityModifiers, monitor);
+			return compare(referenceComponent, component, referenceComponent == null ? null : referenceComponent.getBaseline(), component.getBaseline(), visibilityModifiers, parallelism, monitor);
 		} catch (CoreException e) {
 			ApiPlugin.log(e);
 		}
@@ -529,6 +677,38 @@ public class ApiComparator {
 	 *             visited
 	 */
 	public static IDelta compare(final IApiScope scope, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final boolean continueOnResolverError, final IProgressMonitor monitor) throws CoreException {
+		return compare(scope, baseline, visibilityModifiers, force, continueOnResolverError, 1, monitor);
+	}
+
+	/**
+	 * Returns a delta that corresponds to the comparison of the given scope
+	 * with the given API baseline. Nested API components with the same
+	 * versions are not compared. The API components of a baseline in the
+	 * scope, or the class files of an API component in the scope, are
+	 * compared using up to <code>parallelism</code> workers, the resulting
+	 * delta is the same as if they were compared one after another.
+	 *
+	 * @param scope the given scope for the comparison
+	 * @param baseline the given API baseline to compare with
+	 * @param visibilityModifiers the given visibility that triggers what
+	 *            visibility should be used for the comparison
+	 * @param force a flag to force the comparison of nested API components with
+	 *            the same versions
+	 * @param continueOnResolverError if <code>true</code> the comparison will
+	 *            continue even if a component in the scope has a resolver error
+	 * @param parallelism the maximum number of API components or class files
+	 *            compared at the same time
+	 * @param monitor the given progress monitor to report progress
+	 *
+	 * @return a delta, an empty delta if no difference is found or null if the
+	 *         delta detection failed. If set to continue on resolver error a
+	 *         delta, possibly empty, will always be returned
+	 * @throws IllegalArgumentException if one of the two baselines is null
+	 *             CoreException if one of the element in the scope cannot be
+	 *             visited
+	 * @since 1.3.700
+	 */
+	public static IDelta compare(final IApiScope scope, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final boolean continueOnResolverError, final int parallelism, final IProgressMonitor monitor) throws CoreException {
 
 		if (scope == null || baseline == null) {
 			throw new IllegalArgumentException("None of the scope or the baseline must be null"); //$NON-NLS-1$
@@ -537,6 +717,7 @@ public class ApiComparator {
 		final Set<IDelta> deltas = new HashSet<>();
 		final CompareApiScopeVisitor visitor = new CompareApiScopeVisitor(deltas, baseline, force, visibilityModifiers,
 				continueOnResolverError, localmonitor.split(1));
+		visitor.setParallelism(parallelism);
 		scope.accept(visitor);
 
 		// If set to continue on error, return whatever deltas were
@@ -552,24 +733,8 @@ public class ApiComparator {
 			iDelta.accept(new DeltaVisitor() {
 				@Override
 				public void endVisit(IDelta localDelta) {
-					if (localDelta.getChildren().length == 0) {
-						switch (localDelta.getElementType())
-							{
-							case IDelta.ANNOTATION_ELEMENT_TYPE:
-							case IDelta.ENUM_ELEMENT_TYPE:
-							case IDelta.CONSTRUCTOR_ELEMENT_TYPE:
-							case IDelta.METHOD_ELEMENT_TYPE:
-							case IDelta.INTERFACE_ELEMENT_TYPE:
-							case IDelta.CLASS_ELEMENT_TYPE:
-							case IDelta.FIELD_ELEMENT_TYPE:
-							case IDelta.API_COMPONENT_ELEMENT_TYPE:
-							case IDelta.API_BASELINE_ELEMENT_TYPE: {
-								globalDelta.add(localDelta);
-								break;
-							}
-							default:
-								break;
-							}
+					if (isReportedLeaf(localDelta)) {
+						globalDelta.add(localDelta);
 					}
 				}
 			});
@@ -578,6 +743,86 @@ public class ApiComparator {
 		return globalDelta.isEmpty() ? NO_DELTA : globalDelta;
 	}
 
+	/**
+	 * Compares the given scope with the given API baseline like
+	 * {@link #compare(IApiScope, IApiBaseline, int, boolean, boolean, int, IProgressMonitor)}
+	 * but hands each delta to the given visitor as soon as it is computed
+	 * instead of collecting the deltas into a global delta, so that the deltas
+	 * of a large scope do not all have to be kept in memory.
+	 * <p>
+	 * The visitor is called on the calling thread with the leaf deltas the
+	 * other method would add to its global delta. They come in the order the
+	 * elements of the scope are compared, and are not checked for duplicates:
+	 * an element should only be added once to the scope.
+	 * </p>
+	 *
+	 * @param scope the given scope for the comparison
+	 * @param baseline the given API baseline to compare with
+	 * @param visibilityModifiers the given visibility that triggers what
+	 *            visibility should be used for the comparison
+	 * @param force a flag to force the comparison of nested API components with
+	 *            the same versions
+	 * @param continueOnResolverError if <code>true</code> the comparison will
+	 *            continue even if a component in the scope has a resolver error
+	 * @param parallelism the maximum number of API components or class files
+	 *            compared at the same time
+	 * @param visitor the visitor the deltas are handed to
+	 * @param monitor the given progress monitor to report progress
+	 *
+	 * @return the number of deltas handed to the visitor or <code>-1</code>
+	 *         if the delta detection failed. If set to continue on resolver
+	 *         error the number of deltas is always returned
+	 * @throws IllegalArgumentException if one of the two baselines is null
+	 *             CoreException if one of the element in the scope cannot be
+	 *             visited
+	 * @since 1.3.700
+	 */
+	public static int compare(final IApiScope scope, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final boolean continueOnResolverError, final int parallelism, final DeltaVisitor visitor, final IProgressMonitor monitor) throws CoreException {
+		if (scope == null || baseline == null) {
+			throw new IllegalArgumentException("None of the scope or the baseline must be null"); //$NON-NLS-1$
+		}
+		SubMonitor localmonitor = SubMonitor.convert(monitor, 1);
+		final int[] count = new int[1];
+		final CompareApiScopeVisitor scopeVisitor = new CompareApiScopeVisitor(delta -> {
+			if (isReportedLeaf(delta)) {
+				count[0]++;
+				delta.accept(visitor);
+			}
+		}, baseline, force, visibilityModifiers, continueOnResolverError, localmonitor.split(1));
+		scopeVisitor.setParallelism(parallelism);
+		scope.accept(scopeVisitor);
+		if (!continueOnResolverError && scopeVisitor.containsError()) {
+			return -1;
+		}
+		return count[0];
+	}
+
+	/**
+	 * Returns whether the given delta is reported by the comparison of a
+	 * scope: it must be a leaf delta of an API baseline, an API component, a
+	 * type or a member.
+	 */
+	static boolean isReportedLeaf(IDelta delta) {
+		if (delta.getChildren().length != 0) {
+			return false;
+		}
+		switch (delta.getElementType())
+			{
+			case IDelta.ANNOTATION_ELEMENT_TYPE:
+			case IDelta.ENUM_ELEMENT_TYPE:
+			case IDelta.CONSTRUCTOR_ELEMENT_TYPE:
+			case IDelta.METHOD_ELEMENT_TYPE:
+			case IDelta.INTERFACE_ELEMENT_TYPE:
+			case IDelta.CLASS_ELEMENT_TYPE:
+			case IDelta.FIELD_ELEMENT_TYPE:
+			case IDelta.API_COMPONENT_ELEMENT_TYPE:
+			case IDelta.API_BASELINE_ELEMENT_TYPE:
+				return true;
+			default:
+				return false;
+			}
+	}
+
 	/**
 	 * Returns true, if the given type descriptor should be skipped, false
 	 * otherwise.
@@ -600,159 +845,219 @@ public class ApiComparator {
 
 	/**
 	 * Performs the internal compare of the given {@link IApiComponent}s using
-	 * their type containers
+	 * their type containers. When <code>parallelism</code> is greater than one
+	 * the class files are compared on a {@link WorkerPool} and the resulting
+	 * deltas are added to the global delta in the order of the type
+	 * containers, the same order as a sequential comparison.
 	 *
 	 * @param monitor
 	 *
 	 * @return a delta of changed API elements
 	 */
-	private static IDelta internalCompare(final IApiComponent component, final IApiComponent component2, final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final Delta globalDelta, final IProgressMonitor monitor) throws CoreException {
+	private static IDelta internalCompare(final IApiComponent component, final IApiComponent component2, final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final int parallelism, final Delta globalDelta, final IProgressMonitor monitor) throws CoreException {
 		final Set<String> typeRootBaseLineNames = new HashSet<>();
 		final String id = component.getSymbolicName();
 		final SubMonitor localmonitor = SubMonitor.convert(monitor, 4);
 		IApiTypeContainer[] typeRootContainers = component.getApiTypeContainers(id);
-		IApiTypeContainer[] typeRootContainers2 = component2.getApiTypeContainers(id);
 		final IApiDescription apiDescription = component.getApiDescription();
 		final IApiDescription apiDescription2 = component2.getApiDescription();
 		if (typeRootContainers != null) {
-			SubMonitor loopMonitor = localmonitor.split(1).setWorkRemaining(typeRootContainers.length);
-			for (IApiTypeContainer container : typeRootContainers) {
-				SubMonitor iterationMonitor = loopMonitor.split(1);
-				try {
-					container.accept(new ApiTypeContainerVisitor() {
-						@Override
-						public void visit(String packageName, IApiTypeRoot typeRoot) {
-							SubMonitor visitMonitor = iterationMonitor.setWorkRemaining(50).split(1).setWorkRemaining(2);
-							String typeName = typeRoot.getTypeName();
-							try {
-								IApiType typeDescriptor = typeRoot.getStructure();
-								IApiAnnotations elementDescription = apiDescription.resolveAnnotations(typeDescriptor.getHandle());
-								if (typeDescriptor.isMemberType() || typeDescriptor.isAnonymous() || typeDescriptor.isLocal()) {
-									// we skip nested types (member, local and
-									// anonymous)
-									return;
-								}
-								int visibility;
-								if (elementDescription != null) {
-									visibility = elementDescription.getVisibility();
-								} else {
-									// Annotation is missing, not an API?
-									visibility = 0;
-								}
-								IApiTypeRoot typeRoot2 = component2.findTypeRoot(typeName, id);
-								IApiComponent provider = null;
-								IApiDescription providerApiDesc = null;
-								boolean reexported = false;
-								if (typeRoot2 == null) {
-									// check if the type is provided by a
-									// required component (it could have been
-									// moved/re-exported)
-									IApiComponent[] providers = component2.getBaseline().resolvePackage(component2, packageName);
-									SubMonitor providerMonitor = visitMonitor.split(1).setWorkRemaining(providers.length);
-									int index = 0;
-									while (typeRoot2 == null && index < providers.length) {
-										providerMonitor.split(1);
-										IApiComponent p = providers[index];
-										if (!p.equals(component2)) {
-											String id2 = p.getSymbolicName();
-											typeRoot2 = p.findTypeRoot(typeName, id2);
-											if (typeRoot2 != null) {
-												provider = p;
-												providerApiDesc = p.getApiDescription();
-												IRequiredComponentDescription[] required = component2.getRequiredComponents();
-												for (IRequiredComponentDescription description : required) {
-													if (description.getId().equals(id2)) {
-														reexported = description.isExported();
-														break;
-													}
+			try (WorkerPool pool = parallelism > 1 ? new WorkerPool("API type comparison", parallelism) : null) { //$NON-NLS-1$
+				compareTypeRoots(typeRootContainers, component, component2, referenceBaseline, baseline, visibilityModifiers, apiDescription, apiDescription2, typeRootBaseLineNames, pool, globalDelta, localmonitor.split(1));
+			}
+		}
+		localmonitor.setWorkRemaining(3);
+		addReexportedDeltas(component, component2, referenceBaseline, baseline, visibilityModifiers, apiDescription2, typeRootBaseLineNames, globalDelta, localmonitor);
+		return globalDelta.isEmpty() ? NO_DELTA : globalDelta;
+	}
+
+	/**
+	 * Compares the class files of the given reference type containers with
+	 * their counterparts in <code>component2</code>. If a {@link WorkerPool}
+	 * is given the class file comparisons are submitted to it, and the deltas
+	 * are collected in visit order once all of the containers have been
+	 * visited.
+	 */
+	private static void compareTypeRoots(final IApiTypeContainer[] typeRootContainers, final IApiComponent component, final IApiComponent component2, final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final IApiDescription apiDescription, final IApiDescription apiDescription2, final Set<String> typeRootBaseLineNames, final WorkerPool pool, final Delta globalDelta, final IProgressMonitor monitor) {
+		final String id = component.getSymbolicName();
+		final List<Future<IDelta>> pendingDeltas = new ArrayList<>();
+		final Consumer<IDelta> deltas = pool == null ? globalDelta::add : delta -> pendingDeltas.add(CompletableFuture.completedFuture(delta));
+		SubMonitor localmonitor = SubMonitor.convert(monitor, pool == null ? 1 : 2);
+		SubMonitor loopMonitor = localmonitor.split(1).setWorkRemaining(typeRootContainers.length);
+		for (IApiTypeContainer container : typeRootContainers) {
+			SubMonitor iterationMonitor = loopMonitor.split(1);
+			try {
+				container.accept(new ApiTypeContainerVisitor() {
+					@Override
+					public void visit(String packageName, IApiTypeRoot typeRoot) {
+						SubMonitor visitMonitor = iterationMonitor.setWorkRemaining(50).split(1).setWorkRemaining(2);
+						String typeName = typeRoot.getTypeName();
+						try {
+							IApiType typeDescriptor = typeRoot.getStructure();
+							IApiAnnotations elementDescription = apiDescription.resolveAnnotations(typeDescriptor.getHandle());
+							if (typeDescriptor.isMemberType() || typeDescriptor.isAnonymous() || typeDescriptor.isLocal()) {
+								// we skip nested types (member, local and
+								// anonymous)
+								return;
+							}
+							int visibility;
+							if (elementDescription != null) {
+								visibility = elementDescription.getVisibility();
+							} else {
+								// Annotation is missing, not an API?
+								visibility = 0;
+							}
+							IApiTypeRoot typeRoot2 = component2.findTypeRoot(typeName, id);
+							IApiComponent provider = null;
+							IApiDescription providerApiDesc = null;
+							boolean reexported = false;
+							if (typeRoot2 == null) {
+								// check if the type is provided by a
+								// required component (it could have been
+								// moved/re-exported)
+								IApiComponent[] providers = component2.getBaseline().resolvePackage(component2, packageName);
+								SubMonitor providerMonitor = visitMonitor.split(1).setWorkRemaining(providers.length);
+								int index = 0;
+								while (typeRoot2 == null && index < providers.length) {
+									providerMonitor.split(1);
+									IApiComponent p = providers[index];
+									if (!p.equals(component2)) {
+										String id2 = p.getSymbolicName();
+										typeRoot2 = p.findTypeRoot(typeName, id2);
+										if (typeRoot2 != null) {
+											provider = p;
+											providerApiDesc = p.getApiDescription();
+											IRequiredComponentDescription[] required = component2.getRequiredComponents();
+											for (IRequiredComponentDescription description : required) {
+												if (description.getId().equals(id2)) {
+													reexported = description.isExported();
+													break;
 												}
 											}
 										}
-										index++;
 									}
-								} else {
-									provider = component2;
-									providerApiDesc = apiDescription2;
+									index++;
 								}
-								visitMonitor.setWorkRemaining(1).split(1);
-								String deltaComponentID = Util.getDeltaComponentVersionsId(component2);
-								if (typeRoot2 == null) {
-									if ((visibility & visibilityModifiers) == 0) {
-										// we skip the class file according to
-										// their visibility
+							} else {
+								provider = component2;
+								providerApiDesc = apiDescription2;
+							}
+							visitMonitor.setWorkRemaining(1).split(1);
+							String deltaComponentID = Util.getDeltaComponentVersionsId(component2);
+							if (typeRoot2 == null) {
+								if ((visibility & visibilityModifiers) == 0) {
+									// we skip the class file according to
+									// their visibility
+									return;
+								}
+								if (visibilityModifiers == VisibilityModifiers.API) {
+									// if the visibility is API, we only
+									// consider public and protected types
+									if (Util.isDefault(typeDescriptor.getModifiers()) || Flags.isPrivate(typeDescriptor.getModifiers())) {
 										return;
 									}
-									if (visibilityModifiers == VisibilityModifiers.API) {
-										// if the visibility is API, we only
-										// consider public and protected types
-										if (Util.isDefault(typeDescriptor.getModifiers()) || Flags.isPrivate(typeDescriptor.getModifiers())) {
-											return;
-										}
-									}
-									globalDelta.add(new Delta(deltaComponentID, IDelta.API_COMPONENT_ELEMENT_TYPE, IDelta.REMOVED, IDelta.TYPE, RestrictionModifiers.NO_RESTRICTIONS, RestrictionModifiers.NO_RESTRICTIONS, typeDescriptor.getModifiers(), 0, typeName, typeName, new String[] {
-											typeName,
-													component2.isFragment()
-															? Util.getComponentVersionsId(component2.getHost())
-															: Util.getComponentVersionsId(component2) }));
-								} else {
-									if ((visibility & visibilityModifiers) == 0) {
-										// we skip the class file according to
-										// their visibility
+								}
+								deltas.accept(new Delta(deltaComponentID, IDelta.API_COMPONENT_ELEMENT_TYPE, IDelta.REMOVED, IDelta.TYPE, RestrictionModifiers.NO_RESTRICTIONS, RestrictionModifiers.NO_RESTRICTIONS, typeDescriptor.getModifiers(), 0, typeName, typeName, new String[] {
+										typeName,
+												component2.isFragment()
+														? Util.getComponentVersionsId(component2.getHost())
+														: Util.getComponentVersionsId(component2) }));
+							} else {
+								if ((visibility & visibilityModifiers) == 0) {
+									// we skip the class file according to
+									// their visibility
+									return;
+								}
+								IApiType typeDescriptor2 = typeRoot2.getStructure();
+								IApiAnnotations elementDescription2 = providerApiDesc.resolveAnnotations(typeDescriptor2.getHandle());
+								int visibility2 = 0;
+								if (elementDescription2 != null) {
+									visibility2 = elementDescription2.getVisibility();
+								}
+								if (visibilityModifiers == VisibilityModifiers.API) {
+									// if the visibility is API, we only
+									// consider public and protected types
+									if (Util.isDefault(typeDescriptor.getModifiers()) || Flags.isPrivate(typeDescriptor.getModifiers())) {
 										return;
 									}
-									IApiType typeDescriptor2 = typeRoot2.getStructure();
-									IApiAnnotations elementDescription2 = providerApiDesc.resolveAnnotations(typeDescriptor2.getHandle());
-									int visibility2 = 0;
-									if (elementDescription2 != null) {
-										visibility2 = elementDescription2.getVisibility();
-									}
-									if (visibilityModifiers == VisibilityModifiers.API) {
-										// if the visibility is API, we only
-										// consider public and protected types
-										if (Util.isDefault(typeDescriptor.getModifiers()) || Flags.isPrivate(typeDescriptor.getModifiers())) {
-											return;
-										}
-									}
-									if (Util.isAPI(visibility, typeDescriptor)) {
-										if (!Util.isAPI(visibility2, typeDescriptor2)) {
-											globalDelta.add(new Delta(deltaComponentID, IDelta.API_COMPONENT_ELEMENT_TYPE, IDelta.REMOVED, reexported ? IDelta.REEXPORTED_API_TYPE : IDelta.API_TYPE, elementDescription2 != null ? elementDescription2.getRestrictions() : RestrictionModifiers.NO_RESTRICTIONS, RestrictionModifiers.NO_RESTRICTIONS, typeDescriptor.getModifiers(), typeDescriptor2.getModifiers(), typeName, typeName, new String[] {
-													typeName,
-													Util.getComponentVersionsId(component2) }));
-											return;
-										}
-									}
-									if ((visibility2 & visibilityModifiers) == 0) {
-										// we simply report a changed visibility
-										globalDelta.add(new Delta(deltaComponentID, IDelta.API_COMPONENT_ELEMENT_TYPE, IDelta.CHANGED, IDelta.TYPE_VISIBILITY, elementDescription2 != null ? elementDescription2.getRestrictions() : RestrictionModifiers.NO_RESTRICTIONS, RestrictionModifiers.NO_RESTRICTIONS, typeDescriptor.getModifiers(), typeDescriptor2.getModifiers(), typeName, typeName, new String[] {
+								}
+								if (Util.isAPI(visibility, typeDescriptor)) {
+									if (!Util.isAPI(visibility2, typeDescriptor2)) {
+										deltas.accept(new Delta(deltaComponentID, IDelta.API_COMPONENT_ELEMENT_TYPE, IDelta.REMOVED, reexported ? IDelta.REEXPORTED_API_TYPE : IDelta.API_TYPE, elementDescription2 != null ? elementDescription2.getRestrictions() : RestrictionModifiers.NO_RESTRICTIONS, RestrictionModifiers.NO_RESTRICTIONS, typeDescriptor.getModifiers(), typeDescriptor2.getModifiers(), typeName, typeName, new String[] {
 												typeName,
 												Util.getComponentVersionsId(component2) }));
+										return;
 									}
-									typeRootBaseLineNames.add(typeName);
-									ClassFileComparator comparator = new ClassFileComparator(typeDescriptor, typeRoot2, component, provider, referenceBaseline, baseline, visibilityModifiers);
-									IDelta delta = comparator.getDelta();
-									if (ApiPlugin.DEBUG_API_COMPARATOR) {
-										IStatus status = comparator.getStatus();
-										if (status != null) {
-											ApiPlugin.log(status);
-										}
-									}
+								}
+								if ((visibility2 & visibilityModifiers) == 0) {
+									// we simply report a changed visibility
+									deltas.accept(new Delta(deltaComponentID, IDelta.API_COMPONENT_ELEMENT_TYPE, IDelta.CHANGED, IDelta.TYPE_VISIBILITY, elementDescription2 != null ? elementDescription2.getRestrictions() : RestrictionModifiers.NO_RESTRICTIONS, RestrictionModifiers.NO_RESTRICTIONS, typeDescriptor.getModifiers(), typeDescriptor2.getModifiers(), typeName, typeName, new String[] {
+											typeName,
+											Util.getComponentVersionsId(component2) }));
+								}
+								typeRootBaseLineNames.add(typeName);
+								if (pool == null) {
+									IDelta delta = compareTypeRoot(typeDescriptor, typeRoot2, component, provider, referenceBaseline, baseline, visibilityModifiers);
 									if (delta != null && delta != NO_DELTA) {
-										globalDelta.add(delta);
+										deltas.accept(delta);
 									}
+								} else {
+									final IApiTypeRoot root2 = typeRoot2;
+									final IApiComponent provider2 = provider;
+									pendingDeltas.add(pool.submit(() -> compareTypeRoot(typeDescriptor, root2, component, provider2, referenceBaseline, baseline, visibilityModifiers)));
 								}
-							} catch (CoreException e) {
-								ApiPlugin.log(e);
-								AbstractProblemDetector.checkIfDisposed(container.getApiComponent(), iterationMonitor);
 							}
+						} catch (CoreException e) {
+							ApiPlugin.log(e);
+							AbstractProblemDetector.checkIfDisposed(container.getApiComponent(), iterationMonitor);
 						}
-					});
+					}
+				});
+			} catch (CoreException e) {
+				ApiPlugin.log(e);
+				AbstractProblemDetector.checkIfDisposed(container.getApiComponent(), loopMonitor);
+			}
+		}
+		if (pool != null) {
+			SubMonitor joinMonitor = localmonitor.split(1).setWorkRemaining(pendingDeltas.size());
+			for (Future<IDelta> pending : pendingDeltas) {
+				joinMonitor.split(1);
+				try {
+					IDelta delta = WorkerPool.join(pending, joinMonitor);
+					if (delta != null && delta != NO_DELTA) {
+						globalDelta.add(delta);
+					}
 				} catch (CoreException e) {
 					ApiPlugin.log(e);
-					AbstractProblemDetector.checkIfDisposed(container.getApiComponent(), loopMonitor);
 				}
 			}
 		}
-		localmonitor.setWorkRemaining(3);
+	}
+
+	/**
+	 * Compares the given reference type with the given class file
+	 *
+	 * @return the delta of the class file comparison
+	 */
+	private static IDelta compareTypeRoot(final IApiType typeDescriptor, final IApiTypeRoot typeRoot2, final IApiComponent component, final IApiComponent provider, final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers) throws CoreException {
+		ClassFileComparator comparator = new ClassFileComparator(typeDescriptor, typeRoot2, component, provider, referenceBaseline, baseline, visibilityModifiers);
+		IDelta delta = comparator.getDelta();
+		if (ApiPlugin.DEBUG_API_COMPARATOR) {
+			IStatus status = comparator.getStatus();
+			if (status != null) {
+				ApiPlugin.log(status);
+			}
+		}
+		return delta;
+	}
+
+	/**
+	 * Adds the deltas for the types re-exported by the required components of
+	 * the given components and for the types added to <code>component2</code>
+	 */
+	private static void addReexportedDeltas(final IApiComponent component, final IApiComponent component2, final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final IApiDescription apiDescription2, final Set<String> typeRootBaseLineNames, final Delta globalDelta, final SubMonitor localmonitor) throws CoreException {
+		final String id = component.getSymbolicName();
+		IApiTypeContainer[] typeRootContainers2 = component2.getApiTypeContainers(id);
 		IRequiredComponentDescription[] requiredComponents = component.getRequiredComponents();
 		int length = requiredComponents.length;
 		if (length != 0) {
@@ -974,6 +1279,5 @@ public class ApiComparator {
 				}
 			}
 		}
-		return globalDelta.isEmpty() ? NO_DELTA : globalDelta;
 	}
 }
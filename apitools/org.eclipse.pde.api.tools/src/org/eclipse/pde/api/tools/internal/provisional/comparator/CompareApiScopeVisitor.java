@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2013 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.pde.api.tools.internal.provisional.comparator;
 
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.SubMonitor;
@@ -33,15 +34,27 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
  */
 public class CompareApiScopeVisitor extends ApiScopeVisitor {
 
-	Set<IDelta> deltas;
+	Consumer<IDelta> deltas;
 	IApiBaseline referenceBaseline;
 	int visibilityModifiers;
 	boolean force;
 	boolean continueOnResolverError = false;
 	boolean containsErrors = false;
+	int parallelism = 1;
 	SubMonitor monitor;
 
 	public CompareApiScopeVisitor(final Set<IDelta> deltas, final IApiBaseline baseline, final boolean force, final int visibilityModifiers, final boolean continueOnResolverError, final SubMonitor monitor) {
+		this(deltas::add, baseline, force, visibilityModifiers, continueOnResolverError, monitor);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param deltas the consumer of the leaf deltas, called as soon as the
+	 *            deltas are computed
+	 * @since 1.3.700
+	 */
+	public CompareApiScopeVisitor(final Consumer<IDelta> deltas, final IApiBaseline baseline, final boolean force, final int visibilityModifiers, final boolean continueOnResolverError, final SubMonitor monitor) {
 		this.deltas = deltas;
 		this.referenceBaseline = baseline;
 		this.visibilityModifiers = visibilityModifiers;
@@ -50,22 +63,31 @@ public class CompareApiScopeVisitor extends ApiScopeVisitor {
 		this.monitor = monitor;
 	}
 
+	/**
+	 * Sets the maximum number of API components or class files compared at
+	 * the same time, <code>1</code> by default
+	 *
+	 * @param parallelism the number of workers, must be greater than zero
+	 * @since 1.3.700
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
 	@Override
 	public boolean visit(IApiBaseline baseline) throws CoreException {
 		this.monitor.setWorkRemaining(100).split(1);
-		IDelta delta = ApiComparator.compare(this.referenceBaseline, baseline, this.visibilityModifiers, this.force, null);
-		if (delta != null) {
-			delta.accept(new DeltaVisitor() {
-				@Override
-				public void endVisit(IDelta localDelta) {
-					if (localDelta.getChildren().length == 0) {
-						CompareApiScopeVisitor.this.deltas.add(localDelta);
-					}
+		// the delta of each component is dropped once its leaves are handed
+		// off
+		DeltaVisitor leaves = new DeltaVisitor() {
+			@Override
+			public void endVisit(IDelta localDelta) {
+				if (localDelta.getChildren().length == 0) {
+					CompareApiScopeVisitor.this.deltas.accept(localDelta);
 				}
-			});
-		} else {
-			this.containsErrors = true;
-		}
+			}
+		};
+		ApiComparator.compare(this.referenceBaseline, baseline, this.visibilityModifiers, this.force, this.parallelism, delta -> delta.accept(leaves), null);
 		return false;
 	}
 
@@ -110,7 +132,7 @@ public class CompareApiScopeVisitor extends ApiScopeVisitor {
 
 		subMonitor.split(50);
 		final Delta globalDelta = new Delta();
-		globalDelta.add(ApiComparator.compare(referenceComponent, component, this.visibilityModifiers, null));
+		globalDelta.add(ApiComparator.compare(referenceComponent, component, this.visibilityModifiers, this.parallelism, null));
 		if (referenceComponent != null) {
 			String versionString = referenceComponent.getVersion();
 			String versionString2 = component.getVersion();
@@ -123,7 +145,7 @@ public class CompareApiScopeVisitor extends ApiScopeVisitor {
 			@Override
 			public void endVisit(IDelta localDelta) {
 				if (localDelta.getChildren().length == 0) {
-					CompareApiScopeVisitor.this.deltas.add(localDelta);
+					CompareApiScopeVisitor.this.deltas.accept(localDelta);
 				}
 			}
 		});
@@ -164,7 +186,7 @@ public class CompareApiScopeVisitor extends ApiScopeVisitor {
 				@Override
 				public void endVisit(IDelta localDelta) {
 					if (localDelta.getChildren().length == 0) {
-						CompareApiScopeVisitor.this.deltas.add(localDelta);
+						CompareApiScopeVisitor.this.deltas.accept(localDelta);
 					}
 				}
 			});
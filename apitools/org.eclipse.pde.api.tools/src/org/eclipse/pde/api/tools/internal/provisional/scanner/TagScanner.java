@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2021 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,11 +17,16 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.Flags;
@@ -59,6 +64,7 @@ import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceType
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.util.Signatures;
 import org.eclipse.pde.api.tools.internal.util.Util;
+import org.eclipse.pde.api.tools.internal.util.WorkerPool;
 
 /**
  * Scans the source of a *.java file for any API javadoc tags
@@ -658,6 +664,100 @@ public class TagScanner {
 	 *             the description may still be modified
 	 */
 	public void scan(CompilationUnit source, IApiDescription description, IApiTypeContainer container, Map<String, String> options, IProgressMonitor monitor) throws CoreException {
+		SubMonitor localmonitor = SubMonitor.convert(monitor, 2);
+		Map<String, String> loptions = options;
+		if (loptions == null) {
+			loptions = JavaCore.getOptions();
+		}
+		loptions.put(JavaCore.COMPILER_DOC_COMMENT_SUPPORT, JavaCore.ENABLED);
+		org.eclipse.jdt.core.dom.CompilationUnit cunit = parse(source, loptions, localmonitor);
+		Visitor visitor = new Visitor(description, container);
+		cunit.accept(visitor);
+	}
+
+	/**
+	 * Scans the specified source {@linkplain CompilationUnit}s for contributed
+	 * API javadoc tags, parsing up to the given number of them concurrently.
+	 * Tags on methods will have unresolved signatures.
+	 * <p>
+	 * The sources are scanned as by {@link #scan(CompilationUnit, IApiDescription, IApiTypeContainer, Map, IProgressMonitor)},
+	 * including the members of anonymous types in method bodies. The given
+	 * description is only annotated from the calling thread, in the order of
+	 * the given sources, so it does not need to be thread safe.
+	 * </p>
+	 *
+	 * @param sources the source files to scan for tags
+	 * @param description the API description to annotate with any new tag rules
+	 *            found
+	 * @param container optional class file container containing the class
+	 *            files for the given sources that can be used to resolve
+	 *            method signatures if required (for tags on methods). If not
+	 *            provided (<code>null</code>), method signatures will be
+	 *            unresolved.
+	 * @param options a map of Java compiler options to use when creating the
+	 *            ASTs to scan or <code>null</code> if default options should
+	 *            be used
+	 * @param parallelism the maximum number of sources to parse concurrently
+	 * @param monitor
+	 *
+	 * @throws CoreException if problems were encountered while scanning some of
+	 *             the sources, the other sources are still scanned and the
+	 *             description is modified
+	 * @since 1.3.700
+	 */
+	public void scan(List<CompilationUnit> sources, IApiDescription description, IApiTypeContainer container, Map<String, String> options, int parallelism, IProgressMonitor monitor) throws CoreException {
+		SubMonitor localmonitor = SubMonitor.convert(monitor, sources.size());
+		Map<String, String> loptions = new HashMap<>(options == null ? JavaCore.getOptions() : options);
+		loptions.put(JavaCore.COMPILER_DOC_COMMENT_SUPPORT, JavaCore.ENABLED);
+		MultiStatus status = new MultiStatus(ApiPlugin.PLUGIN_ID, IStatus.ERROR, "Errors scanning compilation units for API tags", null); //$NON-NLS-1$
+		int workers = Math.min(parallelism, sources.size());
+		if (workers <= 1) {
+			for (CompilationUnit source : sources) {
+				try {
+					parse(source, loptions, null).accept(new Visitor(description, container));
+				} catch (CoreException e) {
+					status.add(e.getStatus());
+				}
+				localmonitor.split(1);
+			}
+		} else {
+			try (WorkerPool pool = new WorkerPool("API tag scanning", workers)) { //$NON-NLS-1$
+				// only parse a few sources ahead so that their ASTs do not all
+				// stay in memory
+				int window = workers * 2;
+				List<Future<org.eclipse.jdt.core.dom.CompilationUnit>> parsed = new ArrayList<>(sources.size());
+				for (int i = 0; i < sources.size(); i++) {
+					while (parsed.size() < sources.size() && parsed.size() < i + window) {
+						CompilationUnit source = sources.get(parsed.size());
+						parsed.add(pool.submit(() -> parse(source, loptions, null)));
+					}
+					try {
+						org.eclipse.jdt.core.dom.CompilationUnit cunit = WorkerPool.join(parsed.get(i), localmonitor);
+						parsed.set(i, null);
+						cunit.accept(new Visitor(description, container));
+					} catch (CoreException e) {
+						status.add(e.getStatus());
+					}
+					localmonitor.split(1);
+				}
+			}
+		}
+		if (!status.isOK()) {
+			throw new CoreException(status);
+		}
+	}
+
+	/**
+	 * Parses the given source with its javadoc comments
+	 *
+	 * @param source the source file to parse
+	 * @param options the compiler options, with javadoc comment support
+	 *            enabled
+	 * @param monitor
+	 * @return the AST of the source
+	 * @throws CoreException if the source cannot be read
+	 */
+	private org.eclipse.jdt.core.dom.CompilationUnit parse(CompilationUnit source, Map<String, String> options, IProgressMonitor monitor) throws CoreException {
 		SubMonitor localmonitor = SubMonitor.convert(monitor, 2);
 		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
 		try (InputStream inputStream = source.getInputStream()) {
@@ -671,14 +771,7 @@ public class TagScanner {
 			throw new CoreException(Status.error(MessageFormat.format("Error reading compilation unit: {0}", source.getName()), e)); //$NON-NLS-1$
 		}
 		localmonitor.split(1);
-		Map<String, String> loptions = options;
-		if (loptions == null) {
-			loptions = JavaCore.getOptions();
-		}
-		loptions.put(JavaCore.COMPILER_DOC_COMMENT_SUPPORT, JavaCore.ENABLED);
-		parser.setCompilerOptions(loptions);
-		org.eclipse.jdt.core.dom.CompilationUnit cunit = (org.eclipse.jdt.core.dom.CompilationUnit) parser.createAST(localmonitor.split(1));
-		Visitor visitor = new Visitor(description, container);
-		cunit.accept(visitor);
+		parser.setCompilerOptions(options);
+		return (org.eclipse.jdt.core.dom.CompilationUnit) parser.createAST(localmonitor.split(1));
 	}
 }
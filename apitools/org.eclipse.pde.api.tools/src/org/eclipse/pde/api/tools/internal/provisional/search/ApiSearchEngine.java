@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,14 +18,19 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.pde.api.tools.internal.AntFilterStore;
+import org.eclipse.pde.api.tools.internal.builder.ReferenceResolutionCache;
 import org.eclipse.pde.api.tools.internal.builder.ReferenceResolver;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
@@ -39,6 +44,7 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.search.SearchMessages;
+import org.eclipse.pde.api.tools.internal.util.WorkerPool;
 
 /**
  * Engine used to search for API use
@@ -118,11 +124,94 @@ public final class ApiSearchEngine {
 		}
 	}
 
+	/**
+	 * Reporter given to the workers of a parallel search. It either hands each
+	 * report to the real reporter right away, one worker at a time, or keeps
+	 * the reports until {@link #flush()} is called so that they can be made in
+	 * scope order.
+	 */
+	static final class WorkerReporter implements IApiSearchReporter {
+
+		private final IApiSearchReporter fReporter;
+		private final boolean fOrdered;
+		private final List<Consumer<IApiSearchReporter>> fReports = new ArrayList<>();
+
+		WorkerReporter(IApiSearchReporter reporter, boolean ordered) {
+			fReporter = reporter;
+			fOrdered = ordered;
+		}
+
+		private void report(Consumer<IApiSearchReporter> report) {
+			if (fOrdered) {
+				fReports.add(report);
+			} else {
+				synchronized (fReporter) {
+					report.accept(fReporter);
+				}
+			}
+		}
+
+		@Override
+		public void reportResults(IApiElement element, IReference[] references) {
+			report(reporter -> reporter.reportResults(element, references));
+		}
+
+		@Override
+		public void reportNotSearched(IApiElement[] elements) {
+			report(reporter -> reporter.reportNotSearched(elements));
+		}
+
+		@Override
+		public void reportMetadata(IMetadata data) {
+			report(reporter -> reporter.reportMetadata(data));
+		}
+
+		@Override
+		public void reportCounts() {
+			report(IApiSearchReporter::reportCounts);
+		}
+
+		/**
+		 * Makes the kept reports to the real reporter
+		 */
+		void flush() {
+			synchronized (fReporter) {
+				for (Consumer<IApiSearchReporter> report : fReports) {
+					report.accept(fReporter);
+				}
+			}
+			fReports.clear();
+		}
+	}
+
+	/**
+	 * Monitor given to the workers of a parallel search, it only forwards the
+	 * cancellation of the search
+	 */
+	static final class WorkerMonitor extends NullProgressMonitor {
+
+		private final IProgressMonitor fParent;
+
+		WorkerMonitor(IProgressMonitor parent) {
+			fParent = parent;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return super.isCanceled() || fParent.isCanceled();
+		}
+	}
+
 	/**
 	 * Simple string used for reporting what is being searched
 	 */
 	private String fRequestorContext = null;
 
+	/**
+	 * Resolutions shared by all the types searched by the current search
+	 */
+	private volatile ReferenceResolutionCache fResolutionCache = null;
+
 	/**
 	 * Returns the set of resolved references for the given {@link IApiType}
 	 *
@@ -133,7 +222,7 @@ public final class ApiSearchEngine {
 		String name = type.getSimpleName() == null ? SearchMessages.ApiSearchEngine_anonymous_type : type.getSimpleName();
 		SubMonitor localmonitor = SubMonitor.convert(monitor, MessageFormat.format(SearchMessages.ApiSearchEngine_extracting_refs_from, name), 2);
 		List<IReference> refs = type.extractReferences(requestor.getReferenceKinds(), localmonitor.split(1));
-		ReferenceResolver.resolveReferences(refs);
+		ReferenceResolver.resolveReferences(refs, fResolutionCache);
 		return refs;
 	}
 
@@ -235,6 +324,34 @@ public final class ApiSearchEngine {
 	 * @throws CoreException if the search fails
 	 */
 	public void search(IApiBaseline baseline, IApiSearchRequestor requestor, IApiSearchReporter reporter, IProgressMonitor monitor) throws CoreException {
+		search(baseline, requestor, reporter, 1, true, monitor);
+	}
+
+	/**
+	 * Searches for all of the use of API or internal code from the given
+	 * {@link IApiComponent} within the given {@link IApiBaseline}, searching up
+	 * to the given number of scope elements concurrently.
+	 * <p>
+	 * Each worker uses its own requestor from
+	 * {@link IApiSearchRequestor#createWorkerRequestor()}, the search is
+	 * sequential if the requestor does not support that. The reporter is never
+	 * called concurrently.
+	 * </p>
+	 *
+	 * @param baseline the baseline to search within
+	 * @param requestor the requestor to use for the search
+	 * @param reporter the reporter to use when reporting any search results to
+	 *            the user
+	 * @param parallelism the maximum number of scope elements to search
+	 *            concurrently, <code>1</code> searches them one after another
+	 * @param ordered if the results should be reported in the same order as a
+	 *            sequential search, otherwise each batch of results is reported
+	 *            as soon as it is collected
+	 * @param monitor the monitor to report progress to
+	 * @throws CoreException if the search fails
+	 * @since 1.3.700
+	 */
+	public void search(IApiBaseline baseline, IApiSearchRequestor requestor, IApiSearchReporter reporter, int parallelism, boolean ordered, IProgressMonitor monitor) throws CoreException {
 		if (baseline == null || reporter == null || requestor == null) {
 			return;
 		}
@@ -250,32 +367,42 @@ public final class ApiSearchEngine {
 		long loopstart = 0;
 		String taskname = null;
 		MultiStatus mstatus = null;
-		for (int i = 0; i < scopeelements.length; i++) {
-			try {
-				taskname = MessageFormat.format(SearchMessages.ApiSearchEngine_searching_project,
-						scopeelements[i].getApiComponent().getSymbolicName(), fRequestorContext);
-				localmonitor.setTaskName(taskname);
-				if (ApiPlugin.DEBUG_SEARCH_ENGINE) {
-					loopstart = System.currentTimeMillis();
-					System.out.println("Searching " + scopeelements[i].getApiComponent().getSymbolicName() + "..."); //$NON-NLS-1$ //$NON-NLS-2$
-				}
-				searchReferences(requestor, scopeelements[i], reporter, localmonitor.split(1));
-				localmonitor.setTaskName(taskname);
-				if (localmonitor.isCanceled()) {
-					reporter.reportResults(scopeelements[i], NO_REFERENCES);
-					return;
-				}
-				localmonitor.worked(1);
-				if (ApiPlugin.DEBUG_SEARCH_ENGINE) {
-					System.out.println(Math.round((((float) (i + 1)) / scopeelements.length) * 100) + "% done in " //$NON-NLS-1$
-							+ (System.currentTimeMillis() - loopstart) + " ms"); //$NON-NLS-1$
-				}
-			} catch (CoreException ce) {
-				if (mstatus == null) {
-					mstatus = new MultiStatus(ApiPlugin.PLUGIN_ID, IStatus.ERROR, null, null);
+		int workers = Math.min(parallelism, scopeelements.length);
+		fResolutionCache = new ReferenceResolutionCache();
+		try {
+			if (workers > 1 && requestor.createWorkerRequestor() != null) {
+				mstatus = searchParallel(requestor, scopeelements, reporter, workers, ordered, localmonitor);
+			} else {
+				for (int i = 0; i < scopeelements.length; i++) {
+					try {
+						taskname = MessageFormat.format(SearchMessages.ApiSearchEngine_searching_project,
+								scopeelements[i].getApiComponent().getSymbolicName(), fRequestorContext);
+						localmonitor.setTaskName(taskname);
+						if (ApiPlugin.DEBUG_SEARCH_ENGINE) {
+							loopstart = System.currentTimeMillis();
+							System.out.println("Searching " + scopeelements[i].getApiComponent().getSymbolicName() + "..."); //$NON-NLS-1$ //$NON-NLS-2$
+						}
+						searchReferences(requestor, scopeelements[i], reporter, localmonitor.split(1));
+						localmonitor.setTaskName(taskname);
+						if (localmonitor.isCanceled()) {
+							reporter.reportResults(scopeelements[i], NO_REFERENCES);
+							return;
+						}
+						localmonitor.worked(1);
+						if (ApiPlugin.DEBUG_SEARCH_ENGINE) {
+							System.out.println(Math.round((((float) (i + 1)) / scopeelements.length) * 100) + "% done in " //$NON-NLS-1$
+									+ (System.currentTimeMillis() - loopstart) + " ms"); //$NON-NLS-1$
+						}
+					} catch (CoreException ce) {
+						if (mstatus == null) {
+							mstatus = new MultiStatus(ApiPlugin.PLUGIN_ID, IStatus.ERROR, null, null);
+						}
+						mstatus.add(Status.error(ce.getMessage(), ce));
+					}
 				}
-				mstatus.add(Status.error(ce.getMessage(), ce));
 			}
+		} finally {
+			fResolutionCache = null;
 		}
 		if (ApiPlugin.DEBUG_SEARCH_ENGINE) {
 			System.out.println("Total Search Time: " + ((System.currentTimeMillis() - start) / 1000) + " seconds"); //$NON-NLS-1$//$NON-NLS-2$
@@ -285,6 +412,56 @@ public final class ApiSearchEngine {
 		}
 	}
 
+	/**
+	 * Searches the given scope elements concurrently on a {@link WorkerPool}
+	 *
+	 * @return the status of the failed searches or <code>null</code> if all of
+	 *         them succeeded
+	 */
+	private MultiStatus searchParallel(IApiSearchRequestor requestor, IApiElement[] scopeelements, IApiSearchReporter reporter, int workers, boolean ordered, SubMonitor monitor) {
+		MultiStatus mstatus = null;
+		WorkerMonitor workermonitor = new WorkerMonitor(monitor);
+		try (WorkerPool pool = new WorkerPool("API use search", workers)) { //$NON-NLS-1$
+			// only search a few elements ahead so that the results kept for
+			// ordered reporting do not pile up
+			int window = workers * 2;
+			List<Future<WorkerReporter>> results = new ArrayList<>(scopeelements.length);
+			for (int i = 0; i < scopeelements.length; i++) {
+				while (results.size() < scopeelements.length && results.size() < i + window) {
+					IApiElement element = scopeelements[results.size()];
+					IApiSearchRequestor workerrequestor = requestor.createWorkerRequestor();
+					results.add(pool.submit(() -> {
+						long loopstart = System.currentTimeMillis();
+						WorkerReporter workerreporter = new WorkerReporter(reporter, ordered);
+						searchReferences(workerrequestor, element, workerreporter, workermonitor);
+						if (ApiPlugin.DEBUG_SEARCH_ENGINE) {
+							System.out.println("Searched " + element.getApiComponent().getSymbolicName() + " in " //$NON-NLS-1$ //$NON-NLS-2$
+									+ (System.currentTimeMillis() - loopstart) + " ms"); //$NON-NLS-1$
+						}
+						return workerreporter;
+					}));
+				}
+				monitor.setTaskName(MessageFormat.format(SearchMessages.ApiSearchEngine_searching_project,
+						scopeelements[i].getApiComponent().getSymbolicName(), fRequestorContext));
+				try {
+					WorkerReporter workerreporter = WorkerPool.join(results.get(i), monitor);
+					results.set(i, null);
+					workerreporter.flush();
+				} catch (CoreException ce) {
+					if (mstatus == null) {
+						mstatus = new MultiStatus(ApiPlugin.PLUGIN_ID, IStatus.ERROR, null, null);
+					}
+					mstatus.add(Status.error(ce.getMessage(), ce));
+				} catch (OperationCanceledException e) {
+					reporter.reportResults(scopeelements[i], NO_REFERENCES);
+					return mstatus;
+				}
+				monitor.worked(2);
+			}
+		}
+		return mstatus;
+	}
+
 	/**
 	 * Computes the process context (label)
 	 *
@@ -131,4 +131,19 @@ public interface IApiSearchRequestor {
 	 *         otherwise
 	 */
 	public boolean includesIllegalUse();
+
+	/**
+	 * Returns a new requestor with the same settings as this one that can be
+	 * used to search one element of the scope concurrently with other
+	 * requestors returned by this method. The default implementation returns
+	 * <code>null</code>, meaning that this requestor cannot be used for a
+	 * parallel search.
+	 *
+	 * @return a new requestor or <code>null</code> if this requestor does not
+	 *         support parallel searches
+	 * @since 1.3.700
+	 */
+	public default IApiSearchRequestor createWorkerRequestor() {
+		return null;
+	}
 }
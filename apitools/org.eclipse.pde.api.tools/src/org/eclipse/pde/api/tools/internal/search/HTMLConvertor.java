@@ -23,6 +23,30 @@ import java.util.Set;
  */
 public abstract class HTMLConvertor {
 
+	// List of RTL Languages taken from
+	// https://raw.githubusercontent.com/shadiabuhilal/rtl-detect/2eed8a33276461a24e7033d1d3a115ee64aee3f5/lib/rtl-detect.js
+	private static final Set<String> RTL_LANGUAGES = Set.of( //
+			"ae", /* Avestan */ //$NON-NLS-1$
+			"ar", /* "العربية", Arabic */ //$NON-NLS-1$
+			"arc", /* Aramaic */ //$NON-NLS-1$
+			"bcc", /* "بلوچی مکرانی", Southern Balochi */ //$NON-NLS-1$
+			"bqi", /* "بختياري", Bakthiari */ //$NON-NLS-1$
+			"ckb", /* "Soranî / کوردی", Sorani */ //$NON-NLS-1$
+			"dv", /* Dhivehi */ //$NON-NLS-1$
+			"fa", /* "فارسی", Persian */ //$NON-NLS-1$
+			"glk", /* "گیلکی", Gilaki */ //$NON-NLS-1$
+			"he", /* "עברית", Hebrew */ //$NON-NLS-1$
+			"ku", /* "Kurdî / كوردی", Kurdish */ //$NON-NLS-1$
+			"mzn", /* "مازِرونی", Mazanderani */ //$NON-NLS-1$
+			"nqo", /* N"Ko */ //$NON-NLS-1$
+			"pnb", /* "پنجابی", Western Punjabi */ //$NON-NLS-1$
+			"ps", /* "پښتو", Pashto, */ //$NON-NLS-1$
+			"sd", /* "سنڌي", Sindhi */ //$NON-NLS-1$
+			"ug", /* "Uyghurche / ئۇيغۇرچە", Uyghur */ //$NON-NLS-1$
+			"ur", /* "اردو", Urdu */ //$NON-NLS-1$
+			"yi" /* "ייִדיש", Yiddish */ //$NON-NLS-1$
+	);
+
 	/**
 	 * Default file extension for HTML files: <code>.html</code>
 	 */
@@ -165,30 +189,6 @@ public abstract class HTMLConvertor {
 	 */
 	public static final String OPEN_H4 = "<h4>"; //$NON-NLS-1$
 
-	// List of RTL Languages taken from
-	// https://raw.githubusercontent.com/shadiabuhilal/rtl-detect/2eed8a33276461a24e7033d1d3a115ee64aee3f5/lib/rtl-detect.js
-	private static final Set<String> RTL_LANGUAGES = Set.of( //
-			"ae", /* Avestan */ //$NON-NLS-1$
-			"ar", /* "العربية", Arabic */ //$NON-NLS-1$
-			"arc", /* Aramaic */ //$NON-NLS-1$
-			"bcc", /* "بلوچی مکرانی", Southern Balochi */ //$NON-NLS-1$
-			"bqi", /* "بختياري", Bakthiari */ //$NON-NLS-1$
-			"ckb", /* "Soranî / کوردی", Sorani */ //$NON-NLS-1$
-			"dv", /* Dhivehi */ //$NON-NLS-1$
-			"fa", /* "فارسی", Persian */ //$NON-NLS-1$
-			"glk", /* "گیلکی", Gilaki */ //$NON-NLS-1$
-			"he", /* "עברית", Hebrew */ //$NON-NLS-1$
-			"ku", /* "Kurdî / كوردی", Kurdish */ //$NON-NLS-1$
-			"mzn", /* "مازِرونی", Mazanderani */ //$NON-NLS-1$
-			"nqo", /* N"Ko */ //$NON-NLS-1$
-			"pnb", /* "پنجابی", Western Punjabi */ //$NON-NLS-1$
-			"ps", /* "پښتو", Pashto, */ //$NON-NLS-1$
-			"sd", /* "سنڌي", Sindhi */ //$NON-NLS-1$
-			"ug", /* "Uyghurche / ئۇيغۇرچە", Uyghur */ //$NON-NLS-1$
-			"ur", /* "اردو", Urdu */ //$NON-NLS-1$
-			"yi" /* "ייִדיש", Yiddish */ //$NON-NLS-1$
-	);
-
 	/**
 	 * Opens a new <code>&lt;td&gt;</code> with the given width attribute set
 	 *
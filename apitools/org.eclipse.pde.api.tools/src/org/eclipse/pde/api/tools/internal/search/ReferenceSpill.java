@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Collects the references found for one referenced component while a use
+ * scan is converted and hands them back sorted by referenced type, referenced
+ * member, reference kind and origin.
+ * <p>
+ * At most {@link #fRunSize} references are kept in memory. When more are
+ * added, they are sorted and written to a temporary run file, and the runs
+ * are merged when the references are read back, so the memory used does not
+ * depend on the number of references of the component.
+ * </p>
+ *
+ * @since 1.3.700
+ */
+public final class ReferenceSpill implements Closeable {
+
+	/**
+	 * Default number of references kept in memory before spilling to disk
+	 */
+	public static final int DEFAULT_RUN_SIZE = 100000;
+
+	/**
+	 * A reference to a member of the referenced component
+	 *
+	 * @param type the qualified name of the referenced type
+	 * @param member the sort key of the referenced member
+	 * @param kind the name of the reference kind
+	 * @param origin the display name of the referencing member
+	 * @param line the line number of the reference
+	 * @param visibility the visibility of the reference
+	 * @param message the problem message or <code>null</code>
+	 */
+	public record Entry(String type, String member, String kind, String origin, int line, int visibility, String message) {
+	}
+
+	/**
+	 * The order in which the references are handed back
+	 */
+	public static final Comparator<Entry> ORDER = Comparator.comparing(Entry::type).thenComparing(Entry::member).thenComparing(Entry::kind).thenComparing(Entry::origin).thenComparingInt(Entry::line);
+
+	/**
+	 * Sequential access to the sorted references
+	 */
+	public interface Cursor extends Closeable {
+
+		/**
+		 * @return the next reference without consuming it or
+		 *         <code>null</code> if there are no more references
+		 */
+		Entry peek();
+
+		/**
+		 * @return the next reference or <code>null</code> if there are no
+		 *         more references
+		 * @throws IOException if a spilled reference cannot be read
+		 */
+		Entry next() throws IOException;
+	}
+
+	private final int fRunSize;
+	private final List<Entry> fEntries = new ArrayList<>();
+	private final List<Path> fRuns = new ArrayList<>();
+
+	/**
+	 * Constructor
+	 *
+	 * @param runSize the number of references to keep in memory
+	 */
+	public ReferenceSpill(int runSize) {
+		fRunSize = Math.max(1, runSize);
+	}
+
+	/**
+	 * Adds a reference
+	 *
+	 * @param entry the reference
+	 * @throws IOException if the references cannot be spilled
+	 */
+	public void add(Entry entry) throws IOException {
+		fEntries.add(entry);
+		if (fEntries.size() >= fRunSize) {
+			spill();
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if references have been written to disk
+	 */
+	public boolean hasSpilled() {
+		return !fRuns.isEmpty();
+	}
+
+	private void spill() throws IOException {
+		fEntries.sort(ORDER);
+		Path run = Files.createTempFile("apiuse", ".refs"); //$NON-NLS-1$ //$NON-NLS-2$
+		fRuns.add(run);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+			for (Entry entry : fEntries) {
+				out.writeUTF(entry.type());
+				out.writeUTF(entry.member());
+				out.writeUTF(entry.kind());
+				out.writeUTF(entry.origin());
+				out.writeInt(entry.line());
+				out.writeInt(entry.visibility());
+				out.writeBoolean(entry.message() != null);
+				if (entry.message() != null) {
+					out.writeUTF(entry.message());
+				}
+			}
+		}
+		fEntries.clear();
+	}
+
+	/**
+	 * Returns a cursor over all references added so far in sorted order. No
+	 * more references may be added once the cursor has been opened.
+	 *
+	 * @return the cursor
+	 * @throws IOException if the runs cannot be read
+	 */
+	public Cursor open() throws IOException {
+		fEntries.sort(ORDER);
+		if (fRuns.isEmpty()) {
+			return new ListCursor(fEntries);
+		}
+		if (!fEntries.isEmpty()) {
+			spill();
+		}
+		return new MergeCursor(fRuns);
+	}
+
+	@Override
+	public void close() throws IOException {
+		fEntries.clear();
+		for (Path run : fRuns) {
+			Files.deleteIfExists(run);
+		}
+		fRuns.clear();
+	}
+
+	/**
+	 * Cursor over references that have not been spilled
+	 */
+	private static final class ListCursor implements Cursor {
+
+		private final List<Entry> fList;
+		private int fIndex = 0;
+
+		ListCursor(List<Entry> list) {
+			fList = list;
+		}
+
+		@Override
+		public Entry peek() {
+			return fIndex < fList.size() ? fList.get(fIndex) : null;
+		}
+
+		@Override
+		public Entry next() {
+			return fIndex < fList.size() ? fList.get(fIndex++) : null;
+		}
+
+		@Override
+		public void close() {
+			// nothing to release
+		}
+	}
+
+	/**
+	 * Reads the references of one run file in order
+	 */
+	private static final class RunReader implements Closeable {
+
+		private final DataInputStream fIn;
+		Entry fCurrent;
+
+		RunReader(Path run) throws IOException {
+			fIn = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+			advance();
+		}
+
+		void advance() throws IOException {
+			String type;
+			try {
+				type = fIn.readUTF();
+			} catch (EOFException e) {
+				fCurrent = null;
+				return;
+			}
+			String member = fIn.readUTF();
+			String kind = fIn.readUTF();
+			String origin = fIn.readUTF();
+			int line = fIn.readInt();
+			int visibility = fIn.readInt();
+			String message = fIn.readBoolean() ? fIn.readUTF() : null;
+			fCurrent = new Entry(type, member, kind, origin, line, visibility, message);
+		}
+
+		@Override
+		public void close() throws IOException {
+			fIn.close();
+		}
+	}
+
+	/**
+	 * Merges the sorted run files
+	 */
+	private static final class MergeCursor implements Cursor {
+
+		private final PriorityQueue<RunReader> fQueue = new PriorityQueue<>((r1, r2) -> ORDER.compare(r1.fCurrent, r2.fCurrent));
+		private final List<RunReader> fReaders = new ArrayList<>();
+
+		MergeCursor(List<Path> runs) throws IOException {
+			try {
+				for (Path run : runs) {
+					RunReader reader = new RunReader(run);
+					fReaders.add(reader);
+					if (reader.fCurrent != null) {
+						fQueue.add(reader);
+					}
+				}
+			} catch (IOException e) {
+				close();
+				throw e;
+			}
+		}
+
+		@Override
+		public Entry peek() {
+			RunReader reader = fQueue.peek();
+			return reader == null ? null : reader.fCurrent;
+		}
+
+		@Override
+		public Entry next() throws IOException {
+			RunReader reader = fQueue.poll();
+			if (reader == null) {
+				return null;
+			}
+			Entry entry = reader.fCurrent;
+			reader.advance();
+			if (reader.fCurrent != null) {
+				fQueue.add(reader);
+			}
+			return entry;
+		}
+
+		@Override
+		public void close() throws IOException {
+			IOException failure = null;
+			for (RunReader reader : fReaders) {
+				try {
+					reader.close();
+				} catch (IOException e) {
+					failure = e;
+				}
+			}
+			fReaders.clear();
+			fQueue.clear();
+			if (failure != null) {
+				throw failure;
+			}
+		}
+	}
+}
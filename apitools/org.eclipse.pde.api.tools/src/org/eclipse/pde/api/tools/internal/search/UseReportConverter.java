@@ -19,6 +19,8 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -127,6 +129,7 @@ public class UseReportConverter extends HTMLConvertor {
 		public boolean visitComponent(IComponentDescriptor target) {
 			this.currentreport = new Report();
 			this.currentreport.name = composeName(target.getId(), target.getVersion());
+			this.currentreport.references = new ReferenceSpill(runSize);
 			this.reports.add(this.currentreport);
 			return true;
 		}
@@ -155,6 +158,12 @@ public class UseReportConverter extends HTMLConvertor {
 				this.currentreport.children.clear();
 				this.keys.clear();
 				this.referees.clear();
+				try {
+					this.currentreport.references.close();
+				} catch (IOException e) {
+					ApiPlugin.log(e);
+				}
+				this.currentreport.references = null;
 			}
 		}
 
@@ -179,14 +188,17 @@ public class UseReportConverter extends HTMLConvertor {
 			}
 			this.currenttype = this.keys.computeIfAbsent(desc, Type::new);
 			Map<IMemberDescriptor, Member> map = this.currentreport.children.computeIfAbsent(this.currenttype,
-					t -> new TreeMap<>(compare));
+					t -> new TreeMap<>(memberorder));
 			this.currentmember = map.computeIfAbsent(referencedMember, Member::new);
+			if (this.currentmember.key == null) {
+				this.currentmember.key = getMemberKey(referencedMember);
+			}
 			return true;
 		}
 
 		@Override
 		public void endVisitMember(IMemberDescriptor referencedMember) {
-			if (this.currentmember.children.isEmpty()) {
+			if (this.currentmember.refcount == 0) {
 				TreeMap<IMemberDescriptor, Member> map = this.currentreport.children.get(this.currenttype);
 				map.remove(referencedMember);
 			}
@@ -228,12 +240,16 @@ public class UseReportConverter extends HTMLConvertor {
 			int refKind = reference.getReferenceKind();
 			int visibility = reference.getVisibility();
 			String refname = org.eclipse.pde.api.tools.internal.builder.Reference.getReferenceText(refKind);
-			List<Reference> refs = this.currentmember.children.get(refname);
-			if (refs == null) {
-				refs = new ArrayList<>();
-				this.currentmember.children.put(refname, refs);
+			this.currentmember.refcount++;
+			try {
+				// only the counts are kept in memory, the references are
+				// written out with the type pages
+				this.currentreport.references.add(new ReferenceSpill.Entry(((IReferenceTypeDescriptor) this.currenttype.desc).getQualifiedName(), this.currentmember.key, refname, getDisplayName(fromMember, false, true), lineNumber, visibility, formatMessages(reference.getProblemMessages())));
+			} catch (CoreException ce) {
+				ApiPlugin.log(ce);
+			} catch (IOException ioe) {
+				throw new UncheckedIOException(ioe);
 			}
-			refs.add(new Reference(fromMember, lineNumber, visibility, formatMessages(reference.getProblemMessages())));
 			switch (fromMember.getElementType()) {
 				case IElementDescriptor.TYPE -> {
 					switch (visibility) {
@@ -377,6 +393,35 @@ public class UseReportConverter extends HTMLConvertor {
 		return -1;
 	};
 
+	/**
+	 * Returns the key used to sort the referenced members of a type, which is
+	 * the qualified name or signature of the member
+	 *
+	 * @param desc the member
+	 * @return the sort key
+	 */
+	static String getMemberKey(IElementDescriptor desc) {
+		return switch (desc.getElementType())
+			{
+			case IElementDescriptor.TYPE -> ((IReferenceTypeDescriptor) desc).getQualifiedName();
+			case IElementDescriptor.METHOD -> {
+				try {
+					yield Signatures.getQualifiedMethodSignature((IMethodDescriptor) desc);
+				} catch (CoreException ce) {
+					yield desc.toString();
+				}
+			}
+			case IElementDescriptor.FIELD -> Signatures.getQualifiedFieldSignature((IFieldDescriptor) desc);
+			default -> desc.toString();
+			};
+	}
+
+	/**
+	 * Total order for the referenced members of a type, consistent with the
+	 * order of the references handed back by a {@link ReferenceSpill}
+	 */
+	static final Comparator<IElementDescriptor> memberorder = Comparator.comparing(UseReportConverter::getMemberKey);
+
 	/**
 	 * Root item describing the use of one component
 	 */
@@ -384,6 +429,11 @@ public class UseReportConverter extends HTMLConvertor {
 		String name = null;
 		TreeMap<Type, TreeMap<IMemberDescriptor, Member>> children = new TreeMap<>(compare);
 		CountGroup counts = new CountGroup();
+		/**
+		 * The references to the component while it is being visited, or
+		 * <code>null</code> if the references are held by the members
+		 */
+		ReferenceSpill references = null;
 	}
 
 	/**
@@ -405,6 +455,8 @@ public class UseReportConverter extends HTMLConvertor {
 		IElementDescriptor descriptor = null;
 		TreeMap<String, List<Reference>> children = new TreeMap<>(compare);
 		CountGroup counts = new CountGroup();
+		String key = null;
+		int refcount = 0;
 
 		public Member(IElementDescriptor desc) {
 			this.descriptor = desc;
@@ -538,6 +590,10 @@ public class UseReportConverter extends HTMLConvertor {
 	 * The script block used to show an expanding table of references
 	 */
 	static final String REF_SCRIPT;
+	/**
+	 * Opening tag of the nested table of references of a member
+	 */
+	static final String OPEN_REFERENCES_TABLE = "<table width=\"100%\" border=\"0\" cellspacing=\"1\" cellpadding=\"6\">\n"; //$NON-NLS-1$
 
 	static {
 		StringBuilder buffer = new StringBuilder();
@@ -569,6 +625,7 @@ public class UseReportConverter extends HTMLConvertor {
 	private int filteredCount = -1;
 	Pattern[] topatterns = null;
 	Pattern[] frompatterns = null;
+	int runSize = ReferenceSpill.DEFAULT_RUN_SIZE;
 
 	/**
 	 * Constructor
@@ -934,16 +991,18 @@ public class UseReportConverter extends HTMLConvertor {
 				buffer.append(additional);
 			}
 			buffer.append(getReferencesTableHeader(SearchMessages.UseReportConverter_references, SearchMessages.UseReportConverter_referenced_type, false));
-			for (Entry<Type, TreeMap<IMemberDescriptor, Member>> entry : report.children.entrySet()) {
-				Map<IMemberDescriptor, Member> map = entry.getValue();
-				Type type = entry.getKey();
-				CountGroup counts = type.counts;
-
-				String fqname = Signatures.getQualifiedTypeSignature((IReferenceTypeDescriptor) type.desc);
-				Path typefile = htmlroot.resolve(fqname + HTML_EXTENSION);
-				String link = extractLinkFrom(htmlroot.toFile(), typefile.toAbsolutePath().toString());
-				buffer.append(getReferenceTableEntry(counts, link, fqname, false));
-				writeTypePage(map, type, typefile, fqname);
+			try (ReferenceSpill.Cursor cursor = report.references == null ? null : report.references.open()) {
+				for (Entry<Type, TreeMap<IMemberDescriptor, Member>> entry : report.children.entrySet()) {
+					Map<IMemberDescriptor, Member> map = entry.getValue();
+					Type type = entry.getKey();
+					CountGroup counts = type.counts;
+
+					String fqname = Signatures.getQualifiedTypeSignature((IReferenceTypeDescriptor) type.desc);
+					Path typefile = htmlroot.resolve(fqname + HTML_EXTENSION);
+					String link = extractLinkFrom(htmlroot.toFile(), typefile.toAbsolutePath().toString());
+					buffer.append(getReferenceTableEntry(counts, link, fqname, false));
+					writeTypePage(map, type, typefile, fqname, cursor);
+				}
 			}
 			buffer.append(CLOSE_TABLE);
 			buffer.append(BR);
@@ -1014,46 +1073,69 @@ public class UseReportConverter extends HTMLConvertor {
 	 * Writes the page that displays all of the members used in a type
 	 */
 	void writeTypePage(Map<IMemberDescriptor, Member> map, Type type, Path typefile, String typename) throws Exception {
-		StringBuilder buffer = new StringBuilder();
-		buffer.append(HTML_HEADER);
-		buffer.append(OPEN_HTML).append(OPEN_HEAD).append(CONTENT_TYPE_META);
-		buffer.append(REF_STYLE);
-		buffer.append(REF_SCRIPT);
-		buffer.append(OPEN_TITLE).append(getTypeTitle(typename)).append(CLOSE_TITLE);
-		buffer.append(CLOSE_HEAD);
-		buffer.append(OPEN_BODY);
-		buffer.append(OPEN_H3).append(getTypeTitle(typename)).append(CLOSE_H3);
-		buffer.append(getTypeCountSummary(typename, type.counts, map.size()));
-		buffer.append(OPEN_H4).append(getTypeDetailsHeader()).append(CLOSE_H4);
-		buffer.append(OPEN_P).append(getTypeDetails()).append(CLOSE_P);
-		buffer.append("<div align=\"left\" class=\"main\">"); //$NON-NLS-1$
-		buffer.append("<table border=\"1\" width=\"80%\">\n"); //$NON-NLS-1$
-		buffer.append(OPEN_TR);
-		buffer.append("<td bgcolor=\"").append(REFERENCES_TABLE_HEADER_COLOUR).append("\">").append(OPEN_B) //$NON-NLS-1$ //$NON-NLS-2$
-				.append(SearchMessages.UseReportConverter_member).append("</b></td>\n"); //$NON-NLS-1$
-		buffer.append(CLOSE_TR);
-		for (Entry<IMemberDescriptor, Member> entry : map.entrySet()) {
-			IElementDescriptor desc = entry.getKey();
-			buffer.append(OPEN_TR);
-			buffer.append("<td align=\"left\">\n"); //$NON-NLS-1$
-			buffer.append(OPEN_B);
-			buffer.append("<a href=\"javascript:void(0)\" class=\"typeslnk\" onclick=\"expand(this)\" title=\""); //$NON-NLS-1$
-			buffer.append(getDisplayName(desc, true, true)).append("\">\n"); //$NON-NLS-1$
-			buffer.append("<span>[+] </span>").append(getDisplayName(desc, true, false)).append("\n"); //$NON-NLS-1$//$NON-NLS-2$
-			buffer.append(CLOSE_A).append(CLOSE_B);
-			buffer.append("<div colspan=\"6\" class=\"types\">\n"); //$NON-NLS-1$
-			buffer.append(getReferencesTable(entry.getValue())).append("\n"); //$NON-NLS-1$
-			buffer.append(CLOSE_DIV);
-			buffer.append(CLOSE_TR);
-		}
-		buffer.append(CLOSE_TABLE);
-		buffer.append(CLOSE_DIV);
-		buffer.append(OPEN_P).append("<a href=\"index.html\">") //$NON-NLS-1$
-				.append(SearchMessages.UseReportConverter_back_to_bundle_index).append(CLOSE_A).append(CLOSE_P);
-		buffer.append(W3C_FOOTER);
+		writeTypePage(map, type, typefile, typename, null);
+	}
 
+	/**
+	 * Writes the page that displays all of the members used in a type. The
+	 * page is written as it is composed, so that the references of a type do
+	 * not have to be held in memory.
+	 *
+	 * @param cursor the references of the component positioned at the first
+	 *            reference to the type, or <code>null</code> if the
+	 *            references are held by the members
+	 */
+	void writeTypePage(Map<IMemberDescriptor, Member> map, Type type, Path typefile, String typename, ReferenceSpill.Cursor cursor) throws Exception {
 		try {
-			Files.writeString(typefile, buffer);
+			Files.createDirectories(typefile.getParent());
+			try (Writer writer = Files.newBufferedWriter(typefile)) {
+				StringBuilder buffer = new StringBuilder();
+				buffer.append(HTML_HEADER);
+				buffer.append(OPEN_HTML).append(OPEN_HEAD).append(CONTENT_TYPE_META);
+				buffer.append(REF_STYLE);
+				buffer.append(REF_SCRIPT);
+				buffer.append(OPEN_TITLE).append(getTypeTitle(typename)).append(CLOSE_TITLE);
+				buffer.append(CLOSE_HEAD);
+				buffer.append(OPEN_BODY);
+				buffer.append(OPEN_H3).append(getTypeTitle(typename)).append(CLOSE_H3);
+				buffer.append(getTypeCountSummary(typename, type.counts, map.size()));
+				buffer.append(OPEN_H4).append(getTypeDetailsHeader()).append(CLOSE_H4);
+				buffer.append(OPEN_P).append(getTypeDetails()).append(CLOSE_P);
+				buffer.append("<div align=\"left\" class=\"main\">"); //$NON-NLS-1$
+				buffer.append("<table border=\"1\" width=\"80%\">\n"); //$NON-NLS-1$
+				buffer.append(OPEN_TR);
+				buffer.append("<td bgcolor=\"").append(REFERENCES_TABLE_HEADER_COLOUR).append("\">").append(OPEN_B) //$NON-NLS-1$ //$NON-NLS-2$
+						.append(SearchMessages.UseReportConverter_member).append("</b></td>\n"); //$NON-NLS-1$
+				buffer.append(CLOSE_TR);
+				String qualifiedname = ((IReferenceTypeDescriptor) type.desc).getQualifiedName();
+				for (Entry<IMemberDescriptor, Member> entry : map.entrySet()) {
+					IElementDescriptor desc = entry.getKey();
+					buffer.append(OPEN_TR);
+					buffer.append("<td align=\"left\">\n"); //$NON-NLS-1$
+					buffer.append(OPEN_B);
+					buffer.append("<a href=\"javascript:void(0)\" class=\"typeslnk\" onclick=\"expand(this)\" title=\""); //$NON-NLS-1$
+					buffer.append(getDisplayName(desc, true, true)).append("\">\n"); //$NON-NLS-1$
+					buffer.append("<span>[+] </span>").append(getDisplayName(desc, true, false)).append("\n"); //$NON-NLS-1$//$NON-NLS-2$
+					buffer.append(CLOSE_A).append(CLOSE_B);
+					buffer.append("<div colspan=\"6\" class=\"types\">\n"); //$NON-NLS-1$
+					if (cursor == null) {
+						buffer.append(getReferencesTable(entry.getValue()));
+					} else {
+						writeReferencesTable(writer, buffer, qualifiedname, getMemberKey(desc), cursor);
+					}
+					buffer.append("\n"); //$NON-NLS-1$
+					buffer.append(CLOSE_DIV);
+					buffer.append(CLOSE_TR);
+					writer.append(buffer);
+					buffer.setLength(0);
+				}
+				buffer.append(CLOSE_TABLE);
+				buffer.append(CLOSE_DIV);
+				buffer.append(OPEN_P).append("<a href=\"index.html\">") //$NON-NLS-1$
+						.append(SearchMessages.UseReportConverter_back_to_bundle_index).append(CLOSE_A).append(CLOSE_P);
+				buffer.append(W3C_FOOTER);
+				writer.append(buffer);
+			}
 		} catch (IOException ioe) {
 			throw new Exception(NLS.bind(SearchMessages.ioexception_writing_html_file, typefile.toAbsolutePath()));
 		}
@@ -1095,33 +1177,17 @@ public class UseReportConverter extends HTMLConvertor {
 	 */
 	String getReferencesTable(Member member) {
 		StringBuilder buffer = new StringBuilder();
-		buffer.append("<table width=\"100%\" border=\"0\" cellspacing=\"1\" cellpadding=\"6\">\n"); //$NON-NLS-1$
+		buffer.append(OPEN_REFERENCES_TABLE);
 		List<Reference> refs = null;
 		Reference ref = null;
 		for (Entry<String, List<Reference>> entry : member.children.entrySet()) {
-			buffer.append("<tr align=\"left\"> \n"); //$NON-NLS-1$
-			buffer.append("<td colspan=\"3\" bgcolor=\"#CCCCCC\">").append(OPEN_B).append(entry.getKey()).append(CLOSE_B).append(CLOSE_TD); //$NON-NLS-1$
-			buffer.append(CLOSE_TR);
-			buffer.append("<tr bgcolor=\"").append(REFERENCES_TABLE_HEADER_COLOUR).append("\">"); //$NON-NLS-1$ //$NON-NLS-2$
-			buffer.append("<td align=\"left\" width=\"84%\">").append(OPEN_B).append(SearchMessages.UseReportConverter_reference_location).append(CLOSE_B).append(CLOSE_TD); //$NON-NLS-1$
-			buffer.append("<td align=\"center\" width=\"8%\">").append(OPEN_B).append(SearchMessages.UseReportConverter_line_number).append(CLOSE_B).append(CLOSE_TD); //$NON-NLS-1$
-			buffer.append("<td align=\"center\" width=\"8%\">").append(OPEN_B).append(SearchMessages.UseReportConverter_reference_kind).append(CLOSE_B).append(CLOSE_TD); //$NON-NLS-1$
-			buffer.append(CLOSE_TR);
+			appendReferenceKindHeader(buffer, entry.getKey());
 			refs = entry.getValue();
 			Collections.sort(refs, compare);
 			for (Iterator<Reference> iter2 = refs.iterator(); iter2.hasNext();) {
 				ref = iter2.next();
 				try {
-					String name = getDisplayName(ref.desc, false, true);
-					buffer.append(OPEN_TR);
-					buffer.append(OPEN_TD).append(name).append(CLOSE_TD);
-					buffer.append("<td align=\"center\">").append(ref.line).append(CLOSE_TD); //$NON-NLS-1$
-					buffer.append("<td align=\"center\">").append("<span class=\"typeslnk\""); //$NON-NLS-1$//$NON-NLS-2$
-					if (ref.message != null) {
-						buffer.append(" title=\"").append(ref.message).append("\""); //$NON-NLS-1$ //$NON-NLS-2$
-					}
-					buffer.append(">").append(VisibilityModifiers.getVisibilityName(ref.vis)).append("</span>"); //$NON-NLS-1$ //$NON-NLS-2$
-					buffer.append(CLOSE_TD).append(CLOSE_TR);
+					appendReferenceRow(buffer, getDisplayName(ref.desc, false, true), ref.line, ref.vis, ref.message);
 				} catch (CoreException ce) {
 					ApiPlugin.log(ce);
 				}
@@ -1131,6 +1197,69 @@ public class UseReportConverter extends HTMLConvertor {
 		return buffer.toString();
 	}
 
+	/**
+	 * Writes the nested table of the references to the given member, taking
+	 * the references from the given cursor. The table is composed in the given
+	 * buffer, which is flushed to the writer as it grows.
+	 *
+	 * @param writer the writer of the type page
+	 * @param buffer the buffer to compose the table in
+	 * @param type the qualified name of the type of the member
+	 * @param member the key of the member
+	 * @param cursor the sorted references
+	 */
+	void writeReferencesTable(Writer writer, StringBuilder buffer, String type, String member, ReferenceSpill.Cursor cursor) throws IOException {
+		buffer.append(OPEN_REFERENCES_TABLE);
+		String kind = null;
+		ReferenceSpill.Entry ref = cursor.peek();
+		while (ref != null) {
+			int compare = ref.type().compareTo(type);
+			if (compare == 0) {
+				compare = ref.member().compareTo(member);
+			}
+			if (compare > 0) {
+				break;
+			}
+			cursor.next();
+			if (compare == 0) {
+				if (!ref.kind().equals(kind)) {
+					kind = ref.kind();
+					appendReferenceKindHeader(buffer, kind);
+				}
+				appendReferenceRow(buffer, ref.origin(), ref.line(), ref.visibility(), ref.message());
+				if (buffer.length() > 8192) {
+					writer.append(buffer);
+					buffer.setLength(0);
+				}
+			}
+			ref = cursor.peek();
+		}
+		buffer.append(CLOSE_TABLE);
+	}
+
+	private void appendReferenceKindHeader(StringBuilder buffer, String kind) {
+		buffer.append("<tr align=\"left\"> \n"); //$NON-NLS-1$
+		buffer.append("<td colspan=\"3\" bgcolor=\"#CCCCCC\">").append(OPEN_B).append(kind).append(CLOSE_B).append(CLOSE_TD); //$NON-NLS-1$
+		buffer.append(CLOSE_TR);
+		buffer.append("<tr bgcolor=\"").append(REFERENCES_TABLE_HEADER_COLOUR).append("\">"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("<td align=\"left\" width=\"84%\">").append(OPEN_B).append(SearchMessages.UseReportConverter_reference_location).append(CLOSE_B).append(CLOSE_TD); //$NON-NLS-1$
+		buffer.append("<td align=\"center\" width=\"8%\">").append(OPEN_B).append(SearchMessages.UseReportConverter_line_number).append(CLOSE_B).append(CLOSE_TD); //$NON-NLS-1$
+		buffer.append("<td align=\"center\" width=\"8%\">").append(OPEN_B).append(SearchMessages.UseReportConverter_reference_kind).append(CLOSE_B).append(CLOSE_TD); //$NON-NLS-1$
+		buffer.append(CLOSE_TR);
+	}
+
+	private void appendReferenceRow(StringBuilder buffer, String name, int line, int vis, String message) {
+		buffer.append(OPEN_TR);
+		buffer.append(OPEN_TD).append(name).append(CLOSE_TD);
+		buffer.append("<td align=\"center\">").append(line).append(CLOSE_TD); //$NON-NLS-1$
+		buffer.append("<td align=\"center\">").append("<span class=\"typeslnk\""); //$NON-NLS-1$//$NON-NLS-2$
+		if (message != null) {
+			buffer.append(" title=\"").append(message).append("\""); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		buffer.append(">").append(VisibilityModifiers.getVisibilityName(vis)).append("</span>"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append(CLOSE_TD).append(CLOSE_TR);
+	}
+
 	/**
 	 * Returns the name to display for the given {@link IElementDescriptor}
 	 * which can be qualified or not
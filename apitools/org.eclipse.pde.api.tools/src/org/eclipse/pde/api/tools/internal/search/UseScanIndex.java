@@ -0,0 +1,536 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IComponentDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMemberDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMethodDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
+
+/**
+ * Compact binary index of an API use scan.
+ * <p>
+ * The index stores the references of a use scan grouped by referenced
+ * component and referenced root type. It is memory mapped when opened and only
+ * the references to the types that are asked for are decoded, so the
+ * {@link UseScanManager} does not have to parse the XML reports of a scan each
+ * time the external dependencies of a component are checked.
+ * </p>
+ * <p>
+ * All strings are stored once in a sorted string table and referred to by
+ * their index, so that looking up a type name is a binary search in the
+ * string table followed by a binary search in the types of the component.
+ * </p>
+ *
+ * @since 1.3.700
+ */
+public final class UseScanIndex {
+
+	/**
+	 * Name of the index file in the XML directory of a use scan
+	 */
+	public static final String INDEX_FILE_NAME = "use_scan.index"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x41555349;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 6 * Integer.BYTES;
+	private static final int NO_STRING = -1;
+
+	/**
+	 * Slots of a reference record
+	 */
+	private static final int REF_FROM_ID = 0;
+	private static final int REF_FROM_VERSION = 1;
+	private static final int REF_ORIGIN_TYPE = 2;
+	private static final int REF_ORIGIN_NAME = 3;
+	private static final int REF_ORIGIN_SIGNATURE = 4;
+	private static final int REF_LINE = 5;
+	private static final int REF_TARGET_TYPE = 6;
+	private static final int REF_TARGET_NAME = 7;
+	private static final int REF_TARGET_SIGNATURE = 8;
+	private static final int REF_TYPE = 9;
+	private static final int REF_KIND = 10;
+	private static final int REF_FLAGS = 11;
+	private static final int REF_VISIBILITY = 12;
+	private static final int REFERENCE_SIZE = 13;
+
+	private final MappedByteBuffer fBuffer;
+	private final FileTime fLastModified;
+	private final long fSize;
+
+	private final int fStringCount;
+	private final int fComponentCount;
+	private final int fTypeCount;
+
+	/**
+	 * Positions of the sections in the mapped file
+	 */
+	private final int fStringOffsets;
+	private final int fComponentIds;
+	private final int fComponentVersions;
+	private final int fComponentStarts;
+	private final int fTypeNames;
+	private final int fTypeStarts;
+	private final int fReferences;
+	private final int fStrings;
+
+	/**
+	 * Strings decoded so far
+	 */
+	private final String[] fDecoded;
+
+	private UseScanIndex(MappedByteBuffer buffer, FileTime lastModified, long size, int strings, int components, int types, int references) {
+		fBuffer = buffer;
+		fLastModified = lastModified;
+		fSize = size;
+		fStringCount = strings;
+		fComponentCount = components;
+		fTypeCount = types;
+		fStringOffsets = HEADER_SIZE;
+		fComponentIds = fStringOffsets + (strings + 1) * Integer.BYTES;
+		fComponentVersions = fComponentIds + components * Integer.BYTES;
+		fComponentStarts = fComponentVersions + components * Integer.BYTES;
+		fTypeNames = fComponentStarts + (components + 1) * Integer.BYTES;
+		fTypeStarts = fTypeNames + types * Integer.BYTES;
+		fReferences = fTypeStarts + (types + 1) * Integer.BYTES;
+		fStrings = fReferences + references * REFERENCE_SIZE * Integer.BYTES;
+		fDecoded = new String[strings];
+	}
+
+	/**
+	 * Maps the given index file
+	 *
+	 * @param file the index file
+	 * @return the index
+	 * @throws IOException if the file cannot be read or is not a use scan
+	 *             index of the current version
+	 */
+	public static UseScanIndex open(Path file) throws IOException {
+		FileTime lastModified = Files.getLastModifiedTime(file);
+		MappedByteBuffer buffer;
+		long size;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			size = channel.size();
+			if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+				throw new IOException("Invalid use scan index: " + file); //$NON-NLS-1$
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("Unsupported use scan index: " + file); //$NON-NLS-1$
+		}
+		UseScanIndex index = new UseScanIndex(buffer, lastModified, size, buffer.getInt(8), buffer.getInt(12), buffer.getInt(16), buffer.getInt(20));
+		if (index.fStrings > size || (long) index.fStrings + index.stringOffset(index.fStringCount) != size) {
+			throw new IOException("Truncated use scan index: " + file); //$NON-NLS-1$
+		}
+		return index;
+	}
+
+	/**
+	 * Returns if the given file is the file this index was opened from and has
+	 * not changed since
+	 *
+	 * @param file the index file
+	 * @return <code>true</code> if the index is still current,
+	 *         <code>false</code> otherwise
+	 */
+	public boolean isCurrent(Path file) {
+		try {
+			return fLastModified.equals(Files.getLastModifiedTime(file)) && fSize == Files.size(file);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @return the number of referenced root types in this index, over all
+	 *         components
+	 */
+	public int getTypeCount() {
+		return fTypeCount;
+	}
+
+	/**
+	 * Adds the references made to the given types of the given component to
+	 * the collection
+	 *
+	 * @param componentId the symbolic name of the referenced component or
+	 *            <code>null</code> for all components
+	 * @param types the qualified names of the referenced root types or
+	 *            <code>null</code> or empty for all types
+	 * @param references the collection to add the references to
+	 */
+	public void collect(String componentId, String[] types, IReferenceCollection references) {
+		int id = NO_STRING;
+		if (componentId != null) {
+			id = indexOf(componentId);
+			if (id < 0) {
+				return;
+			}
+		}
+		int[] typeIds = null;
+		if (types != null && types.length > 0) {
+			typeIds = new int[types.length];
+			for (int i = 0; i < types.length; i++) {
+				typeIds[i] = indexOf(types[i]);
+			}
+		}
+		for (int component = 0; component < fComponentCount; component++) {
+			if (id != NO_STRING && getInt(fComponentIds, component) != id) {
+				continue;
+			}
+			IComponentDescriptor target = Factory.componentDescriptor(getString(getInt(fComponentIds, component)), getString(getInt(fComponentVersions, component)));
+			int first = getInt(fComponentStarts, component);
+			int last = getInt(fComponentStarts, component + 1);
+			if (typeIds == null) {
+				for (int type = first; type < last; type++) {
+					collect(target, type, references);
+				}
+			} else {
+				for (int typeId : typeIds) {
+					if (typeId >= 0) {
+						int type = binarySearch(fTypeNames, first, last, typeId);
+						if (type >= 0) {
+							collect(target, type, references);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void collect(IComponentDescriptor target, int type, IReferenceCollection references) {
+		String rootType = getString(getInt(fTypeNames, type));
+		int last = getInt(fTypeStarts, type + 1);
+		int[] record = new int[REFERENCE_SIZE];
+		for (int reference = getInt(fTypeStarts, type); reference < last; reference++) {
+			int position = fReferences + reference * REFERENCE_SIZE * Integer.BYTES;
+			for (int i = 0; i < REFERENCE_SIZE; i++) {
+				record[i] = fBuffer.getInt(position + i * Integer.BYTES);
+			}
+			IComponentDescriptor from = Factory.componentDescriptor(getString(record[REF_FROM_ID]), getString(record[REF_FROM_VERSION]));
+			IMemberDescriptor origin = newMember(getString(record[REF_ORIGIN_TYPE]), getString(record[REF_ORIGIN_NAME]), getString(record[REF_ORIGIN_SIGNATURE]));
+			String targetType = getString(record[REF_TARGET_TYPE]);
+			IMemberDescriptor member = switch (record[REF_TYPE])
+				{
+				case IReference.T_METHOD_REFERENCE -> Factory.methodDescriptor(targetType, getString(record[REF_TARGET_NAME]), getString(record[REF_TARGET_SIGNATURE]));
+				case IReference.T_FIELD_REFERENCE -> Factory.fieldDescriptor(targetType, getString(record[REF_TARGET_NAME]));
+				default -> Factory.typeDescriptor(targetType);
+				};
+			references.add(rootType, new ReferenceDescriptor(from, origin, record[REF_LINE], target, member, record[REF_KIND], record[REF_FLAGS], record[REF_VISIBILITY], null));
+		}
+	}
+
+	/**
+	 * Creates the descriptor of a referencing member the same way the
+	 * {@link UseScanParser} does
+	 */
+	private static IMemberDescriptor newMember(String type, String name, String signature) {
+		if (signature != null) {
+			return Factory.methodDescriptor(type, name, signature);
+		}
+		if (name != null) {
+			return Factory.fieldDescriptor(type, name);
+		}
+		return Factory.typeDescriptor(type);
+	}
+
+	private int getInt(int section, int index) {
+		return fBuffer.getInt(section + index * Integer.BYTES);
+	}
+
+	private int stringOffset(int index) {
+		return getInt(fStringOffsets, index);
+	}
+
+	private String getString(int index) {
+		if (index == NO_STRING) {
+			return null;
+		}
+		String string = fDecoded[index];
+		if (string == null) {
+			int start = stringOffset(index);
+			byte[] bytes = new byte[stringOffset(index + 1) - start];
+			fBuffer.get(fStrings + start, bytes);
+			string = new String(bytes, StandardCharsets.UTF_8);
+			fDecoded[index] = string;
+		}
+		return string;
+	}
+
+	/**
+	 * @return the index of the given string in the string table or
+	 *         <code>-1</code>
+	 */
+	private int indexOf(String string) {
+		int low = 0;
+		int high = fStringCount - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int compare = getString(mid).compareTo(string);
+			if (compare < 0) {
+				low = mid + 1;
+			} else if (compare > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	private int binarySearch(int section, int from, int to, int value) {
+		int low = from;
+		int high = to - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int current = getInt(section, mid);
+			if (current < value) {
+				low = mid + 1;
+			} else if (current > value) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Writes the index of the use scan rooted at the given XML directory into
+	 * the {@link #INDEX_FILE_NAME} file of that directory
+	 *
+	 * @param xmlLocation root of the API use scan (XML directory)
+	 * @param monitor progress monitor or <code>null</code>
+	 * @throws Exception if the scan cannot be parsed or the index cannot be
+	 *             written
+	 */
+	public static void write(String xmlLocation, IProgressMonitor monitor) throws Exception {
+		List<IReferenceDescriptor> descriptors = new ArrayList<>();
+		IReferenceCollection collector = new IReferenceCollection() {
+			@Override
+			public void add(String type, IReferenceDescriptor referenceDescriptor) {
+				descriptors.add(referenceDescriptor);
+			}
+
+			@Override
+			public boolean hasReferencesTo(String type) {
+				return false;
+			}
+
+			@Override
+			public IReferenceDescriptor[] getAllExternalDependencies() {
+				return descriptors.toArray(new IReferenceDescriptor[descriptors.size()]);
+			}
+
+			@Override
+			public IReferenceDescriptor[] getExternalDependenciesTo(String[] types) {
+				return new IReferenceDescriptor[0];
+			}
+
+			@Override
+			public void clear() {
+				descriptors.clear();
+			}
+		};
+		new UseScanParser().parse(xmlLocation, monitor, new UseScanReferenceVisitor(null, null, collector));
+		write(collector.getAllExternalDependencies(), Path.of(xmlLocation, INDEX_FILE_NAME));
+	}
+
+	/**
+	 * Writes an index of the given references to the given file
+	 *
+	 * @param references the references
+	 * @param file the index file
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(IReferenceDescriptor[] references, Path file) throws IOException {
+		// component -> root type -> references, keeping the scan order of the
+		// references of a type and dropping duplicates
+		Map<List<String>, Map<String, Set<IReferenceDescriptor>>> components = new TreeMap<>((c1, c2) -> {
+			int compare = c1.get(0).compareTo(c2.get(0));
+			return compare != 0 ? compare : String.valueOf(c1.get(1)).compareTo(String.valueOf(c2.get(1)));
+		});
+		TreeSet<String> strings = new TreeSet<>();
+		for (IReferenceDescriptor reference : references) {
+			IComponentDescriptor target = reference.getReferencedComponent();
+			IComponentDescriptor from = reference.getComponent();
+			String rootType = getRootType(reference.getReferencedMember());
+			components.computeIfAbsent(Arrays.asList(target.getId(), target.getVersion()), c -> new TreeMap<>()).computeIfAbsent(rootType, t -> new LinkedHashSet<>()).add(reference);
+			addString(strings, target.getId());
+			addString(strings, target.getVersion());
+			addString(strings, from.getId());
+			addString(strings, from.getVersion());
+			addString(strings, rootType);
+			for (String string : describe(reference.getMember())) {
+				addString(strings, string);
+			}
+			for (String string : describe(reference.getReferencedMember())) {
+				addString(strings, string);
+			}
+		}
+		Map<String, Integer> ids = new HashMap<>();
+		List<byte[]> encoded = new ArrayList<>(strings.size());
+		for (String string : strings) {
+			ids.put(string, Integer.valueOf(ids.size()));
+			encoded.add(string.getBytes(StandardCharsets.UTF_8));
+		}
+		int typeCount = 0;
+		for (Map<String, Set<IReferenceDescriptor>> types : components.values()) {
+			typeCount += types.size();
+		}
+		int referenceCount = 0;
+		for (Map<String, Set<IReferenceDescriptor>> types : components.values()) {
+			for (Set<IReferenceDescriptor> refs : types.values()) {
+				referenceCount += refs.size();
+			}
+		}
+
+		Path parent = file.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path temp = Files.createTempFile(parent, file.getFileName().toString(), null);
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(encoded.size());
+				out.writeInt(components.size());
+				out.writeInt(typeCount);
+				out.writeInt(referenceCount);
+				int offset = 0;
+				for (byte[] bytes : encoded) {
+					out.writeInt(offset);
+					offset += bytes.length;
+				}
+				out.writeInt(offset);
+				for (List<String> component : components.keySet()) {
+					out.writeInt(id(ids, component.get(0)));
+				}
+				for (List<String> component : components.keySet()) {
+					out.writeInt(id(ids, component.get(1)));
+				}
+				int start = 0;
+				for (Map<String, Set<IReferenceDescriptor>> types : components.values()) {
+					out.writeInt(start);
+					start += types.size();
+				}
+				out.writeInt(start);
+				for (Map<String, Set<IReferenceDescriptor>> types : components.values()) {
+					for (String type : types.keySet()) {
+						out.writeInt(id(ids, type));
+					}
+				}
+				start = 0;
+				for (Map<String, Set<IReferenceDescriptor>> types : components.values()) {
+					for (Set<IReferenceDescriptor> refs : types.values()) {
+						out.writeInt(start);
+						start += refs.size();
+					}
+				}
+				out.writeInt(start);
+				for (Map<String, Set<IReferenceDescriptor>> types : components.values()) {
+					for (Set<IReferenceDescriptor> refs : types.values()) {
+						for (IReferenceDescriptor reference : refs) {
+							writeReference(out, ids, reference);
+						}
+					}
+				}
+				for (byte[] bytes : encoded) {
+					out.write(bytes);
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private static void writeReference(DataOutputStream out, Map<String, Integer> ids, IReferenceDescriptor reference) throws IOException {
+		String[] origin = describe(reference.getMember());
+		String[] target = describe(reference.getReferencedMember());
+		out.writeInt(id(ids, reference.getComponent().getId()));
+		out.writeInt(id(ids, reference.getComponent().getVersion()));
+		out.writeInt(id(ids, origin[0]));
+		out.writeInt(id(ids, origin[1]));
+		out.writeInt(id(ids, origin[2]));
+		out.writeInt(reference.getLineNumber());
+		out.writeInt(id(ids, target[0]));
+		out.writeInt(id(ids, target[1]));
+		out.writeInt(id(ids, target[2]));
+		out.writeInt(reference.getReferenceType());
+		out.writeInt(reference.getReferenceKind());
+		out.writeInt(reference.getReferenceFlags());
+		out.writeInt(reference.getVisibility());
+	}
+
+	private static void addString(Set<String> strings, String string) {
+		if (string != null) {
+			strings.add(string);
+		}
+	}
+
+	private static int id(Map<String, Integer> ids, String string) {
+		return string == null ? NO_STRING : ids.get(string).intValue();
+	}
+
+	/**
+	 * @return the qualified type name, the member name and the signature of
+	 *         the given member, the last two may be <code>null</code>
+	 */
+	private static String[] describe(IMemberDescriptor member) {
+		return switch (member.getElementType())
+			{
+			case IElementDescriptor.METHOD -> new String[] {
+					member.getEnclosingType().getQualifiedName(), member.getName(),
+					((IMethodDescriptor) member).getSignature() };
+			case IElementDescriptor.FIELD -> new String[] { member.getEnclosingType().getQualifiedName(), member.getName(), null };
+			default -> new String[] { ((IReferenceTypeDescriptor) member).getQualifiedName(), null, null };
+			};
+	}
+
+	/**
+	 * @return the name of the top level type of the given member, as used by
+	 *         the {@link UseScanReferenceVisitor}
+	 */
+	private static String getRootType(IMemberDescriptor member) {
+		String name = describe(member)[0];
+		int index = name.indexOf('$');
+		return index > -1 ? name.substring(0, index) : name;
+	}
+}
@@ -16,9 +16,13 @@ package org.eclipse.pde.api.tools.internal.search;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
@@ -89,6 +93,11 @@ public class UseScanManager {
 
 	private String[] fLocations = null;
 
+	/**
+	 * The opened {@link UseScanIndex}es by scan location
+	 */
+	private final Map<String, UseScanIndex> fIndexes = new HashMap<>();
+
 	/**
 	 * {@link FileFilter} for finding use scan directories
 	 */
@@ -211,7 +220,12 @@ public class UseScanManager {
 							}
 							throw new Exception(message);
 						}
-						parser.parse(locations[i], iterationMonitor, visitor);
+						UseScanIndex index = getIndex(locations[i]);
+						if (index != null) {
+							index.collect(apiComponent.getSymbolicName(), types, references);
+						} else {
+							parser.parse(locations[i], iterationMonitor, visitor);
+						}
 					} catch (Exception e) {
 						ApiPlugin.log(e); // log the exception and continue with
 											// next location
@@ -229,6 +243,36 @@ public class UseScanManager {
 		}
 	}
 
+	/**
+	 * Returns the {@link UseScanIndex} written for the use scan at the given
+	 * location, re-opening it if the index file has changed
+	 *
+	 * @param location the exact location of the use scan
+	 * @return the index or <code>null</code> if the scan has no usable index
+	 */
+	private UseScanIndex getIndex(String location) {
+		Path file = Path.of(location, UseScanIndex.INDEX_FILE_NAME);
+		synchronized (fIndexes) {
+			UseScanIndex index = fIndexes.get(location);
+			if (index != null && index.isCurrent(file)) {
+				return index;
+			}
+			fIndexes.remove(location);
+			if (!Files.isRegularFile(file)) {
+				return null;
+			}
+			try {
+				index = UseScanIndex.open(file);
+				fIndexes.put(location, index);
+				return index;
+			} catch (IOException e) {
+				// fall back to parsing the XML reports
+				ApiPlugin.log(e);
+				return null;
+			}
+		}
+	}
+
 	/**
 	 * Returns the scan
 	 */
@@ -384,5 +428,8 @@ public class UseScanManager {
 			reference.clear();
 		}
 		fApiComponentCache.flush();
+		synchronized (fIndexes) {
+			fIndexes.clear();
+		}
 	}
 }
@@ -139,6 +139,26 @@ public class UseSearchRequestor implements IApiSearchRequestor {
 		prepareScope(scope);
 	}
 
+	/**
+	 * Constructor for a worker of a parallel search, shares the read-only
+	 * settings of the given requestor
+	 *
+	 * @param requestor the requestor to copy the settings from
+	 */
+	private UseSearchRequestor(UseSearchRequestor requestor) {
+		fSearchMask = requestor.fSearchMask;
+		fComponentIds = requestor.fComponentIds;
+		fScope = requestor.fScope;
+		jarPatterns = requestor.jarPatterns;
+		antFilterRoot = requestor.antFilterRoot;
+		fAnalyzer = new ReferenceAnalyzer();
+	}
+
+	@Override
+	public IApiSearchRequestor createWorkerRequestor() {
+		return new UseSearchRequestor(this);
+	}
+
 	@Override
 	public boolean acceptComponent(IApiComponent component) {
 		try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2024 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,6 +26,7 @@ import java.io.InputStream;
 import java.io.LineNumberReader;
 import java.io.OutputStream;
 import java.io.StringReader;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
@@ -1734,6 +1735,31 @@ public final class Util {
 		}
 	}
 
+	/**
+	 * Writes the given value escaped for a double quoted XML attribute, the
+	 * same way {@link #serializeDocument(Document)} escapes attribute values.
+	 *
+	 * @param out the writer to write to
+	 * @param value the attribute value
+	 * @throws IOException if unable to write
+	 * @since 1.3.700
+	 */
+	public static void writeXmlAttributeValue(Writer out, String value) throws IOException {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '&' -> out.write("&amp;"); //$NON-NLS-1$
+				case '<' -> out.write("&lt;"); //$NON-NLS-1$
+				case '>' -> out.write("&gt;"); //$NON-NLS-1$
+				case '"' -> out.write("&quot;"); //$NON-NLS-1$
+				case '\n' -> out.write("&#10;"); //$NON-NLS-1$
+				case '\r' -> out.write("&#13;"); //$NON-NLS-1$
+				case '\t' -> out.write("&#9;"); //$NON-NLS-1$
+				default -> out.write(c);
+			}
+		}
+	}
+
 	/**
 	 * Unzip the contents of the given zip in the given directory (create it if
 	 * it doesn't exist)
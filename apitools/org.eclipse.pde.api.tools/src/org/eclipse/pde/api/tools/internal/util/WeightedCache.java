@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A thread safe least recently used cache that is bounded by the estimated
+ * weight of its values rather than by the number of entries.
+ * <p>
+ * The entries are spread over a fixed number of segments that each have their
+ * own lock and an equal share of the weight budget, so concurrent readers and
+ * writers only contend when they hit the same segment. When a segment exceeds
+ * its share, its least recently used entries are evicted.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 1.3.700
+ */
+public final class WeightedCache<K, V> {
+
+	/**
+	 * Number of segments, must be a power of two
+	 */
+	private static final int SEGMENT_COUNT = 16;
+
+	/**
+	 * The hit, miss and eviction counts and the current size and weight of a
+	 * cache
+	 */
+	public record Statistics(long hits, long misses, long evictions, int size, long weight) {
+	}
+
+	/**
+	 * A cached value with its weight
+	 */
+	private record Entry<V>(V value, long weight) {
+	}
+
+	/**
+	 * One lock stripe of the cache
+	 */
+	private static final class Segment<K, V> {
+
+		private final LinkedHashMap<K, Entry<V>> fEntries = new LinkedHashMap<>(16, 0.75f, true);
+		private long fWeight = 0;
+
+		synchronized V get(K key) {
+			Entry<V> entry = fEntries.get(key);
+			return entry == null ? null : entry.value();
+		}
+
+		/**
+		 * @return the number of entries evicted to stay within the budget
+		 */
+		synchronized int put(K key, Entry<V> entry, long budget) {
+			Entry<V> old = fEntries.put(key, entry);
+			if (old != null) {
+				fWeight -= old.weight();
+			}
+			fWeight += entry.weight();
+			int evicted = 0;
+			Iterator<Entry<V>> iterator = fEntries.values().iterator();
+			// never evict the entry just added
+			while (fWeight > budget && fEntries.size() > 1) {
+				Entry<V> eldest = iterator.next();
+				fWeight -= eldest.weight();
+				iterator.remove();
+				evicted++;
+			}
+			return evicted;
+		}
+
+		synchronized V remove(K key) {
+			Entry<V> entry = fEntries.remove(key);
+			if (entry == null) {
+				return null;
+			}
+			fWeight -= entry.weight();
+			return entry.value();
+		}
+
+		synchronized int removeIf(Predicate<? super K> filter) {
+			int removed = 0;
+			for (Iterator<Map.Entry<K, Entry<V>>> iterator = fEntries.entrySet().iterator(); iterator.hasNext();) {
+				Map.Entry<K, Entry<V>> entry = iterator.next();
+				if (filter.test(entry.getKey())) {
+					fWeight -= entry.getValue().weight();
+					iterator.remove();
+					removed++;
+				}
+			}
+			return removed;
+		}
+
+		synchronized void clear() {
+			fEntries.clear();
+			fWeight = 0;
+		}
+
+		synchronized int size() {
+			return fEntries.size();
+		}
+
+		synchronized long weight() {
+			return fWeight;
+		}
+	}
+
+	private final Segment<K, V>[] fSegments;
+	private final ToLongFunction<? super V> fWeigher;
+	private final long fSegmentBudget;
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+	private final LongAdder fEvictions = new LongAdder();
+
+	/**
+	 * Constructor
+	 *
+	 * @param budget the maximum total weight of the cached values, must be
+	 *            greater than zero
+	 * @param weigher computes the estimated weight of a value
+	 */
+	@SuppressWarnings("unchecked")
+	public WeightedCache(long budget, ToLongFunction<? super V> weigher) {
+		if (budget < 1) {
+			throw new IllegalArgumentException("The budget must be greater than zero"); //$NON-NLS-1$
+		}
+		fWeigher = weigher;
+		fSegmentBudget = Math.max(1, budget / SEGMENT_COUNT);
+		fSegments = new Segment[SEGMENT_COUNT];
+		for (int i = 0; i < SEGMENT_COUNT; i++) {
+			fSegments[i] = new Segment<>();
+		}
+	}
+
+	private Segment<K, V> segmentFor(Object key) {
+		int hash = key.hashCode();
+		hash ^= hash >>> 16;
+		return fSegments[hash & (SEGMENT_COUNT - 1)];
+	}
+
+	/**
+	 * Returns the value cached for the given key and marks it as most recently
+	 * used
+	 *
+	 * @param key the key
+	 * @return the cached value or <code>null</code>
+	 */
+	public V get(K key) {
+		V value = segmentFor(key).get(key);
+		if (value == null) {
+			fMisses.increment();
+		} else {
+			fHits.increment();
+		}
+		return value;
+	}
+
+	/**
+	 * Caches the given value, evicting least recently used values if the
+	 * budget is exceeded
+	 *
+	 * @param key the key
+	 * @param value the value
+	 */
+	public void put(K key, V value) {
+		long weight = Math.max(1, fWeigher.applyAsLong(value));
+		int evicted = segmentFor(key).put(key, new Entry<>(value, weight), fSegmentBudget);
+		if (evicted > 0) {
+			fEvictions.add(evicted);
+		}
+	}
+
+	/**
+	 * Removes the value cached for the given key
+	 *
+	 * @param key the key
+	 * @return the removed value or <code>null</code>
+	 */
+	public V remove(K key) {
+		return segmentFor(key).remove(key);
+	}
+
+	/**
+	 * Removes all values whose key matches the given filter
+	 *
+	 * @param filter the filter
+	 * @return the number of removed values
+	 */
+	public int removeIf(Predicate<? super K> filter) {
+		int removed = 0;
+		for (Segment<K, V> segment : fSegments) {
+			removed += segment.removeIf(filter);
+		}
+		return removed;
+	}
+
+	/**
+	 * Removes all cached values
+	 */
+	public void clear() {
+		for (Segment<K, V> segment : fSegments) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if nothing is cached, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean isEmpty() {
+		for (Segment<K, V> segment : fSegments) {
+			if (segment.size() > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return a snapshot of the statistics of this cache
+	 */
+	public Statistics getStatistics() {
+		int size = 0;
+		long weight = 0;
+		for (Segment<K, V> segment : fSegments) {
+			size += segment.size();
+			weight += segment.weight();
+		}
+		return new Statistics(fHits.sum(), fMisses.sum(), fEvictions.sum(), size, weight);
+	}
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * A bounded pool of worker threads used to run independent pieces of API
+ * analysis concurrently. Callers get their results back in submission order
+ * (see {@link #join(Future, IProgressMonitor)}) so they can be merged
+ * deterministically on the calling thread.
+ *
+ * @since 1.3.700
+ */
+public final class WorkerPool implements AutoCloseable {
+
+	/**
+	 * Interval used to poll the progress monitor for cancellation while
+	 * waiting on a result
+	 */
+	private static final long CANCEL_POLL_MILLIS = 100;
+
+	private static final AtomicInteger fgPoolCount = new AtomicInteger();
+
+	private final ForkJoinPool fPool;
+
+	private final int fParallelism;
+
+	/**
+	 * Constructor
+	 *
+	 * @param name the name prefix for the worker threads
+	 * @param parallelism the maximum number of workers, must be greater than
+	 *            zero
+	 */
+	public WorkerPool(String name, int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("The parallelism must be greater than zero"); //$NON-NLS-1$
+		}
+		fParallelism = parallelism;
+		String prefix = name + " #" + fgPoolCount.incrementAndGet() + " - "; //$NON-NLS-1$ //$NON-NLS-2$
+		fPool = new ForkJoinPool(parallelism, pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName(prefix + thread.getPoolIndex());
+			return thread;
+		}, null, false);
+	}
+
+	/**
+	 * Returns the number of workers to use for the given preference value. A
+	 * value that is missing, not a number or less than one means that one
+	 * worker per available processor is used.
+	 *
+	 * @param value the preference value, may be <code>null</code>
+	 * @return the number of workers to use, always greater than zero
+	 */
+	public static int getParallelism(String value) {
+		if (value != null) {
+			try {
+				int count = Integer.parseInt(value.trim());
+				if (count > 0) {
+					return count;
+				}
+			} catch (NumberFormatException e) {
+				// fall through to the default
+			}
+		}
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * @return the maximum number of workers of this pool
+	 */
+	public int getParallelism() {
+		return fParallelism;
+	}
+
+	/**
+	 * Submits the given task to the pool
+	 *
+	 * @param task the task to run
+	 * @return the future for the result of the task
+	 */
+	public <T> Future<T> submit(Callable<T> task) {
+		// a plain future task keeps the original exception of the callable
+		FutureTask<T> future = new FutureTask<>(task);
+		fPool.execute(future);
+		return future;
+	}
+
+	/**
+	 * Submits all of the given tasks to the pool
+	 *
+	 * @param tasks the tasks to run
+	 * @return the futures for the results of the tasks, in the same order as
+	 *         the given tasks
+	 */
+	public <T> List<Future<T>> submitAll(List<? extends Callable<T>> tasks) {
+		List<Future<T>> futures = new ArrayList<>(tasks.size());
+		for (Callable<T> task : tasks) {
+			futures.add(submit(task));
+		}
+		return futures;
+	}
+
+	/**
+	 * Waits for the given future to complete and returns its result. The given
+	 * monitor is polled while waiting so that a cancellation is honored even
+	 * if the worker is busy.
+	 *
+	 * @param future the future to wait on
+	 * @param monitor the monitor to check for cancellation, may be
+	 *            <code>null</code>
+	 * @return the result of the future
+	 * @throws CoreException if the task failed with a {@link CoreException}
+	 * @throws OperationCanceledException if the monitor was canceled or the
+	 *             waiting thread was interrupted
+	 */
+	public static <T> T join(Future<T> future, IProgressMonitor monitor) throws CoreException {
+		try {
+			while (true) {
+				if (monitor != null && monitor.isCanceled()) {
+					future.cancel(true);
+					throw new OperationCanceledException();
+				}
+				try {
+					return future.get(CANCEL_POLL_MILLIS, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					// poll again
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof CoreException ce) {
+				throw ce;
+			}
+			if (cause instanceof RuntimeException re) {
+				throw re;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * Cancels all of the pending tasks and shuts the pool down
+	 */
+	@Override
+	public void close() {
+		fPool.shutdownNow();
+	}
+}
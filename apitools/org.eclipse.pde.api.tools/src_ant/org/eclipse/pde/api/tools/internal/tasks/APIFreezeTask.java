@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@ package org.eclipse.pde.api.tools.internal.tasks;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.file.Files;
@@ -60,6 +61,11 @@ public class APIFreezeTask extends CommonUtilsTask {
 	 * will be included in the output xml. Set to <code>true</code> by default.
 	 */
 	private boolean processUnresolvedBundles = true;
+	/**
+	 * When <code>true</code>, the report is written while the comparison
+	 * runs instead of after it.
+	 */
+	private boolean streamReport;
 	/**
 	 * If {@link #continueOnResolverError} is <code>true</code> this map will
 	 * store the resolver errors of components. Maps String component IDs to an
@@ -139,6 +145,10 @@ public class APIFreezeTask extends CommonUtilsTask {
 			System.out.println("Creation of both baselines : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
 			time = System.currentTimeMillis();
 		}
+		if (this.streamReport) {
+			compareAndWriteReport(outputFile, referenceBaseline, currentBaseline, referenceInstallDir, baselineInstallDir, excludedElements, includedElements);
+			return;
+		}
 		try {
 			delta = ApiComparator.compare(getScope(currentBaseline), referenceBaseline, VisibilityModifiers.API, true, processUnresolvedBundles, null);
 		} catch (CoreException e) {
@@ -175,13 +185,7 @@ public class APIFreezeTask extends CommonUtilsTask {
 					addResolverErrors(doc);
 				}
 				Util.writeDocumentToFile(doc, outputFile);
-				if (this.debug) {
-					String potentialExcludeList = visitor.getPotentialExcludeList();
-					if (potentialExcludeList.length() != 0) {
-						System.out.println("Potential exclude list:"); //$NON-NLS-1$
-						System.out.println(potentialExcludeList);
-					}
-				}
+				printPotentialExcludeList(visitor);
 			} catch (IOException | CoreException e) {
 				ApiPlugin.log(e);
 			}
@@ -189,18 +193,98 @@ public class APIFreezeTask extends CommonUtilsTask {
 				System.out.println("Report generation : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
 			}
 		} else {
-			// create a xml file with 0 delta and a comment
+			writeEmptyReport(outputFile, time);
+		}
+	}
+
+	/**
+	 * Compares the current baseline with the reference baseline and writes
+	 * the report while the deltas are computed, so that the deltas are not
+	 * kept in memory
+	 */
+	private void compareAndWriteReport(Path outputFile, IApiBaseline referenceBaseline, IApiBaseline currentBaseline, File referenceInstallDir, File baselineInstallDir, FilteredElements excludedElements, FilteredElements includedElements) {
+		long time = System.currentTimeMillis();
+		int count = -1;
+		try (OutputStream out = newReportStream(outputFile)) {
+			FilterListDeltaVisitor visitor = new FilterListDeltaVisitor(out, excludedElements, includedElements, FilterListDeltaVisitor.CHECK_OTHER);
+			try {
+				count = ApiComparator.compare(getScope(currentBaseline), referenceBaseline, VisibilityModifiers.API, true, processUnresolvedBundles, 1, visitor, null);
+			} catch (CoreException e) {
+				// ignore
+			}
+			if (count > 0) {
+				if (processUnresolvedBundles) {
+					// Store any components that had resolver errors in the xml
+					// to add warnings in the html
+					Element errorElement = createResolverErrors(visitor.getDocument());
+					if (errorElement != null) {
+						visitor.addElement(errorElement);
+					}
+				}
+				visitor.endDocument();
+				printPotentialExcludeList(visitor);
+			}
+		} catch (IOException | CoreException e) {
+			ApiPlugin.log(e);
+		} finally {
+			if (this.debug) {
+				System.out.println("API freeze check and report generation : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+				time = System.currentTimeMillis();
+			}
+			referenceBaseline.dispose();
+			currentBaseline.dispose();
+			StubApiComponent.disposeAllCaches();
+			deleteBaseline(this.referenceBaselineLocation, referenceInstallDir);
+			deleteBaseline(this.currentBaselineLocation, baselineInstallDir);
+			if (this.debug) {
+				System.out.println("Cleanup : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+				time = System.currentTimeMillis();
+			}
+		}
+		if (count < 0) {
+			// an error occurred during the comparison, do not leave a partial
+			// report behind
 			try {
-				Files.writeString(outputFile, """
-						<?xml version="1.0" encoding="UTF-8" standalone="no"?>
-						<deltas/>
-						<!-- API freeze task complete.  No problems to report -->
-						"""); //$NON-NLS-1$
+				Files.deleteIfExists(outputFile);
 			} catch (IOException e) {
 				ApiPlugin.log(e);
 			}
-			if (this.debug) {
-				System.out.println("API freeze task complete.  No problems to report : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			throw new BuildException(Messages.errorInComparison);
+		}
+		if (count == 0) {
+			writeEmptyReport(outputFile, time);
+		}
+	}
+
+	private static OutputStream newReportStream(Path outputFile) throws IOException {
+		Files.createDirectories(outputFile.toAbsolutePath().getParent());
+		return Files.newOutputStream(outputFile);
+	}
+
+	/**
+	 * Creates a xml file with 0 delta and a comment
+	 */
+	private void writeEmptyReport(Path outputFile, long time) {
+		try {
+			Files.writeString(outputFile, """
+					<?xml version="1.0" encoding="UTF-8" standalone="no"?>
+					<deltas/>
+					<!-- API freeze task complete.  No problems to report -->
+					"""); //$NON-NLS-1$
+		} catch (IOException e) {
+			ApiPlugin.log(e);
+		}
+		if (this.debug) {
+			System.out.println("API freeze task complete.  No problems to report : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private void printPotentialExcludeList(FilterListDeltaVisitor visitor) {
+		if (this.debug) {
+			String potentialExcludeList = visitor.getPotentialExcludeList();
+			if (potentialExcludeList.length() != 0) {
+				System.out.println("Potential exclude list:"); //$NON-NLS-1$
+				System.out.println(potentialExcludeList);
 			}
 		}
 	}
@@ -384,27 +468,8 @@ public class APIFreezeTask extends CommonUtilsTask {
 	 * @param document XML document to modify
 	 */
 	private void addResolverErrors(Document document) {
-		if (resolverErrors != null && !resolverErrors.isEmpty()) {
-			Element errorElement = document.createElement(IApiXmlConstants.ELEMENT_RESOLVER_ERRORS);
-
-			// Create XML elements for each component with resolver errors
-			for (Map.Entry<String, ResolverError[]> entry : resolverErrors.entrySet()) {
-				String componentID = entry.getKey();
-
-				// Use the same format as output from analysis task
-				Element report = document.createElement(IApiXmlConstants.ELEMENT_API_TOOL_REPORT);
-				report.setAttribute(IApiXmlConstants.ATTR_VERSION, IApiXmlConstants.API_REPORT_CURRENT_VERSION);
-				report.setAttribute(IApiXmlConstants.ATTR_COMPONENT_ID, componentID);
-				errorElement.appendChild(report);
-
-				ResolverError[] errors = entry.getValue();
-				for (ResolverError e : errors) {
-					Element error = document.createElement(IApiXmlConstants.ELEMENT_RESOLVER_ERROR);
-					error.setAttribute(IApiXmlConstants.ATTR_MESSAGE, e.toString());
-					report.appendChild(error);
-				}
-			}
-
+		Element errorElement = createResolverErrors(document);
+		if (errorElement != null) {
 			// Append the resolver errors element to the root node
 			NodeList rootNodes = document.getChildNodes();
 			for (int i = 0; i < rootNodes.getLength(); ++i) {
@@ -417,4 +482,56 @@ public class APIFreezeTask extends CommonUtilsTask {
 			}
 		}
 	}
+
+	/**
+	 * Creates the element that lists all the components that had resolver
+	 * errors which could affect the results of the comparison.
+	 *
+	 * @param document XML document to create the element with
+	 * @return the element or <code>null</code> if there were no resolver
+	 *         errors
+	 */
+	private Element createResolverErrors(Document document) {
+		if (resolverErrors == null || resolverErrors.isEmpty()) {
+			return null;
+		}
+		Element errorElement = document.createElement(IApiXmlConstants.ELEMENT_RESOLVER_ERRORS);
+
+		// Create XML elements for each component with resolver errors
+		for (Map.Entry<String, ResolverError[]> entry : resolverErrors.entrySet()) {
+			String componentID = entry.getKey();
+
+			// Use the same format as output from analysis task
+			Element report = document.createElement(IApiXmlConstants.ELEMENT_API_TOOL_REPORT);
+			report.setAttribute(IApiXmlConstants.ATTR_VERSION, IApiXmlConstants.API_REPORT_CURRENT_VERSION);
+			report.setAttribute(IApiXmlConstants.ATTR_COMPONENT_ID, componentID);
+			errorElement.appendChild(report);
+
+			ResolverError[] errors = entry.getValue();
+			for (ResolverError e : errors) {
+				Element error = document.createElement(IApiXmlConstants.ELEMENT_RESOLVER_ERROR);
+				error.setAttribute(IApiXmlConstants.ATTR_MESSAGE, e.toString());
+				report.appendChild(error);
+			}
+		}
+		return errorElement;
+	}
+
+	/**
+	 * Set whether the report is written while the comparison runs.
+	 * <p>
+	 * When <code>true</code>, the deltas are written to the report as soon as
+	 * they are computed and are not kept in memory, which is meant for the
+	 * comparison of large baselines.
+	 * </p>
+	 * <p>
+	 * Default is <code>false</code>.
+	 * </p>
+	 *
+	 * @param streamReport whether to write the report while comparing
+	 * @since 1.3.700
+	 */
+	public void setStreamReport(boolean streamReport) {
+		this.streamReport = streamReport;
+	}
 }
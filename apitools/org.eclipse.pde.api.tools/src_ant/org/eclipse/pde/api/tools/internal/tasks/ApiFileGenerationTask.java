@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@ package org.eclipse.pde.api.tools.internal.tasks;
 
 import org.apache.tools.ant.Task;
 import org.eclipse.pde.api.tools.internal.APIFileGenerator;
+import org.eclipse.pde.api.tools.internal.util.WorkerPool;
 
 /**
  * Ant task to generate the .api_description file during the Eclipse build.
@@ -163,6 +164,23 @@ public class ApiFileGenerationTask extends Task/* APIFileGenerator */ {
 		apiFileGenerator.sourceLocations = sourceLocations;
 	}
 
+	/**
+	 * Set the number of compilation units to parse concurrently.
+	 * <p>
+	 * A value that is not a number or less than one means that one
+	 * compilation unit per available processor is parsed concurrently.
+	 * </p>
+	 * <p>
+	 * Default is <code>1</code>.
+	 * </p>
+	 *
+	 * @param parallelism the given number of compilation units
+	 * @since 1.3.700
+	 */
+	public void setParallelism(String parallelism) {
+		apiFileGenerator.parallelism = WorkerPool.getParallelism(parallelism);
+	}
+
 	@Override
 	public void execute() {
 		apiFileGenerator.generateAPIFile();
@@ -38,10 +38,12 @@ import org.eclipse.pde.api.tools.internal.provisional.search.IApiSearchRequestor
 import org.eclipse.pde.api.tools.internal.search.ApiDescriptionModifier;
 import org.eclipse.pde.api.tools.internal.search.SkippedComponent;
 import org.eclipse.pde.api.tools.internal.search.UseMetadata;
+import org.eclipse.pde.api.tools.internal.search.UseScanIndex;
 import org.eclipse.pde.api.tools.internal.search.UseSearchRequestor;
 import org.eclipse.pde.api.tools.internal.search.XmlSearchReporter;
 import org.eclipse.pde.api.tools.internal.util.FilteredElements;
 import org.eclipse.pde.api.tools.internal.util.Util;
+import org.eclipse.pde.api.tools.internal.util.WorkerPool;
 
 /**
  * Ant task for performing the API use analysis of a given Eclipse SDK
@@ -118,6 +120,22 @@ public final class ApiUseTask extends CommonUtilsTask {
 	 */
 	private String filters = null;
 
+	/**
+	 * The number of components to search concurrently
+	 */
+	private int parallelism = 1;
+
+	/**
+	 * If the results should be reported in the same order as a sequential
+	 * search
+	 */
+	private boolean orderedresults = true;
+
+	/**
+	 * If a binary index of the reports should be written
+	 */
+	private boolean indexreport = false;
+
 	/**
 	 * Set the location of the current product you want to search.
 	 *
@@ -197,6 +215,54 @@ public final class ApiUseTask extends CommonUtilsTask {
 		this.debug = Boolean.toString(true).equals(debugValue);
 	}
 
+	/**
+	 * Sets the number of components to search concurrently.
+	 * <p>
+	 * A value of <code>0</code> uses one worker per available processor.
+	 * </p>
+	 * <p>
+	 * Default is <code>1</code>.
+	 * </p>
+	 *
+	 * @param parallelism the given value
+	 */
+	public void setParallelism(String parallelism) {
+		this.parallelism = WorkerPool.getParallelism(parallelism);
+	}
+
+	/**
+	 * Sets if the results of a parallel search should be reported in the same
+	 * order as a sequential search.
+	 * <p>
+	 * The possible values are: <code>true</code>, <code>false</code>
+	 * </p>
+	 * <p>
+	 * Default is <code>true</code>.
+	 * </p>
+	 *
+	 * @param orderedresults the given value
+	 */
+	public void setOrderedResults(String orderedresults) {
+		this.orderedresults = !Boolean.toString(false).equals(orderedresults);
+	}
+
+	/**
+	 * Sets if a binary index of the XML reports should be written next to
+	 * them. The index is used by the workspace to look up the references of a
+	 * use scan without parsing the reports.
+	 * <p>
+	 * The possible values are: <code>true</code>, <code>false</code>
+	 * </p>
+	 * <p>
+	 * Default is <code>false</code>.
+	 * </p>
+	 *
+	 * @param indexreport the given value
+	 */
+	public void setIndexReport(String indexreport) {
+		this.indexreport = Boolean.toString(true).equals(indexreport);
+	}
+
 	/**
 	 * Sets if references to API types should be considered in the search.
 	 * <p>
@@ -319,7 +385,7 @@ public final class ApiUseTask extends CommonUtilsTask {
 			}
 
 			ApiPlugin.DEBUG_SEARCH_ENGINE = this.debug;
-			engine.search(baseline, requestor, reporter, null);
+			engine.search(baseline, requestor, reporter, parallelism, orderedresults, null);
 		} catch (CoreException ce) {
 			throw new BuildException(Messages.ApiUseTask_search_engine_problem, ce);
 		} finally {
@@ -331,6 +397,13 @@ public final class ApiUseTask extends CommonUtilsTask {
 			reporter.reportMetadata(data);
 			reporter.reportCounts();
 		}
+		if (this.indexreport) {
+			try {
+				UseScanIndex.write(this.reportLocation, null);
+			} catch (Exception e) {
+				throw new BuildException(Messages.ApiUseTask_index_problem, e);
+			}
+		}
 	}
 
 	/**
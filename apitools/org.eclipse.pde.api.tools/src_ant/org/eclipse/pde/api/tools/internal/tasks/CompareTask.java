@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2010 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,11 @@ package org.eclipse.pde.api.tools.internal.tasks;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -35,6 +38,7 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.util.FilteredElements;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.api.tools.internal.util.UtilMessages;
+import org.eclipse.pde.api.tools.internal.util.WorkerPool;
 
 /**
  * Ant task to compare API scopes.
@@ -49,6 +53,8 @@ public class CompareTask extends CommonUtilsTask {
 	private String componentsList;
 	private String excludeListLocation;
 	private String includeListLocation;
+	private int parallelism = 1;
+	private boolean streamReport;
 
 	@Override
 	public void execute() throws BuildException {
@@ -141,8 +147,12 @@ public class CompareTask extends CommonUtilsTask {
 		} else {
 			scope.addElement(currentBaseline);
 		}
+		if (this.streamReport) {
+			compareAndWriteReport(scope, referenceBaseline, currentBaseline, referenceInstallDir, baselineInstallDir, excludedElements, includedElements);
+			return;
+		}
 		try {
-			delta = ApiComparator.compare(scope, referenceBaseline, this.visibilityModifiers, false, null);
+			delta = ApiComparator.compare(scope, referenceBaseline, this.visibilityModifiers, false, false, this.parallelism, null);
 		} catch (CoreException e) {
 			// an error occurred during the comparison
 			throw new BuildException(NLS.bind(Messages.illegalElementInScope, e.getMessage()));
@@ -168,15 +178,66 @@ public class CompareTask extends CommonUtilsTask {
 			FilterListDeltaVisitor visitor = new FilterListDeltaVisitor(excludedElements, includedElements, FilterListDeltaVisitor.CHECK_ALL);
 			delta.accept(visitor);
 			Util.writeDocumentToFile(visitor.getDocument(), outputFile.toPath());
-			if (this.debug) {
-				String potentialExcludeList = visitor.getPotentialExcludeList();
-				if (potentialExcludeList.length() != 0) {
-					System.out.println("Potential exclude list:"); //$NON-NLS-1$
-					System.out.println(potentialExcludeList);
-				}
+			printPotentialExcludeList(visitor);
+		} catch (IOException | CoreException e) {
+			ApiPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Compares the given scope with the reference baseline and writes the
+	 * report while the deltas are computed, so that the deltas are not kept
+	 * in memory
+	 */
+	private void compareAndWriteReport(ApiScope scope, IApiBaseline referenceBaseline, IApiBaseline currentBaseline, File referenceInstallDir, File baselineInstallDir, FilteredElements excludedElements, FilteredElements includedElements) {
+		Path outputFile = Path.of(this.reportLocation, REPORT_XML_FILE_NAME);
+		int count = -1;
+		String error = Messages.errorInComparison;
+		try (OutputStream out = newReportStream(outputFile)) {
+			FilterListDeltaVisitor visitor = new FilterListDeltaVisitor(out, excludedElements, includedElements, FilterListDeltaVisitor.CHECK_ALL);
+			try {
+				count = ApiComparator.compare(scope, referenceBaseline, this.visibilityModifiers, false, false, this.parallelism, visitor, null);
+			} catch (CoreException e) {
+				// an error occurred during the comparison
+				error = NLS.bind(Messages.illegalElementInScope, e.getMessage());
+			}
+			if (count >= 0) {
+				visitor.endDocument();
+				printPotentialExcludeList(visitor);
 			}
 		} catch (IOException | CoreException e) {
 			ApiPlugin.log(e);
+		} finally {
+			referenceBaseline.dispose();
+			currentBaseline.dispose();
+			StubApiComponent.disposeAllCaches();
+			deleteBaseline(this.referenceBaselineLocation, referenceInstallDir);
+			deleteBaseline(this.currentBaselineLocation, baselineInstallDir);
+		}
+		if (count < 0) {
+			// an error occurred during the comparison, do not leave a partial
+			// report behind
+			try {
+				Files.deleteIfExists(outputFile);
+			} catch (IOException e) {
+				ApiPlugin.log(e);
+			}
+			throw new BuildException(error);
+		}
+	}
+
+	private static OutputStream newReportStream(Path outputFile) throws IOException {
+		Files.createDirectories(outputFile.getParent());
+		return Files.newOutputStream(outputFile);
+	}
+
+	private void printPotentialExcludeList(FilterListDeltaVisitor visitor) {
+		if (this.debug) {
+			String potentialExcludeList = visitor.getPotentialExcludeList();
+			if (potentialExcludeList.length() != 0) {
+				System.out.println("Potential exclude list:"); //$NON-NLS-1$
+				System.out.println(potentialExcludeList);
+			}
 		}
 	}
 
@@ -369,4 +430,42 @@ public class CompareTask extends CommonUtilsTask {
 	public void setincludeList(String includeListLocation) {
 		this.includeListLocation = includeListLocation;
 	}
+
+	/**
+	 * Set the number of API components or class files to compare
+	 * concurrently.
+	 * <p>
+	 * A value that is not a number or less than one means that one API
+	 * component per available processor is compared concurrently. The
+	 * generated report does not depend on this value.
+	 * </p>
+	 * <p>
+	 * Default is <code>1</code>.
+	 * </p>
+	 *
+	 * @param parallelism the given number of API components or class files
+	 * @since 1.3.700
+	 */
+	public void setParallelism(String parallelism) {
+		this.parallelism = WorkerPool.getParallelism(parallelism);
+	}
+
+	/**
+	 * Set whether the report is written while the comparison runs.
+	 * <p>
+	 * When <code>true</code>, the deltas are written to the report as soon as
+	 * they are computed and are not kept in memory, which is meant for the
+	 * comparison of large baselines. The deltas are then written in the order
+	 * they are computed instead of being collected first.
+	 * </p>
+	 * <p>
+	 * Default is <code>false</code>.
+	 * </p>
+	 *
+	 * @param streamReport whether to write the report while comparing
+	 * @since 1.3.700
+	 */
+	public void setStreamReport(boolean streamReport) {
+		this.streamReport = streamReport;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.tasks;
 
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
@@ -50,6 +51,22 @@ public class FilterListDeltaVisitor extends DeltaXmlVisitor {
 		this.flags = flags;
 	}
 
+	/**
+	 * Constructs a new visitor that writes the XML of the deltas that are not
+	 * excluded to the given stream as they are visited
+	 *
+	 * @param out the stream to write the XML to
+	 * @see DeltaXmlVisitor#DeltaXmlVisitor(OutputStream)
+	 * @since 1.3.700
+	 */
+	public FilterListDeltaVisitor(OutputStream out, FilteredElements excludedElements, FilteredElements includedElements, int flags) throws CoreException {
+		super(out);
+		this.excludedElements = excludedElements;
+		this.includedElements = includedElements;
+		this.nonExcludedElements = new ArrayList<>();
+		this.flags = flags;
+	}
+
 	private boolean checkExclude(IDelta delta) {
 		return isExcluded(delta);
 	}